@@ -0,0 +1,42 @@
+plugins {
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmhImplementation(projects.plotsquaredCore)
+
+    // Provided by the platform at runtime, needed to actually execute Core code here
+    jmhImplementation(libs.checkerqual)
+    jmhImplementation(libs.gson)
+    jmhImplementation(libs.guava)
+    jmhImplementation(libs.snakeyaml)
+    jmhImplementation(libs.log4j)
+    jmhImplementation(libs.worldeditCore) {
+        exclude(group = "bukkit-classloader-check")
+        exclude(group = "mockito-core")
+        exclude(group = "dummypermscompat")
+    }
+
+    // Retained heap sizes, for the footprint benchmarks
+    jmhImplementation(libs.jol)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // One JSON file per commit, so runs can be diffed against each other (e.g. with jmh.morethan.io)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/${rootProject.grgit.head().abbreviatedId}.json"))
+    // The gc profiler reports gc.alloc.rate.norm, the allocated bytes per operation
+    profilers.add("gc")
+    findProperty("jmh.includes")?.let { includes.add(it.toString()) }
+}
+
+tasks {
+    // Nothing in this project is meant to be shipped
+    withType<AbstractPublishToMaven>().configureEach {
+        enabled = false
+    }
+    shadowJar {
+        enabled = false
+    }
+}
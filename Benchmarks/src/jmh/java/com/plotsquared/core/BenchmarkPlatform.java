@@ -0,0 +1,138 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core;
+
+import com.google.inject.Injector;
+import com.plotsquared.core.generator.BenchmarkPlotWorld;
+import com.plotsquared.core.plot.flag.GlobalFlagContainer;
+import com.plotsquared.core.plot.world.DefaultPlotAreaManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Stand-in for a server platform, providing just enough of {@link PlotPlatform} for Core code to run inside a
+ * benchmark fork. Plot areas are kept in a regular {@link DefaultPlotAreaManager}; anything that would need a server
+ * or WorldEdit platform throws {@link UnsupportedOperationException}.
+ */
+public final class BenchmarkPlatform implements InvocationHandler {
+
+    private static final int MIN_HEIGHT = -64;
+    private static final int MAX_HEIGHT = 319;
+    private static BenchmarkPlatform instance;
+
+    private final DefaultPlotAreaManager plotAreaManager = new DefaultPlotAreaManager();
+    private final Injector injector = proxy(Injector.class, (proxy, method, args) -> switch (method.getName()) {
+        // Queue coordinators inject themselves on construction, none of the benchmarked paths use the members
+        case "injectMembers" -> null;
+        case "toString" -> "BenchmarkInjector";
+        case "hashCode" -> System.identityHashCode(proxy);
+        case "equals" -> proxy == args[0];
+        default -> throw unsupported(method);
+    });
+
+    private BenchmarkPlatform() {
+    }
+
+    /**
+     * Install the benchmark platform as the PlotSquared implementation, if it is not installed yet.
+     *
+     * @return benchmark platform
+     */
+    public static synchronized @NonNull BenchmarkPlatform install() {
+        if (instance == null) {
+            final BenchmarkPlatform platform = new BenchmarkPlatform();
+            try {
+                final Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+                unsafeField.setAccessible(true);
+                // The real constructor loads configuration and starts the platform, skip it entirely
+                final PlotSquared plotSquared = (PlotSquared) ((Unsafe) unsafeField.get(null)).allocateInstance(PlotSquared.class);
+                final Field platformField = PlotSquared.class.getDeclaredField("platform");
+                platformField.setAccessible(true);
+                platformField.set(plotSquared, proxy(PlotPlatform.class, platform));
+                final Field instanceField = PlotSquared.class.getDeclaredField("instance");
+                instanceField.setAccessible(true);
+                instanceField.set(null, plotSquared);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to install the benchmark platform", e);
+            }
+            GlobalFlagContainer.setup();
+            instance = platform;
+        }
+        return instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final @NonNull Class<T> type, final @NonNull InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(BenchmarkPlatform.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static UnsupportedOperationException unsupported(final @NonNull Method method) {
+        return new UnsupportedOperationException(method.getDeclaringClass().getSimpleName() + "#" + method.getName()
+                + " is not available in benchmarks");
+    }
+
+    /**
+     * Create an empty plot area and register it with the plot area manager.
+     *
+     * @param world World name, must be unique within the fork
+     * @return created area
+     */
+    public @NonNull BenchmarkPlotWorld createArea(final @NonNull String world) {
+        final BenchmarkPlotWorld area = new BenchmarkPlotWorld(world);
+        this.plotAreaManager.addPlotArea(area);
+        return area;
+    }
+
+    /**
+     * Create a plot area holding a square grid of claimed plots.
+     *
+     * @param world World name, must be unique within the fork
+     * @param plots Number of plots to claim
+     * @return created area
+     * @see BenchmarkPlotWorld#claimGrid(int, int, long)
+     */
+    public @NonNull BenchmarkPlotWorld createArea(final @NonNull String world, final int plots) {
+        final BenchmarkPlotWorld area = createArea(world);
+        area.claimGrid(plots, Math.max(1, plots / 4), world.hashCode());
+        return area;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        return switch (method.getName()) {
+            case "versionMinHeight" -> MIN_HEIGHT;
+            case "versionMaxHeight" -> MAX_HEIGHT;
+            case "serverVersion" -> new int[]{1, 21, 5};
+            case "plotAreaManager" -> this.plotAreaManager;
+            case "injector" -> this.injector;
+            case "isFaweHooking" -> false;
+            case "pluginName" -> "PlotSquared";
+            case "toString" -> "BenchmarkPlatform";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw unsupported(method);
+        };
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.configuration.ConfigurationNode;
+import com.plotsquared.core.configuration.file.YamlConfiguration;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.player.PlotPlayer;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.PlotManager;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Square plot world without a generator or block queue, used to build synthetic areas for benchmarks. Only the
+ * coordinate math of {@link SquarePlotManager} is available, everything touching the world throws.
+ */
+public class BenchmarkPlotWorld extends SquarePlotWorld {
+
+    public BenchmarkPlotWorld(final @NonNull String worldName) {
+        super(worldName, null, null, null, null, new YamlConfiguration(), null);
+        this.SIZE = (short) (this.PLOT_WIDTH + this.ROAD_WIDTH);
+    }
+
+    /**
+     * Get the side length of the smallest square holding a number of plots.
+     *
+     * @param plots Number of plots
+     * @return grid side length
+     */
+    public static int getGridSide(final int plots) {
+        return (int) Math.ceil(Math.sqrt(plots));
+    }
+
+    /**
+     * Claim plots row by row in a square grid starting at {@code 1;1}. Plots are numbered in claim order, as they
+     * would be when loaded from the database.
+     *
+     * @param plots  Number of plots to claim
+     * @param owners Number of distinct owners to spread the plots over
+     * @param seed   Seed for the owner assignment
+     */
+    public void claimGrid(final int plots, final int owners, final long seed) {
+        final Random random = new Random(seed);
+        final UUID[] uuids = new UUID[owners];
+        for (int i = 0; i < owners; i++) {
+            uuids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        final int side = getGridSide(plots);
+        for (int i = 0; i < plots; i++) {
+            final PlotId id = PlotId.of(1 + i % side, 1 + i / side);
+            addPlotAbs(new Plot(this, id, uuids[random.nextInt(owners)], i + 1));
+        }
+    }
+
+    /**
+     * Claim a rectangle of plots and merge them into a single plot.
+     *
+     * @param bottom Bottom (north-west) plot of the rectangle
+     * @param width  Number of plots along the x axis
+     * @param length Number of plots along the z axis
+     * @param owner  Owner of the merged plot
+     * @return base plot
+     */
+    public @NonNull Plot claimMerged(final @NonNull PlotId bottom, final int width, final int length, final @NonNull UUID owner) {
+        final int maxX = bottom.getX() + width - 1;
+        final int maxY = bottom.getY() + length - 1;
+        for (int x = bottom.getX(); x <= maxX; x++) {
+            for (int y = bottom.getY(); y <= maxY; y++) {
+                final boolean[] merged = new boolean[]{y > bottom.getY(), x < maxX, y < maxY, x > bottom.getX()};
+                addPlotAbs(new Plot(PlotId.of(x, y), owner, null, null, null, null, null, null, this, merged, 0L, 0));
+            }
+        }
+        return getPlotAbs(bottom).getBasePlot(false);
+    }
+
+    @Override
+    protected PlotManager createManager() {
+        return new Manager(this);
+    }
+
+    @Override
+    public ConfigurationNode[] getSettingNodes() {
+        return new ConfigurationNode[0];
+    }
+
+    private static final class Manager extends SquarePlotManager {
+
+        private Manager(final @NonNull BenchmarkPlotWorld plotWorld) {
+            super(plotWorld, null);
+        }
+
+        private static UnsupportedOperationException unsupported() {
+            return new UnsupportedOperationException("Benchmark plot worlds have no blocks");
+        }
+
+        @Override
+        public boolean claimPlot(@NonNull Plot plot, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean unClaimPlot(@NonNull Plot plot, @Nullable Runnable whenDone, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public Location getSignLoc(@NonNull Plot plot) {
+            throw unsupported();
+        }
+
+        @Override
+        public String[] getPlotComponents(@NonNull PlotId plotId) {
+            return new String[0];
+        }
+
+        @Override
+        public boolean setComponent(
+                @NonNull PlotId plotId,
+                @NonNull String component,
+                @NonNull Pattern blocks,
+                @Nullable PlotPlayer<?> actor,
+                @Nullable QueueCoordinator queue
+        ) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean createRoadEast(@NonNull Plot plot, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean createRoadSouth(@NonNull Plot plot, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean createRoadSouthEast(@NonNull Plot plot, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean removeRoadEast(@NonNull Plot plot, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean removeRoadSouth(@NonNull Plot plot, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean removeRoadSouthEast(@NonNull Plot plot, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean startPlotMerge(@NonNull List<PlotId> plotIds, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean startPlotUnlink(@NonNull List<PlotId> plotIds, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean finishPlotMerge(@NonNull List<PlotId> plotIds, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+        @Override
+        public boolean finishPlotUnlink(@NonNull List<PlotId> plotIds, @Nullable QueueCoordinator queue) {
+            throw unsupported();
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.BenchmarkPlatform;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.PlotManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinate to plot id resolution. Positions inside a plot are pure arithmetic, positions on a road need a lookup of
+ * the neighbouring plot to decide whether the road was merged away.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SquarePlotManagerBenchmark {
+
+    private static final int POSITIONS = 4096;
+    private static final int MERGED = 32;
+
+    @Param({"1000", "1000000"})
+    public int plots;
+
+    private PlotManager manager;
+    private int[] plotX;
+    private int[] plotZ;
+    private int[] roadX;
+    private int[] roadZ;
+    private int[] mergedRoadX;
+    private int[] mergedRoadZ;
+    private int index;
+
+    @Setup
+    public void setup() {
+        final BenchmarkPlotWorld area = BenchmarkPlatform.install().createArea("square-plot-manager-" + this.plots, this.plots);
+        final int side = BenchmarkPlotWorld.getGridSide(this.plots);
+        // A merged plot to the east of the grid, its inner roads resolve to plot ids
+        final int mergedStart = side + 2;
+        area.claimMerged(PlotId.of(mergedStart, 1), MERGED, MERGED, UUID.randomUUID());
+        final Random random = new Random(42);
+        this.plotX = new int[POSITIONS];
+        this.plotZ = new int[POSITIONS];
+        this.roadX = new int[POSITIONS];
+        this.roadZ = new int[POSITIONS];
+        this.mergedRoadX = new int[POSITIONS];
+        this.mergedRoadZ = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            this.plotX[i] = random.nextInt(side) * area.SIZE + 4 + random.nextInt(area.PLOT_WIDTH);
+            this.plotZ[i] = random.nextInt(side) * area.SIZE + 4 + random.nextInt(area.PLOT_WIDTH);
+            this.roadX[i] = random.nextInt(side) * area.SIZE + random.nextInt(4);
+            this.roadZ[i] = random.nextInt(side) * area.SIZE + 4 + random.nextInt(area.PLOT_WIDTH);
+            // Skip the outer edge of the merged plot, those roads are real
+            this.mergedRoadX[i] = (mergedStart + random.nextInt(MERGED - 1)) * area.SIZE + random.nextInt(4);
+            this.mergedRoadZ[i] = (1 + random.nextInt(MERGED - 2)) * area.SIZE + 4 + random.nextInt(area.PLOT_WIDTH);
+        }
+        this.manager = area.getPlotManager();
+    }
+
+    @Benchmark
+    public PlotId plot() {
+        final int i = this.index++ & (POSITIONS - 1);
+        return this.manager.getPlotId(this.plotX[i], 64, this.plotZ[i]);
+    }
+
+    @Benchmark
+    public PlotId road() {
+        final int i = this.index++ & (POSITIONS - 1);
+        return this.manager.getPlotId(this.roadX[i], 64, this.roadZ[i]);
+    }
+
+    @Benchmark
+    public PlotId mergedRoad() {
+        final int i = this.index++ & (POSITIONS - 1);
+        return this.manager.getPlotId(this.mergedRoadX[i], 64, this.mergedRoadZ[i]);
+    }
+
+}
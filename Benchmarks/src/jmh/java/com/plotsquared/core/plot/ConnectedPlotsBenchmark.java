@@ -0,0 +1,87 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.BenchmarkPlatform;
+import com.plotsquared.core.generator.BenchmarkPlotWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of the plots merged with a plot. The merged plot is a square of {@code size} by {@code size} plots next
+ * to a grid of unmerged plots; {@link #cold()} clears the connection cache before every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConnectedPlotsBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int plots;
+
+    @Param({"2", "8", "32"})
+    public int size;
+
+    private Plot base;
+    private Plot corner;
+    private Plot single;
+
+    @Setup
+    public void setup() {
+        final BenchmarkPlotWorld area = BenchmarkPlatform.install().createArea("connected-plots-" + this.plots + "-" + this.size,
+                this.plots);
+        final PlotId bottom = PlotId.of(BenchmarkPlotWorld.getGridSide(this.plots) + 2, 1);
+        this.base = area.claimMerged(bottom, this.size, this.size, UUID.randomUUID());
+        this.corner = area.getPlotAbs(PlotId.of(bottom.getX() + this.size - 1, this.size));
+        this.single = area.getPlotAbs(PlotId.of(1, 1));
+    }
+
+    @Benchmark
+    public Set<Plot> cold() {
+        this.base.clearCache();
+        return this.base.getConnectedPlots();
+    }
+
+    @Benchmark
+    public Set<Plot> cached() {
+        return this.corner.getConnectedPlots();
+    }
+
+    @Benchmark
+    public Set<Plot> unmerged() {
+        return this.single.getConnectedPlots();
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.BenchmarkPlatform;
+import com.plotsquared.core.generator.BenchmarkPlotWorld;
+import com.plotsquared.core.location.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plot lookups by location, as done by most listeners on every event. Almost half of the locations fall outside the
+ * claimed grid and an eighth lie on roads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlotAreaBenchmark {
+
+    private static final int LOCATIONS = 4096;
+
+    @Param({"1000", "100000", "1000000"})
+    public int plots;
+
+    private PlotArea area;
+    private Location[] locations;
+    private int index;
+
+    @Setup
+    public void setup() {
+        final BenchmarkPlotWorld area = BenchmarkPlatform.install().createArea("plot-area-" + this.plots, this.plots);
+        final int side = BenchmarkPlotWorld.getGridSide(this.plots);
+        final Random random = new Random(42);
+        this.locations = new Location[LOCATIONS];
+        for (int i = 0; i < LOCATIONS; i++) {
+            final int plotX = random.nextInt(side + side / 3 + 1);
+            final int plotZ = random.nextInt(side + side / 3 + 1);
+            // Roads take up the first four blocks of every grid cell
+            final boolean road = random.nextInt(8) == 0;
+            final int offsetX = road ? random.nextInt(4) : 4 + random.nextInt(area.PLOT_WIDTH);
+            final int offsetZ = 4 + random.nextInt(area.PLOT_WIDTH);
+            this.locations[i] = Location.at(area.getWorldName(), plotX * area.SIZE + offsetX, 64, plotZ * area.SIZE + offsetZ);
+        }
+        this.area = area;
+    }
+
+    private Location next() {
+        return this.locations[this.index++ & (LOCATIONS - 1)];
+    }
+
+    @Benchmark
+    public Plot getPlot() {
+        return this.area.getPlot(next());
+    }
+
+    @Benchmark
+    public Plot getOwnedPlot() {
+        return this.area.getOwnedPlot(next());
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.BenchmarkPlatform;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Heap retained per plot as plots are loaded from the database, reported as the {@code bytesPerPlot} counter. Most plots
+ * have no players added and nothing but an owner set. With {@code readPlayers}, the player lists of every plot are read
+ * before measuring, which must not change the footprint.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlotFootprintBenchmark {
+
+    @Param({"10000", "100000"})
+    public int plots;
+
+    @Param({"false", "true"})
+    public boolean readPlayers;
+
+    private UUID[] owners;
+
+    @Setup
+    public void setup() {
+        BenchmarkPlatform.install();
+        final Random random = new Random(this.plots);
+        this.owners = new UUID[Math.max(1, this.plots / 4)];
+        for (int i = 0; i < this.owners.length; i++) {
+            this.owners[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+    }
+
+    @Benchmark
+    public Plot[] load(final Footprint footprint) {
+        final int side = (int) Math.ceil(Math.sqrt(this.plots));
+        final Plot[] loaded = new Plot[this.plots];
+        for (int i = 0; i < this.plots; i++) {
+            // The same arguments the database passes for a plot without players, alias or flags
+            loaded[i] = new Plot(PlotId.of(1 + i % side, 1 + i / side), this.owners[i % this.owners.length],
+                    new HashSet<>(), new HashSet<>(), new HashSet<>(), "", null, null, null,
+                    new boolean[]{false, false, false, false}, i, i + 1
+            );
+        }
+        if (this.readPlayers) {
+            for (final Plot plot : loaded) {
+                plot.getMembers();
+                plot.getTrusted();
+                plot.getDenied();
+            }
+        }
+        // Owners are shared with the rest of the server, only count what the plots hold on to themselves
+        final GraphLayout layout = GraphLayout.parseInstance((Object[]) loaded)
+                .subtract(GraphLayout.parseInstance((Object[]) this.owners));
+        footprint.bytesPerPlot = layout.totalSize() / this.plots;
+        return loaded;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long bytesPerPlot;
+
+    }
+
+}
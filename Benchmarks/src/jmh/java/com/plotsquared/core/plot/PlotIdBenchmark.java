@@ -0,0 +1,92 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plot id creation, parsing and use as a map key. The ids are spread over a square grid of the given size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlotIdBenchmark {
+
+    private static final int IDS = 4096;
+
+    @Param({"1000", "1000000"})
+    public int plots;
+
+    private final int[] x = new int[IDS];
+    private final int[] y = new int[IDS];
+    private final String[] strings = new String[IDS];
+    private Map<PlotId, Integer> map;
+    private int index;
+
+    @Setup
+    public void setup() {
+        final int side = (int) Math.ceil(Math.sqrt(this.plots));
+        final Random random = new Random(42);
+        for (int i = 0; i < IDS; i++) {
+            this.x[i] = random.nextInt(side) - side / 2;
+            this.y[i] = random.nextInt(side) - side / 2;
+            this.strings[i] = this.x[i] + ";" + this.y[i];
+        }
+        this.map = new HashMap<>(this.plots * 2);
+        for (int i = 0; i < this.plots; i++) {
+            this.map.put(PlotId.of(i % side - side / 2, i / side - side / 2), i);
+        }
+    }
+
+    @Benchmark
+    public PlotId of() {
+        final int i = this.index++ & (IDS - 1);
+        return PlotId.of(this.x[i], this.y[i]);
+    }
+
+    @Benchmark
+    public PlotId fromString() {
+        return PlotId.fromString(this.strings[this.index++ & (IDS - 1)]);
+    }
+
+    @Benchmark
+    public Integer lookup() {
+        final int i = this.index++ & (IDS - 1);
+        return this.map.get(PlotId.of(this.x[i], this.y[i]));
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.flag;
+
+import com.plotsquared.core.BenchmarkPlatform;
+import com.plotsquared.core.generator.BenchmarkPlotWorld;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.flag.implementations.FlyFlag;
+import com.plotsquared.core.plot.flag.implementations.GreetingFlag;
+import com.plotsquared.core.plot.flag.implementations.PvpFlag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flag resolution through the plot, area and global containers. The {@code container*} benchmarks resolve a flag
+ * set at each level of the hierarchy, {@link #plotGetFlag()} reads through the plots of an area where every other
+ * plot has the flag set locally.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlagContainerBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int plots;
+
+    private FlagContainer container;
+    private Plot[] plotArray;
+    private int index;
+
+    @Setup
+    public void setup() {
+        final BenchmarkPlotWorld area = BenchmarkPlatform.install().createArea("flag-container-" + this.plots, this.plots);
+        area.getFlagContainer().addFlag(FlyFlag.FLIGHT_FLAG_ENABLED);
+        this.plotArray = area.getPlots().toArray(new Plot[0]);
+        for (int i = 0; i < this.plotArray.length; i += 2) {
+            this.plotArray[i].getFlagContainer().addFlag(PvpFlag.PVP_TRUE);
+        }
+        this.container = this.plotArray[0].getFlagContainer();
+    }
+
+    @Benchmark
+    public PvpFlag containerLocal() {
+        return this.container.getFlag(PvpFlag.class);
+    }
+
+    @Benchmark
+    public FlyFlag containerArea() {
+        return this.container.getFlag(FlyFlag.class);
+    }
+
+    @Benchmark
+    public GreetingFlag containerGlobal() {
+        return this.container.getFlag(GreetingFlag.class);
+    }
+
+    @Benchmark
+    public Boolean plotGetFlag() {
+        final Plot plot = this.plotArray[this.index];
+        this.index = (this.index + 1) % this.plotArray.length;
+        return plot.getFlag(PvpFlag.class);
+    }
+
+}
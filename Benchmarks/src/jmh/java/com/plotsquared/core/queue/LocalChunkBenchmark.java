@@ -0,0 +1,216 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.BenchmarkPlatform;
+import com.plotsquared.core.util.ChunkUtil;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Block writes into a fresh {@link LocalChunk}, for a full chunk and for a single layer such as a plot floor. The
+ * number of distinct blocks decides how far the section palettes grow. The {@code Array} variants write into the
+ * {@code BaseBlock[4096]} per section that chunks used before, as a baseline. The {@code retained} benchmarks report
+ * the heap held by a filled chunk and layer as the {@code bytesPerChunk} and {@code bytesPerLayer} counters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LocalChunkBenchmark {
+
+    private static final int MIN_Y = -64;
+    private static final int MAX_Y = 319;
+
+    @Param({"1", "16", "256"})
+    public int distinct;
+
+    private QueueCoordinator queue;
+    private BaseBlock[] blocks;
+
+    @Setup
+    public void setup() {
+        BenchmarkPlatform.install();
+        // Without a world the queue falls back to the platform heights
+        this.queue = new BasicQueueCoordinator(null) {
+            @Override
+            public BlockState getBlock(final int x, final int y, final int z) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void start() {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        };
+        this.blocks = new BaseBlock[this.distinct];
+        for (int i = 0; i < this.distinct; i++) {
+            this.blocks[i] = new SyntheticBlock(i);
+        }
+    }
+
+    @Benchmark
+    public LocalChunk fillChunk() {
+        final LocalChunk chunk = new LocalChunk(this.queue, 0, 0);
+        int i = 0;
+        for (int y = MIN_Y; y <= MAX_Y; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    chunk.setBlock(x, y, z, this.blocks[i++ % this.distinct]);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    @Benchmark
+    public LocalChunk fillLayer() {
+        final LocalChunk chunk = new LocalChunk(this.queue, 0, 0);
+        int i = 0;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                chunk.setBlock(x, 64, z, this.blocks[i++ % this.distinct]);
+            }
+        }
+        return chunk;
+    }
+
+    @Benchmark
+    public ArrayChunk fillChunkArray() {
+        final ArrayChunk chunk = new ArrayChunk();
+        int i = 0;
+        for (int y = MIN_Y; y <= MAX_Y; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    chunk.setBlock(x, y, z, this.blocks[i++ % this.distinct]);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    @Benchmark
+    public ArrayChunk fillLayerArray() {
+        final ArrayChunk chunk = new ArrayChunk();
+        int i = 0;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                chunk.setBlock(x, 64, z, this.blocks[i++ % this.distinct]);
+            }
+        }
+        return chunk;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public LocalChunk retained(final Footprint footprint) {
+        footprint.bytesPerChunk = this.retainedSize(this.fillChunk());
+        final LocalChunk layer = this.fillLayer();
+        footprint.bytesPerLayer = this.retainedSize(layer);
+        return layer;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public ArrayChunk retainedArray(final Footprint footprint) {
+        footprint.bytesPerChunk = this.retainedSize(this.fillChunkArray());
+        final ArrayChunk layer = this.fillLayerArray();
+        footprint.bytesPerLayer = this.retainedSize(layer);
+        return layer;
+    }
+
+    private long retainedSize(final Object chunk) {
+        // The queue and the blocks are shared by every chunk, so they are not part of its footprint
+        return GraphLayout.parseInstance(chunk).subtract(GraphLayout.parseInstance(this.queue, this.blocks)).totalSize();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long bytesPerChunk;
+        public long bytesPerLayer;
+
+    }
+
+    /**
+     * Block storage of a chunk before sections were paletted, a full array of blocks for every section that was
+     * written to.
+     */
+    public static final class ArrayChunk {
+
+        private final BaseBlock[][] sections = new BaseBlock[(MAX_Y - MIN_Y + 1) >> 4][];
+
+        private void setBlock(final int x, final int y, final int z, final BaseBlock block) {
+            final int section = (y >> 4) - (MIN_Y >> 4);
+            BaseBlock[] blocks = this.sections[section];
+            if (blocks == null) {
+                blocks = this.sections[section] = new BaseBlock[4096];
+            }
+            blocks[ChunkUtil.getJ(x, y, z)] = block;
+        }
+
+    }
+
+    /**
+     * Block without a backing state, WorldEdit block states cannot be created without a platform. Palettes only rely on
+     * equality, so an id is enough to tell blocks apart.
+     */
+    private static final class SyntheticBlock extends BaseBlock {
+
+        private final int id;
+
+        private SyntheticBlock(final int id) {
+            super((BlockState) null);
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof SyntheticBlock other && other.id == this.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id;
+        }
+
+    }
+
+}
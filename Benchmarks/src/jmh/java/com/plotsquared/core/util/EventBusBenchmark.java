@@ -0,0 +1,106 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posting an event through {@link DirectEventBus} and through Guava's {@link EventBus}, with no listener (the common case
+ * for most plot events), and with several listeners, some of which are serialised.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventBusBenchmark {
+
+    @Param({"0", "1", "8"})
+    public int listeners;
+
+    private DirectEventBus direct;
+    private EventBus guava;
+
+    @Setup
+    public void setup() {
+        this.direct = new DirectEventBus();
+        this.guava = new EventBus();
+        for (int i = 0; i < this.listeners; i++) {
+            final Object listener = i % 2 == 0 ? new ConcurrentListener() : new SerialListener();
+            this.direct.register(listener);
+            this.guava.register(listener);
+        }
+    }
+
+    @Benchmark
+    public Event direct() {
+        final Event event = new Event();
+        this.direct.post(event);
+        return event;
+    }
+
+    @Benchmark
+    public Event guava() {
+        final Event event = new Event();
+        this.guava.post(event);
+        return event;
+    }
+
+    public static final class Event {
+
+        private int handled;
+
+    }
+
+    public static final class ConcurrentListener {
+
+        @Subscribe
+        @AllowConcurrentEvents
+        public void onEvent(final Event event) {
+            event.handled++;
+        }
+
+    }
+
+    public static final class SerialListener {
+
+        @Subscribe
+        public void onEvent(final Event event) {
+            event.handled++;
+        }
+
+    }
+
+}
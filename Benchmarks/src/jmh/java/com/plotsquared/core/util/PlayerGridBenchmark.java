@@ -0,0 +1,167 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player lookups around a position and in a plot-sized area, answered by the {@link PlayerGrid} and by the linear scan
+ * over every online player it replaced. Players are spread over {@code worlds} worlds of {@code spread} blocks square;
+ * {@link #move()} measures the incremental update made for every player movement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerGridBenchmark {
+
+    private static final double RADIUS = 16;
+    private static final int PLOT_SIZE = 42;
+
+    @Param({"500"})
+    public int players;
+
+    @Param({"1", "4"})
+    public int worlds;
+
+    @Param({"512", "4096"})
+    public int spread;
+
+    private final PlayerGrid<Position> grid = new PlayerGrid<>();
+    private final List<Position> online = new ArrayList<>();
+    private Random random;
+    private Position[] positions;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.random = new Random(this.players);
+        this.positions = new Position[this.players];
+        for (int i = 0; i < this.players; i++) {
+            final Position position = new Position(
+                    UUID.randomUUID(),
+                    "world-" + i % this.worlds,
+                    this.random.nextDouble() * this.spread,
+                    64,
+                    this.random.nextDouble() * this.spread
+            );
+            this.positions[i] = position;
+            this.online.add(position);
+            this.grid.update(position.uuid, position, position.world, position.x, position.y, position.z);
+        }
+    }
+
+    private Position nextPosition() {
+        final Position position = this.positions[this.next];
+        this.next = (this.next + 1) % this.positions.length;
+        return position;
+    }
+
+    @Benchmark
+    public List<Position> nearbyGrid() {
+        final Position center = this.nextPosition();
+        return this.grid.getNearbyPlayers(center.world, center.x, center.y, center.z, RADIUS);
+    }
+
+    @Benchmark
+    public List<Position> nearbyScan() {
+        final Position center = this.nextPosition();
+        final List<Position> nearby = new ArrayList<>();
+        for (final Position position : this.online) {
+            if (position.world.equals(center.world) && Math.abs(position.x - center.x) <= RADIUS
+                    && Math.abs(position.y - center.y) <= RADIUS && Math.abs(position.z - center.z) <= RADIUS) {
+                nearby.add(position);
+            }
+        }
+        return nearby;
+    }
+
+    @Benchmark
+    public List<Position> plotGrid() {
+        final Position corner = this.nextPosition();
+        final int minX = (int) Math.floor(corner.x);
+        final int minZ = (int) Math.floor(corner.z);
+        return this.grid.getPlayersInArea(corner.world, minX, minZ, minX + PLOT_SIZE - 1, minZ + PLOT_SIZE - 1);
+    }
+
+    @Benchmark
+    public List<Position> plotScan() {
+        final Position corner = this.nextPosition();
+        final int minX = (int) Math.floor(corner.x);
+        final int minZ = (int) Math.floor(corner.z);
+        final List<Position> inPlot = new ArrayList<>();
+        for (final Position position : this.online) {
+            if (!position.world.equals(corner.world)) {
+                continue;
+            }
+            final int x = (int) Math.floor(position.x);
+            final int z = (int) Math.floor(position.z);
+            if (x >= minX && x < minX + PLOT_SIZE && z >= minZ && z < minZ + PLOT_SIZE) {
+                inPlot.add(position);
+            }
+        }
+        return inPlot;
+    }
+
+    @Benchmark
+    public void move() {
+        final Position position = this.nextPosition();
+        // Walk a block in a random direction, crossing into a neighbouring chunk from time to time
+        position.x += this.random.nextBoolean() ? 1 : -1;
+        position.z += this.random.nextBoolean() ? 1 : -1;
+        this.grid.update(position.uuid, position, position.world, position.x, position.y, position.z);
+    }
+
+    public static final class Position {
+
+        private final UUID uuid;
+        private final String world;
+        private final double y;
+        private double x;
+        private double z;
+
+        private Position(final UUID uuid, final String world, final double x, final double y, final double z) {
+            this.uuid = uuid;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.queue.ChunkSectionSnapshot;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Export of a plot of {@code size} by {@code size} blocks and the full world height through the
+ * {@link SchematicExporter}, against the single pass encoder that built a palette key string for every block, as a
+ * baseline. Chunks are snapshots of {@code distinct} different blocks, so only encoding is measured, not reading the
+ * world.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SchematicExporterBenchmark {
+
+    private static final int MIN_Y = -64;
+    private static final int MAX_Y = 319;
+    private static final BiomeType BIOME = new BiomeType("minecraft:plains");
+
+    /**
+     * Keys synthetic blocks by their id, the same way block states key real blocks.
+     */
+    private static final SchematicExporter.PaletteKeys KEYS = new SchematicExporter.PaletteKeys() {
+        @Override
+        public Object state(final BaseBlock block) {
+            return ((SyntheticBlock) block).id;
+        }
+
+        @Override
+        public Object air() {
+            return -1;
+        }
+
+        @Override
+        public String key(final Object state) {
+            return "minecraft:block_" + state;
+        }
+    };
+
+    @Param({"42", "128"})
+    public int size;
+
+    @Param({"16", "256"})
+    public int distinct;
+
+    private BaseBlock[] blocks;
+    private CuboidRegion region;
+    private Map<BlockVector2, ChunkSectionSnapshot> snapshots;
+
+    @Setup
+    public void setup() {
+        this.blocks = new BaseBlock[this.distinct];
+        for (int i = 0; i < this.distinct; i++) {
+            this.blocks[i] = new SyntheticBlock(i);
+        }
+        this.region = new CuboidRegion(
+                BlockVector3.at(0, MIN_Y, 0),
+                BlockVector3.at(this.size - 1, MAX_Y, this.size - 1)
+        );
+        this.snapshots = new HashMap<>();
+        for (final BlockVector2 chunk : this.region.getChunks()) {
+            final int bx = chunk.getX() << 4;
+            final int bz = chunk.getZ() << 4;
+            this.snapshots.put(chunk, new ChunkSectionSnapshot() {
+                @Override
+                public BaseBlock getFullBlock(final int x, final int y, final int z) {
+                    return block(bx + x, y, bz + z);
+                }
+
+                @Override
+                public BiomeType getBiome(final int x, final int y, final int z) {
+                    return BIOME;
+                }
+            });
+        }
+    }
+
+    private BaseBlock block(final int x, final int y, final int z) {
+        // Layers of one block each, with the distinct blocks scattered through them
+        final int hash = (x * 73856093) ^ (y * 19349663) ^ (z * 83492791);
+        return this.blocks[(hash & 7) == 0 ? Math.floorMod(hash >> 3, this.distinct) : Math.floorMod(y, this.distinct)];
+    }
+
+    @Benchmark
+    public SchematicExporter.Result export() {
+        return new SchematicExporter(this.region, Set.of(this.region), this.snapshots, KEYS).encode().join();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream singlePass() {
+        final Map<String, Integer> palette = new HashMap<>();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(
+                this.region.getWidth() * this.region.getHeight() * this.region.getLength());
+        for (int y = MIN_Y; y <= MAX_Y; y++) {
+            for (int z = 0; z < this.size; z++) {
+                for (int x = 0; x < this.size; x++) {
+                    final BaseBlock block = this.snapshots.get(BlockVector2.at(x >> 4, z >> 4))
+                            .getFullBlock(x & 15, y, z & 15);
+                    final String key = KEYS.key(KEYS.state(block));
+                    SchematicExporter.writeVarInt(buffer, palette.computeIfAbsent(key, k -> palette.size()));
+                }
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Block without a backing state, WorldEdit block states cannot be created without a platform. Palettes only rely on
+     * the keys above, so an id is enough to tell blocks apart.
+     */
+    private static final class SyntheticBlock extends BaseBlock {
+
+        private final int id;
+
+        private SyntheticBlock(final int id) {
+            super((BlockState) null);
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof SyntheticBlock other && other.id == this.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id;
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.query;
+
+import com.plotsquared.core.BenchmarkPlatform;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.RatingIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing every plot of an area, or only the first ten, with each sorting strategy, as done by {@code /plot list} and the
+ * top lists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlotQueryBenchmark {
+
+    private static final Comparator<Plot> BY_ID = Comparator.comparingInt(plot -> plot.getId().hashCode());
+
+    @Param({"1000", "100000", "1000000"})
+    public int plots;
+
+    @Param({"NO_SORTING", "SORT_BY_TEMP", "SORT_BY_CREATION", "SORT_BY_RATING"})
+    public SortingStrategy strategy;
+
+    private PlotArea area;
+
+    @Setup
+    public void setup() {
+        this.area = BenchmarkPlatform.install().createArea("plot-query-" + this.plots + "-" + this.strategy, this.plots);
+        // Rate every tenth plot, so rating sorts have both rated and unrated plots to order
+        final Random random = new Random(this.plots);
+        int i = 0;
+        for (final Plot plot : this.area.getPlots()) {
+            if (i++ % 10 == 0) {
+                final HashMap<UUID, Integer> ratings = new HashMap<>();
+                ratings.put(new UUID(random.nextLong(), random.nextLong()), 1 + random.nextInt(10));
+                plot.getSettings().setRatings(ratings);
+                RatingIndex.getInstance().update(plot);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Plot> asList() {
+        return PlotQuery.newQuery().inArea(this.area).withSortingStrategy(this.strategy).asList();
+    }
+
+    @Benchmark
+    public List<Plot> topTen() {
+        return PlotQuery.newQuery().inArea(this.area).withSortingStrategy(this.strategy).asList(10);
+    }
+
+    @Benchmark
+    public List<Plot> asListSorted() {
+        return PlotQuery.newQuery().inArea(this.area).sorted(BY_ID).asList();
+    }
+
+}
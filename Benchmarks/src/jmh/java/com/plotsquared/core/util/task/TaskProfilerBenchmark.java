@@ -0,0 +1,87 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.task;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the {@link TaskProfiler} on a trivial task, with profiling enabled and disabled. {@link #direct()} is
+ * the unprofiled baseline, {@link #recorded()} times the task inline like the expiry and database code does, and
+ * {@link #wrapped()} wraps it like {@link TaskManager} does for repeating tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskProfilerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    private long runs;
+    private Runnable task;
+    private Runnable wrapped;
+
+    @Setup
+    public void setup() {
+        TaskProfiler.setEnabled(this.enabled);
+        this.task = () -> this.runs++;
+        this.wrapped = TaskProfiler.wrap(TaskProfiler.Origin.SYNC_TASK, this.task);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TaskProfiler.setEnabled(false);
+        TaskProfiler.reset();
+    }
+
+    @Benchmark
+    public void direct() {
+        this.task.run();
+    }
+
+    @Benchmark
+    public void recorded() {
+        final long start = TaskProfiler.start();
+        this.task.run();
+        TaskProfiler.record(TaskProfiler.Origin.SYNC_TASK, start);
+    }
+
+    @Benchmark
+    public void wrapped() {
+        this.wrapped.run();
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.uuid;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Heap retained per cached UUID mapping, reported as the {@code bytesPerEntry} counter, for the memory-mapped store and
+ * for the Guava cache it replaced. The mapped store keeps its records in the mapped file, outside of the heap.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UUIDCacheFootprintBenchmark {
+
+    @Param({"10000", "100000"})
+    public int entries;
+
+    @Param({"MAPPED", "GUAVA"})
+    public Store store;
+
+    private List<UUIDMapping> mappings;
+    private Path directory;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(this.entries);
+        this.mappings = new ArrayList<>(this.entries);
+        for (int i = 0; i < this.entries; i++) {
+            // Names of typical length, made of the characters Minecraft allows
+            this.mappings.add(new UUIDMapping(new UUID(random.nextLong(), random.nextLong()), "Player_" + Integer.toString(i, 36)));
+        }
+        this.directory = Files.createTempDirectory("uuid-footprint");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(this.directory)) {
+            for (final Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(this.directory);
+    }
+
+    @Benchmark
+    public Object fill(final Footprint footprint) throws Exception {
+        final Consumer<List<UUIDMapping>> cache = this.store.create(this.directory.resolve("uuid_cache_" + System.nanoTime() + ".dat"), this.entries);
+        // Measure the empty store first, so fixed costs such as the file channel are not counted per entry
+        final long empty = GraphLayout.parseInstance(cache).totalSize();
+        cache.accept(this.mappings);
+        footprint.bytesPerEntry = (GraphLayout.parseInstance(cache).totalSize() - empty) / this.entries;
+        if (cache instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        return cache;
+    }
+
+    public enum Store {
+        MAPPED {
+            @Override
+            Consumer<List<UUIDMapping>> create(final Path path, final int entries) throws IOException {
+                return MappedUUIDService.open(path);
+            }
+        },
+        GUAVA {
+            @Override
+            Consumer<List<UUIDMapping>> create(final Path path, final int entries) {
+                return new CacheUUIDService(entries);
+            }
+        };
+
+        abstract Consumer<List<UUIDMapping>> create(Path path, int entries) throws IOException;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long bytesPerEntry;
+
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.uuid;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving batches of UUIDs through the {@link UUIDPipeline}, as done when plots are listed or players are looked up
+ * on boot. A synchronous cache knows half of the players, and a slower service resolves the rest. Both services answer
+ * right away, so this measures the pipeline itself; the time per batch should grow linearly with the batch size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UUIDPipelineBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int batch;
+
+    private UUIDPipeline pipeline;
+    private List<UUID> uuids;
+
+    private static @NonNull List<UUIDMapping> resolve(final @NonNull List<UUID> uuids, final boolean cached) {
+        final List<UUIDMapping> mappings = new ArrayList<>();
+        for (final UUID uuid : uuids) {
+            if (!cached || (uuid.getLeastSignificantBits() & 1) == 0) {
+                mappings.add(new UUIDMapping(uuid, "player" + uuid.getLeastSignificantBits()));
+            }
+        }
+        return mappings;
+    }
+
+    @Setup
+    public void setup() {
+        // Run the asynchronous part inline, so no time is spent waiting for another thread
+        this.pipeline = new UUIDPipeline(Runnable::run);
+        this.pipeline.registerService(new UUIDService() {
+            @Override
+            public @NonNull List<@NonNull UUIDMapping> getNames(final @NonNull List<@NonNull UUID> uuids) {
+                return resolve(uuids, true);
+            }
+
+            @Override
+            public @NonNull List<@NonNull UUIDMapping> getUUIDs(final @NonNull List<@NonNull String> usernames) {
+                return List.of();
+            }
+
+            @Override
+            public boolean canBeSynchronous() {
+                return true;
+            }
+        });
+        this.pipeline.registerService(new UUIDService() {
+            @Override
+            public @NonNull List<@NonNull UUIDMapping> getNames(final @NonNull List<@NonNull UUID> uuids) {
+                return resolve(uuids, false);
+            }
+
+            @Override
+            public @NonNull List<@NonNull UUIDMapping> getUUIDs(final @NonNull List<@NonNull String> usernames) {
+                return List.of();
+            }
+        });
+        this.uuids = new ArrayList<>(this.batch);
+        for (int i = 0; i < this.batch; i++) {
+            this.uuids.add(new UUID(0, i));
+        }
+    }
+
+    @Benchmark
+    public List<UUIDMapping> getNames() {
+        return this.pipeline.getNames(this.uuids).join();
+    }
+
+}
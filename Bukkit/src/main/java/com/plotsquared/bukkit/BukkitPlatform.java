@@ -96,6 +96,7 @@ import com.plotsquared.core.plot.flag.implementations.ServerPlotFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.plot.world.SinglePlotArea;
 import com.plotsquared.core.plot.world.SinglePlotAreaManager;
+import com.plotsquared.core.plot.world.SinglePlotWorldManager;
 import com.plotsquared.core.setup.PlotAreaBuilder;
 import com.plotsquared.core.setup.SettingsNodesWrapper;
 import com.plotsquared.core.util.EventDispatcher;
@@ -109,7 +110,10 @@ import com.plotsquared.core.util.WorldUtil;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import com.plotsquared.core.uuid.CacheUUIDService;
+import com.plotsquared.core.uuid.MappedUUIDService;
+import com.plotsquared.core.uuid.UUIDMapping;
 import com.plotsquared.core.uuid.UUIDPipeline;
+import com.plotsquared.core.uuid.UUIDService;
 import com.plotsquared.core.uuid.offline.OfflineModeUUIDService;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
@@ -161,6 +165,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static com.plotsquared.core.util.PremiumVerification.getDownloadID;
 import static com.plotsquared.core.util.PremiumVerification.getResourceID;
@@ -188,6 +193,7 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
     private boolean methodUnloadSetup = false;
     private boolean metricsStarted;
     private boolean faweHook = false;
+    private MappedUUIDService mappedUUIDService;
 
     private Injector injector;
 
@@ -451,11 +457,10 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
         TaskManager.runTaskLater(() -> PlotSquared.platform().setupUtils().updateGenerators(true), TaskTime.ticks(1L));
 
         // Services are accessed in order
-        final CacheUUIDService cacheUUIDService = new CacheUUIDService(Settings.UUID.UUID_CACHE_SIZE);
-        this.impromptuPipeline.registerService(cacheUUIDService);
-        this.backgroundPipeline.registerService(cacheUUIDService);
-        this.impromptuPipeline.registerConsumer(cacheUUIDService);
-        this.backgroundPipeline.registerConsumer(cacheUUIDService);
+        final Consumer<List<UUIDMapping>> uuidCache = this.openUuidCache();
+        // The mapped cache persists across restarts, so the SQLite cache only has to be read into it once.
+        // The in-memory fallback starts out empty every time
+        final boolean readSQLiteCache = this.mappedUUIDService == null || this.mappedUUIDService.size() == 0;
 
         // Now, if the server is in offline mode we can only use profiles and direct UUID
         // access, and so we skip the player profile stuff as well as SquirrelID (Mojang lookups)
@@ -549,7 +554,7 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
         this.impromptuPipeline.storeImmediately("*", DBFunc.EVERYONE);
 
         if (Settings.UUID.BACKGROUND_CACHING_ENABLED) {
-            this.startUuidCaching(sqLiteUUIDService, cacheUUIDService);
+            this.startUuidCaching(sqLiteUUIDService, readSQLiteCache ? uuidCache : null);
         }
 
         if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
@@ -567,6 +572,9 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
             try {
                 singleWorldListener = injector().getInstance(SingleWorldListener.class);
                 Bukkit.getPluginManager().registerEvents(singleWorldListener, this);
+                if (this.plotAreaManager instanceof SinglePlotAreaManager) {
+                    ((SinglePlotAreaManager) this.plotAreaManager).getArea().getWorldManager().start();
+                }
             } catch (Exception e) {
                 e.printStackTrace();
             }
@@ -609,8 +617,9 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
         if (this.plotAreaManager instanceof SinglePlotAreaManager) {
             long start = System.currentTimeMillis();
             final SinglePlotArea area = ((SinglePlotAreaManager) this.plotAreaManager).getArea();
+            final SinglePlotWorldManager worldManager = area.getWorldManager();
 
-            outer:
+            final List<World> idleWorlds = new ArrayList<>();
             for (final World world : Bukkit.getWorlds()) {
                 final String name = world.getName();
                 final char char0 = name.charAt(0);
@@ -619,6 +628,7 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
                 }
 
                 if (!world.getPlayers().isEmpty()) {
+                    worldManager.touch(name);
                     continue;
                 }
 
@@ -634,49 +644,78 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
                             .platform()
                             .playerManager()
                             .getPlayerIfExists(plot.getOwner()) == null) {
-                        if (world.getKeepSpawnInMemory()) {
-                            world.setKeepSpawnInMemory(false);
-                            return;
-                        }
-                        final Chunk[] chunks = world.getLoadedChunks();
-                        if (chunks.length == 0) {
-                            if (!Bukkit.unloadWorld(world, true)) {
-                                LOGGER.warn("Failed to unload {}", world.getName());
+                        idleWorlds.add(world);
+                    }
+                }
+            }
+
+            outer:
+            for (final World world : worldManager.selectUnloadable(idleWorlds, World::getName)) {
+                if (world.getKeepSpawnInMemory()) {
+                    world.setKeepSpawnInMemory(false);
+                    return;
+                }
+                final Chunk[] chunks = world.getLoadedChunks();
+                if (chunks.length == 0) {
+                    if (!Bukkit.unloadWorld(world, true)) {
+                        LOGGER.warn("Failed to unload {}", world.getName());
+                    } else {
+                        worldManager.forget(world.getName());
+                    }
+                    return;
+                } else {
+                    int index = 0;
+                    do {
+                        final Chunk chunkI = chunks[index++];
+                        boolean result;
+                        if (methodUnloadChunk0 != null) {
+                            try {
+                                result = (boolean) methodUnloadChunk0.invoke(world, chunkI.getX(), chunkI.getZ(), true);
+                            } catch (Throwable e) {
+                                methodUnloadChunk0 = null;
+                                e.printStackTrace();
+                                continue outer;
                             }
-                            return;
                         } else {
-                            int index = 0;
-                            do {
-                                final Chunk chunkI = chunks[index++];
-                                boolean result;
-                                if (methodUnloadChunk0 != null) {
-                                    try {
-                                        result = (boolean) methodUnloadChunk0.invoke(world, chunkI.getX(), chunkI.getZ(), true);
-                                    } catch (Throwable e) {
-                                        methodUnloadChunk0 = null;
-                                        e.printStackTrace();
-                                        continue outer;
-                                    }
-                                } else {
-                                    result = world.unloadChunk(chunkI.getX(), chunkI.getZ(), true);
-                                }
-                                if (!result) {
-                                    continue outer;
-                                }
-                                if (System.currentTimeMillis() - start > 5) {
-                                    return;
-                                }
-                            } while (index < chunks.length);
+                            result = world.unloadChunk(chunkI.getX(), chunkI.getZ(), true);
                         }
-                    }
+                        if (!result) {
+                            continue outer;
+                        }
+                        if (System.currentTimeMillis() - start > 5) {
+                            return;
+                        }
+                    } while (index < chunks.length);
                 }
             }
         }
     }
 
+    private @NonNull Consumer<List<UUIDMapping>> openUuidCache() {
+        try {
+            this.mappedUUIDService = MappedUUIDService.open(
+                    FileUtils.getFile(PlotSquared.platform().getDirectory(), "uuid_cache.dat").toPath());
+            LOGGER.info("(UUID) Mapped {} cached UUIDs", this.mappedUUIDService.size());
+            return this.registerCachingService(this.mappedUUIDService);
+        } catch (final IOException e) {
+            LOGGER.error("(UUID) Failed to open the UUID cache file, falling back to an in-memory cache", e);
+            return this.registerCachingService(new CacheUUIDService(Settings.UUID.UUID_CACHE_SIZE));
+        }
+    }
+
+    private <S extends UUIDService & Consumer<List<UUIDMapping>>> @NonNull S registerCachingService(
+            final @NonNull S service
+    ) {
+        this.impromptuPipeline.registerService(service);
+        this.backgroundPipeline.registerService(service);
+        this.impromptuPipeline.registerConsumer(service);
+        this.backgroundPipeline.registerConsumer(service);
+        return service;
+    }
+
     private void startUuidCaching(
             final @NonNull SQLiteUUIDService sqLiteUUIDService,
-            final @NonNull CacheUUIDService cacheUUIDService
+            final @Nullable Consumer<List<UUIDMapping>> uuidCache
     ) {
         // Record all unique UUID's and put them into a queue
         final Set<UUID> uuidSet = new HashSet<>();
@@ -686,13 +725,20 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
             uuidSet.addAll(plot.getTrusted());
             uuidSet.addAll(plot.getDenied());
         });
+        // The SQLite cache is only skipped if the mapped cache already has mappings. Every name resolved since it was
+        // created was stored in it, so only the players it lacks have to be looked up
+        if (uuidCache == null && this.mappedUUIDService != null) {
+            uuidSet.removeIf(this.mappedUUIDService::contains);
+        }
         final Queue<UUID> uuidQueue = new LinkedBlockingQueue<>(uuidSet);
 
         LOGGER.info("(UUID) {} UUIDs will be cached", uuidQueue.size());
 
         Executors.newSingleThreadScheduledExecutor().schedule(() -> {
-            // Begin by reading all the SQLite cache at once
-            cacheUUIDService.accept(sqLiteUUIDService.getAll());
+            // Begin by reading all the SQLite cache at once, unless it has been read before
+            if (uuidCache != null) {
+                uuidCache.accept(sqLiteUUIDService.getAll());
+            }
             // Now fetch names for all known UUIDs
             final int totalSize = uuidQueue.size();
             int read = 0;
@@ -742,6 +788,13 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
     public void onDisable() {
         PlotSquared.get().disable();
         Bukkit.getScheduler().cancelTasks(this);
+        if (this.mappedUUIDService != null) {
+            try {
+                this.mappedUUIDService.close();
+            } catch (final IOException e) {
+                LOGGER.error("(UUID) Failed to close the UUID cache file", e);
+            }
+        }
     }
 
     @Override
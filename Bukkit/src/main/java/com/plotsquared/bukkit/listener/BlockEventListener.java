@@ -129,14 +129,9 @@ public class BlockEventListener implements Listener {
             int z = bloc.getBlockZ();
             int distance = Bukkit.getViewDistance() * 16;
 
-            for (final PlotPlayer<?> player : PlotSquared.platform().playerManager().getPlayers()) {
-                Location location = player.getLocation();
-                if (location.getWorldName().equals(world)) {
-                    if (16 * Math.abs(location.getX() - x) / 16 > distance || 16 * Math.abs(location.getZ() - z) / 16 > distance) {
-                        continue;
-                    }
-                    ((BukkitPlayer) player).player.sendBlockChange(bloc, data);
-                }
+            for (final PlotPlayer<?> player : PlotSquared.platform().playerManager().getPlayerGrid()
+                    .getPlayersInArea(world, x - distance, z - distance, x + distance, z + distance)) {
+                ((BukkitPlayer) player).player.sendBlockChange(bloc, data);
             }
         }, TaskTime.ticks(3L));
     }
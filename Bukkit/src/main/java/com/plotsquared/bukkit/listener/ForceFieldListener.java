@@ -19,7 +19,7 @@
 package com.plotsquared.bukkit.listener;
 
 import com.plotsquared.bukkit.player.BukkitPlayer;
-import com.plotsquared.bukkit.util.BukkitUtil;
+import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.permissions.Permission;
 import com.plotsquared.core.player.PlotPlayer;
@@ -29,22 +29,28 @@ import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 @SuppressWarnings("unused")
 public class ForceFieldListener {
 
+    private static List<? extends PlotPlayer<?>> getPlayersAround(Player player) {
+        org.bukkit.Location location = player.getLocation();
+        return PlotSquared.platform().playerManager().getPlayerGrid().getNearbyPlayers(
+                player.getWorld().getName(),
+                location.getX(),
+                location.getY(),
+                location.getZ(),
+                5d
+        );
+    }
+
     private static Set<PlotPlayer<?>> getNearbyPlayers(Player player, Plot plot) {
         Set<PlotPlayer<?>> players = new HashSet<>();
-        for (Player nearPlayer : player.getNearbyEntities(5d, 5d, 5d).stream()
-                .filter(entity -> entity instanceof Player)
-                .map(entity -> (Player) entity)
-                .toList()
-        ) {
-            PlotPlayer<?> plotPlayer;
-            if ((plotPlayer = BukkitUtil.adapt(nearPlayer)) == null || !plot
-                    .equals(plotPlayer.getCurrentPlot())) {
+        for (PlotPlayer<?> plotPlayer : getPlayersAround(player)) {
+            if (plotPlayer.getUUID().equals(player.getUniqueId()) || !plot.equals(plotPlayer.getCurrentPlot())) {
                 continue;
             }
             if (!plot.isAdded(plotPlayer.getUUID())) {
@@ -55,14 +61,8 @@ public class ForceFieldListener {
     }
 
     private static PlotPlayer<?> hasNearbyPermitted(Player player, Plot plot) {
-        for (Player nearPlayer : player.getNearbyEntities(5d, 5d, 5d).stream()
-                .filter(entity -> entity instanceof Player)
-                .map(entity -> (Player) entity)
-                .toList()
-        ) {
-            PlotPlayer<?> plotPlayer;
-            if ((plotPlayer = BukkitUtil.adapt(nearPlayer)) == null || !plot
-                    .equals(plotPlayer.getCurrentPlot())) {
+        for (PlotPlayer<?> plotPlayer : getPlayersAround(player)) {
+            if (plotPlayer.getUUID().equals(player.getUniqueId()) || !plot.equals(plotPlayer.getCurrentPlot())) {
                 continue;
             }
             if (plot.isAdded(plotPlayer.getUUID())) {
@@ -78,14 +78,9 @@ public class HighFreqBlockEventListener implements Listener {
             int z = bloc.getBlockZ();
             int distance = Bukkit.getViewDistance() * 16;
 
-            for (final PlotPlayer<?> player : PlotSquared.platform().playerManager().getPlayers()) {
-                Location location = player.getLocation();
-                if (location.getWorldName().equals(world)) {
-                    if (16 * Math.abs(location.getX() - x) / 16 > distance || 16 * Math.abs(location.getZ() - z) / 16 > distance) {
-                        continue;
-                    }
-                    ((BukkitPlayer) player).player.sendBlockChange(bloc, data);
-                }
+            for (final PlotPlayer<?> player : PlotSquared.platform().playerManager().getPlayerGrid()
+                    .getPlayersInArea(world, x - distance, z - distance, x + distance, z + distance)) {
+                ((BukkitPlayer) player).player.sendBlockChange(bloc, data);
             }
         }, TaskTime.ticks(3L));
     }
@@ -140,10 +135,8 @@ public class HighFreqBlockEventListener implements Listener {
             }
         }
         if (Settings.Redstone.DISABLE_UNOCCUPIED) {
-            for (final PlotPlayer<?> player : PlotSquared.platform().playerManager().getPlayers()) {
-                if (plot.equals(player.getCurrentPlot())) {
-                    return;
-                }
+            if (!plot.getPlayersInPlot().isEmpty()) {
+                return;
             }
             event.setNewCurrent(0);
         }
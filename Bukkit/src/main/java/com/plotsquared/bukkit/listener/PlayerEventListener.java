@@ -22,6 +22,7 @@ import com.destroystokyo.paper.MaterialTags;
 import com.google.common.base.Charsets;
 import com.google.inject.Inject;
 import com.plotsquared.bukkit.player.BukkitPlayer;
+import com.plotsquared.bukkit.player.BukkitPlayerManager;
 import com.plotsquared.bukkit.util.BukkitEntityUtil;
 import com.plotsquared.bukkit.util.BukkitUtil;
 import com.plotsquared.bukkit.util.UpdateUtility;
@@ -34,6 +35,7 @@ import com.plotsquared.core.listener.PlotListener;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.permissions.Permission;
 import com.plotsquared.core.player.ConsolePlayer;
+import com.plotsquared.core.player.LoginPrefetch;
 import com.plotsquared.core.player.MetaDataAccess;
 import com.plotsquared.core.player.PlayerMetaDataKeys;
 import com.plotsquared.core.player.PlotPlayer;
@@ -72,6 +74,7 @@ import com.plotsquared.core.plot.flag.types.BlockTypeWrapper;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.MathMan;
+import com.plotsquared.core.util.PlayerManager;
 import com.plotsquared.core.util.PlotFlagUtil;
 import com.plotsquared.core.util.PremiumVerification;
 import com.plotsquared.core.util.entity.EntityCategories;
@@ -514,6 +517,9 @@ public class PlayerEventListener implements Listener {
             uuid = event.getUniqueId();
         }
         PlotSquared.get().getImpromptuUUIDPipeline().storeImmediately(event.getName(), uuid);
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            LoginPrefetch.prefetch(uuid);
+        }
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -522,6 +528,7 @@ public class PlayerEventListener implements Listener {
         final Player player = event.getPlayer();
         PlotSquared.platform().playerManager().removePlayer(player.getUniqueId());
         final PlotPlayer<Player> pp = BukkitUtil.adapt(player);
+        this.track(player, player.getLocation());
 
         // we're stripping the country code as we don't want to differ between countries
         pp.setLocale(Locale.forLanguageTag(player.getLocale().substring(0, 2)));
@@ -639,6 +646,41 @@ public class PlayerEventListener implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void trackMove(PlayerMoveEvent event) {
+        final org.bukkit.Location from = event.getFrom();
+        final org.bukkit.Location to = event.getTo();
+        if (from.getBlockX() != to.getBlockX() || from.getBlockY() != to.getBlockY() || from.getBlockZ() != to.getBlockZ()
+                || from.getWorld() != to.getWorld()) {
+            this.track(event.getPlayer(), to);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void trackTeleport(PlayerTeleportEvent event) {
+        //noinspection ConstantConditions
+        if (event.getTo() != null && event.getPlayer().isOnline()) {
+            this.track(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void trackRespawn(PlayerRespawnEvent event) {
+        this.track(event.getPlayer(), event.getRespawnLocation());
+    }
+
+    private void track(final @NonNull Player player, final org.bukkit.@NonNull Location location) {
+        final PlayerManager<?, ?> playerManager = PlotSquared.platform().playerManager();
+        ((BukkitPlayerManager) playerManager).getPlayerGrid().update(
+                player.getUniqueId(),
+                BukkitUtil.adapt(player),
+                location.getWorld().getName(),
+                location.getX(),
+                location.getY(),
+                location.getZ()
+        );
+    }
+
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void vehicleMove(VehicleMoveEvent event)
             throws IllegalAccessException {
@@ -667,6 +709,7 @@ public class PlayerEventListener implements Listener {
                     List<Entity> passengers = vehicle.getPassengers();
 
                     this.playerMove(moveTmp);
+                    this.track(player, moveTmp.isCancelled() ? from : moveTmp.getTo());
                     org.bukkit.Location dest;
                     if (moveTmp.isCancelled()) {
                         dest = from;
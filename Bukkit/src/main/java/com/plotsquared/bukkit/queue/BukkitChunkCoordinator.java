@@ -26,6 +26,7 @@ import com.plotsquared.core.queue.ChunkCoordinator;
 import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
 import com.plotsquared.core.util.task.PlotSquaredTask;
 import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskProfiler;
 import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.world.World;
@@ -79,6 +80,8 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
     private final boolean shouldGen;
 
     private int batchSize;
+    // Chunks this coordinator still counts against the shared budget
+    private int pendingChunks;
     private PlotSquaredTask task;
     private volatile boolean shouldCancel;
     private boolean finished;
@@ -116,6 +119,8 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
 
     @Override
     public void start() {
+        this.pendingChunks = this.totalSize;
+        addPendingChunks(this.totalSize);
         if (!forceSync) {
             // Request initial batch
             this.requestBatch();
@@ -140,6 +145,8 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
     }
 
     private void finish() {
+        addPendingChunks(-this.pendingChunks);
+        this.pendingChunks = 0;
         try {
             this.whenDone.run();
         } catch (final Throwable throwable) {
@@ -179,6 +186,7 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             }
             return;
         }
+        final long sample = TaskProfiler.start();
         long[] iterationTime = new long[2];
         int processedChunks = 0;
         do {
@@ -197,11 +205,16 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             iterationTime[0] = iterationTime[1];
             iterationTime[1] = end - start;
         } while (iterationTime[0] + iterationTime[1] < this.maxIterationTime * 2 && (chunk = availableChunks.poll()) != null);
+        TaskProfiler.record(TaskProfiler.Origin.CHUNK_COORDINATOR, sample, this.maxIterationTime * 2);
         if (processedChunks < this.batchSize) {
             // Adjust batch size based on the amount of processed chunks per tick
             this.batchSize = processedChunks;
         }
 
+        final int processed = Math.min(processedChunks, this.pendingChunks);
+        this.pendingChunks -= processed;
+        addPendingChunks(-processed);
+
         final int expected = this.expectedSize.addAndGet(-processedChunks);
 
         if (expected <= 0) {
@@ -27,6 +27,7 @@ import com.plotsquared.core.inject.factory.ChunkCoordinatorFactory;
 import com.plotsquared.core.queue.BasicQueueCoordinator;
 import com.plotsquared.core.queue.ChunkCoordinator;
 import com.plotsquared.core.queue.LocalChunk;
+import com.plotsquared.core.queue.PalettedSection;
 import com.plotsquared.core.util.ChunkUtil;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.worldedit.WorldEditException;
@@ -134,7 +135,7 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
         Consumer<BlockVector2> consumer = getChunkConsumer();
         if (consumer == null) {
             consumer = blockVector2 -> {
-                LocalChunk localChunk = getBlockChunks().get(blockVector2);
+                LocalChunk localChunk = pollChunk(blockVector2);
                 boolean isRegenChunk =
                         regenClipboard != null && blockVector2.getBlockX() > getRegenStart()[0] && blockVector2.getBlockZ() > getRegenStart()[1]
                                 && blockVector2.getBlockX() < getRegenEnd()[0] && blockVector2.getBlockZ() < getRegenEnd()[1];
@@ -162,47 +163,36 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                 if (localChunk == null) {
                     return;
                 }
-                for (int layer = 0; layer < localChunk.getBaseblocks().length; layer++) {
-                    BaseBlock[] blocksLayer = localChunk.getBaseblocks()[layer];
+                for (int layer = 0; layer < localChunk.getSectionCount(); layer++) {
+                    PalettedSection<BaseBlock> blocksLayer = localChunk.getBlockSection(layer);
                     if (blocksLayer == null) {
                         continue;
                     }
-                    for (int j = 0; j < blocksLayer.length; j++) {
-                        if (blocksLayer[j] == null) {
-                            continue;
-                        }
-                        BaseBlock block = blocksLayer[j];
-
-                        if (block != null) {
-                            int lx = ChunkUtil.getX(j);
-                            int lz = ChunkUtil.getZ(j);
-                            int x = sx + lx;
-                            int y = ChunkUtil.getY(layer + localChunk.getMinSection(), j);
-                            int z = sz + lz;
-                            boolean edge = Settings.QUEUE.UPDATE_EDGES && isEdge(y >> 4, lx, y & 15, lz, blockVector2,
-                                    localChunk
-                            );
-                            setWorldBlock(x, y, z, block, blockVector2, edge);
-                        }
-                    }
+                    final int sectionY = layer + localChunk.getMinSection();
+                    blocksLayer.forEach((j, block) -> {
+                        int lx = ChunkUtil.getX(j);
+                        int lz = ChunkUtil.getZ(j);
+                        int x = sx + lx;
+                        int y = ChunkUtil.getY(sectionY, j);
+                        int z = sz + lz;
+                        boolean edge = Settings.QUEUE.UPDATE_EDGES && isEdge(sectionY, lx, y & 15, lz, blockVector2,
+                                localChunk
+                        );
+                        setWorldBlock(x, y, z, block, blockVector2, edge);
+                    });
                 }
-                for (int layer = 0; layer < localChunk.getBiomes().length; layer++) {
-                    BiomeType[] biomesLayer = localChunk.getBiomes()[layer];
+                for (int layer = 0; layer < localChunk.getSectionCount(); layer++) {
+                    PalettedSection<BiomeType> biomesLayer = localChunk.getBiomeSection(layer);
                     if (biomesLayer == null) {
                         continue;
                     }
-                    for (int j = 0; j < biomesLayer.length; j++) {
-                        if (biomesLayer[j] == null) {
-                            continue;
-                        }
-                        BiomeType biome = biomesLayer[j];
-                        if (biome != null) {
-                            int x = sx + ChunkUtil.getX(j);
-                            int y = ChunkUtil.getY(layer, j);
-                            int z = sz + ChunkUtil.getZ(j);
-                            getWorld().setBiome(BlockVector3.at(x, y, z), biome);
-                        }
-                    }
+                    final int sy = (layer + localChunk.getMinSection()) << 4;
+                    // Biomes are stored per 4x4x4 cell, setting one position sets the whole cell
+                    biomesLayer.forEach((cell, biome) -> getWorld().setBiome(BlockVector3.at(
+                            sx + ((cell & 3) << 2),
+                            sy + ((cell >> 4) << 2),
+                            sz + (((cell >> 2) & 3) << 2)
+                    ), biome));
                 }
                 if (localChunk.getTiles().size() > 0) {
                     localChunk.getTiles().forEach((blockVector3, tag) -> {
@@ -311,63 +301,61 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
 
     private boolean isEdge(int layer, int x, int y, int z, BlockVector2 blockVector2, LocalChunk localChunk) {
         int layerIndex = (layer - localChunk.getMinSection());
-        if (layer == localChunk.getMinSection() || layerIndex == localChunk.getBaseblocks().length - 1) {
+        if (layer == localChunk.getMinSection() || layerIndex == localChunk.getSectionCount() - 1) {
             return false;
         }
         if (x == 0) {
             LocalChunk localChunkX = getBlockChunks().get(blockVector2.withX(blockVector2.getX() - 1));
-            if (localChunkX == null || localChunkX.getBaseblocks()[layerIndex] == null ||
-                    localChunkX.getBaseblocks()[layerIndex][ChunkUtil.getJ(15, y, z)] != null) {
+            if (localChunkX == null || isMissingOrSet(localChunkX.getBlockSection(layerIndex), ChunkUtil.getJ(15, y, z))) {
                 return true;
             }
         } else if (x == 15) {
             LocalChunk localChunkX = getBlockChunks().get(blockVector2.withX(blockVector2.getX() + 1));
-            if (localChunkX == null || localChunkX.getBaseblocks()[layerIndex] == null ||
-                    localChunkX.getBaseblocks()[layerIndex][ChunkUtil.getJ(0, y, z)] != null) {
+            if (localChunkX == null || isMissingOrSet(localChunkX.getBlockSection(layerIndex), ChunkUtil.getJ(0, y, z))) {
                 return true;
             }
         }
         if (z == 0) {
             LocalChunk localChunkZ = getBlockChunks().get(blockVector2.withZ(blockVector2.getZ() - 1));
-            if (localChunkZ == null || localChunkZ.getBaseblocks()[layerIndex] == null ||
-                    localChunkZ.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, y, 15)] != null) {
+            if (localChunkZ == null || isMissingOrSet(localChunkZ.getBlockSection(layerIndex), ChunkUtil.getJ(x, y, 15))) {
                 return true;
             }
         } else if (z == 15) {
             LocalChunk localChunkZ = getBlockChunks().get(blockVector2.withZ(blockVector2.getZ() + 1));
-            if (localChunkZ == null || localChunkZ.getBaseblocks()[layerIndex] == null ||
-                    localChunkZ.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, y, 0)] != null) {
+            if (localChunkZ == null || isMissingOrSet(localChunkZ.getBlockSection(layerIndex), ChunkUtil.getJ(x, y, 0))) {
                 return true;
             }
         }
+        PalettedSection<BaseBlock> baseBlocks = localChunk.getBlockSection(layerIndex);
         if (y == 0) {
-            if (localChunk.getBaseblocks()[layerIndex - 1] == null ||
-                    localChunk.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, 15, z)] != null) {
+            if (localChunk.getBlockSection(layerIndex - 1) == null || baseBlocks.get(ChunkUtil.getJ(x, 15, z)) != null) {
                 return true;
             }
         } else if (y == 15) {
-            if (localChunk.getBaseblocks()[layerIndex + 1] == null ||
-                    localChunk.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, 0, z)] != null) {
+            if (localChunk.getBlockSection(layerIndex + 1) == null || baseBlocks.get(ChunkUtil.getJ(x, 0, z)) != null) {
                 return true;
             }
         }
-        BaseBlock[] baseBlocks = localChunk.getBaseblocks()[layerIndex];
-        if (x > 0 && baseBlocks[ChunkUtil.getJ(x - 1, y, z)] == null) {
+        if (x > 0 && baseBlocks.get(ChunkUtil.getJ(x - 1, y, z)) == null) {
             return true;
         }
-        if (x < 15 && baseBlocks[ChunkUtil.getJ(x + 1, y, z)] == null) {
+        if (x < 15 && baseBlocks.get(ChunkUtil.getJ(x + 1, y, z)) == null) {
             return true;
         }
-        if (y > 0 && baseBlocks[ChunkUtil.getJ(x, y - 1, z)] == null) {
+        if (y > 0 && baseBlocks.get(ChunkUtil.getJ(x, y - 1, z)) == null) {
             return true;
         }
-        if (y < 15 && baseBlocks[ChunkUtil.getJ(x, y + 1, z)] == null) {
+        if (y < 15 && baseBlocks.get(ChunkUtil.getJ(x, y + 1, z)) == null) {
             return true;
         }
-        if (z > 0 && baseBlocks[ChunkUtil.getJ(x, y, z - 1)] == null) {
+        if (z > 0 && baseBlocks.get(ChunkUtil.getJ(x, y, z - 1)) == null) {
             return true;
         }
-        return z < 15 && baseBlocks[ChunkUtil.getJ(x, y, z + 1)] == null;
+        return z < 15 && baseBlocks.get(ChunkUtil.getJ(x, y, z + 1)) == null;
+    }
+
+    private static boolean isMissingOrSet(PalettedSection<BaseBlock> section, int j) {
+        return section == null || section.get(j) != null;
     }
 
     private boolean isEdgeRegen(int x, int z, BlockVector2 blockVector2) {
@@ -28,32 +28,45 @@ import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotManager;
+import com.plotsquared.core.queue.ChunkSectionSnapshot;
 import com.plotsquared.core.queue.GlobalBlockQueue;
+import com.plotsquared.core.queue.PalettedSection;
 import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.queue.ZeroedDelegateScopedQueueCoordinator;
 import com.plotsquared.core.util.ChunkManager;
+import com.plotsquared.core.util.ChunkUtil;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.WorldUtil;
 import com.plotsquared.core.util.entity.EntityCategories;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.bukkit.BukkitWorld;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockTypes;
 import io.papermc.lib.PaperLib;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
 import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
@@ -322,6 +335,71 @@ public class BukkitRegionManager extends RegionManager {
         }
     }
 
+    @Override
+    public @NonNull ChunkSectionSnapshot snapshotChunk(
+            final com.sk89q.worldedit.world.@NonNull World world,
+            final @NonNull BlockVector2 chunk
+    ) {
+        final World bukkitWorld = BukkitAdapter.adapt(world);
+        final Chunk bukkitChunk = bukkitWorld.getChunkAt(chunk.getX(), chunk.getZ());
+        final ChunkSnapshot snapshot = bukkitChunk.getChunkSnapshot(false, true, false);
+        // The snapshot does not hold block entity data, so read the (usually few) block entities through WorldEdit
+        final Map<BlockVector3, BaseBlock> tiles = new HashMap<>();
+        for (final BlockState tile : bukkitChunk.getTileEntities()) {
+            tiles.put(
+                    BlockVector3.at(tile.getX() & 15, tile.getY(), tile.getZ() & 15),
+                    world.getFullBlock(BlockVector3.at(tile.getX(), tile.getY(), tile.getZ()))
+            );
+        }
+        // Snapshots may be read from several threads at once
+        final Map<BlockData, BaseBlock> blocks = new ConcurrentHashMap<>();
+        final Map<Biome, BiomeType> biomes = new ConcurrentHashMap<>();
+        return new ChunkSectionSnapshot() {
+            @Override
+            public @NonNull BaseBlock getFullBlock(final int x, final int y, final int z) {
+                if (!tiles.isEmpty()) {
+                    final BaseBlock tile = tiles.get(BlockVector3.at(x, y, z));
+                    if (tile != null) {
+                        return tile;
+                    }
+                }
+                return blocks.computeIfAbsent(snapshot.getBlockData(x, y, z), data -> BukkitAdapter.adapt(data).toBaseBlock());
+            }
+
+            @Override
+            public @NonNull PalettedSection<BaseBlock> getSection(final int layer) {
+                final PalettedSection<BaseBlock> section = new PalettedSection<>(4096);
+                final int minY = layer << 4;
+                BlockData lastData = null;
+                BaseBlock lastBlock = null;
+                for (int y = 0; y < 16; y++) {
+                    for (int z = 0; z < 16; z++) {
+                        for (int x = 0; x < 16; x++) {
+                            final BlockData data = snapshot.getBlockData(x, minY + y, z);
+                            // Runs of the same block are common, so avoid the lookup for them
+                            if (!data.equals(lastData)) {
+                                lastData = data;
+                                lastBlock = blocks.computeIfAbsent(data, key -> BukkitAdapter.adapt(key).toBaseBlock());
+                            }
+                            section.set(ChunkUtil.getJ(x, y, z), lastBlock);
+                        }
+                    }
+                }
+                tiles.forEach((position, tile) -> {
+                    if (position.getY() >> 4 == layer) {
+                        section.set(ChunkUtil.getJ(position.getX(), position.getY(), position.getZ()), tile);
+                    }
+                });
+                return section;
+            }
+
+            @Override
+            public @NonNull BiomeType getBiome(final int x, final int y, final int z) {
+                return biomes.computeIfAbsent(snapshot.getBiome(x, y, z), BukkitAdapter::adapt);
+            }
+        };
+    }
+
     private void count(int[] count, @NonNull Entity entity) {
         final com.sk89q.worldedit.world.entity.EntityType entityType = BukkitAdapter.adapt(entity.getType());
 
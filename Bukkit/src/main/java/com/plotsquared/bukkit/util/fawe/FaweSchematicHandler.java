@@ -20,6 +20,7 @@ package com.plotsquared.bukkit.util.fawe;
 
 import com.fastasyncworldedit.bukkit.regions.plotsquared.FaweDelegateSchematicHandler;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.plotsquared.core.inject.factory.ProgressSubscriberFactory;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
@@ -35,6 +36,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.UUID;
 
+@Singleton
 public class FaweSchematicHandler extends SchematicHandler {
 
     private final FaweDelegateSchematicHandler delegate = new FaweDelegateSchematicHandler();
@@ -37,7 +37,6 @@ import com.plotsquared.core.database.SQLManager;
 import com.plotsquared.core.database.SQLite;
 import com.plotsquared.core.generator.GeneratorWrapper;
 import com.plotsquared.core.generator.HybridPlotWorld;
-import com.plotsquared.core.generator.HybridUtils;
 import com.plotsquared.core.generator.IndependentPlotGenerator;
 import com.plotsquared.core.inject.factory.HybridPlotWorldFactory;
 import com.plotsquared.core.listener.PlotListener;
@@ -51,6 +50,9 @@ import com.plotsquared.core.plot.PlotAreaType;
 import com.plotsquared.core.plot.PlotCluster;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.PlotManager;
+import com.plotsquared.core.plot.PlotOwnerIndex;
+import com.plotsquared.core.plot.RatingIndex;
+import com.plotsquared.core.plot.comment.CommentManager;
 import com.plotsquared.core.plot.expiration.ExpireManager;
 import com.plotsquared.core.plot.expiration.ExpiryTask;
 import com.plotsquared.core.plot.flag.GlobalFlagContainer;
@@ -62,6 +64,7 @@ import com.plotsquared.core.util.FileUtils;
 import com.plotsquared.core.util.LegacyConverter;
 import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.ReflectionUtils;
+import com.plotsquared.core.util.SchematicHandler;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.uuid.UUIDPipeline;
 import com.sk89q.worldedit.WorldEdit;
@@ -80,13 +83,10 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
 import java.sql.SQLException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -398,47 +398,18 @@ public class PlotSquared {
             }
         } else {
             for (PlotCluster cluster : clusters) {
-                cluster.setArea(plotArea);
+                cluster.area = plotArea;
             }
+            // Index the clusters in one go rather than rebuilding the index for every cluster
+            plotArea.getClusterIndex().addAll(clusters);
         }
         getPlotAreaManager().addPlotArea(plotArea);
         plotArea.setupBorder();
+        this.platform.injector().getInstance(SchematicHandler.class).prefetch(plotArea);
         if (!Settings.Enabled_Components.PERSISTENT_ROAD_REGEN) {
             return;
         }
-        File file = new File(
-                this.platform.getDirectory() + File.separator + "persistent_regen_data_" + plotArea.getId()
-                        + "_" + plotArea.getWorldName());
-        if (!file.exists()) {
-            return;
-        }
-        TaskManager.runTaskAsync(() -> {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                List<Object> list = (List<Object>) ois.readObject();
-                ArrayList<int[]> regionInts = (ArrayList<int[]>) list.get(0);
-                ArrayList<int[]> chunkInts = (ArrayList<int[]>) list.get(1);
-                HashSet<BlockVector2> regions = new HashSet<>();
-                Set<BlockVector2> chunks = new HashSet<>();
-                regionInts.forEach(l -> regions.add(BlockVector2.at(l[0], l[1])));
-                chunkInts.forEach(l -> chunks.add(BlockVector2.at(l[0], l[1])));
-                int height = (int) list.get(2);
-                LOGGER.info(
-                        "Incomplete road regeneration found. Restarting in world {} with height {}",
-                        plotArea.getWorldName(),
-                        height
-                );
-                LOGGER.info("- Regions: {}", regions.size());
-                LOGGER.info("- Chunks: {}", chunks.size());
-                HybridUtils.UPDATE = true;
-                PlotSquared.platform().hybridUtils().scheduleRoadUpdate(plotArea, regions, height, chunks);
-            } catch (IOException | ClassNotFoundException e) {
-                LOGGER.error("Error restarting road regeneration", e);
-            } finally {
-                if (!file.delete()) {
-                    LOGGER.error("Error deleting persistent_regen_data_{}. Please delete this file manually", plotArea.getId());
-                }
-            }
-        });
+        TaskManager.runTaskAsync(() -> this.platform.hybridUtils().resumeRoadUpdate(plotArea));
     }
 
     /**
@@ -448,6 +419,9 @@ public class PlotSquared {
      */
     public void removePlotArea(final @NonNull PlotArea area) {
         getPlotAreaManager().removePlotArea(area);
+        CommentManager.getInboxCache().invalidate(area);
+        PlotOwnerIndex.getInstance().removeArea(area);
+        RatingIndex.getInstance().removeArea(area);
         setPlotsTmp(area);
     }
 
@@ -1251,38 +1225,10 @@ public class PlotSquared {
      * Handle road regen persistence
      */
     private void checkRoadRegenPersistence() {
-        if (!HybridUtils.UPDATE || !Settings.Enabled_Components.PERSISTENT_ROAD_REGEN || (
-                HybridUtils.regions.isEmpty() && HybridUtils.chunks.isEmpty())) {
-            return;
-        }
-        LOGGER.info("Road regeneration incomplete. Saving incomplete regions to disk");
-        LOGGER.info("- regions: {}", HybridUtils.regions.size());
-        LOGGER.info("- chunks: {}", HybridUtils.chunks.size());
-        ArrayList<int[]> regions = new ArrayList<>();
-        ArrayList<int[]> chunks = new ArrayList<>();
-        for (BlockVector2 r : HybridUtils.regions) {
-            regions.add(new int[]{r.getBlockX(), r.getBlockZ()});
-        }
-        for (BlockVector2 c : HybridUtils.chunks) {
-            chunks.add(new int[]{c.getBlockX(), c.getBlockZ()});
-        }
-        List<Object> list = new ArrayList<>();
-        list.add(regions);
-        list.add(chunks);
-        list.add(HybridUtils.height);
-        File file = new File(
-                this.platform.getDirectory() + File.separator + "persistent_regen_data_" + HybridUtils.area
-                        .getId() + "_" + HybridUtils.area.getWorldName());
-        if (file.exists() && !file.delete()) {
-            LOGGER.error("persistent_regene_data file already exists and could not be deleted");
+        if (!Settings.Enabled_Components.PERSISTENT_ROAD_REGEN) {
             return;
         }
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                Files.newOutputStream(file.toPath(), StandardOpenOption.CREATE_NEW))) {
-            oos.writeObject(list);
-        } catch (IOException e) {
-            LOGGER.error("Error creating persistent_region_data file", e);
-        }
+        this.platform.hybridUtils().checkpointRoadUpdates();
     }
 
     /**
@@ -1306,13 +1252,17 @@ public class PlotSquared {
                 this.platform.shutdown(); //shutdown used instead of disable because no database is set
                 return;
             }
-            DBFunc.dbManager = new SQLManager(
+            final SQLManager manager = new SQLManager(
                     database,
                     Storage.PREFIX,
                     this.eventDispatcher,
                     this.plotListener,
                     this.worldConfiguration
             );
+            if (Storage.Journal.USE) {
+                manager.openJournal(FileUtils.getFile(platform.getDirectory(), Storage.Journal.FILE));
+            }
+            DBFunc.dbManager = manager;
             this.plots_tmp = DBFunc.getPlots();
             if (getPlotAreaManager() instanceof SinglePlotAreaManager) {
                 SinglePlotArea area = ((SinglePlotAreaManager) getPlotAreaManager()).getArea();
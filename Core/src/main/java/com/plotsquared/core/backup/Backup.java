@@ -45,7 +45,9 @@ public class Backup {
      * Delete the backup
      */
     public void delete() {
-        if (file != null) {
+        if (owner instanceof PlayerBackupProfile playerBackupProfile) {
+            playerBackupProfile.delete(this);
+        } else if (file != null) {
             try {
                 Files.deleteIfExists(file);
             } catch (final IOException e) {
@@ -0,0 +1,106 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.backup;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * List of the sections making up one backup, each referring to its contents in the {@link SectionStore} by hash.
+ *
+ * @param world    Name of the world the backup was taken in
+ * @param sections Sections of the backup
+ */
+record BackupManifest(@NonNull String world, @NonNull List<Section> sections) {
+
+    /**
+     * File extension of manifest files.
+     */
+    static final String EXTENSION = ".manifest";
+
+    private static final int FORMAT = 1;
+
+    /**
+     * Read a manifest.
+     *
+     * @param file Manifest file
+     * @return manifest
+     * @throws IOException if the file could not be read or is malformed
+     */
+    static @NonNull BackupManifest read(final @NonNull Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            final int format = in.readUnsignedByte();
+            if (format != FORMAT) {
+                throw new IOException("Unsupported backup manifest format " + format + " in " + file);
+            }
+            final String world = in.readUTF();
+            final int count = in.readInt();
+            final List<Section> sections = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                sections.add(new Section(in.readInt(), in.readInt(), in.readInt(), in.readUTF()));
+            }
+            return new BackupManifest(world, sections);
+        }
+    }
+
+    /**
+     * Write this manifest. The manifest is written to a temporary file first and then atomically moved into place.
+     *
+     * @param file Manifest file
+     * @throws IOException if the file could not be written
+     */
+    void write(final @NonNull Path file) throws IOException {
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeByte(FORMAT);
+            out.writeUTF(this.world);
+            out.writeInt(this.sections.size());
+            for (final Section section : this.sections) {
+                out.writeInt(section.x());
+                out.writeInt(section.y());
+                out.writeInt(section.z());
+                out.writeUTF(section.hash());
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * A section of a backup.
+     *
+     * @param x    Chunk x
+     * @param y    Section y index, the section starts at {@code y << 4}
+     * @param z    Chunk z
+     * @param hash Hash of the section contents
+     */
+    record Section(int x, int y, int z, @NonNull String hash) {
+
+    }
+
+}
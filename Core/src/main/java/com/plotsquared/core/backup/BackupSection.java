@@ -0,0 +1,229 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.backup;
+
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.util.BlockUtil;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.NBTInputStream;
+import com.sk89q.jnbt.NBTOutputStream;
+import com.sk89q.jnbt.NamedTag;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.biome.BiomeTypes;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binary encoding of the contents of one 16x16x16 chunk section of a plot. Positions outside the plot are not stored,
+ * so restoring a section never touches neighbouring roads or plots. Encoding is deterministic, so equal contents yield
+ * equal bytes and can be deduplicated by {@link SectionStore}.
+ */
+final class BackupSection {
+
+    /**
+     * Number of blocks in a section.
+     */
+    static final int VOLUME = 16 * 16 * 16;
+    /**
+     * Number of biome cells in a section, biomes are stored at a 4x4x4 resolution.
+     */
+    static final int BIOME_VOLUME = 4 * 4 * 4;
+
+    private static final int FORMAT = 1;
+    private static final int OUTSIDE = 0;
+
+    private BackupSection() {
+    }
+
+    /**
+     * Get the index of a position inside a section.
+     *
+     * @param x Section relative x
+     * @param y Section relative y
+     * @param z Section relative z
+     * @return block index
+     */
+    static int index(final int x, final int y, final int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    /**
+     * Get the index of the biome cell containing a position inside a section.
+     *
+     * @param x Section relative x
+     * @param y Section relative y
+     * @param z Section relative z
+     * @return biome index
+     */
+    static int biomeIndex(final int x, final int y, final int z) {
+        return ((y >> 2) << 4) | ((z >> 2) << 2) | (x >> 2);
+    }
+
+    /**
+     * Encode a section.
+     *
+     * @param blocks Blocks indexed by {@link #index(int, int, int)}, {@code null} for positions outside the plot
+     * @param biomes Biomes indexed by {@link #biomeIndex(int, int, int)}, {@code null} for cells outside the plot
+     * @return encoded section
+     * @throws IOException if the block entity data could not be written
+     */
+    static byte[] encode(final BaseBlock[] blocks, final BiomeType[] biomes) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(VOLUME);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FORMAT);
+
+        final Map<String, Integer> palette = new LinkedHashMap<>();
+        final short[] ids = new short[VOLUME];
+        int tiles = 0;
+        for (int i = 0; i < VOLUME; i++) {
+            final BaseBlock block = blocks[i];
+            if (block == null) {
+                ids[i] = OUTSIDE;
+                continue;
+            }
+            ids[i] = (short) (int) palette.computeIfAbsent(block.toImmutableState().getAsString(), key -> palette.size() + 1);
+            if (block.getNbtData() != null) {
+                tiles++;
+            }
+        }
+        writePalette(out, palette);
+        for (final short id : ids) {
+            out.writeShort(id);
+        }
+
+        final Map<String, Integer> biomePalette = new LinkedHashMap<>();
+        final short[] biomeIds = new short[BIOME_VOLUME];
+        for (int i = 0; i < BIOME_VOLUME; i++) {
+            final BiomeType biome = biomes[i];
+            biomeIds[i] = biome == null ? OUTSIDE : (short) (int) biomePalette.computeIfAbsent(
+                    biome.getId(),
+                    key -> biomePalette.size() + 1
+            );
+        }
+        writePalette(out, biomePalette);
+        for (final short id : biomeIds) {
+            out.writeShort(id);
+        }
+
+        out.writeShort(tiles);
+        if (tiles > 0) {
+            final NBTOutputStream nbt = new NBTOutputStream(out);
+            for (int i = 0; i < VOLUME; i++) {
+                final BaseBlock block = blocks[i];
+                if (block != null && block.getNbtData() != null) {
+                    out.writeShort(i);
+                    nbt.writeNamedTag("", block.getNbtData());
+                }
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writePalette(final @NonNull DataOutputStream out, final @NonNull Map<String, Integer> palette)
+            throws IOException {
+        out.writeShort(palette.size());
+        for (final String key : palette.keySet()) {
+            out.writeUTF(key);
+        }
+    }
+
+    /**
+     * Decode a section and write its contents to a queue.
+     *
+     * @param data   Encoded section
+     * @param queue  Queue to write the blocks and biomes to
+     * @param x      World x of the section origin
+     * @param y      World y of the section origin
+     * @param z      World z of the section origin
+     * @param states Cache of parsed block states, shared between sections
+     * @throws IOException if the section is malformed
+     */
+    static void apply(
+            final byte[] data, final @NonNull QueueCoordinator queue, final int x, final int y, final int z,
+            final @NonNull Map<String, BlockState> states
+    ) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        final int format = in.readUnsignedByte();
+        if (format != FORMAT) {
+            throw new IOException("Unsupported backup section format " + format);
+        }
+
+        final BlockState[] palette = new BlockState[in.readUnsignedShort() + 1];
+        for (int i = 1; i < palette.length; i++) {
+            final String key = in.readUTF();
+            palette[i] = states.computeIfAbsent(key, BlockUtil::get);
+        }
+        final short[] ids = new short[VOLUME];
+        for (int i = 0; i < VOLUME; i++) {
+            ids[i] = in.readShort();
+        }
+
+        final BiomeType[] biomePalette = new BiomeType[in.readUnsignedShort() + 1];
+        for (int i = 1; i < biomePalette.length; i++) {
+            biomePalette[i] = BiomeTypes.get(in.readUTF());
+        }
+        for (int i = 0; i < BIOME_VOLUME; i++) {
+            final BiomeType biome = biomePalette[in.readUnsignedShort()];
+            if (biome != null) {
+                queue.setBiome(x + ((i & 3) << 2), y + ((i >> 4) << 2), z + (((i >> 2) & 3) << 2), biome);
+            }
+        }
+
+        final int tiles = in.readUnsignedShort();
+        final Map<Integer, CompoundTag> tileEntities = new HashMap<>(tiles);
+        if (tiles > 0) {
+            final NBTInputStream nbt = new NBTInputStream(in);
+            for (int i = 0; i < tiles; i++) {
+                final int index = in.readUnsignedShort();
+                final NamedTag tag = nbt.readNamedTag();
+                if (tag.getTag() instanceof CompoundTag compoundTag) {
+                    tileEntities.put(index, compoundTag);
+                }
+            }
+        }
+
+        for (int i = 0; i < VOLUME; i++) {
+            final BlockState state = palette[ids[i] & 0xFFFF];
+            if (state == null) {
+                continue;
+            }
+            final int bx = x + (i & 15);
+            final int by = y + (i >> 8);
+            final int bz = z + ((i >> 4) & 15);
+            final CompoundTag tile = tileEntities.get(i);
+            if (tile != null) {
+                queue.setBlock(bx, by, bz, state.toBaseBlock(tile));
+            } else {
+                queue.setBlock(bx, by, bz, state);
+            }
+        }
+    }
+
+}
@@ -25,55 +25,102 @@ import com.plotsquared.core.player.ConsolePlayer;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.schematic.Schematic;
+import com.plotsquared.core.queue.ChunkSectionSnapshot;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.SchematicHandler;
+import com.plotsquared.core.util.WorldUtil;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * A profile associated with a player (normally a plot owner) and a
  * plot, which is used to store and retrieve plot backups
+ * <p>
+ * Backups are split into chunk sections which are stored once in the
+ * {@link SectionStore} shared by all profiles, so sections that did not
+ * change between backups take no additional space. The backups of a
+ * profile are listed in an index file, so listing them does not have to
+ * walk the backup directory.
+ * </p>
  * {@inheritDoc}
  */
 public class PlayerBackupProfile implements BackupProfile {
 
     static final MiniMessage MINI_MESSAGE = MiniMessage.builder().build();
 
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + PlayerBackupProfile.class.getSimpleName());
+    private static final String INDEX_FILE = "backups.index";
+    private static final int INDEX_FORMAT = 1;
+    // Number of sections written to a single queue when restoring, bounds the blocks buffered at once
+    private static final int RESTORE_BATCH_SIZE = 64;
+
     private final UUID owner;
     private final Plot plot;
     private final BackupManager backupManager;
     private final SchematicHandler schematicHandler;
+    private final WorldUtil worldUtil;
+    private final RegionManager regionManager;
     private final Object backupLock = new Object();
     private volatile List<Backup> backupCache;
 
     @Inject
     public PlayerBackupProfile(
             @Assisted final @NonNull UUID owner, @Assisted final @NonNull Plot plot,
-            final @NonNull BackupManager backupManager, final @NonNull SchematicHandler schematicHandler
+            final @NonNull BackupManager backupManager, final @NonNull SchematicHandler schematicHandler,
+            final @NonNull WorldUtil worldUtil, final @NonNull RegionManager regionManager
     ) {
         this.owner = owner;
         this.plot = plot;
         this.backupManager = backupManager;
         this.schematicHandler = schematicHandler;
+        this.worldUtil = worldUtil;
+        this.regionManager = regionManager;
     }
 
     private static boolean isValidFile(final @NonNull Path path) {
         final String name = path.getFileName().toString();
-        return name.endsWith(".schem") || name.endsWith(".schematic");
+        return name.endsWith(".schem") || name.endsWith(".schematic") || name.endsWith(BackupManifest.EXTENSION);
+    }
+
+    private static boolean isManifest(final @NonNull Path path) {
+        return path.getFileName().toString().endsWith(BackupManifest.EXTENSION);
     }
 
     private static Path resolve(final @NonNull Path parent, final String child) {
@@ -99,44 +146,125 @@ public class PlayerBackupProfile implements BackupProfile {
                 return CompletableFuture.completedFuture(backupCache);
             }
             return CompletableFuture.supplyAsync(() -> {
-                final Path path = this.getBackupDirectory();
-                if (!Files.exists(path)) {
+                synchronized (this.backupLock) {
                     try {
-                        Files.createDirectories(path);
+                        return (this.backupCache = Collections.unmodifiableList(this.readIndex()));
                     } catch (IOException e) {
                         e.printStackTrace();
                         return Collections.emptyList();
                     }
                 }
-                final List<Backup> backups = new ArrayList<>();
-                try {
-                    Files.walk(path).filter(PlayerBackupProfile::isValidFile).forEach(file -> {
-                        try {
-                            final BasicFileAttributes basicFileAttributes =
-                                    Files.readAttributes(file, BasicFileAttributes.class);
-                            backups.add(
-                                    new Backup(this, basicFileAttributes.creationTime().toMillis(), file));
-                        } catch (IOException e) {
-                            e.printStackTrace();
-                        }
-                    });
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-                backups.sort(Comparator.comparingLong(Backup::getCreationTime).reversed());
-                return (this.backupCache = backups);
             });
         }
     }
 
+    /**
+     * Read the backup index of this profile, newest backup first. Profiles without an index, such as those created
+     * before backups were indexed, are indexed by scanning the backup directory once.
+     */
+    private List<Backup> readIndex() throws IOException {
+        final Path path = this.getBackupDirectory();
+        final Path index = path.resolve(INDEX_FILE);
+        final List<Backup> backups = new ArrayList<>();
+        if (Files.exists(index)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+                final int format = in.readUnsignedByte();
+                if (format != INDEX_FORMAT) {
+                    throw new IOException("Unsupported backup index format " + format + " in " + index);
+                }
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    backups.add(new Backup(this, in.readLong(), path.resolve(in.readUTF())));
+                }
+            }
+            return backups;
+        }
+        if (!Files.exists(path)) {
+            Files.createDirectories(path);
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                if (isValidFile(file)) {
+                    final BasicFileAttributes basicFileAttributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    backups.add(new Backup(this, basicFileAttributes.creationTime().toMillis(), file));
+                }
+            }
+        }
+        backups.sort(Comparator.comparingLong(Backup::getCreationTime).reversed());
+        this.writeIndex(backups);
+        return backups;
+    }
+
+    private void writeIndex(final @NonNull List<Backup> backups) throws IOException {
+        final Path index = this.getBackupDirectory().resolve(INDEX_FILE);
+        final Path tmp = index.resolveSibling(INDEX_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeByte(INDEX_FORMAT);
+            out.writeInt(backups.size());
+            for (final Backup backup : backups) {
+                out.writeLong(backup.getCreationTime());
+                out.writeUTF(Objects.requireNonNull(backup.getFile(), "backup file").getFileName().toString());
+            }
+        }
+        Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Delete a backup and remove it from the index.
+     *
+     * @param backup Backup to delete
+     */
+    void delete(final @NonNull Backup backup) {
+        synchronized (this.backupLock) {
+            try {
+                final List<Backup> backups = this.readIndex();
+                backups.removeIf(other -> Objects.equals(other.getFile(), backup.getFile()));
+                this.writeIndex(backups);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            this.deleteFiles(backup);
+            this.backupCache = null;
+        }
+    }
+
+    private void deleteFiles(final @NonNull Backup backup) {
+        final Path file = backup.getFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            if (isManifest(file) && Files.exists(file)) {
+                final BackupManifest manifest = BackupManifest.read(file);
+                Files.delete(file);
+                this.getSectionStore().release(manifest.sections());
+            } else {
+                Files.deleteIfExists(file);
+            }
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private SectionStore getSectionStore() {
+        return SectionStore.of(this.backupManager.getBackupPath());
+    }
+
     @Override
     public void destroy() {
         this.listBackups().whenCompleteAsync((backups, error) -> {
             if (error != null) {
                 error.printStackTrace();
             }
-            backups.forEach(Backup::delete);
-            this.backupCache = null;
+            synchronized (this.backupLock) {
+                backups.forEach(this::deleteFiles);
+                try {
+                    Files.deleteIfExists(this.getBackupDirectory().resolve(INDEX_FILE));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                this.backupCache = null;
+            }
         });
     }
 
@@ -150,30 +278,147 @@ public class PlayerBackupProfile implements BackupProfile {
     @Override
     public @NonNull CompletableFuture<Backup> createBackup() {
         final CompletableFuture<Backup> future = new CompletableFuture<>();
-        this.listBackups().thenAcceptAsync(backups -> {
+        this.captureSections().whenCompleteAsync((manifest, throwable) -> {
+            if (throwable != null) {
+                future.completeExceptionally(new RuntimeException("Failed to complete the backup", throwable));
+                return;
+            }
             synchronized (this.backupLock) {
-                if (backups.size() == backupManager.getBackupLimit()) {
-                    backups.get(backups.size() - 1).delete();
-                }
-                final List<Plot> plots = Collections.singletonList(plot);
-                final boolean result = this.schematicHandler.exportAll(plots, getBackupDirectory().toFile(),
-                        "%world%-%id%-" + System.currentTimeMillis(), () ->
-                                future.complete(new Backup(this, System.currentTimeMillis(), null))
-                );
-                if (!result) {
-                    future.completeExceptionally(new RuntimeException("Failed to complete the backup"));
+                try {
+                    final long time = System.currentTimeMillis();
+                    final Path file = this.getBackupDirectory().resolve(time + BackupManifest.EXTENSION);
+                    manifest.write(file);
+                    final Backup backup = new Backup(this, time, file);
+                    final List<Backup> backups = this.readIndex();
+                    backups.add(0, backup);
+                    final List<Backup> removed = new ArrayList<>();
+                    while (backups.size() > Math.max(1, backupManager.getBackupLimit())) {
+                        removed.add(backups.remove(backups.size() - 1));
+                    }
+                    this.writeIndex(backups);
+                    removed.forEach(this::deleteFiles);
+                    this.backupCache = Collections.unmodifiableList(backups);
+                    future.complete(backup);
+                } catch (IOException e) {
+                    this.getSectionStore().release(manifest.sections());
+                    this.backupCache = null;
+                    future.completeExceptionally(e);
                 }
-                this.backupCache = null;
             }
         });
         return future;
     }
 
+    /**
+     * Read the plot into sections and store them. Chunks are read through the queue, and each section is encoded and
+     * stored off the thread the chunk was read on.
+     */
+    private CompletableFuture<BackupManifest> captureSections() {
+        final CompletableFuture<BackupManifest> future = new CompletableFuture<>();
+        final String worldName = Objects.requireNonNull(this.plot.getWorldName(), "plot world");
+        final World world = this.worldUtil.getWeWorld(worldName);
+        final Set<CuboidRegion> regions = this.plot.getRegions();
+        final Set<BlockVector2> chunks = new HashSet<>();
+        for (final CuboidRegion region : regions) {
+            chunks.addAll(region.getChunks());
+        }
+        final List<CompletableFuture<BackupManifest.Section>> sections = Collections.synchronizedList(new ArrayList<>());
+        final QueueCoordinator queue = Objects.requireNonNull(this.plot.getArea(), "plot area").getQueue();
+        queue.addReadChunks(chunks);
+        queue.setChunkConsumer(chunk -> this.readChunk(world, regions, chunk, sections));
+        queue.setCompleteTask(() -> CompletableFuture
+                .allOf(sections.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, throwable) -> {
+                    final List<BackupManifest.Section> stored = new ArrayList<>(sections.size());
+                    for (final CompletableFuture<BackupManifest.Section> section : sections) {
+                        if (!section.isCompletedExceptionally()) {
+                            stored.add(section.join());
+                        }
+                    }
+                    if (throwable != null) {
+                        this.getSectionStore().release(stored);
+                        future.completeExceptionally(throwable);
+                    } else {
+                        future.complete(new BackupManifest(worldName, stored));
+                    }
+                }));
+        queue.enqueue();
+        return future;
+    }
+
+    private void readChunk(
+            final @NonNull World world, final @NonNull Set<CuboidRegion> regions, final @NonNull BlockVector2 chunk,
+            final @NonNull List<CompletableFuture<BackupManifest.Section>> sections
+    ) {
+        final int bx = chunk.getX() << 4;
+        final int bz = chunk.getZ() << 4;
+        // Parts of the plot regions within this chunk: chunk relative min x, max x, min z, max z and world min y, max y
+        final List<int[]> bounds = new ArrayList<>();
+        final Set<Integer> sectionYs = new HashSet<>();
+        for (final CuboidRegion region : regions) {
+            final BlockVector3 min = region.getMinimumPoint();
+            final BlockVector3 max = region.getMaximumPoint();
+            final int minX = Math.max(min.getX(), bx);
+            final int maxX = Math.min(max.getX(), bx + 15);
+            final int minZ = Math.max(min.getZ(), bz);
+            final int maxZ = Math.min(max.getZ(), bz + 15);
+            if (minX > maxX || minZ > maxZ) {
+                continue;
+            }
+            bounds.add(new int[]{minX & 15, maxX & 15, minZ & 15, maxZ & 15, min.getY(), max.getY()});
+            for (int sectionY = min.getY() >> 4; sectionY <= max.getY() >> 4; sectionY++) {
+                sectionYs.add(sectionY);
+            }
+        }
+        // The snapshot is taken on the thread the chunk was loaded on, the sections are read from it off that thread
+        final ChunkSectionSnapshot snapshot = this.regionManager.snapshotChunk(world, chunk);
+        final SectionStore store = this.getSectionStore();
+        for (final int sectionY : sectionYs) {
+            sections.add(CompletableFuture.supplyAsync(() -> {
+                final BaseBlock[] sectionBlocks = new BaseBlock[BackupSection.VOLUME];
+                final BiomeType[] sectionBiomes = new BiomeType[BackupSection.BIOME_VOLUME];
+                for (final int[] bound : bounds) {
+                    final int minY = Math.max(bound[4], sectionY << 4);
+                    final int maxY = Math.min(bound[5], (sectionY << 4) + 15);
+                    for (int y = minY; y <= maxY; y++) {
+                        for (int x = bound[0]; x <= bound[1]; x++) {
+                            for (int z = bound[2]; z <= bound[3]; z++) {
+                                sectionBlocks[BackupSection.index(x, y & 15, z)] = snapshot.getFullBlock(x, y, z);
+                                final int biomeIndex = BackupSection.biomeIndex(x, y & 15, z);
+                                if (sectionBiomes[biomeIndex] == null) {
+                                    sectionBiomes[biomeIndex] = snapshot.getBiome(x, y, z);
+                                }
+                            }
+                        }
+                    }
+                }
+                try {
+                    final byte[] data = BackupSection.encode(sectionBlocks, sectionBiomes);
+                    return new BackupManifest.Section(chunk.getX(), sectionY, chunk.getZ(), store.put(data));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+    }
+
     @Override
     public @NonNull CompletableFuture<Void> restoreBackup(final @NonNull Backup backup, @Nullable PlotPlayer<?> player) {
         final CompletableFuture<Void> future = new CompletableFuture<>();
         if (backup.getFile() == null || !Files.exists(backup.getFile())) {
             future.completeExceptionally(new IllegalArgumentException("The specific backup does not exist"));
+        } else if (isManifest(backup.getFile())) {
+            TaskManager.runTaskAsync(() -> {
+                final BackupManifest manifest;
+                try {
+                    manifest = BackupManifest.read(backup.getFile());
+                } catch (IOException e) {
+                    future.completeExceptionally(new IllegalArgumentException(
+                            "The backup is non-existent or not in the correct format", e));
+                    return;
+                }
+                this.restoreSections(manifest.sections().iterator(), new HashMap<>(), future);
+            });
         } else {
             TaskManager.runTaskAsync(() -> {
                 Schematic schematic = null;
@@ -214,4 +459,34 @@ public class PlayerBackupProfile implements BackupProfile {
         return future;
     }
 
+    /**
+     * Write the next batch of sections to a queue, continuing with the following batch once the queue has completed.
+     * Only one batch of sections is held in memory at a time.
+     */
+    private void restoreSections(
+            final @NonNull Iterator<BackupManifest.Section> sections, final @NonNull Map<String, BlockState> states,
+            final @NonNull CompletableFuture<Void> future
+    ) {
+        if (!sections.hasNext()) {
+            future.complete(null);
+            return;
+        }
+        final SectionStore store = this.getSectionStore();
+        final QueueCoordinator queue = Objects.requireNonNull(this.plot.getArea(), "plot area").getQueue();
+        try {
+            for (int i = 0; i < RESTORE_BATCH_SIZE && sections.hasNext(); i++) {
+                final BackupManifest.Section section = sections.next();
+                BackupSection.apply(store.read(section.hash()), queue, section.x() << 4, section.y() << 4, section.z() << 4,
+                        states
+                );
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to restore backup of plot {}", this.plot, e);
+            future.completeExceptionally(e);
+            return;
+        }
+        queue.setCompleteTask(() -> TaskManager.runTaskAsync(() -> this.restoreSections(sections, states, future)));
+        queue.enqueue();
+    }
+
 }
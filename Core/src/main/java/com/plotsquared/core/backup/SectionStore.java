@@ -0,0 +1,208 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.backup;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content addressed storage for backup sections, shared by all backups below a backup directory. Each distinct section
+ * is stored once, no matter how many backups refer to it, and is deleted once the last backup referring to it is.
+ * <p>
+ * Reference counts are rebuilt from the manifests the first time the store is written to. If every manifest could be
+ * read, this also removes sections left behind by an interrupted backup. Otherwise no section is deleted, as the
+ * manifests that could not be read may still refer to them.
+ * </p>
+ */
+final class SectionStore {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + SectionStore.class.getSimpleName());
+    private static final Map<Path, SectionStore> STORES = new ConcurrentHashMap<>();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path backupPath;
+    private final Path objects;
+    private Map<String, Integer> references;
+    private boolean complete;
+
+    private SectionStore(final @NonNull Path backupPath) {
+        this.backupPath = backupPath;
+        this.objects = backupPath.resolve("sections");
+    }
+
+    /**
+     * Get the store for a backup directory.
+     *
+     * @param backupPath Backup directory
+     * @return section store
+     */
+    static @NonNull SectionStore of(final @NonNull Path backupPath) {
+        return STORES.computeIfAbsent(backupPath.toAbsolutePath().normalize(), SectionStore::new);
+    }
+
+    /**
+     * Compute the hash identifying section contents.
+     *
+     * @param data Encoded section
+     * @return hex encoded hash
+     */
+    static @NonNull String hash(final byte[] data) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        final byte[] hash = digest.digest(data);
+        final char[] chars = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            chars[i * 2] = HEX[(hash[i] >> 4) & 15];
+            chars[i * 2 + 1] = HEX[hash[i] & 15];
+        }
+        return new String(chars);
+    }
+
+    private Path file(final @NonNull String hash) {
+        return this.objects.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Store a section and add a reference to it. Sections that are already stored are not written again.
+     *
+     * @param data Encoded section
+     * @return hash of the section
+     * @throws IOException if the section could not be written
+     */
+    @NonNull String put(final byte[] data) throws IOException {
+        final String hash = hash(data);
+        synchronized (this) {
+            final Map<String, Integer> references = this.references();
+            final Path file = this.file(hash);
+            if (!references.containsKey(hash) && !Files.exists(file)) {
+                Files.createDirectories(file.getParent());
+                final Path tmp = file.resolveSibling(hash + ".tmp");
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                    out.write(data);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            references.merge(hash, 1, Integer::sum);
+        }
+        return hash;
+    }
+
+    /**
+     * Read a stored section.
+     *
+     * @param hash Hash of the section
+     * @return encoded section
+     * @throws IOException if the section does not exist or could not be read
+     */
+    byte[] read(final @NonNull String hash) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(this.file(hash)))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Remove the references held by a deleted backup, deleting sections that are no longer referenced.
+     *
+     * @param sections Sections of the deleted backup
+     */
+    synchronized void release(final @NonNull List<BackupManifest.Section> sections) {
+        final Map<String, Integer> references;
+        try {
+            references = this.references();
+        } catch (final IOException e) {
+            LOGGER.error("Failed to load backup section references", e);
+            return;
+        }
+        for (final BackupManifest.Section section : sections) {
+            final Integer remaining = references.computeIfPresent(section.hash(), (key, count) -> count > 1 ? count - 1 : null);
+            if (remaining == null && this.complete) {
+                this.delete(section.hash());
+            }
+        }
+    }
+
+    private void delete(final @NonNull String hash) {
+        try {
+            Files.deleteIfExists(this.file(hash));
+        } catch (final IOException e) {
+            LOGGER.error("Failed to delete backup section {}", hash, e);
+        }
+    }
+
+    private Map<String, Integer> references() throws IOException {
+        if (this.references != null) {
+            return this.references;
+        }
+        final Map<String, Integer> references = new HashMap<>();
+        boolean complete = true;
+        try (Stream<Path> files = Files.walk(this.backupPath)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().endsWith(BackupManifest.EXTENSION)) {
+                    continue;
+                }
+                try {
+                    for (final BackupManifest.Section section : BackupManifest.read(file).sections()) {
+                        references.merge(section.hash(), 1, Integer::sum);
+                    }
+                } catch (final IOException e) {
+                    LOGGER.error("Failed to read backup manifest {}", file, e);
+                    complete = false;
+                }
+            }
+        }
+        if (!complete) {
+            LOGGER.warn(
+                    "Not every backup manifest in {} could be read, so no backup sections will be deleted",
+                    this.backupPath
+            );
+        } else if (Files.exists(this.objects)) {
+            try (Stream<Path> files = Files.walk(this.objects)) {
+                for (final Path file : (Iterable<Path>) files::iterator) {
+                    if (Files.isRegularFile(file) && !references.containsKey(file.getFileName().toString())) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+        this.complete = complete;
+        return (this.references = references);
+    }
+
+}
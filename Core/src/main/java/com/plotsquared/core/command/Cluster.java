@@ -577,6 +577,7 @@ public class Cluster extends SubCommand {
                                 } else {
                                     if (cluster.helpers.contains(uuid)) {
                                         cluster.helpers.remove(uuid);
+                                        cluster.reindex();
                                         DBFunc.removeHelper(cluster, uuid);
                                     }
                                     cluster.invited.remove(uuid);
@@ -647,6 +648,7 @@ public class Cluster extends SubCommand {
                 }
                 if (cluster.helpers.contains(uuid)) {
                     cluster.helpers.remove(uuid);
+                    cluster.reindex();
                     DBFunc.removeHelper(cluster, uuid);
                 }
                 cluster.invited.remove(uuid);
@@ -701,10 +703,12 @@ public class Cluster extends SubCommand {
                             } else {
                                 if (args[1].equalsIgnoreCase("add")) {
                                     cluster.helpers.add(uuid);
+                                    cluster.reindex();
                                     DBFunc.setHelper(cluster, uuid);
                                     player.sendMessage(TranslatableCaption.of("cluster.cluster_added_helper"));
                                 } else if (args[1].equalsIgnoreCase("remove")) {
                                     cluster.helpers.remove(uuid);
+                                    cluster.reindex();
                                     DBFunc.removeHelper(cluster, uuid);
                                     player.sendMessage(TranslatableCaption.of("cluster.cluster_removed_helper"));
                                 } else {
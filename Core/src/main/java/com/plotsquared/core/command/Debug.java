@@ -29,6 +29,7 @@ import com.plotsquared.core.util.WorldUtil;
 import com.plotsquared.core.util.entity.EntityCategories;
 import com.plotsquared.core.util.entity.EntityCategory;
 import com.plotsquared.core.util.query.PlotQuery;
+import com.plotsquared.core.util.task.TaskProfiler;
 import com.plotsquared.core.uuid.UUIDMapping;
 import com.sk89q.worldedit.world.entity.EntityType;
 import net.kyori.adventure.text.Component;
@@ -42,6 +43,7 @@ import java.util.Comparator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -70,7 +72,7 @@ public class Debug extends SubCommand {
                     TranslatableCaption.of("commandconfig.command_syntax"),
                     TagResolver.resolver(
                             "value",
-                            Tag.inserting(Component.text("/plot debug <player | debug-players | entitytypes | msg>"))
+                            Tag.inserting(Component.text("/plot debug <player | debug-players | entitytypes | profile | msg>"))
                     )
             );
         }
@@ -92,6 +94,43 @@ public class Debug extends SubCommand {
             );
             return true;
         }
+        if (args.length > 0 && "profile".equalsIgnoreCase(args[0])) {
+            if (args.length > 1) {
+                switch (args[1].toLowerCase(Locale.ENGLISH)) {
+                    case "on" -> TaskProfiler.setEnabled(true);
+                    case "off" -> TaskProfiler.setEnabled(false);
+                    case "reset" -> TaskProfiler.reset();
+                    default -> {
+                        player.sendMessage(
+                                TranslatableCaption.of("commandconfig.command_syntax"),
+                                TagResolver.resolver("value", Tag.inserting(Component.text("/plot debug profile [on | off | reset]")))
+                        );
+                        return false;
+                    }
+                }
+            }
+            player.sendMessage(
+                    TranslatableCaption.of("debug.profile_header"),
+                    TagResolver.resolver("value", Tag.inserting(Component.text(TaskProfiler.isEnabled() ? "on" : "off")))
+            );
+            for (final Map.Entry<TaskProfiler.Origin, TaskProfiler.Snapshot> entry : TaskProfiler.snapshot().entrySet()) {
+                final TaskProfiler.Snapshot snapshot = entry.getValue();
+                player.sendMessage(
+                        TranslatableCaption.of("debug.profile_entry"),
+                        TagResolver.builder()
+                                .tag("origin", Tag.inserting(Component.text(entry.getKey().getId())))
+                                .tag("invocations", Tag.inserting(Component.text(snapshot.invocations())))
+                                .tag("total", Tag.inserting(Component.text(TimeUnit.NANOSECONDS.toMillis(snapshot.totalNanos()))))
+                                .tag("average", Tag.inserting(Component.text(
+                                        String.format(Locale.ROOT, "%.3f", snapshot.averageNanos() / 1_000_000D))))
+                                .tag("max", Tag.inserting(Component.text(
+                                        String.format(Locale.ROOT, "%.3f", snapshot.maxNanos() / 1_000_000D))))
+                                .tag("overruns", Tag.inserting(Component.text(snapshot.overruns())))
+                                .build()
+                );
+            }
+            return true;
+        }
         if (args.length > 0 && "debug-players".equalsIgnoreCase(args[0])) {
             player.sendMessage(TranslatableCaption.of("debug.player_in_debugmode"));
             for (final PlotPlayer<?> pp : PlotPlayer.getDebugModePlayers()) {
@@ -185,7 +224,7 @@ public class Debug extends SubCommand {
 
     @Override
     public Collection<Command> tab(final PlotPlayer<?> player, String[] args, boolean space) {
-        return Stream.of("debug-players", "entitytypes")
+        return Stream.of("debug-players", "entitytypes", "profile")
                 .filter(value -> value.startsWith(args[0].toLowerCase(Locale.ENGLISH)))
                 .map(value -> new Command(null, false, value, "plots.admin", RequiredType.NONE, null) {
                 }).collect(Collectors.toList());
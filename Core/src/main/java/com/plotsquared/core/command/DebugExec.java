@@ -43,7 +43,6 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
@@ -203,12 +202,8 @@ public class DebugExec extends SubCommand {
                         );
                         return false;
                     }
-                    boolean result;
-                    if (HybridUtils.regions != null) {
-                        result = this.hybridUtils.scheduleRoadUpdate(area, HybridUtils.regions, 0, new LinkedHashSet<>());
-                    } else {
-                        result = this.hybridUtils.scheduleRoadUpdate(area, 0);
-                    }
+                    // Resume a task interrupted by a restart if one has been saved for the area
+                    boolean result = this.hybridUtils.resumeRoadUpdate(area) || this.hybridUtils.scheduleRoadUpdate(area, 0);
                     if (!result) {
                         player.sendMessage(TranslatableCaption.of("debugexec.mass_schematic_update_in_progress"));
                         return false;
@@ -216,11 +211,10 @@ public class DebugExec extends SubCommand {
                     return true;
                 }
                 case "stop-rgar" -> {
-                    if (!HybridUtils.UPDATE) {
+                    if (!this.hybridUtils.cancelRoadUpdates()) {
                         player.sendMessage(TranslatableCaption.of("debugexec.task_not_running"));
                         return false;
                     }
-                    HybridUtils.UPDATE = false;
                     player.sendMessage(TranslatableCaption.of("debugexec.task_cancelled"));
                     return true;
                 }
@@ -50,31 +50,30 @@ import java.util.stream.Collectors;
         requiredType = RequiredType.PLAYER)
 public class Inbox extends SubCommand {
 
-    public void displayComments(PlotPlayer<?> player, List<PlotComment> oldComments, int page) {
-        if (oldComments == null || oldComments.isEmpty()) {
+    public void displayComments(PlotPlayer<?> player, List<PlotComment> comments, int page) {
+        if (comments == null || comments.isEmpty()) {
             player.sendMessage(TranslatableCaption.of("comment.inbox_empty"));
             return;
         }
-        PlotComment[] comments = oldComments.toArray(new PlotComment[0]);
         if (page < 0) {
             page = 0;
         }
         // Get the total pages
         // int totalPages = ((int) Math.ceil(12 *
-        int totalPages = (int) Math.ceil(comments.length / 12);
+        int totalPages = (int) Math.ceil(comments.size() / 12);
         if (page > totalPages) {
             page = totalPages;
         }
         // Only display 12 per page
         int max = page * 12 + 12;
-        if (max > comments.length) {
-            max = comments.length;
+        if (max > comments.size()) {
+            max = comments.size();
         }
         TextComponent.Builder builder = Component.text();
         builder.append(MINI_MESSAGE.deserialize(
                 TranslatableCaption.of("list.comment_list_header_paged").getComponent(player) + '\n',
                 TagResolver.builder()
-                        .tag("amount", Tag.inserting(Component.text(comments.length)))
+                        .tag("amount", Tag.inserting(Component.text(comments.size())))
                         .tag("cur", Tag.inserting(Component.text(page + 1)))
                         .tag("max", Tag.inserting(Component.text(totalPages + 1)))
                         .tag("word", Tag.inserting(Component.text("all")))
@@ -83,7 +82,7 @@ public class Inbox extends SubCommand {
 
         // This might work xD
         for (int x = page * 12; x < max; x++) {
-            PlotComment comment = comments[x];
+            PlotComment comment = comments.get(x);
             Component commentColored;
             if (player.getName().equals(comment.senderName())) {
                 commentColored = MINI_MESSAGE
@@ -114,6 +113,23 @@ public class Inbox extends SubCommand {
         player.sendMessage(StaticCaption.of(MINI_MESSAGE.serialize(builder.build())));
     }
 
+    private void sendInboxItem(PlotPlayer<?> player, CommentInbox inbox, int total, int unread) {
+        if (total != 0) {
+            player.sendMessage(
+                    TranslatableCaption.of("comment.inbox_item"),
+                    TagResolver.resolver(
+                            "value",
+                            Tag.inserting(Component.text(inbox + " (" + total + '/' + unread + ')'))
+                    )
+            );
+            return;
+        }
+        player.sendMessage(
+                TranslatableCaption.of("comment.inbox_item"),
+                TagResolver.resolver("value", Tag.inserting(Component.text(inbox.toString())))
+        );
+    }
+
     @Override
     public boolean onCommand(final PlotPlayer<?> player, String[] args) {
         final Plot plot = player.getCurrentPlot();
@@ -129,40 +145,31 @@ public class Inbox extends SubCommand {
             sendUsage(player);
             for (final CommentInbox inbox : CommentManager.inboxes.values()) {
                 if (inbox.canRead(plot, player)) {
+                    final long lastRead = CommentManager.getTimestamp(player, inbox.toString());
+                    final int cachedTotal = CommentManager.getInboxCache().getTotal(plot, inbox.toString());
+                    if (cachedTotal != -1) {
+                        sendInboxItem(player, inbox, cachedTotal,
+                                CommentManager.getInboxCache().getUnread(plot, inbox.toString(), lastRead)
+                        );
+                        continue;
+                    }
                     if (!inbox.getComments(plot, new RunnableVal<>() {
                         @Override
                         public void run(List<PlotComment> value) {
+                            int total = 0;
+                            int unread = 0;
                             if (value != null) {
-                                int total = 0;
-                                int unread = 0;
                                 for (PlotComment comment : value) {
                                     total++;
-                                    if (comment.timestamp() > CommentManager
-                                            .getTimestamp(player, inbox.toString())) {
+                                    if (comment.timestamp() > lastRead) {
                                         unread++;
                                     }
                                 }
-                                if (total != 0) {
-                                    player.sendMessage(
-                                            TranslatableCaption.of("comment.inbox_item"),
-                                            TagResolver.resolver(
-                                                    "value",
-                                                    Tag.inserting(Component.text(inbox + " (" + total + '/' + unread + ')'))
-                                            )
-                                    );
-                                    return;
-                                }
                             }
-                            player.sendMessage(
-                                    TranslatableCaption.of("comment.inbox_item"),
-                                    TagResolver.resolver("value", Tag.inserting(Component.text(inbox.toString())))
-                            );
+                            sendInboxItem(player, inbox, total, unread);
                         }
                     })) {
-                        player.sendMessage(
-                                TranslatableCaption.of("comment.inbox_item"),
-                                TagResolver.resolver("value", Tag.inserting(Component.text(inbox.toString())))
-                        );
+                        sendInboxItem(player, inbox, 0, 0);
                     }
                 }
             }
@@ -236,17 +243,13 @@ public class Inbox extends SubCommand {
                                 return;
                             }
                             PlotComment comment = value.get(index - 1);
+                            // The comment was just read from the inbox, so there is nothing the removal can miss
                             inbox.removeComment(plot, comment);
-                            boolean success = plot.getPlotCommentContainer().removeComment(comment);
-                            if (success) {
-                                player.sendMessage(
-                                        TranslatableCaption.of("comment.comment_removed_success"),
-                                        TagResolver.resolver("value", Tag.inserting(Component.text(comment.comment())))
-                                );
-                            } else {
-                                player.sendMessage(
-                                        TranslatableCaption.of("comment.comment_removed_failure"));
-                            }
+                            plot.getPlotCommentContainer().removeComment(comment);
+                            player.sendMessage(
+                                    TranslatableCaption.of("comment.comment_removed_success"),
+                                    TagResolver.resolver("value", Tag.inserting(Component.text(comment.comment())))
+                            );
                         }
                     })) {
                         player.sendMessage(TranslatableCaption.of("errors.not_in_plot"));
@@ -258,9 +261,10 @@ public class Inbox extends SubCommand {
                     if (!inbox.canModify(plot, player)) {
                         player.sendMessage(TranslatableCaption.of("comment.no_perm_inbox_modify"));
                     }
+                    final int cachedTotal = CommentManager.getInboxCache().getTotal(plot, inbox.toString());
                     inbox.clearInbox(plot);
                     List<PlotComment> comments = plot.getPlotCommentContainer().getComments(inbox.toString());
-                    if (!comments.isEmpty()) {
+                    if (cachedTotal > 0 || !comments.isEmpty()) {
                         player.sendMessage(
                                 TranslatableCaption.of("comment.comment_removed_success"),
                                 TagResolver.resolver("value", Tag.inserting(Component.text("*")))
@@ -285,6 +289,12 @@ public class Inbox extends SubCommand {
             player.sendMessage(TranslatableCaption.of("comment.no_perm_inbox"));
             return false;
         }
+        // Pages of a cached inbox are served straight from memory
+        final List<PlotComment> cached = CommentManager.getInboxCache().getCachedComments(plot, inbox.toString());
+        if (cached != null) {
+            displayComments(player, cached, page);
+            return true;
+        }
         if (!inbox.getComments(plot, new RunnableVal<>() {
             @Override
             public void run(List<PlotComment> value) {
@@ -260,6 +260,10 @@ public class Settings extends Config {
         public static boolean LEGACY_DATABASE_SUPPORT = true;
         @Comment("Whether or not PlotSquared should return Unknown if it fails to fulfill a request")
         public static boolean UNKNOWN_AS_DEFAULT = true;
+        @Comment("How many UUIDs and usernames that no service could resolve may be remembered, so they are not looked up again")
+        public static int UNRESOLVED_CACHE_SIZE = 10000;
+        @Comment("For how long (in milliseconds) UUIDs and usernames that no service could resolve are remembered")
+        public static long UNRESOLVED_CACHE_TIME = 600000L;
         @Comment("Whether or not automatic background caching should be enabled. It is HIGHLY recommended to keep this turned on."
                 + " This should only be disabled if the server has a very large number of plots (>100k)")
         public static boolean BACKGROUND_CACHING_ENABLED = true;
@@ -426,6 +430,10 @@ public class Settings extends Config {
                 " - Set to false if you experience the road being set one block too low",
                 "   (only for road schematics created pre 6.1.4)."})
         public static boolean USE_WALL_IN_ROAD_SCHEM_HEIGHT = true;
+        @Comment({"The maximum total volume (in blocks) of parsed schematics to keep in memory",
+                " - Claim schematics are parsed in the background when their plot area is loaded",
+                " - Set to 0 to parse schematics every time they are used"})
+        public static int CACHE_VOLUME = 16777216;
 
     }
 
@@ -588,6 +596,21 @@ public class Settings extends Config {
     }
 
 
+    @Comment({"Settings for worlds that are claimed as plots",
+            "Only used if enabled-components.worlds is enabled"})
+    public static final class Single_Plot_Worlds {
+
+        @Comment("How many copies of the 0_0 template world are kept ready, so new plot worlds do not have to wait for a copy")
+        public static int POOL_SIZE = 2;
+        @Comment("How long (in seconds) a plot world has to be empty before it may be unloaded")
+        public static int IDLE_UNLOAD_DELAY = 60;
+        @Comment("How many empty plot worlds may stay loaded. Beyond this, the least recently used ones are unloaded first,"
+                + " even before the delay above has passed")
+        public static int MAX_IDLE_WORLDS = 10;
+
+    }
+
+
     @Comment("Redstone related settings")
     public static final class Redstone {
 
@@ -696,6 +719,22 @@ public class Settings extends Config {
         @Comment({"If blocks at the edges of queued operations should be set causing updates",
                 " - Slightly slower, but prevents issues such as fences left connected to nothing"})
         public static boolean UPDATE_EDGES = true;
+        @Comment("Number of plot areas that may regenerate roads at the same time.")
+        public static int ROAD_REGEN_CONCURRENT_AREAS = 2;
+        @Comment("Number of chunks each road regeneration batch contains.")
+        public static int ROAD_REGEN_BATCH_SIZE = 32;
+        @Comment({"Road regeneration only queues another batch while fewer chunks than this many batches are pending in all queues.",
+                "Other queued work, such as plot clears, counts against the same limit.",
+                "Lower values reduce the load road regeneration puts on the server."})
+        public static int ROAD_REGEN_MAX_BATCHES = 2;
+        @Comment({"Number of road regeneration batches that may always be queued, even while other work uses up the limit above.",
+                "This keeps road regeneration moving during large plot clears."})
+        public static int ROAD_REGEN_RESERVED_BATCHES = 1;
+        @Comment({"Number of completed road regeneration batches after which progress is saved to disk.",
+                "Only applies if persistent-road-regen is enabled."})
+        public static int ROAD_REGEN_CHECKPOINT_INTERVAL = 10;
+        @Comment("Number of plots plot expiry checks and analyses at the same time.")
+        public static int EXPIRY_ANALYSIS_WORKERS = 4;
 
     }
 
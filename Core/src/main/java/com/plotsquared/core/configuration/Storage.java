@@ -63,4 +63,24 @@ public class Storage extends Config {
 
     }
 
+
+    @Comment("Local journal of queued database changes")
+    public static final class Journal {
+
+        @Comment({"Should queued database changes be written to a local journal?",
+                " - Changes that were not yet flushed to the database are replayed on the next start",
+                " - This allows long flush intervals without losing changes when the server crashes"})
+        public static boolean USE = false;
+        @Comment("The file to use")
+        public static String FILE = "database.journal";
+        @Comment({"How often (in milliseconds) journaled changes are forced to disk",
+                " - Changes made less than this long before a crash may be lost",
+                " - Set to 0 to force every change to disk before it is queued"})
+        public static int SYNC_INTERVAL = 50;
+        @Comment({"How long (in milliseconds) to wait after flushing before flushing queued changes again",
+                " - Only used while the journal is enabled"})
+        public static int FLUSH_INTERVAL = 5000;
+
+    }
+
 }
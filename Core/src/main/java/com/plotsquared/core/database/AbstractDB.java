@@ -26,6 +26,7 @@ import com.plotsquared.core.plot.comment.PlotComment;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.util.task.RunnableVal;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.HashMap;
 import java.util.List;
@@ -108,6 +109,17 @@ public interface AbstractDB {
 
     void getPersistentMeta(UUID uuid, RunnableVal<Map<String, byte[]>> result);
 
+    /**
+     * Load the persistent meta of a player immediately, instead of queueing the query behind pending changes. This
+     * blocks, at most until the batch of changes currently being written has been committed, and must not be called
+     * from the main thread.
+     *
+     * @param uuid the uuid of the player
+     * @return the persistent meta, or {@code null} if it could not be loaded, or changes to it are still queued
+     * @since 7.5.5
+     */
+    @Nullable Map<String, byte[]> loadPersistentMeta(@NonNull UUID uuid);
+
     /**
      * Creates the plot settings.
      *
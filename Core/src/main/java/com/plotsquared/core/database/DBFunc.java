@@ -22,9 +22,12 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotCluster;
 import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.comment.CommentManager;
 import com.plotsquared.core.plot.comment.PlotComment;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.util.task.RunnableVal;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -72,6 +75,13 @@ public class DBFunc {
         }
     }
 
+    public static @Nullable Map<String, byte[]> loadPersistentMeta(@NonNull UUID uuid) {
+        if (dbManager != null) {
+            return dbManager.loadPersistentMeta(uuid);
+        }
+        return null;
+    }
+
     public static void removePersistentMeta(UUID uuid, String key) {
         if (dbManager != null) {
             dbManager.removePersistentMeta(uuid, key);
@@ -198,6 +208,7 @@ public class DBFunc {
             return;
         }
         DBFunc.dbManager.delete(plot);
+        CommentManager.getInboxCache().invalidate(plot);
         plot.temp = -1;
     }
 
@@ -259,6 +270,7 @@ public class DBFunc {
             return;
         }
         DBFunc.dbManager.deleteComments(plot);
+        CommentManager.getInboxCache().invalidate(plot);
     }
 
     /**
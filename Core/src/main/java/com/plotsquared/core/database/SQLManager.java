@@ -44,10 +44,14 @@ import com.plotsquared.core.util.HashUtil;
 import com.plotsquared.core.util.StringMan;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskProfiler;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
@@ -128,10 +132,15 @@ public class SQLManager implements AbstractDB {
      * cluster_settings
      */
     public volatile ConcurrentHashMap<PlotCluster, Queue<UniqueStatement>> clusterTasks;
+    // Held while the connection is in use by the flush thread, so that other threads can run reads between batches
+    private final Object flushLock = new Object();
     // Private
     private Connection connection;
     private boolean supportsGetGeneratedKeys;
     private boolean closed = false;
+    private volatile StatementJournal journal;
+    // Journal numbers of the statements executed on the connection since the last commit
+    private final List<Long> uncommittedSequences = new ArrayList<>();
 
     /**
      * Constructor
@@ -215,17 +224,34 @@ public class SQLManager implements AbstractDB {
         }
         TaskManager.runTaskAsync(() -> {
             long last = System.currentTimeMillis();
+            long flushed = 0;
+            boolean flushing = false;
             while (!SQLManager.this.closed) {
+                StatementJournal journal = SQLManager.this.journal;
+                if (journal != null) {
+                    journal.sync();
+                }
                 boolean hasTask =
                         !globalTasks.isEmpty() || !playerTasks.isEmpty() || !plotTasks.isEmpty()
                                 || !clusterTasks.isEmpty();
-                if (hasTask) {
-                    if (SQLManager.this.mySQL && System.currentTimeMillis() - last > 550000
-                            || !isValid()) {
-                        last = System.currentTimeMillis();
-                        reconnect();
+                // With a journal, changes are safe before they are flushed, so they are left to accumulate into larger batches
+                if (hasTask && (journal == null || flushing
+                        || System.currentTimeMillis() - flushed >= Storage.Journal.FLUSH_INTERVAL)) {
+                    flushing = true;
+                    final boolean more;
+                    synchronized (SQLManager.this.flushLock) {
+                        if (SQLManager.this.mySQL && System.currentTimeMillis() - last > 550000
+                                || !isValid()) {
+                            last = System.currentTimeMillis();
+                            reconnect();
+                        }
+                        final long start = TaskProfiler.start();
+                        more = sendBatch();
+                        TaskProfiler.record(TaskProfiler.Origin.DATABASE, start);
                     }
-                    if (!sendBatch()) {
+                    if (!more) {
+                        flushing = false;
+                        flushed = System.currentTimeMillis();
                         try {
                             if (!getNotifyTasks().isEmpty()) {
                                 for (Runnable task : getNotifyTasks()) {
@@ -240,7 +266,7 @@ public class SQLManager implements AbstractDB {
                     }
                 } else {
                     try {
-                        Thread.sleep(1000);
+                        Thread.sleep(journal == null ? 1000 : Math.max(1, Storage.Journal.SYNC_INTERVAL));
                     } catch (InterruptedException e) {
                         e.printStackTrace();
                     }
@@ -266,6 +292,10 @@ public class SQLManager implements AbstractDB {
     }
 
     public void reconnect() {
+        // Work that was not committed is rolled back by closing the connection, so it must stay in the journal
+        synchronized (this.uncommittedSequences) {
+            this.uncommittedSequences.clear();
+        }
         try {
             close();
             SQLManager.this.closed = false;
@@ -310,6 +340,8 @@ public class SQLManager implements AbstractDB {
                 }
 
             };
+        } else {
+            journal(task);
         }
         tasks.add(task);
     }
@@ -344,6 +376,8 @@ public class SQLManager implements AbstractDB {
                 }
 
             };
+        } else {
+            journal(task);
         }
         tasks.add(task);
     }
@@ -375,10 +409,138 @@ public class SQLManager implements AbstractDB {
                 }
 
             };
+        } else {
+            journal(task);
         }
         tasks.add(task);
     }
 
+    private void journal(final @NonNull UniqueStatement task) {
+        final StatementJournal journal = this.journal;
+        if (journal == null) {
+            return;
+        }
+        final StatementJournal.Entry entry = StatementJournal.record(task);
+        if (entry == null) {
+            return;
+        }
+        try {
+            task.sequence = journal.append(entry);
+            if (Storage.Journal.SYNC_INTERVAL <= 0) {
+                journal.sync();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to journal database change {}", task.method, e);
+        }
+    }
+
+    private void executed(final @Nullable UniqueStatement task) {
+        if (task != null && task.sequence >= 0) {
+            synchronized (this.uncommittedSequences) {
+                this.uncommittedSequences.add(task.sequence);
+            }
+        }
+    }
+
+    private void committed() {
+        final StatementJournal journal = this.journal;
+        final List<Long> sequences;
+        synchronized (this.uncommittedSequences) {
+            if (this.uncommittedSequences.isEmpty()) {
+                return;
+            }
+            sequences = new ArrayList<>(this.uncommittedSequences);
+            this.uncommittedSequences.clear();
+        }
+        if (journal != null) {
+            journal.commit(sequences);
+        }
+    }
+
+    /**
+     * Open a local journal for queued changes. Changes left in the journal by a previous run are replayed first.
+     * Afterwards, every queued plot, player and cluster change is written to the journal before it is queued, and
+     * marked as committed in the journal once the database has committed it. Changes are forced to disk by the flush
+     * thread every {@link Storage.Journal#SYNC_INTERVAL} milliseconds, or before they are queued if the interval is
+     * {@code 0}.
+     * <p>
+     * This must be called before any changes are queued.
+     * </p>
+     *
+     * @param file Journal file
+     * @since 7.5.5
+     */
+    public void openJournal(final @NonNull File file) {
+        final StatementJournal journal;
+        try {
+            journal = StatementJournal.open(file.toPath());
+            final List<StatementJournal.Entry> entries = journal.read();
+            if (!entries.isEmpty()) {
+                replay(entries);
+            }
+            journal.truncate();
+        } catch (IOException | SQLException e) {
+            LOGGER.error("Failed to open database journal {}. Changes will not be journaled", file, e);
+            return;
+        }
+        this.journal = journal;
+    }
+
+    private void replay(final @NonNull List<StatementJournal.Entry> entries) throws SQLException {
+        LOGGER.info("Replaying {} database changes from the journal", entries.size());
+        final StatementJournal.ReferenceResolver resolver = new StatementJournal.ReferenceResolver() {
+            @Override
+            public Integer plot(final StatementJournal.@NonNull PlotReference reference) throws SQLException {
+                final int id = queryPlotId(reference.x(), reference.z(), reference.world());
+                return id == Integer.MAX_VALUE || id == 0 ? null : id;
+            }
+
+            @Override
+            public Integer cluster(final StatementJournal.@NonNull ClusterReference reference) throws SQLException {
+                final int id = queryClusterId(reference.pos1X(), reference.pos1Z(), reference.pos2X(), reference.pos2Z(),
+                        reference.world()
+                );
+                return id == Integer.MAX_VALUE || id == 0 ? null : id;
+            }
+        };
+        if (this.connection.getAutoCommit()) {
+            this.connection.setAutoCommit(false);
+        }
+        int skipped = 0;
+        for (final StatementJournal.Entry entry : entries) {
+            try (PreparedStatement statement = this.connection.prepareStatement(entry.sql())) {
+                if (!StatementJournal.bind(statement, entry, resolver)) {
+                    skipped++;
+                    continue;
+                }
+                statement.execute();
+            } catch (SQLException e) {
+                skipped++;
+                LOGGER.warn("Failed to replay journaled database change: {}", entry.sql(), e);
+            }
+        }
+        commit();
+        if (skipped > 0) {
+            LOGGER.warn("Skipped {} journaled database changes that could not be replayed", skipped);
+        }
+    }
+
+    private PreparedStatement prepareStatement(final String sql) throws SQLException {
+        final StatementJournal.Recording recording = StatementJournal.recording();
+        if (recording != null) {
+            return recording.prepare(sql);
+        }
+        return this.connection.prepareStatement(sql);
+    }
+
+    private PreparedStatement prepareStatement(final String sql, final int autoGeneratedKeys) throws SQLException {
+        final StatementJournal.Recording recording = StatementJournal.recording();
+        if (recording != null) {
+            return recording.prepare(sql);
+        }
+        return this.connection.prepareStatement(sql, autoGeneratedKeys);
+    }
+
     public synchronized void addGlobalTask(Runnable task) {
         getGlobalTasks().add(task);
     }
@@ -432,6 +594,7 @@ public class SQLManager implements AbstractDB {
                             continue;
                         }
                         task = tasks.remove();
+                        executed(task);
                         count++;
                         if (task != null) {
                             if (task.method == null || !task.method.equals(method)
@@ -484,6 +647,7 @@ public class SQLManager implements AbstractDB {
                             continue;
                         }
                         task = this.playerTasks.get(uuid).remove();
+                        executed(task);
                         count++;
                         if (task != null) {
                             if (task.method == null || !task.method.equals(method)) {
@@ -530,6 +694,7 @@ public class SQLManager implements AbstractDB {
                             continue;
                         }
                         task = this.clusterTasks.get(cluster).remove();
+                        executed(task);
                         count++;
                         if (task != null) {
                             if (task.method == null || !task.method.equals(method)) {
@@ -607,7 +772,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(SQLManager.this.SET_OWNER);
+                return SQLManager.this.prepareStatement(SQLManager.this.SET_OWNER);
             }
         });
     }
@@ -1083,7 +1248,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         SQLManager.this.CREATE_PLOT_SAFE,
                         Statement.RETURN_GENERATED_KEYS
                 );
@@ -1110,7 +1275,7 @@ public class SQLManager implements AbstractDB {
 
                                 @Override
                                 public PreparedStatement get() throws SQLException {
-                                    return SQLManager.this.connection.prepareStatement(
+                                    return SQLManager.this.prepareStatement(
                                             "INSERT INTO `" + SQLManager.this.prefix
                                                     + "plot_settings`(`plot_plot_id`) VALUES(?)");
                                 }
@@ -1136,6 +1301,7 @@ public class SQLManager implements AbstractDB {
         try {
             if (!this.connection.getAutoCommit()) {
                 this.connection.commit();
+                committed();
                 this.connection.setAutoCommit(true);
             }
         } catch (SQLException e) {
@@ -1157,7 +1323,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection
+                return SQLManager.this
                         .prepareStatement(SQLManager.this.CREATE_PLOT, Statement.RETURN_GENERATED_KEYS);
             }
 
@@ -1183,7 +1349,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_settings`(`plot_plot_id`) VALUES(?)");
             }
@@ -1361,7 +1527,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_settings` WHERE `plot_plot_id` = ?");
             }
@@ -1381,7 +1547,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_helpers` WHERE `plot_plot_id` = ?");
             }
@@ -1401,7 +1567,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_trusted` WHERE `plot_plot_id` = ?");
             }
@@ -1421,7 +1587,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_denied` WHERE `plot_plot_id` = ?");
             }
@@ -1439,7 +1605,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_comments` WHERE `world` = ? AND `hashcode` = ?");
             }
@@ -1459,7 +1625,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_rating` WHERE `plot_plot_id` = ?");
             }
@@ -1487,7 +1653,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix + "plot` WHERE `id` = ?");
             }
         });
@@ -1509,7 +1675,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_settings`(`plot_plot_id`) VALUES(?)");
             }
@@ -1521,27 +1687,20 @@ public class SQLManager implements AbstractDB {
         if (cluster.temp > 0) {
             return cluster.temp;
         }
+        final StatementJournal.Recording recording = StatementJournal.recording();
+        if (recording != null) {
+            return recording.reference(new StatementJournal.ClusterReference(cluster.area.toString(), cluster.getP1().getX(),
+                    cluster.getP1().getY(), cluster.getP2().getX(), cluster.getP2().getY()
+            ));
+        }
         try {
             commit();
             if (cluster.temp > 0) {
                 return cluster.temp;
             }
-            int c_id;
-            try (PreparedStatement stmt = this.connection.prepareStatement(
-                    "SELECT `id` FROM `" + this.prefix
-                            + "cluster` WHERE `pos1_x` = ? AND `pos1_z` = ? AND `pos2_x` = ? AND `pos2_z` = ? AND `world` = ? ORDER BY `timestamp` ASC")) {
-                stmt.setInt(1, cluster.getP1().getX());
-                stmt.setInt(2, cluster.getP1().getY());
-                stmt.setInt(3, cluster.getP2().getX());
-                stmt.setInt(4, cluster.getP2().getY());
-                stmt.setString(5, cluster.area.toString());
-                try (ResultSet resultSet = stmt.executeQuery()) {
-                    c_id = Integer.MAX_VALUE;
-                    while (resultSet.next()) {
-                        c_id = resultSet.getInt("id");
-                    }
-                }
-            }
+            int c_id = queryClusterId(cluster.getP1().getX(), cluster.getP1().getY(), cluster.getP2().getX(),
+                    cluster.getP2().getY(), cluster.area.toString()
+            );
             if (c_id == Integer.MAX_VALUE || c_id == 0) {
                 if (cluster.temp > 0) {
                     return cluster.temp;
@@ -1561,25 +1720,18 @@ public class SQLManager implements AbstractDB {
         if (plot.temp > 0) {
             return plot.temp;
         }
+        final StatementJournal.Recording recording = StatementJournal.recording();
+        if (recording != null) {
+            return recording.reference(new StatementJournal.PlotReference(plot.getArea().toString(), plot.getId().getX(),
+                    plot.getId().getY()
+            ));
+        }
         try {
             commit();
             if (plot.temp > 0) {
                 return plot.temp;
             }
-            int id;
-            try (PreparedStatement statement = this.connection.prepareStatement(
-                    "SELECT `id` FROM `" + this.prefix
-                            + "plot` WHERE `plot_id_x` = ? AND `plot_id_z` = ? AND world = ? ORDER BY `timestamp` ASC")) {
-                statement.setInt(1, plot.getId().getX());
-                statement.setInt(2, plot.getId().getY());
-                statement.setString(3, plot.getArea().toString());
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    id = Integer.MAX_VALUE;
-                    while (resultSet.next()) {
-                        id = resultSet.getInt("id");
-                    }
-                }
-            }
+            int id = queryPlotId(plot.getId().getX(), plot.getId().getY(), plot.getArea().toString());
             if (id == Integer.MAX_VALUE || id == 0) {
                 if (plot.temp > 0) {
                     return plot.temp;
@@ -1594,6 +1746,43 @@ public class SQLManager implements AbstractDB {
         return Integer.MAX_VALUE;
     }
 
+    private int queryPlotId(final int x, final int z, final String world) throws SQLException {
+        int id = Integer.MAX_VALUE;
+        try (PreparedStatement statement = this.connection.prepareStatement(
+                "SELECT `id` FROM `" + this.prefix
+                        + "plot` WHERE `plot_id_x` = ? AND `plot_id_z` = ? AND world = ? ORDER BY `timestamp` ASC")) {
+            statement.setInt(1, x);
+            statement.setInt(2, z);
+            statement.setString(3, world);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    id = resultSet.getInt("id");
+                }
+            }
+        }
+        return id;
+    }
+
+    private int queryClusterId(final int pos1X, final int pos1Z, final int pos2X, final int pos2Z, final String world)
+            throws SQLException {
+        int id = Integer.MAX_VALUE;
+        try (PreparedStatement stmt = this.connection.prepareStatement(
+                "SELECT `id` FROM `" + this.prefix
+                        + "cluster` WHERE `pos1_x` = ? AND `pos1_z` = ? AND `pos2_x` = ? AND `pos2_z` = ? AND `world` = ? ORDER BY `timestamp` ASC")) {
+            stmt.setInt(1, pos1X);
+            stmt.setInt(2, pos1Z);
+            stmt.setInt(3, pos2X);
+            stmt.setInt(4, pos2Z);
+            stmt.setString(5, world);
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                while (resultSet.next()) {
+                    id = resultSet.getInt("id");
+                }
+            }
+        }
+        return id;
+    }
+
     @Override
     public void updateTables(int[] oldVersion) {
         try {
@@ -1976,7 +2165,7 @@ public class SQLManager implements AbstractDB {
                         }
                         Plot plot = plots.get(id);
                         if (plot != null) {
-                            plot.getTrusted().add(user);
+                            plot.addTrustedAbs(user);
                         } else if (Settings.Enabled_Components.DATABASE_PURGER) {
                             toDelete.add(id);
                         } else {
@@ -2003,7 +2192,7 @@ public class SQLManager implements AbstractDB {
                         }
                         Plot plot = plots.get(id);
                         if (plot != null) {
-                            plot.getMembers().add(user);
+                            plot.addMemberAbs(user);
                         } else if (Settings.Enabled_Components.DATABASE_PURGER) {
                             toDelete.add(id);
                         } else {
@@ -2030,7 +2219,7 @@ public class SQLManager implements AbstractDB {
                         }
                         Plot plot = plots.get(id);
                         if (plot != null) {
-                            plot.getDenied().add(user);
+                            plot.addDeniedAbs(user);
                         } else if (Settings.Enabled_Components.DATABASE_PURGER) {
                             toDelete.add(id);
                         } else {
@@ -2177,7 +2366,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "plot_settings` SET `merged` = ? WHERE `plot_plot_id` = ?");
             }
@@ -2227,7 +2416,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "plot` SET `plot_id_x` = ?, `plot_id_z` = ?, `world` = ? WHERE `id` = ?");
             }
@@ -2258,7 +2447,7 @@ public class SQLManager implements AbstractDB {
                             + "plot_flags`(`plot_id`, `flag`, `value`) VALUES(?, ?, ?) "
                             + "ON CONFLICT(`plot_id`,`flag`) DO UPDATE SET `value` = ?";
                 }
-                return SQLManager.this.connection.prepareStatement(statement);
+                return SQLManager.this.prepareStatement(statement);
             }
         });
     }
@@ -2274,7 +2463,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_flags` WHERE `plot_id` = ? AND `flag` = ?");
             }
@@ -2292,7 +2481,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "plot_settings` SET `alias` = ?  WHERE `plot_plot_id` = ?");
             }
@@ -2408,7 +2597,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "plot_settings` SET `position` = ?  WHERE `plot_plot_id` = ?");
             }
@@ -2436,11 +2625,11 @@ public class SQLManager implements AbstractDB {
             @Override
             public PreparedStatement get() throws SQLException {
                 if (plot != null) {
-                    return SQLManager.this.connection.prepareStatement(
+                    return SQLManager.this.prepareStatement(
                             "DELETE FROM `" + SQLManager.this.prefix
                                     + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `comment` = ? AND `inbox` = ? AND `sender` = ?");
                 }
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_comments` WHERE `comment` = ? AND `inbox` = ? AND `sender` = ?");
             }
@@ -2464,11 +2653,11 @@ public class SQLManager implements AbstractDB {
             @Override
             public PreparedStatement get() throws SQLException {
                 if (plot != null) {
-                    return SQLManager.this.connection.prepareStatement(
+                    return SQLManager.this.prepareStatement(
                             "DELETE FROM `" + SQLManager.this.prefix
                                     + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `inbox` = ?");
                 }
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix + "plot_comments` `inbox` = ?");
             }
         });
@@ -2494,11 +2683,11 @@ public class SQLManager implements AbstractDB {
             @Override
             public PreparedStatement get() throws SQLException {
                 if (plot != null) {
-                    return SQLManager.this.connection.prepareStatement(
+                    return SQLManager.this.prepareStatement(
                             "SELECT * FROM `" + SQLManager.this.prefix
                                     + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `inbox` = ?");
                 }
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "SELECT * FROM `" + SQLManager.this.prefix
                                 + "plot_comments` WHERE `inbox` = ?");
             }
@@ -2528,6 +2717,11 @@ public class SQLManager implements AbstractDB {
                         comments.add(comment);
                     }
                     whenDone.value = comments;
+                } catch (SQLException e) {
+                    // Let the caller know the query failed, instead of leaving it waiting
+                    whenDone.value = null;
+                    TaskManager.runTask(whenDone);
+                    throw e;
                 }
                 TaskManager.runTask(whenDone);
             }
@@ -2549,7 +2743,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_comments` (`world`, `hashcode`, `comment`, `inbox`, `timestamp`, `sender`) VALUES(?,?,?,?,?,?)");
             }
@@ -2567,7 +2761,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_helpers` WHERE `plot_plot_id` = ? AND `user_uuid` = ?");
             }
@@ -2585,7 +2779,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_trusted` WHERE `plot_plot_id` = ? AND `user_uuid` = ?");
             }
@@ -2603,7 +2797,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_helpers` (`plot_plot_id`, `user_uuid`) VALUES(?,?)");
             }
@@ -2621,7 +2815,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_trusted` (`plot_plot_id`, `user_uuid`) VALUES(?,?)");
             }
@@ -2639,7 +2833,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "plot_denied` WHERE `plot_plot_id` = ? AND `user_uuid` = ?");
             }
@@ -2657,7 +2851,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_denied` (`plot_plot_id`, `user_uuid`) VALUES(?,?)");
             }
@@ -2697,7 +2891,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "plot_rating` (`plot_plot_id`, `rating`, `player`) VALUES(?,?,?)");
             }
@@ -2715,7 +2909,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "cluster_settings` WHERE `cluster_id` = ?");
             }
@@ -2728,7 +2922,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "cluster_helpers` WHERE `cluster_id` = ?");
             }
@@ -2741,7 +2935,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "cluster_invited` WHERE `cluster_id` = ?");
             }
@@ -2754,7 +2948,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix + "cluster` WHERE `id` = ?");
             }
         });
@@ -2782,11 +2976,11 @@ public class SQLManager implements AbstractDB {
             @Override
             public PreparedStatement get() throws SQLException {
                 if (replace) {
-                    return SQLManager.this.connection.prepareStatement(
+                    return SQLManager.this.prepareStatement(
                             "UPDATE `" + SQLManager.this.prefix
                                     + "player_meta` SET `value` = ? WHERE `uuid` = ? AND `key` = ?");
                 } else {
-                    return SQLManager.this.connection.prepareStatement(
+                    return SQLManager.this.prepareStatement(
                             "INSERT INTO `" + SQLManager.this.prefix
                                     + "player_meta`(`uuid`, `key`, `value`) VALUES(?, ? ,?)");
                 }
@@ -2805,7 +2999,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "player_meta` WHERE `uuid` = ? AND `key` = ?");
             }
@@ -2822,7 +3016,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "SELECT * FROM `" + SQLManager.this.prefix
                                 + "player_meta` WHERE `uuid` = ? ORDER BY `meta_id` ASC");
             }
@@ -2850,6 +3044,32 @@ public class SQLManager implements AbstractDB {
         });
     }
 
+    @Override
+    public @Nullable Map<String, byte[]> loadPersistentMeta(final @NonNull UUID uuid) {
+        // The flush thread only releases the lock between batches, once the dequeued changes have been committed, so a
+        // change is either still queued here or already visible to the query
+        synchronized (this.flushLock) {
+            final Queue<UniqueStatement> pending = this.playerTasks.get(uuid);
+            if (this.closed || pending != null && !pending.isEmpty()) {
+                return null;
+            }
+            try (PreparedStatement statement = this.connection.prepareStatement(
+                    "SELECT `key`, `value` FROM `" + this.prefix + "player_meta` WHERE `uuid` = ? ORDER BY `meta_id` ASC")) {
+                statement.setString(1, uuid.toString());
+                final Map<String, byte[]> metaMap = new HashMap<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        metaMap.put(resultSet.getString("key"), resultSet.getBytes("value"));
+                    }
+                }
+                return metaMap;
+            } catch (SQLException e) {
+                LOGGER.error("Failed to load persistent meta of {}", uuid, e);
+                return null;
+            }
+        }
+    }
+
     @Override
     public HashMap<String, Set<PlotCluster>> getClusters() {
         LinkedHashMap<String, Set<PlotCluster>> newClusters = new LinkedHashMap<>();
@@ -3010,7 +3230,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "cluster_settings` SET `alias` = ?  WHERE `cluster_id` = ?");
             }
@@ -3029,7 +3249,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "cluster_helpers` WHERE `cluster_id` = ? AND `user_uuid` = ?");
             }
@@ -3047,7 +3267,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "cluster_helpers` (`cluster_id`, `user_uuid`) VALUES(?,?)");
             }
@@ -3069,7 +3289,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         SQLManager.this.CREATE_CLUSTER,
                         Statement.RETURN_GENERATED_KEYS
                 );
@@ -3100,7 +3320,7 @@ public class SQLManager implements AbstractDB {
 
                     @Override
                     public PreparedStatement get() throws SQLException {
-                        return SQLManager.this.connection.prepareStatement(
+                        return SQLManager.this.prepareStatement(
                                 "INSERT INTO `" + SQLManager.this.prefix
                                         + "cluster_settings`(`cluster_id`, `alias`) VALUES(?, ?)");
                     }
@@ -3127,7 +3347,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "cluster` SET `pos1_x` = ?, `pos1_z` = ?, `pos2_x` = ?, `pos2_z` = ?  WHERE `id` = ?");
             }
@@ -3145,7 +3365,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "UPDATE `" + SQLManager.this.prefix
                                 + "cluster_settings` SET `position` = ?  WHERE `cluster_id` = ?");
             }
@@ -3163,7 +3383,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "DELETE FROM `" + SQLManager.this.prefix
                                 + "cluster_invited` WHERE `cluster_id` = ? AND `user_uuid` = ?");
             }
@@ -3181,7 +3401,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
+                return SQLManager.this.prepareStatement(
                         "INSERT INTO `" + SQLManager.this.prefix
                                 + "cluster_invited` (`cluster_id`, `user_uuid`) VALUES(?,?)");
             }
@@ -3429,6 +3649,10 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void close() {
+        final StatementJournal journal = this.journal;
+        if (journal != null) {
+            journal.sync();
+        }
         try {
             this.closed = true;
             this.connection.close();
@@ -3447,6 +3671,8 @@ public class SQLManager implements AbstractDB {
     public abstract static class UniqueStatement {
 
         public final String method;
+        // Number of the statement in the journal, or -1 if it was not journaled
+        private long sequence = -1;
 
         public UniqueStatement(String method) {
             this.method = method;
@@ -0,0 +1,589 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the statements queued by {@link SQLManager}. Every queued statement is written to the journal
+ * before it is queued, so that changes which had not been flushed to the database when the server stopped can be
+ * replayed on the next start.
+ * <p>
+ * Entries are recorded by running a statement's {@link SQLManager.UniqueStatement#get()} and
+ * {@link SQLManager.UniqueStatement#set(PreparedStatement)} against a recording statement. Plot and cluster database
+ * ids that are not known yet are stored as references and resolved on replay. Appends go to the operating system
+ * immediately and are forced to disk in groups by {@link #sync()}, so an entry is only durable once the next sync has
+ * completed.
+ * </p>
+ * <p>
+ * Each entry is numbered. Once the database has committed a set of entries, a commit record listing their numbers is
+ * written by {@link #commit(Collection)}, and entries listed in a commit record are not returned by {@link #read()}.
+ * The file is truncated once every entry is committed, and rewritten with only the uncommitted entries once it has
+ * grown to more than twice their size.
+ * </p>
+ */
+final class StatementJournal implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + StatementJournal.class.getSimpleName());
+    private static final ThreadLocal<Recording> RECORDING = new ThreadLocal<>();
+
+    private static final byte NULL = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte STRING = 3;
+    private static final byte BYTES = 4;
+    private static final byte TIMESTAMP = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte PLOT = 8;
+    private static final byte CLUSTER = 9;
+
+    private static final byte ENTRY_RECORD = 0;
+    private static final byte COMMIT_RECORD = 1;
+    // Files smaller than this are not compacted, even if most of their entries are committed
+    private static final long COMPACT_SIZE = 1024 * 1024;
+
+    private final Path file;
+    // Encoded records of the entries that have not been committed yet, by number
+    private final Map<Long, byte[]> pending = new LinkedHashMap<>();
+    private FileChannel channel;
+    private long sequence;
+    private long pendingBytes;
+    private volatile boolean dirty;
+
+    private StatementJournal(final @NonNull Path file, final @NonNull FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Open a journal, creating the file if it does not exist.
+     *
+     * @param file Journal file
+     * @return the opened journal
+     * @throws IOException if the file cannot be opened
+     */
+    static @NonNull StatementJournal open(final @NonNull Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+        return new StatementJournal(file, channel);
+    }
+
+    /**
+     * Get the recording the current thread is performing, if any. While a recording is active, statements are prepared
+     * through {@link Recording#prepare(String)} and unknown database ids are passed as references.
+     *
+     * @return active recording, or {@code null}
+     */
+    static @Nullable Recording recording() {
+        return RECORDING.get();
+    }
+
+    /**
+     * Record a queued statement.
+     *
+     * @param statement Statement to record
+     * @return the recorded entry, or {@code null} if the statement cannot be journaled
+     */
+    static @Nullable Entry record(final SQLManager.@NonNull UniqueStatement statement) {
+        final Recording recording = new Recording();
+        RECORDING.set(recording);
+        try {
+            final PreparedStatement prepared = statement.get();
+            if (prepared == null || recording.sql == null) {
+                if (prepared != null) {
+                    prepared.close();
+                }
+                return null;
+            }
+            if (recording.sql.stripLeading().toUpperCase(Locale.ROOT).startsWith("SELECT")) {
+                return null;
+            }
+            statement.set(prepared);
+            return new Entry(recording.sql, Collections.unmodifiableList(recording.parameters));
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.debug("Statement {} cannot be journaled", statement.method, e);
+            return null;
+        } finally {
+            RECORDING.remove();
+        }
+    }
+
+    /**
+     * Append an entry to the journal.
+     *
+     * @param entry Entry to append
+     * @return number of the entry, to pass to {@link #commit(Collection)} once the database has committed it
+     * @throws IOException if the entry cannot be written
+     */
+    synchronized long append(final @NonNull Entry entry) throws IOException {
+        final long sequence = this.sequence++;
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(ENTRY_RECORD);
+        out.writeLong(sequence);
+        writeString(out, entry.sql());
+        out.writeShort(entry.parameters().size());
+        for (final Object parameter : entry.parameters()) {
+            writeParameter(out, parameter);
+        }
+        final byte[] record = encodeRecord(bytes.toByteArray());
+        this.write(record);
+        this.pending.put(sequence, record);
+        this.pendingBytes += record.length;
+        return sequence;
+    }
+
+    /**
+     * Mark entries as committed to the database, so that they are not replayed. The commit record is forced to disk
+     * before this returns.
+     *
+     * @param sequences Numbers of the committed entries
+     */
+    synchronized void commit(final @NonNull Collection<Long> sequences) {
+        if (sequences.isEmpty()) {
+            return;
+        }
+        for (final long sequence : sequences) {
+            final byte[] record = this.pending.remove(sequence);
+            if (record != null) {
+                this.pendingBytes -= record.length;
+            }
+        }
+        if (this.pending.isEmpty()) {
+            this.truncate();
+            return;
+        }
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(COMMIT_RECORD);
+            out.writeInt(sequences.size());
+            for (final long sequence : sequences) {
+                out.writeLong(sequence);
+            }
+            this.write(encodeRecord(bytes.toByteArray()));
+            final long size = this.channel.size();
+            if (size > COMPACT_SIZE && size > this.pendingBytes * 2) {
+                this.compact();
+            } else {
+                this.channel.force(false);
+                this.dirty = false;
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to mark entries of database journal {} as committed", this.file, e);
+        }
+    }
+
+    /**
+     * Rewrite the journal with only the entries that have not been committed.
+     */
+    private void compact() throws IOException {
+        final Path tmp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            for (final byte[] record : this.pending.values()) {
+                final ByteBuffer buffer = ByteBuffer.wrap(record);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(false);
+        }
+        this.channel.close();
+        Files.move(tmp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(this.channel.size());
+        this.dirty = false;
+    }
+
+    private static byte[] encodeRecord(final byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+        return ByteBuffer.allocate(payload.length + 8).putInt(payload.length).putInt((int) crc.getValue()).put(payload)
+                .array();
+    }
+
+    private void write(final byte[] record) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(record);
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer);
+        }
+        this.dirty = true;
+    }
+
+    /**
+     * Force everything appended since the last sync to disk.
+     */
+    void sync() {
+        if (!this.dirty) {
+            return;
+        }
+        this.dirty = false;
+        try {
+            this.channel.force(false);
+        } catch (IOException e) {
+            LOGGER.error("Failed to sync database journal {}", this.file, e);
+        }
+    }
+
+    /**
+     * Read all complete entries from the journal that have not been committed. Reading stops at the first torn or
+     * corrupt record, which is what an interrupted append leaves behind.
+     *
+     * @return uncommitted journaled entries, oldest first
+     * @throws IOException if the file cannot be read
+     */
+    synchronized @NonNull List<Entry> read() throws IOException {
+        final Map<Long, Entry> entries = new LinkedHashMap<>();
+        this.pending.clear();
+        this.pendingBytes = 0;
+        final long size = this.channel.size();
+        long valid = 0;
+        this.channel.position(0);
+        final DataInputStream in = new DataInputStream(Channels.newInputStream(this.channel));
+        try {
+            while (valid < size) {
+                final int length = in.readInt();
+                final int checksum = in.readInt();
+                if (length < 0 || length > size - valid - 8) {
+                    break;
+                }
+                final byte[] payload = in.readNBytes(length);
+                final CRC32 crc = new CRC32();
+                crc.update(payload);
+                if (payload.length != length || (int) crc.getValue() != checksum) {
+                    break;
+                }
+                final DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                final byte kind = record.readByte();
+                if (kind == ENTRY_RECORD) {
+                    final long sequence = record.readLong();
+                    entries.put(sequence, readEntry(record));
+                    this.pending.put(sequence, encodeRecord(payload));
+                    this.pendingBytes += length + 8;
+                    this.sequence = Math.max(this.sequence, sequence + 1);
+                } else if (kind == COMMIT_RECORD) {
+                    for (int i = record.readInt(); i > 0; i--) {
+                        final long sequence = record.readLong();
+                        entries.remove(sequence);
+                        final byte[] removed = this.pending.remove(sequence);
+                        if (removed != null) {
+                            this.pendingBytes -= removed.length;
+                        }
+                    }
+                } else {
+                    throw new IOException("Unknown record type " + kind + " in database journal " + this.file);
+                }
+                valid += length + 8;
+            }
+        } catch (EOFException ignored) {
+        }
+        if (valid < size) {
+            LOGGER.warn("Discarding {} bytes of incomplete entries from database journal {}", size - valid, this.file);
+            this.channel.truncate(valid);
+        }
+        this.channel.position(valid);
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Discard all entries, once they have been flushed to the database.
+     */
+    synchronized void truncate() {
+        this.pending.clear();
+        this.pendingBytes = 0;
+        try {
+            if (this.channel.size() > 0) {
+                this.channel.truncate(0);
+                this.channel.force(false);
+            }
+            this.dirty = false;
+        } catch (IOException e) {
+            LOGGER.error("Failed to truncate database journal {}", this.file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sync();
+        this.channel.close();
+    }
+
+    /**
+     * Bind the parameters of an entry to a statement.
+     *
+     * @param statement Statement to bind to
+     * @param entry     Journaled entry
+     * @param resolver  Resolver for plot and cluster references
+     * @return {@code false} if a reference could not be resolved
+     * @throws SQLException if a parameter cannot be bound
+     */
+    static boolean bind(
+            final @NonNull PreparedStatement statement, final @NonNull Entry entry,
+            final @NonNull ReferenceResolver resolver
+    ) throws SQLException {
+        final List<Object> parameters = entry.parameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            final int index = i + 1;
+            final Object parameter = parameters.get(i);
+            if (parameter == null) {
+                statement.setNull(index, Types.NULL);
+            } else if (parameter instanceof PlotReference reference) {
+                final Integer id = resolver.plot(reference);
+                if (id == null) {
+                    return false;
+                }
+                statement.setInt(index, id);
+            } else if (parameter instanceof ClusterReference reference) {
+                final Integer id = resolver.cluster(reference);
+                if (id == null) {
+                    return false;
+                }
+                statement.setInt(index, id);
+            } else if (parameter instanceof Integer value) {
+                statement.setInt(index, value);
+            } else if (parameter instanceof Long value) {
+                statement.setLong(index, value);
+            } else if (parameter instanceof String value) {
+                statement.setString(index, value);
+            } else if (parameter instanceof byte[] value) {
+                statement.setBytes(index, value);
+            } else if (parameter instanceof Timestamp value) {
+                statement.setTimestamp(index, value);
+            } else if (parameter instanceof Boolean value) {
+                statement.setBoolean(index, value);
+            } else if (parameter instanceof Double value) {
+                statement.setDouble(index, value);
+            } else {
+                statement.setObject(index, parameter);
+            }
+        }
+        return true;
+    }
+
+    private static void writeString(final @NonNull DataOutputStream out, final @NonNull String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static @NonNull String readString(final @NonNull DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+
+    private static void writeParameter(final @NonNull DataOutputStream out, final @Nullable Object parameter)
+            throws IOException {
+        if (parameter == null) {
+            out.writeByte(NULL);
+        } else if (parameter instanceof Integer value) {
+            out.writeByte(INT);
+            out.writeInt(value);
+        } else if (parameter instanceof Long value) {
+            out.writeByte(LONG);
+            out.writeLong(value);
+        } else if (parameter instanceof String value) {
+            out.writeByte(STRING);
+            writeString(out, value);
+        } else if (parameter instanceof byte[] value) {
+            out.writeByte(BYTES);
+            out.writeInt(value.length);
+            out.write(value);
+        } else if (parameter instanceof Timestamp value) {
+            out.writeByte(TIMESTAMP);
+            out.writeLong(value.getTime());
+        } else if (parameter instanceof Boolean value) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(value);
+        } else if (parameter instanceof Double value) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(value);
+        } else if (parameter instanceof PlotReference value) {
+            out.writeByte(PLOT);
+            writeString(out, value.world());
+            out.writeInt(value.x());
+            out.writeInt(value.z());
+        } else if (parameter instanceof ClusterReference value) {
+            out.writeByte(CLUSTER);
+            writeString(out, value.world());
+            out.writeInt(value.pos1X());
+            out.writeInt(value.pos1Z());
+            out.writeInt(value.pos2X());
+            out.writeInt(value.pos2Z());
+        } else {
+            throw new IOException("Unsupported parameter type " + parameter.getClass().getName());
+        }
+    }
+
+    private static @NonNull Entry readEntry(final @NonNull DataInputStream in) throws IOException {
+        final String sql = readString(in);
+        final int count = in.readUnsignedShort();
+        final List<Object> parameters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final byte type = in.readByte();
+            parameters.add(switch (type) {
+                case NULL -> null;
+                case INT -> in.readInt();
+                case LONG -> in.readLong();
+                case STRING -> readString(in);
+                case BYTES -> in.readNBytes(in.readInt());
+                case TIMESTAMP -> new Timestamp(in.readLong());
+                case BOOLEAN -> in.readBoolean();
+                case DOUBLE -> in.readDouble();
+                case PLOT -> new PlotReference(readString(in), in.readInt(), in.readInt());
+                case CLUSTER -> new ClusterReference(readString(in), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+                default -> throw new IOException("Unknown parameter type " + type);
+            });
+        }
+        return new Entry(sql, Collections.unmodifiableList(parameters));
+    }
+
+    /**
+     * Resolves plot and cluster references to database ids on replay.
+     */
+    interface ReferenceResolver {
+
+        @Nullable Integer plot(@NonNull PlotReference reference) throws SQLException;
+
+        @Nullable Integer cluster(@NonNull ClusterReference reference) throws SQLException;
+
+    }
+
+    /**
+     * A journaled statement.
+     *
+     * @param sql        SQL of the statement
+     * @param parameters Parameters, in order. Values are boxed primitives, strings, byte arrays, timestamps, references
+     *                   or {@code null}
+     */
+    record Entry(@NonNull String sql, @NonNull List<Object> parameters) {
+
+    }
+
+    /**
+     * Reference to the database id of a plot.
+     */
+    record PlotReference(@NonNull String world, int x, int z) {
+
+    }
+
+    /**
+     * Reference to the database id of a cluster.
+     */
+    record ClusterReference(@NonNull String world, int pos1X, int pos1Z, int pos2X, int pos2Z) {
+
+    }
+
+    /**
+     * Captures the SQL and parameters of a statement as it is prepared and bound.
+     */
+    static final class Recording {
+
+        private final List<Object> parameters = new ArrayList<>();
+        private @Nullable String sql;
+        private @Nullable Object reference;
+
+        private Recording() {
+        }
+
+        /**
+         * Pass a reference in place of a database id. The reference is recorded for the next integer parameter.
+         *
+         * @param reference Plot or cluster reference
+         * @return placeholder id to bind
+         */
+        int reference(final @NonNull Object reference) {
+            this.reference = reference;
+            return 0;
+        }
+
+        /**
+         * Get a statement that records what is bound to it.
+         *
+         * @param sql SQL of the statement
+         * @return recording statement
+         */
+        @NonNull PreparedStatement prepare(final @NonNull String sql) {
+            this.sql = sql;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "setInt" -> {
+                            final Object reference = this.reference;
+                            this.reference = null;
+                            yield bind((Integer) args[0], reference != null ? reference : args[1]);
+                        }
+                        case "setLong", "setString", "setBytes", "setTimestamp", "setBoolean", "setDouble" ->
+                                bind((Integer) args[0], args[1]);
+                        case "setNull" -> bind((Integer) args[0], null);
+                        case "close" -> null;
+                        case "isClosed" -> false;
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "Recording[" + sql + "]";
+                        default -> throw new SQLException(method.getName() + " cannot be journaled");
+                    }
+            );
+        }
+
+        private @Nullable Object bind(final int index, final @Nullable Object value) {
+            while (this.parameters.size() < index) {
+                this.parameters.add(null);
+            }
+            this.parameters.set(index - 1, value instanceof byte[] bytes ? bytes.clone() : value);
+            return null;
+        }
+
+    }
+
+}
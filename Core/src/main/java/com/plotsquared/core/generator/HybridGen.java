@@ -27,7 +27,6 @@ import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.ZeroedDelegateScopedQueueCoordinator;
-import com.plotsquared.core.util.MathMan;
 import com.sk89q.worldedit.entity.BaseEntity;
 import com.sk89q.worldedit.entity.Entity;
 import com.sk89q.worldedit.extent.Extent;
@@ -75,20 +74,24 @@ public class HybridGen extends IndependentPlotGenerator {
         } else {
             minY = world.getMinBuildHeight();
         }
-        BaseBlock[] blocks = world.G_SCH.get(MathMan.pair(relativeX, relativeZ));
-        if (blocks != null) {
-            for (int y = 0; y < blocks.length; y++) {
-                if (blocks[y] != null) {
-                    if (!features.contains(SchematicFeature.POPULATING) || blocks[y].hasNbtData()) {
-                        result.setBlock(x, minY + y, z, blocks[y]);
-                    }
+        SchematicOverlay overlay = world.getSchematicOverlay();
+        if (overlay == null) {
+            return;
+        }
+        int column = overlay.getColumn(relativeX, relativeZ);
+        if (column != -1) {
+            boolean populating = features.contains(SchematicFeature.POPULATING);
+            for (int y = overlay.getSpanStart(column), end = overlay.getSpanEnd(column); y < end; y++) {
+                BaseBlock block = overlay.getBlock(column, y);
+                if (block != null && (!populating || block.hasNbtData())) {
+                    result.setBlock(x, minY + y, z, block);
                 }
             }
         }
         if (!features.contains(SchematicFeature.BIOMES)) {
             return;
         }
-        BiomeType biome = world.G_SCH_B.get(MathMan.pair(relativeX, relativeZ));
+        BiomeType biome = overlay.getBiome(relativeX, relativeZ);
         if (biome != null) {
             result.setBiome(x, z, biome);
         }
@@ -398,7 +401,8 @@ public class HybridGen extends IndependentPlotGenerator {
         int size = hybridPlotWorld.PLOT_WIDTH + hybridPlotWorld.ROAD_WIDTH;
         relativeX = Math.floorMod(relativeX, size);
         relativeZ = Math.floorMod(relativeZ, size);
-        BiomeType biome = hybridPlotWorld.G_SCH_B.get(MathMan.pair((short) relativeX, (short) relativeZ));
+        SchematicOverlay overlay = hybridPlotWorld.getSchematicOverlay();
+        BiomeType biome = overlay == null ? null : overlay.getBiome(relativeX, relativeZ);
         return biome == null ? hybridPlotWorld.getPlotBiome() : biome;
     }
 
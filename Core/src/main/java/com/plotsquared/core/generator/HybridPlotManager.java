@@ -32,7 +32,6 @@ import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.FileBytes;
 import com.plotsquared.core.util.FileUtils;
-import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.WorldUtil;
 import com.sk89q.worldedit.function.pattern.Pattern;
@@ -164,6 +163,7 @@ public class HybridPlotManager extends ClassicPlotManager {
         }
         int schemYDiff = (isRoad ? hybridPlotWorld.getRoadYStart() : hybridPlotWorld.getPlotYStart()) - minY;
         BaseBlock airBlock = BlockTypes.AIR.getDefaultState().toBaseBlock();
+        SchematicOverlay overlay = hybridPlotWorld.getSchematicOverlay();
         for (int x = pos1.getX(); x <= pos2.getX(); x++) {
             short absX = (short) ((x - hybridPlotWorld.ROAD_OFFSET_X) % size);
             if (absX < 0) {
@@ -174,11 +174,12 @@ public class HybridPlotManager extends ClassicPlotManager {
                 if (absZ < 0) {
                     absZ += size;
                 }
-                BaseBlock[] blocks = hybridPlotWorld.G_SCH.get(MathMan.pair(absX, absZ));
-                if (blocks != null) {
-                    for (int y = 0; y < blocks.length; y++) {
-                        if (blocks[y] != null) {
-                            queue.setBlock(x, minY + y, z, blocks[y]);
+                int column = overlay == null ? -1 : overlay.getColumn(absX, absZ);
+                if (column != -1) {
+                    for (int y = 0; y < overlay.getHeight(); y++) {
+                        BaseBlock block = overlay.getBlock(column, y);
+                        if (block != null) {
+                            queue.setBlock(x, minY + y, z, block);
                         } else if (y > schemYDiff) {
                             // This is necessary, otherwise any blocks not specified in the schematic will remain after a clear.
                             // This should only be done where the schematic has actually "started"
@@ -190,7 +191,7 @@ public class HybridPlotManager extends ClassicPlotManager {
                         }
                     }
                 }
-                BiomeType biome = hybridPlotWorld.G_SCH_B.get(MathMan.pair(absX, absZ));
+                BiomeType biome = overlay == null ? null : overlay.getBiome(absX, absZ);
                 if (biome != null) {
                     queue.setBiome(x, z, biome);
                 } else {
@@ -35,7 +35,6 @@ import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.plot.schematic.Schematic;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.util.FileUtils;
-import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.SchematicHandler;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.jnbt.CompoundTagBuilder;
@@ -70,7 +69,17 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     public boolean PLOT_SCHEMATIC = false;
     public short PATH_WIDTH_LOWER;
     public short PATH_WIDTH_UPPER;
+    /**
+     * @deprecated Filled from {@link #getSchematicOverlay()} when first accessed. Use
+     *         {@link SchematicOverlay#getBlock(int, int)} instead.
+     */
+    @Deprecated(forRemoval = true, since = "7.5.5")
     public HashMap<Integer, BaseBlock[]> G_SCH;
+    /**
+     * @deprecated Filled from {@link #getSchematicOverlay()} when first accessed. Use
+     *         {@link SchematicOverlay#getBiome(int, int)} instead.
+     */
+    @Deprecated(forRemoval = true, since = "7.5.5")
     public HashMap<Integer, BiomeType> G_SCH_B;
     /**
      * The Y level at which schematic generation will start, lowest of either road or plot schematic generation.
@@ -78,6 +87,8 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     public int SCHEM_Y;
 
     private int plotY;
+    private SchematicOverlay schematicOverlay;
+    private SchematicOverlay.Builder overlayBuilder;
     private int roadY;
     private Location SIGN_LOCATION;
     private File root = null;
@@ -210,9 +221,29 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     }
 
     public void setupSchematics() throws SchematicHandler.UnsupportedFormatException {
-        this.G_SCH = new HashMap<>();
-        this.G_SCH_B = new HashMap<>();
+        this.schematicOverlay = null;
+        try {
+            loadSchematics();
+        } finally {
+            if (this.overlayBuilder != null) {
+                this.schematicOverlay = this.overlayBuilder.build();
+                this.overlayBuilder = null;
+            }
+            final SchematicOverlay overlay = this.schematicOverlay;
+            this.G_SCH = new LegacyOverlayMap<>(map -> {
+                if (overlay != null) {
+                    overlay.copyBlocksTo(map);
+                }
+            });
+            this.G_SCH_B = new LegacyOverlayMap<>(map -> {
+                if (overlay != null) {
+                    overlay.copyBiomesTo(map);
+                }
+            });
+        }
+    }
 
+    private void loadSchematics() throws SchematicHandler.UnsupportedFormatException {
         // Try to determine root. This means that plot areas can have separate schematic
         // directories
         if (!(root =
@@ -256,7 +287,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         SCHEM_Y = schematicStartHeight();
 
         // plotY and roadY are important to allow plot and/or road schematic "overflow" into each other
-        // without causing AIOOB exceptions when attempting either to set blocks to, or get block from G_SCH
+        // without causing AIOOB exceptions when attempting either to set blocks to, or get blocks from the schematic overlay
         // Default plot schematic start height, normalized to the minimum height schematics are pasted from.
         plotY = PLOT_HEIGHT - SCHEM_Y;
         int minRoadWall = Settings.Schematics.USE_WALL_IN_ROAD_SCHEM_HEIGHT ? Math.min(ROAD_HEIGHT, WALL_HEIGHT) : ROAD_HEIGHT;
@@ -309,6 +340,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
             }
         }
         int maxSchematicHeight = Math.max(plotY + plotSchemHeight, roadY + roadSchemHeight);
+        this.overlayBuilder = new SchematicOverlay.Builder(this.SIZE, maxSchematicHeight);
 
         if (schematic3 != null) {
             this.PLOT_SCHEMATIC = true;
@@ -464,49 +496,32 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     }
 
     private void addOverlayBlock(short x, short y, short z, BaseBlock id, boolean rotate, int height) {
-        if (z < 0) {
-            z += this.SIZE;
-        } else if (z >= this.SIZE) {
-            z -= this.SIZE;
-        }
-        if (x < 0) {
-            x += this.SIZE;
-        } else if (x >= this.SIZE) {
-            x -= this.SIZE;
-        }
         if (rotate) {
             id = rotate(id);
         }
-        int pair = MathMan.pair(x, z);
-        BaseBlock[] existing = this.G_SCH.computeIfAbsent(pair, k -> new BaseBlock[height]);
-        if (y >= height) {
-            if (y > lastOverlayHeightError) {
-                lastOverlayHeightError = y;
-                LOGGER.error(
-                        "Error adding overlay block in world {}. `y > height`. y={}, height={}",
-                        getWorldName(),
-                        y,
-                        height
-                );
-            }
-            return;
+        if (!this.overlayBuilder.setBlock(x, y, z, id) && y > lastOverlayHeightError) {
+            lastOverlayHeightError = y;
+            LOGGER.error(
+                    "Error adding overlay block in world {}. `y > height`. y={}, height={}",
+                    getWorldName(),
+                    y,
+                    height
+            );
         }
-        existing[y] = id;
     }
 
     private void addOverlayBiome(short x, short z, BiomeType id) {
-        if (z < 0) {
-            z += this.SIZE;
-        } else if (z >= this.SIZE) {
-            z -= this.SIZE;
-        }
-        if (x < 0) {
-            x += this.SIZE;
-        } else if (x >= this.SIZE) {
-            x -= this.SIZE;
-        }
-        int pair = MathMan.pair(x, z);
-        this.G_SCH_B.put(pair, id);
+        this.overlayBuilder.setBiome(x, z, id);
+    }
+
+    /**
+     * Get the blocks and biomes placed by the road and plot schematics within one plot-plus-road period.
+     *
+     * @return the schematic overlay, or {@code null} if schematics have not been set up
+     * @since 7.5.5
+     */
+    public @Nullable SchematicOverlay getSchematicOverlay() {
+        return this.schematicOverlay;
     }
 
     /**
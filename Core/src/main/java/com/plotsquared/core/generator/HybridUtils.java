@@ -34,60 +34,80 @@ import com.plotsquared.core.plot.flag.GlobalFlagContainer;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
-import com.plotsquared.core.queue.BlockArrayCacheScopedQueueCoordinator;
+import com.plotsquared.core.queue.ChunkCoordinator;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.ChunkManager;
 import com.plotsquared.core.util.EventDispatcher;
-import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.SchematicHandler;
 import com.plotsquared.core.util.WorldUtil;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskProfiler;
 import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.math.BlockVector2;
-import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockState;
-import com.sk89q.worldedit.world.block.BlockType;
-import com.sk89q.worldedit.world.block.BlockTypes;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class HybridUtils {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + HybridUtils.class.getSimpleName());
-    private static final BlockState AIR = BlockTypes.AIR.getDefaultState();
 
     /**
      * Deprecated and likely to be removed in a future release.
      */
     @Deprecated(forRemoval = true, since = "7.0.0")
     public static HybridUtils manager;
-    public static Set<BlockVector2> regions;
+    /**
+     * @deprecated Road regeneration runs as one {@link RoadRegenerationJob} per area, see {@link #getRoadUpdates()} and
+     *         {@link RoadRegenerationJob#getRemainingRegions()}. This is an unmodifiable empty set and is never updated.
+     */
+    @Deprecated(forRemoval = true, since = "7.5.5")
+    public static Set<BlockVector2> regions = Collections.emptySet();
+    /**
+     * @deprecated Use {@link RoadRegenerationJob#getExtend()}. This holds the extend of the last started job.
+     */
+    @Deprecated(forRemoval = true, since = "7.5.5")
     public static int height;
-    // Use ordered for reasonable chunk loading order to reduce paper unloading neighbour chunks and then us attempting to load
-    // them again, causing errors
-    public static Set<BlockVector2> chunks = new LinkedHashSet<>();
+    /**
+     * @deprecated Road regeneration runs as one {@link RoadRegenerationJob} per area, see {@link #getRoadUpdates()} and
+     *         {@link RoadRegenerationJob#getRemainingChunks()}. This is an unmodifiable empty set and is never updated.
+     */
+    @Deprecated(forRemoval = true, since = "7.5.5")
+    public static Set<BlockVector2> chunks = Collections.emptySet();
+    /**
+     * @deprecated Use {@link RoadRegenerationJob#getArea()}. This holds the area of the last started job.
+     */
+    @Deprecated(forRemoval = true, since = "7.5.5")
     public static PlotArea area;
+    /**
+     * @deprecated Use {@link #getRoadUpdates()}. This is {@code true} while any road regeneration job is scheduled.
+     */
+    @Deprecated(forRemoval = true, since = "7.5.5")
     public static boolean UPDATE = false;
 
     private final PlotAreaManager plotAreaManager;
@@ -96,6 +116,10 @@ public class HybridUtils {
     private final WorldUtil worldUtil;
     private final SchematicHandler schematicHandler;
     private final EventDispatcher eventDispatcher;
+    // Road regeneration jobs by area, both running and waiting for a free slot
+    private final Map<String, RoadRegenerationJob> roadJobs = new ConcurrentHashMap<>();
+    // Chunks of road batches that have been queued and not yet completed, in all areas
+    private final AtomicInteger queuedRoadChunks = new AtomicInteger();
 
     @Inject
     public HybridUtils(
@@ -128,8 +152,8 @@ public class HybridUtils {
          *
          * vertices: store air map and compare with neighbours
          * for each block check the adjacent
-         *  - Store all blocks then go through in second loop
-         *  - recheck each block
+         *  - Each chunk is compared to the generator as it is read, see RegionAnalyzer
+         *  - Faces across chunk borders are resolved once both chunks have been read
          *
          */
         TaskManager.runTaskAsync(() -> {
@@ -138,178 +162,25 @@ public class HybridUtils {
                 return;
             }
 
-            final BlockVector3 bot = region.getMinimumPoint();
-            final BlockVector3 top = region.getMaximumPoint();
-
-            final int bx = bot.getX();
-            final int bz = bot.getZ();
-            final int tx = top.getX();
-            final int tz = top.getZ();
-            final int cbx = bx >> 4;
-            final int cbz = bz >> 4;
-            final int ctx = tx >> 4;
-            final int ctz = tz >> 4;
-            final int width = tx - bx + 1;
-            final int length = tz - bz + 1;
-            final int height = area.getMaxGenHeight() - area.getMinGenHeight() + 1;
-            final int minHeight = area.getMinGenHeight();
-
-            final BlockState[][][] newBlocks = new BlockState[height][width][length];
-
-            BlockArrayCacheScopedQueueCoordinator oldBlockQueue = new BlockArrayCacheScopedQueueCoordinator(
-                    Location.at("", region.getMinimumPoint().withY(hpw.getMinGenHeight())),
-                    Location.at("", region.getMaximumPoint().withY(hpw.getMaxGenHeight()))
-            );
-
-            region.getChunks().forEach(chunkPos -> {
-                int relChunkX = chunkPos.getX() - cbx;
-                int relChunkZ = chunkPos.getZ() - cbz;
-                oldBlockQueue.setOffsetX(relChunkX << 4);
-                oldBlockQueue.setOffsetZ(relChunkZ << 4);
-                hpw.getGenerator().generateChunk(oldBlockQueue, hpw, false);
-            });
-
-            final BlockState[][][] oldBlocks = oldBlockQueue.getBlockStates();
-
-            QueueCoordinator queue = area.getQueue();
-            queue.addReadChunks(region.getChunks());
-            queue.setChunkConsumer(chunkPos -> {
-                int X = chunkPos.getX();
-                int Z = chunkPos.getZ();
-                int minX;
-                if (X == cbx) {
-                    minX = bx & 15;
-                } else {
-                    minX = 0;
-                }
-                int minZ;
-                if (Z == cbz) {
-                    minZ = bz & 15;
-                } else {
-                    minZ = 0;
-                }
-                int maxX;
-                if (X == ctx) {
-                    maxX = tx & 15;
-                } else {
-                    maxX = 15;
-                }
-                int maxZ;
-                if (Z == ctz) {
-                    maxZ = tz & 15;
-                } else {
-                    maxZ = 15;
-                }
-
-                int chunkBlockX = X << 4;
-                int chunkBlockZ = Z << 4;
-
-                int xb = chunkBlockX - bx;
-                int zb = chunkBlockZ - bz;
-                for (int x = minX; x <= maxX; x++) {
-                    int xx = chunkBlockX + x;
-                    for (int z = minZ; z <= maxZ; z++) {
-                        int zz = chunkBlockZ + z;
-                        for (int yIndex = 0; yIndex < height; yIndex++) {
-                            int y = yIndex + minHeight;
-                            BlockState block = queue.getBlock(xx, y, zz);
-                            if (block == null) {
-                                block = AIR;
-                            }
-                            int xr = xb + x;
-                            int zr = zb + z;
-                            newBlocks[yIndex][xr][zr] = block;
-                        }
-                    }
+            final RegionAnalyzer analyzer = new RegionAnalyzer(hpw, region);
+            analyzer.analyze(region.getChunks(), chunks -> {
+                final CompletableFuture<Void> read = new CompletableFuture<>();
+                QueueCoordinator queue = area.getQueue();
+                queue.addReadChunks(chunks);
+                queue.setChunkConsumer(chunkPos -> analyzer.readChunk(queue, chunkPos));
+                queue.setCompleteTask(() -> read.complete(null));
+                queue.enqueue();
+                return read;
+            }).whenComplete((analysis, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.error("Error analysing region {} in world {}", region, world, throwable);
+                    return;
                 }
+                TaskManager.runTask(() -> {
+                    whenDone.value = analysis;
+                    whenDone.run();
+                });
             });
-
-            final Runnable run = () -> {
-                int size = width * length;
-                int[] changes = new int[size];
-                int[] faces = new int[size];
-                int[] data = new int[size];
-                int[] air = new int[size];
-                int[] variety = new int[size];
-                int i = 0;
-                for (int x = 0; x < width; x++) {
-                    for (int z = 0; z < length; z++) {
-                        Set<BlockType> types = new HashSet<>();
-                        for (int yIndex = 0; yIndex < height; yIndex++) {
-                            BlockState old = oldBlocks[yIndex][x][z]; // Nullable
-                            BlockState now = newBlocks[yIndex][x][z]; // Not null
-                            if (now == null) {
-                                throw new NullPointerException(String.format(
-                                        "\"now\" block null attempting to perform plot analysis. Indexes: x=%d of %d, yIndex=%d" +
-                                                " of %d, z=%d of %d",
-                                        x,
-                                        width,
-                                        yIndex,
-                                        height,
-                                        z,
-                                        length
-                                ));
-                            }
-                            if (!now.equals(old) && !(old == null && now.getBlockType().equals(BlockTypes.AIR))) {
-                                changes[i]++;
-                            }
-                            if (now.getBlockType().getMaterial().isAir()) {
-                                air[i]++;
-                            } else {
-                                // check vertices
-                                // modifications_adjacent
-                                if (x > 0 && z > 0 && yIndex > 0 && x < width - 1 && z < length - 1 && yIndex < (height - 1)) {
-                                    if (newBlocks[yIndex - 1][x][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x - 1][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x][z - 1].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex + 1][x][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x + 1][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x][z + 1].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                }
-
-                                if (!now.equals(now.getBlockType().getDefaultState())) {
-                                    data[i]++;
-                                }
-                                types.add(now.getBlockType());
-                            }
-                        }
-                        variety[i] = types.size();
-                        i++;
-                    }
-                }
-                // analyze plot
-                // put in analysis obj
-
-                // run whenDone
-                PlotAnalysis analysis = new PlotAnalysis();
-                analysis.changes = (int) (MathMan.getMean(changes) * 100);
-                analysis.faces = (int) (MathMan.getMean(faces) * 100);
-                analysis.data = (int) (MathMan.getMean(data) * 100);
-                analysis.air = (int) (MathMan.getMean(air) * 100);
-                analysis.variety = (int) (MathMan.getMean(variety) * 100);
-
-                analysis.changes_sd = (int) (MathMan.getSD(changes, analysis.changes) * 100);
-                analysis.faces_sd = (int) (MathMan.getSD(faces, analysis.faces) * 100);
-                analysis.data_sd = (int) (MathMan.getSD(data, analysis.data) * 100);
-                analysis.air_sd = (int) (MathMan.getSD(air, analysis.air) * 100);
-                analysis.variety_sd = (int) (MathMan.getSD(variety, analysis.variety) * 100);
-                whenDone.value = analysis;
-                whenDone.run();
-            };
-            queue.setCompleteTask(run);
-            queue.enqueue();
         });
     }
 
@@ -395,133 +266,258 @@ public class HybridUtils {
         return chunks;
     }
 
+    /**
+     * Schedule regeneration of all roads in the given area.
+     *
+     * @param area   Plot area to regenerate roads in
+     * @param extend How far to extend setting air above the road
+     * @return {@code false} if road regeneration is already scheduled for the area
+     */
     public boolean scheduleRoadUpdate(PlotArea area, int extend) {
-        if (HybridUtils.UPDATE) {
+        if (this.roadJobs.containsKey(area.toString())) {
             return false;
         }
-        HybridUtils.UPDATE = true;
         Set<BlockVector2> regions = this.worldUtil.getChunkChunks(area.getWorldName());
         return scheduleRoadUpdate(area, regions, extend, new LinkedHashSet<>());
     }
 
     public boolean scheduleSingleRegionRoadUpdate(Plot plot, int extend) {
-        if (HybridUtils.UPDATE) {
+        if (this.roadJobs.containsKey(plot.getArea().toString())) {
             return false;
         }
-        HybridUtils.UPDATE = true;
         Set<BlockVector2> regions = new HashSet<>();
         regions.add(RegionManager.getRegion(plot.getCenterSynchronous()));
         return scheduleRoadUpdate(plot.getArea(), regions, extend, new LinkedHashSet<>());
     }
 
+    /**
+     * Schedule regeneration of the roads in the given regions and chunks of an area.
+     *
+     * @param area    Plot area to regenerate roads in
+     * @param regions 32x32 chunk regions to regenerate
+     * @param extend  How far to extend setting air above the road
+     * @param chunks  Individual chunks to regenerate
+     * @return {@code false} if road regeneration is already scheduled for the area
+     */
     public boolean scheduleRoadUpdate(
             final PlotArea area,
             Set<BlockVector2> regions,
             final int extend,
             Set<BlockVector2> chunks
     ) {
-        HybridUtils.regions = regions;
-        HybridUtils.area = area;
-        HybridUtils.height = extend;
-        HybridUtils.chunks = chunks;
-        final int initial = 1024 * regions.size() + chunks.size();
-        final AtomicInteger count = new AtomicInteger(0);
-        TaskManager.runTask(new Runnable() {
-            @Override
-            public void run() {
-                if (!UPDATE) {
-                    Iterator<BlockVector2> iter = chunks.iterator();
-                    QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
-                    queue.setShouldGen(false);
-                    while (iter.hasNext()) {
-                        BlockVector2 chunk = iter.next();
-                        iter.remove();
-                        boolean regenedRoad = regenerateRoad(area, chunk, extend, queue);
-                        if (!regenedRoad) {
-                            LOGGER.info("Failed to regenerate roads in chunk {}", chunk);
-                        }
-                    }
-                    queue.enqueue();
-                    LOGGER.info("Cancelled road task");
-                    return;
-                }
-                count.incrementAndGet();
-                if (count.intValue() % 10 == 0) {
-                    LOGGER.info("Progress: {}%", 100 * (initial - (chunks.size() + 1024 * regions.size())) / initial);
-                }
-                if (HybridUtils.regions.isEmpty() && chunks.isEmpty()) {
-                    regeneratePlotWalls(area);
-
-                    HybridUtils.UPDATE = false;
-                    LOGGER.info("Finished road conversion");
-                    // CANCEL TASK
-                } else {
-                    final Runnable task = this;
-                    TaskManager.runTaskAsync(() -> {
-                        try {
-                            if (chunks.size() < 64) {
-                                if (!HybridUtils.regions.isEmpty()) {
-                                    Iterator<BlockVector2> iterator = HybridUtils.regions.iterator();
-                                    BlockVector2 loc = iterator.next();
-                                    iterator.remove();
-                                    LOGGER.info("Updating .mcr: {}, {} (approx 1024 chunks)", loc.getX(), loc.getZ());
-                                    LOGGER.info("- Remaining: {}", HybridUtils.regions.size());
-                                    chunks.addAll(getChunks(loc));
-                                    System.gc();
-                                }
-                            }
-                            if (!chunks.isEmpty()) {
-                                TaskManager.getPlatformImplementation().sync(() -> {
-                                    Iterator<BlockVector2> iterator = chunks.iterator();
-                                    if (chunks.size() >= 32) {
-                                        QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
-                                        queue.setShouldGen(false);
-                                        for (int i = 0; i < 32; i++) {
-                                            final BlockVector2 chunk = iterator.next();
-                                            iterator.remove();
-                                            boolean regenedRoads = regenerateRoad(area, chunk, extend, queue);
-                                            if (!regenedRoads) {
-                                                LOGGER.info("Failed to regenerate the road in chunk {}", chunk);
-                                            }
-                                        }
-                                        queue.setCompleteTask(task);
-                                        queue.enqueue();
-                                        return null;
-                                    }
-                                    QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
-                                    queue.setShouldGen(false);
-                                    while (!chunks.isEmpty()) {
-                                        final BlockVector2 chunk = iterator.next();
-                                        iterator.remove();
-                                        boolean regenedRoads = regenerateRoad(area, chunk, extend, queue);
-                                        if (!regenedRoads) {
-                                            LOGGER.info("Failed to regenerate road in chunk {}", chunk);
-                                        }
-                                    }
-                                    queue.setCompleteTask(task);
-                                    queue.enqueue();
-                                    return null;
-                                });
-                                return;
-                            }
-                        } catch (Exception e) {
-                            Iterator<BlockVector2> iterator = HybridUtils.regions.iterator();
-                            BlockVector2 loc = iterator.next();
-                            iterator.remove();
-                            LOGGER.error(
-                                    "Error! Could not update '{}/region/r.{}.{}.mca' (Corrupt chunk?)",
-                                    area.getWorldHash(),
-                                    loc.getX(),
-                                    loc.getZ(),
-                                    e
-                            );
-                        }
-                        TaskManager.runTaskLater(task, TaskTime.seconds(1L));
-                    });
+        return startRoadJob(new RoadRegenerationJob(area, extend, regions, chunks));
+    }
+
+    /**
+     * Resume road regeneration in the given area from its checkpoint on disk.
+     *
+     * @param area Plot area to resume road regeneration in
+     * @return {@code false} if there is no checkpoint, it could not be read, or regeneration is already running
+     * @since 7.5.5
+     */
+    public boolean resumeRoadUpdate(final @NonNull PlotArea area) {
+        if (this.roadJobs.containsKey(area.toString())) {
+            return false;
+        }
+        final RoadRegenerationJob job;
+        try {
+            job = RoadRegenerationJob.restore(area);
+        } catch (IOException e) {
+            LOGGER.error("Error restarting road regeneration", e);
+            RoadRegenerationJob.getCheckpointFile(area).delete();
+            return false;
+        }
+        if (job == null) {
+            return false;
+        }
+        LOGGER.info(
+                "Incomplete road regeneration found. Restarting in area {} with height {}",
+                area,
+                job.getExtend()
+        );
+        LOGGER.info("- Regions: {}", job.getRemainingRegions());
+        LOGGER.info("- Chunks: {}", job.getRemainingChunks());
+        return startRoadJob(job);
+    }
+
+    /**
+     * Get all scheduled road regeneration jobs, including those waiting for a free slot.
+     *
+     * @return unmodifiable view of the scheduled jobs
+     * @since 7.5.5
+     */
+    public @NonNull Collection<RoadRegenerationJob> getRoadUpdates() {
+        return Collections.unmodifiableCollection(this.roadJobs.values());
+    }
+
+    /**
+     * Get the road regeneration job scheduled for the given area.
+     *
+     * @param area Plot area
+     * @return the job, or {@code null} if there is none
+     * @since 7.5.5
+     */
+    public @Nullable RoadRegenerationJob getRoadUpdate(final @NonNull PlotArea area) {
+        return this.roadJobs.get(area.toString());
+    }
+
+    /**
+     * Stop all scheduled road regeneration jobs and delete their checkpoints. Running jobs stop after their current
+     * batch.
+     *
+     * @return {@code false} if no job was scheduled
+     * @since 7.5.5
+     */
+    public boolean cancelRoadUpdates() {
+        if (this.roadJobs.isEmpty()) {
+            return false;
+        }
+        for (RoadRegenerationJob job : this.roadJobs.values()) {
+            job.cancel();
+            if (!job.isRunning()) {
+                TaskManager.runTaskAsync(job::deleteCheckpoint);
+                this.roadJobs.remove(job.getArea().toString(), job);
+            }
+        }
+        UPDATE = !this.roadJobs.isEmpty();
+        return true;
+    }
+
+    /**
+     * Write the progress of all scheduled road regeneration jobs to disk.
+     *
+     * @since 7.5.5
+     */
+    public void checkpointRoadUpdates() {
+        for (RoadRegenerationJob job : this.roadJobs.values()) {
+            LOGGER.info("Road regeneration incomplete. Saving incomplete regions to disk");
+            LOGGER.info("- area: {}", job.getArea());
+            LOGGER.info("- regions: {}", job.getRemainingRegions());
+            LOGGER.info("- chunks: {}", job.getRemainingChunks());
+            job.checkpoint();
+        }
+    }
+
+    private boolean startRoadJob(final @NonNull RoadRegenerationJob job) {
+        if (this.roadJobs.putIfAbsent(job.getArea().toString(), job) != null) {
+            return false;
+        }
+        UPDATE = true;
+        TaskManager.runTaskAsync(job::checkpoint);
+        startNextRoadJobs();
+        return true;
+    }
+
+    private synchronized void startNextRoadJobs() {
+        int running = 0;
+        for (RoadRegenerationJob job : this.roadJobs.values()) {
+            if (job.isRunning()) {
+                running++;
+            }
+        }
+        for (RoadRegenerationJob job : this.roadJobs.values()) {
+            if (running >= Math.max(1, Settings.QUEUE.ROAD_REGEN_CONCURRENT_AREAS)) {
+                return;
+            }
+            if (!job.isRunning()) {
+                job.setRunning(true);
+                running++;
+                area = job.getArea();
+                height = job.getExtend();
+                LOGGER.info("Starting road regeneration in area {}", job.getArea());
+                TaskManager.runTask(() -> runRoadJob(job));
+            }
+        }
+    }
+
+    private void finishRoadJob(final @NonNull RoadRegenerationJob job) {
+        this.roadJobs.remove(job.getArea().toString(), job);
+        job.setRunning(false);
+        UPDATE = !this.roadJobs.isEmpty();
+        startNextRoadJobs();
+    }
+
+    private void runRoadJob(final @NonNull RoadRegenerationJob job) {
+        final PlotArea area = job.getArea();
+        if (job.isCancelled()) {
+            LOGGER.info("Cancelled road task in area {}", area);
+            TaskManager.runTaskAsync(job::deleteCheckpoint);
+            finishRoadJob(job);
+            return;
+        }
+        if (job.isComplete()) {
+            regeneratePlotWalls(area);
+            TaskManager.runTaskAsync(job::deleteCheckpoint);
+            LOGGER.info("Finished road conversion in area {}", area);
+            finishRoadJob(job);
+            return;
+        }
+        TaskManager.runTaskAsync(() -> {
+            final int batchSize = Math.max(1, Settings.QUEUE.ROAD_REGEN_BATCH_SIZE);
+            BlockVector2 region;
+            while ((region = job.expandRegion(batchSize * 2)) != null) {
+                LOGGER.info("Updating .mcr: {}, {} in area {} ({} road chunks pending)", region.getX(), region.getZ(), area,
+                        job.getRemainingChunks()
+                );
+                LOGGER.info("- Remaining: {}", job.getRemainingRegions());
+            }
+            if (job.getRemainingChunks() == 0) {
+                TaskManager.runTask(() -> runRoadJob(job));
+                return;
+            }
+            TaskManager.runTask(() -> enqueueRoadBatch(job, batchSize));
+        });
+    }
+
+    private void enqueueRoadBatch(final @NonNull RoadRegenerationJob job, final int batchSize) {
+        // Batches go through the chunk budget shared by all queued work, so several areas running at the same time, or
+        // other work such as plot clears, do not increase the load on the server beyond the configured limit. This runs on
+        // the main thread, where queues reserve their chunks once enqueued, so jobs cannot exceed the limit together
+        if (!RoadRegenerationJob.canQueueBatch(ChunkCoordinator.getPendingChunks(), this.queuedRoadChunks.get(), batchSize)) {
+            TaskManager.runTaskLater(() -> runRoadJob(job), TaskTime.ticks(5L));
+            return;
+        }
+        final PlotArea area = job.getArea();
+        final List<BlockVector2> batch = job.pollChunks(batchSize);
+        final QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
+        queue.setShouldGen(false);
+        final long start = TaskProfiler.start();
+        int index = 0;
+        try {
+            for (; index < batch.size(); index++) {
+                final BlockVector2 chunk = batch.get(index);
+                boolean regenedRoads = regenerateRoad(area, chunk, job.getExtend(), queue);
+                if (!regenedRoads) {
+                    LOGGER.info("Failed to regenerate the road in chunk {}", chunk);
                 }
             }
+        } catch (Exception e) {
+            LOGGER.error(
+                    "Error! Could not update roads in chunk {} of '{}' (Corrupt chunk?)",
+                    batch.get(index),
+                    area.getWorldHash(),
+                    e
+            );
+            // The queue is discarded, so the other chunks of the batch are regenerated again later. Only the chunk that
+            // failed is skipped, so that it cannot stall the job
+            final List<BlockVector2> retry = new ArrayList<>(batch);
+            retry.remove(index);
+            job.requeue(retry);
+            TaskManager.runTaskLater(() -> runRoadJob(job), TaskTime.seconds(1L));
+            return;
+        } finally {
+            TaskProfiler.record(TaskProfiler.Origin.ROAD_REGENERATION, start);
+        }
+        this.queuedRoadChunks.addAndGet(batch.size());
+        queue.setCompleteTask(() -> {
+            this.queuedRoadChunks.addAndGet(-batch.size());
+            if (job.completeBatch()) {
+                LOGGER.info("Progress in area {}: {}%", area, job.getProgress());
+                TaskManager.runTaskAsync(job::checkpoint);
+            }
+            runRoadJob(job);
         });
-        return true;
+        queue.enqueue();
     }
 
     public boolean setupRoadSchematic(Plot plot) {
@@ -606,7 +602,8 @@ public class HybridUtils {
         int ex = x + 15;
         int ez = z + 15;
         HybridPlotWorld plotWorld = (HybridPlotWorld) area;
-        if (!plotWorld.ROAD_SCHEMATIC_ENABLED) {
+        SchematicOverlay overlay = plotWorld.getSchematicOverlay();
+        if (!plotWorld.ROAD_SCHEMATIC_ENABLED || overlay == null) {
             return false;
         }
         AtomicBoolean toCheck = new AtomicBoolean(false);
@@ -674,37 +671,20 @@ public class HybridUtils {
                         condition = !gx || !gz || !lx || !lz;
                     }
                     if (condition) {
-                        BaseBlock[] blocks = plotWorld.G_SCH.get(MathMan.pair(absX, absZ));
+                        int column = overlay.getColumn(absX, absZ);
+                        int height = column == -1 ? 0 : overlay.getHeight();
                         int minY = plotWorld.getRoadYStart();
-                        int maxDy = Math.max(extend, blocks.length);
+                        int maxDy = Math.max(extend, height);
                         for (int dy = 0; dy < maxDy; dy++) {
-                            if (dy > blocks.length - 1) {
-                                queue.setBlock(
-                                        finalX + X + plotWorld.ROAD_OFFSET_X,
-                                        minY + dy,
-                                        finalZ + Z + plotWorld.ROAD_OFFSET_Z,
-                                        WEExtent.AIRBASE
-                                );
-                            } else {
-                                BaseBlock block = blocks[dy];
-                                if (block != null) {
-                                    queue.setBlock(
-                                            finalX + X + plotWorld.ROAD_OFFSET_X,
-                                            minY + dy,
-                                            finalZ + Z + plotWorld.ROAD_OFFSET_Z,
-                                            block
-                                    );
-                                } else {
-                                    queue.setBlock(
-                                            finalX + X + plotWorld.ROAD_OFFSET_X,
-                                            minY + dy,
-                                            finalZ + Z + plotWorld.ROAD_OFFSET_Z,
-                                            WEExtent.AIRBASE
-                                    );
-                                }
-                            }
+                            BaseBlock block = dy < height ? overlay.getBlock(column, dy) : null;
+                            queue.setBlock(
+                                    finalX + X + plotWorld.ROAD_OFFSET_X,
+                                    minY + dy,
+                                    finalZ + Z + plotWorld.ROAD_OFFSET_Z,
+                                    block != null ? block : WEExtent.AIRBASE
+                            );
                         }
-                        BiomeType biome = plotWorld.G_SCH_B.get(MathMan.pair(absX, absZ));
+                        BiomeType biome = overlay.getBiome(absX, absZ);
                         if (biome != null) {
                             queue.setBiome(finalX + X + plotWorld.ROAD_OFFSET_X, finalZ + Z + plotWorld.ROAD_OFFSET_Z, biome);
                         } else {
@@ -0,0 +1,210 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link HashMap} keyed by paired coordinates that is filled from a {@link SchematicOverlay} the first time it is
+ * accessed. Backs the deprecated {@link HybridPlotWorld#G_SCH} and {@link HybridPlotWorld#G_SCH_B} fields so that
+ * worlds nobody reads them from do not pay for the boxed copy.
+ *
+ * @param <V> value type
+ */
+final class LegacyOverlayMap<V> extends HashMap<Integer, V> {
+
+    private volatile Consumer<Map<Integer, V>> loader;
+
+    LegacyOverlayMap(final @NonNull Consumer<Map<Integer, V>> loader) {
+        this.loader = loader;
+    }
+
+    private void load() {
+        if (this.loader == null) {
+            return;
+        }
+        synchronized (this) {
+            final Consumer<Map<Integer, V>> loader = this.loader;
+            if (loader != null) {
+                this.loader = null;
+                loader.accept(this);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        load();
+        return super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        load();
+        return super.isEmpty();
+    }
+
+    @Override
+    public V get(final Object key) {
+        load();
+        return super.get(key);
+    }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        load();
+        return super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        load();
+        return super.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        load();
+        return super.containsValue(value);
+    }
+
+    @Override
+    public V put(final Integer key, final V value) {
+        load();
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(final Map<? extends Integer, ? extends V> m) {
+        load();
+        super.putAll(m);
+    }
+
+    @Override
+    public V putIfAbsent(final Integer key, final V value) {
+        load();
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        load();
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(final Object key, final Object value) {
+        load();
+        return super.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(final Integer key, final V oldValue, final V newValue) {
+        load();
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public V replace(final Integer key, final V value) {
+        load();
+        return super.replace(key, value);
+    }
+
+    @Override
+    public V computeIfAbsent(final Integer key, final Function<? super Integer, ? extends V> mappingFunction) {
+        load();
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public V computeIfPresent(
+            final Integer key,
+            final BiFunction<? super Integer, ? super V, ? extends V> remappingFunction
+    ) {
+        load();
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public V compute(final Integer key, final BiFunction<? super Integer, ? super V, ? extends V> remappingFunction) {
+        load();
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public V merge(
+            final Integer key, final V value,
+            final BiFunction<? super V, ? super V, ? extends V> remappingFunction
+    ) {
+        load();
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void clear() {
+        load();
+        super.clear();
+    }
+
+    @Override
+    public @NonNull Set<Integer> keySet() {
+        load();
+        return super.keySet();
+    }
+
+    @Override
+    public @NonNull Collection<V> values() {
+        load();
+        return super.values();
+    }
+
+    @Override
+    public @NonNull Set<Map.Entry<Integer, V>> entrySet() {
+        load();
+        return super.entrySet();
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super Integer, ? super V> action) {
+        load();
+        super.forEach(action);
+    }
+
+    @Override
+    public void replaceAll(final BiFunction<? super Integer, ? super V, ? extends V> function) {
+        load();
+        super.replaceAll(function);
+    }
+
+    @Override
+    public @NonNull Object clone() {
+        load();
+        return new HashMap<>(this);
+    }
+
+}
@@ -0,0 +1,708 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
+import com.plotsquared.core.queue.BlockArrayCacheScopedQueueCoordinator;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockType;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming plot analysis for a single region. Each chunk is read into a buffer covering only that chunk, compared
+ * against the generator output for the same chunk and folded into running totals, so memory use depends on the number of
+ * chunks being analysed at once rather than on the size of the region.
+ * <p>
+ * The result is identical to comparing the full region at once: faces across chunk borders are counted once the adjacent
+ * chunk has been analysed, by keeping the air masks of the border columns until both sides are known.
+ * </p>
+ * <p>
+ * The chunk consumer only copies the blocks of each chunk. The comparison runs on a bounded number of workers draining
+ * a backlog, so the chunk consumer's thread never analyses chunks itself. Chunks are loaded in batches of
+ * {@link #BATCH_SIZE}, and the next batch is only loaded once the backlog has room for it, so at most
+ * {@link #MAX_PENDING_SLICES} chunk copies are held at once however large the region is.
+ * </p>
+ */
+final class RegionAnalyzer {
+
+    // Maximum number of workers analysing chunks of one region at once
+    static final int MAX_WORKERS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    // Maximum number of chunks read but not yet analysed
+    static final int MAX_PENDING_SLICES = MAX_WORKERS * 4;
+    // Number of chunks loaded at once
+    static final int BATCH_SIZE = MAX_PENDING_SLICES / 2;
+
+    private final @Nullable HybridPlotWorld hpw;
+    private final int bx;
+    private final int bz;
+    private final int tx;
+    private final int tz;
+    private final int width;
+    private final int length;
+    private final int height;
+    private final int minHeight;
+    private final int words;
+    private final Executor executor;
+
+    private final Queue<Runnable> backlog = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger workers = new AtomicInteger();
+    private final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+    // Guarded by slices
+    private final Object slices = new Object();
+    private int pendingSlices;
+    private int peakPendingSlices;
+    private @Nullable CompletableFuture<Void> capacity;
+
+    // Guarded by this
+    private final Map<BlockVector2, ChunkEdges> edges = new HashMap<>();
+    private final Metric changes = new Metric();
+    private final Metric faces = new Metric();
+    private final Metric data = new Metric();
+    private final Metric air = new Metric();
+    private final Metric variety = new Metric();
+
+    RegionAnalyzer(final @NonNull HybridPlotWorld hpw, final @NonNull CuboidRegion region) {
+        this(hpw, region.getMinimumPoint(), region.getMaximumPoint(), hpw.getMinGenHeight(), hpw.getMaxGenHeight(),
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Create an analyzer without a world, for chunks passed to {@link #accumulate(ChunkColumns)} directly.
+     */
+    RegionAnalyzer(final @NonNull BlockVector3 bot, final @NonNull BlockVector3 top, final @NonNull Executor executor) {
+        this(null, bot, top, bot.getY(), top.getY(), executor);
+    }
+
+    private RegionAnalyzer(
+            final @Nullable HybridPlotWorld hpw, final @NonNull BlockVector3 bot, final @NonNull BlockVector3 top,
+            final int minHeight, final int maxHeight, final @NonNull Executor executor
+    ) {
+        this.hpw = hpw;
+        this.bx = bot.getX();
+        this.bz = bot.getZ();
+        this.tx = top.getX();
+        this.tz = top.getZ();
+        this.width = tx - bx + 1;
+        this.length = tz - bz + 1;
+        this.height = maxHeight - minHeight + 1;
+        this.minHeight = minHeight;
+        this.words = (height + 63) >> 6;
+        this.executor = executor;
+    }
+
+    private static boolean isSet(final long[] mask, final int index) {
+        return (mask[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Analyse the given chunks, loading them in batches of {@link #BATCH_SIZE} with the given reader. A batch is only
+     * loaded once the previous one has been read and the backlog has room for all of its chunks.
+     *
+     * @param chunks Chunks of the region
+     * @param reader Loads a batch of chunks
+     * @return future completing with the analysis of the region
+     */
+    @NonNull CompletableFuture<PlotAnalysis> analyze(
+            final @NonNull Collection<BlockVector2> chunks, final @NonNull ChunkReader reader
+    ) {
+        final CompletableFuture<Void> read = new CompletableFuture<>();
+        feed(new ArrayList<>(chunks), 0, reader, read);
+        return read.thenCompose(v -> complete());
+    }
+
+    private void feed(
+            final List<BlockVector2> chunks, final int from, final ChunkReader reader,
+            final CompletableFuture<Void> read
+    ) {
+        if (from >= chunks.size()) {
+            read.complete(null);
+            return;
+        }
+        final int to = Math.min(chunks.size(), from + BATCH_SIZE);
+        reader.read(new HashSet<>(chunks.subList(from, to)))
+                .thenCompose(v -> awaitCapacity())
+                .whenComplete((v, throwable) -> {
+                    if (throwable != null) {
+                        read.completeExceptionally(throwable);
+                    } else {
+                        feed(chunks, to, reader, read);
+                    }
+                });
+    }
+
+    /**
+     * Get a future completing once the backlog has room for another batch.
+     */
+    private CompletableFuture<Void> awaitCapacity() {
+        synchronized (slices) {
+            if (pendingSlices + BATCH_SIZE <= MAX_PENDING_SLICES) {
+                return CompletableFuture.completedFuture(null);
+            }
+            capacity = new CompletableFuture<>();
+            return capacity;
+        }
+    }
+
+    /**
+     * Get the largest number of chunks that have been read but not analysed at once.
+     */
+    int getPeakPendingSlices() {
+        synchronized (slices) {
+            return peakPendingSlices;
+        }
+    }
+
+    /**
+     * Read the part of the given chunk that lies within the region and schedule it for analysis. Must be called from the
+     * thread the queue's chunk consumer is called on.
+     *
+     * @param queue    Queue the chunk has been loaded by
+     * @param chunkPos Chunk to read
+     */
+    void readChunk(final @NonNull QueueCoordinator queue, final @NonNull BlockVector2 chunkPos) {
+        final int x0 = Math.max(bx, chunkPos.getX() << 4);
+        final int z0 = Math.max(bz, chunkPos.getZ() << 4);
+        final int x1 = Math.min(tx, (chunkPos.getX() << 4) + 15);
+        final int z1 = Math.min(tz, (chunkPos.getZ() << 4) + 15);
+        final int cw = x1 - x0 + 1;
+        final int cl = z1 - z0 + 1;
+        final BlockState air = BlockTypes.AIR.getDefaultState();
+        final BlockState[] live = new BlockState[cw * cl * height];
+        int i = 0;
+        for (int x = x0; x <= x1; x++) {
+            for (int z = z0; z <= z1; z++) {
+                for (int yIndex = 0; yIndex < height; yIndex++) {
+                    BlockState block = queue.getBlock(x, yIndex + minHeight, z);
+                    live[i++] = block == null ? air : block;
+                }
+            }
+        }
+        final ChunkSlice slice = new ChunkSlice(chunkPos, x0, z0, cw, cl, live);
+        scheduleSlice(() -> accumulate(measure(slice)));
+    }
+
+    /**
+     * Queue the analysis of a chunk that has been read, counting it against {@link #MAX_PENDING_SLICES} until it is
+     * done.
+     */
+    void scheduleSlice(final @NonNull Runnable work) {
+        synchronized (slices) {
+            peakPendingSlices = Math.max(peakPendingSlices, ++pendingSlices);
+        }
+        schedule(() -> {
+            try {
+                work.run();
+            } finally {
+                releaseSlice();
+            }
+        });
+    }
+
+    private void releaseSlice() {
+        final CompletableFuture<Void> ready;
+        synchronized (slices) {
+            pendingSlices--;
+            if (capacity == null || pendingSlices + BATCH_SIZE > MAX_PENDING_SLICES) {
+                return;
+            }
+            ready = capacity;
+            capacity = null;
+        }
+        ready.complete(null);
+    }
+
+    /**
+     * Queue work for the analysis workers, starting a worker if fewer than {@link #MAX_WORKERS} are running. Never runs
+     * the work on the calling thread.
+     */
+    void schedule(final @NonNull Runnable work) {
+        backlog.add(work);
+        if (!acquireWorker()) {
+            // A running worker will pick the work up before it stops
+            return;
+        }
+        final CompletableFuture<Void> task = CompletableFuture.runAsync(this::drain, executor);
+        synchronized (tasks) {
+            tasks.add(task);
+        }
+    }
+
+    private boolean acquireWorker() {
+        if (workers.incrementAndGet() > MAX_WORKERS) {
+            workers.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void drain() {
+        do {
+            try {
+                Runnable work;
+                while ((work = backlog.poll()) != null) {
+                    work.run();
+                }
+            } finally {
+                workers.decrementAndGet();
+            }
+            // Work queued after the last poll may have been turned away while this worker still held its slot
+        } while (!backlog.isEmpty() && acquireWorker());
+    }
+
+    /**
+     * Wait for all scheduled chunks to be analysed and compute the result.
+     *
+     * @return future completing with the analysis of the region
+     */
+    @NonNull CompletableFuture<PlotAnalysis> complete() {
+        final CompletableFuture<?>[] pending;
+        synchronized (tasks) {
+            pending = tasks.toArray(new CompletableFuture<?>[0]);
+            tasks.clear();
+        }
+        return CompletableFuture.allOf(pending).thenApply(v -> result());
+    }
+
+    private synchronized PlotAnalysis result() {
+        // Columns whose neighbouring chunk could not be loaded keep the faces counted so far
+        for (ChunkEdges chunkEdges : edges.values()) {
+            for (PendingColumn column : chunkEdges.pending) {
+                fold(column);
+            }
+        }
+        edges.clear();
+        final long n = (long) width * length;
+        final PlotAnalysis analysis = new PlotAnalysis();
+        analysis.changes = changes.mean(n);
+        analysis.faces = faces.mean(n);
+        analysis.data = data.mean(n);
+        analysis.air = air.mean(n);
+        analysis.variety = variety.mean(n);
+
+        analysis.changes_sd = changes.sd(n, analysis.changes);
+        analysis.faces_sd = faces.sd(n, analysis.faces);
+        analysis.data_sd = data.sd(n, analysis.data);
+        analysis.air_sd = air.sd(n, analysis.air);
+        analysis.variety_sd = variety.sd(n, analysis.variety);
+        return analysis;
+    }
+
+    /**
+     * Compare a chunk against the generator output, producing the per-column metrics and air masks.
+     */
+    private ChunkColumns measure(final ChunkSlice slice) {
+        final HybridPlotWorld hpw = Objects.requireNonNull(this.hpw);
+        final int cw = slice.cw;
+        final int cl = slice.cl;
+
+        final BlockArrayCacheScopedQueueCoordinator reference = new BlockArrayCacheScopedQueueCoordinator(
+                Location.at("", slice.x0, hpw.getMinGenHeight(), slice.z0),
+                Location.at("", slice.x0 + cw - 1, hpw.getMaxGenHeight(), slice.z0 + cl - 1)
+        );
+        hpw.getGenerator().generateChunk(reference, hpw, false);
+        final BlockState[][][] oldBlocks = reference.getBlockStates();
+
+        final long[][] airMasks = new long[cw * cl][words];
+        final int[] columnChanges = new int[cw * cl];
+        final int[] columnData = new int[cw * cl];
+        final int[] columnAir = new int[cw * cl];
+        final int[] columnVariety = new int[cw * cl];
+        final Set<BlockType> types = new HashSet<>();
+
+        int i = 0;
+        for (int x = 0; x < cw; x++) {
+            for (int z = 0; z < cl; z++, i++) {
+                types.clear();
+                final int offset = i * height;
+                final long[] mask = airMasks[i];
+                for (int yIndex = 0; yIndex < height; yIndex++) {
+                    BlockState old = oldBlocks[yIndex][x][z]; // Nullable
+                    BlockState now = slice.live[offset + yIndex]; // Not null
+                    if (!now.equals(old) && !(old == null && now.getBlockType().equals(BlockTypes.AIR))) {
+                        columnChanges[i]++;
+                    }
+                    if (now.getBlockType().getMaterial().isAir()) {
+                        columnAir[i]++;
+                        mask[yIndex >> 6] |= 1L << yIndex;
+                    } else {
+                        if (!now.equals(now.getBlockType().getDefaultState())) {
+                            columnData[i]++;
+                        }
+                        types.add(now.getBlockType());
+                    }
+                }
+                columnVariety[i] = types.size();
+            }
+        }
+        return new ChunkColumns(slice.pos, slice.x0, slice.z0, cw, cl, airMasks, columnChanges, columnData, columnAir,
+                columnVariety
+        );
+    }
+
+    /**
+     * Count the faces of the columns of a measured chunk and fold them into the totals. Faces across the borders to
+     * neighbouring chunks are counted once the neighbour has been accumulated as well.
+     */
+    void accumulate(final @NonNull ChunkColumns slice) {
+        final int cw = slice.cw;
+        final int cl = slice.cl;
+        final long[][] airMasks = slice.airMasks;
+        final int[] columnChanges = slice.changes;
+        final int[] columnData = slice.data;
+        final int[] columnAir = slice.air;
+        final int[] columnVariety = slice.variety;
+
+        final Metric chunkChanges = new Metric();
+        final Metric chunkFaces = new Metric();
+        final Metric chunkData = new Metric();
+        final Metric chunkAir = new Metric();
+        final Metric chunkVariety = new Metric();
+        final List<PendingColumn> pending = new ArrayList<>();
+        final int rx0 = slice.x0 - bx;
+        final int rz0 = slice.z0 - bz;
+
+        int i = 0;
+        for (int x = 0; x < cw; x++) {
+            for (int z = 0; z < cl; z++, i++) {
+                final int rx = rx0 + x;
+                final int rz = rz0 + z;
+                final long[] mask = airMasks[i];
+                int columnFaces = 0;
+                boolean west = false;
+                boolean east = false;
+                boolean north = false;
+                boolean south = false;
+                // check vertices
+                // modifications_adjacent
+                if (rx > 0 && rz > 0 && rx < width - 1 && rz < length - 1) {
+                    west = x == 0;
+                    east = x == cw - 1;
+                    north = z == 0;
+                    south = z == cl - 1;
+                    for (int yIndex = 1; yIndex < height - 1; yIndex++) {
+                        if (isSet(mask, yIndex)) {
+                            continue;
+                        }
+                        if (isSet(mask, yIndex - 1)) {
+                            columnFaces++;
+                        }
+                        if (!west && isSet(airMasks[i - cl], yIndex)) {
+                            columnFaces++;
+                        }
+                        if (!north && isSet(airMasks[i - 1], yIndex)) {
+                            columnFaces++;
+                        }
+                        if (isSet(mask, yIndex + 1)) {
+                            columnFaces++;
+                        }
+                        if (!east && isSet(airMasks[i + cl], yIndex)) {
+                            columnFaces++;
+                        }
+                        if (!south && isSet(airMasks[i + 1], yIndex)) {
+                            columnFaces++;
+                        }
+                    }
+                }
+                if (west || east || north || south) {
+                    pending.add(new PendingColumn(x, z, mask, columnFaces, columnChanges[i], columnData[i], columnAir[i],
+                            columnVariety[i], west, east, north, south
+                    ));
+                    continue;
+                }
+                chunkChanges.add(columnChanges[i]);
+                chunkFaces.add(columnFaces);
+                chunkData.add(columnData[i]);
+                chunkAir.add(columnAir[i]);
+                chunkVariety.add(columnVariety[i]);
+            }
+        }
+
+        final ChunkEdges chunkEdges = new ChunkEdges(slice, airMasks, pending);
+        chunkEdges.missingNeighbours = (slice.x0 > bx ? 1 : 0) + (slice.x0 + cw - 1 < tx ? 1 : 0)
+                + (slice.z0 > bz ? 1 : 0) + (slice.z0 + cl - 1 < tz ? 1 : 0);
+        synchronized (this) {
+            changes.add(chunkChanges);
+            faces.add(chunkFaces);
+            data.add(chunkData);
+            air.add(chunkAir);
+            variety.add(chunkVariety);
+            link(chunkEdges);
+        }
+    }
+
+    /**
+     * Resolve faces across the borders between the given chunk and its already analysed neighbours, and drop the border
+     * state of chunks whose neighbours have all been analysed.
+     */
+    private void link(final ChunkEdges chunk) {
+        final BlockVector2 pos = chunk.pos;
+        final ChunkEdges west = edges.get(pos.subtract(1, 0));
+        final ChunkEdges east = edges.get(pos.add(1, 0));
+        final ChunkEdges north = edges.get(pos.subtract(0, 1));
+        final ChunkEdges south = edges.get(pos.add(0, 1));
+        resolve(chunk, west, east, north, south);
+        if (west != null) {
+            resolve(west, null, chunk, null, null);
+        }
+        if (east != null) {
+            resolve(east, chunk, null, null, null);
+        }
+        if (north != null) {
+            resolve(north, null, null, null, chunk);
+        }
+        if (south != null) {
+            resolve(south, null, null, chunk, null);
+        }
+        edges.put(pos, chunk);
+        for (ChunkEdges neighbour : new ChunkEdges[]{west, east, north, south}) {
+            if (neighbour == null) {
+                continue;
+            }
+            chunk.missingNeighbours--;
+            if (--neighbour.missingNeighbours == 0) {
+                edges.remove(neighbour.pos);
+            }
+        }
+        if (chunk.missingNeighbours == 0) {
+            edges.remove(pos);
+        }
+    }
+
+    private void resolve(
+            final ChunkEdges chunk,
+            final ChunkEdges west,
+            final ChunkEdges east,
+            final ChunkEdges north,
+            final ChunkEdges south
+    ) {
+        final Iterator<PendingColumn> iterator = chunk.pending.iterator();
+        while (iterator.hasNext()) {
+            final PendingColumn column = iterator.next();
+            if (column.west && west != null) {
+                column.addFaces(west.column(west.cw - 1, column.z), height);
+                column.west = false;
+            }
+            if (column.east && east != null) {
+                column.addFaces(east.column(0, column.z), height);
+                column.east = false;
+            }
+            if (column.north && north != null) {
+                column.addFaces(north.column(column.x, north.cl - 1), height);
+                column.north = false;
+            }
+            if (column.south && south != null) {
+                column.addFaces(south.column(column.x, 0), height);
+                column.south = false;
+            }
+            if (!column.west && !column.east && !column.north && !column.south) {
+                fold(column);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void fold(final PendingColumn column) {
+        changes.add(column.changes);
+        faces.add(column.faces);
+        data.add(column.data);
+        air.add(column.airCount);
+        variety.add(column.variety);
+    }
+
+    /**
+     * Running sum and sum of squares of a per-column metric.
+     */
+    private static final class Metric {
+
+        private long sum;
+        private long sumSquares;
+
+        void add(final int value) {
+            sum += value;
+            sumSquares += (long) value * value;
+        }
+
+        void add(final Metric other) {
+            sum += other.sum;
+            sumSquares += other.sumSquares;
+        }
+
+        int mean(final long n) {
+            return (int) (((double) sum / n) * 100);
+        }
+
+        /**
+         * Standard deviation around the given average, equal to {@link com.plotsquared.core.util.MathMan#getSD(int[], double)}
+         * over all folded values.
+         */
+        int sd(final long n, final double av) {
+            double squares = sumSquares - 2 * av * sum + n * av * av;
+            return (int) (Math.sqrt(Math.max(0, squares) / n) * 100);
+        }
+
+    }
+
+    /**
+     * Loads a batch of chunks, passing each to {@link #readChunk(QueueCoordinator, BlockVector2)}.
+     */
+    @FunctionalInterface
+    interface ChunkReader {
+
+        /**
+         * Load the given chunks.
+         *
+         * @param chunks Chunks to load
+         * @return future completing once every chunk that could be loaded has been read
+         */
+        @NonNull CompletableFuture<?> read(@NonNull Set<BlockVector2> chunks);
+
+    }
+
+    private record ChunkSlice(BlockVector2 pos, int x0, int z0, int cw, int cl, BlockState[] live) {
+
+    }
+
+    /**
+     * Per-column metrics of the part of a chunk within the region. Columns are ordered by x, then z, and the air masks
+     * have one bit per block from the bottom of the region up.
+     */
+    record ChunkColumns(
+            BlockVector2 pos, int x0, int z0, int cw, int cl, long[][] airMasks, int[] changes, int[] data, int[] air,
+            int[] variety
+    ) {
+
+    }
+
+    /**
+     * Air masks of the border columns of an analysed chunk, and its columns still waiting for a neighbour.
+     */
+    private static final class ChunkEdges {
+
+        private final BlockVector2 pos;
+        private final int cw;
+        private final int cl;
+        private final long[][] west;
+        private final long[][] east;
+        private final long[][] north;
+        private final long[][] south;
+        private final List<PendingColumn> pending;
+        private int missingNeighbours;
+
+        ChunkEdges(final ChunkColumns slice, final long[][] airMasks, final List<PendingColumn> pending) {
+            this.pos = slice.pos;
+            this.cw = slice.cw;
+            this.cl = slice.cl;
+            this.west = new long[cl][];
+            this.east = new long[cl][];
+            this.north = new long[cw][];
+            this.south = new long[cw][];
+            for (int z = 0; z < cl; z++) {
+                west[z] = airMasks[z];
+                east[z] = airMasks[(cw - 1) * cl + z];
+            }
+            for (int x = 0; x < cw; x++) {
+                north[x] = airMasks[x * cl];
+                south[x] = airMasks[x * cl + cl - 1];
+            }
+            this.pending = pending;
+        }
+
+        long[] column(final int x, final int z) {
+            if (x == 0) {
+                return west[z];
+            } else if (x == cw - 1) {
+                return east[z];
+            } else if (z == 0) {
+                return north[x];
+            }
+            return south[x];
+        }
+
+    }
+
+    private static final class PendingColumn {
+
+        private final int x;
+        private final int z;
+        private final long[] air;
+        private final int changes;
+        private final int data;
+        private final int airCount;
+        private final int variety;
+        private int faces;
+        private boolean west;
+        private boolean east;
+        private boolean north;
+        private boolean south;
+
+        PendingColumn(
+                final int x, final int z, final long[] air, final int faces, final int changes, final int data,
+                final int airCount, final int variety, final boolean west, final boolean east, final boolean north,
+                final boolean south
+        ) {
+            this.x = x;
+            this.z = z;
+            this.air = air;
+            this.faces = faces;
+            this.changes = changes;
+            this.data = data;
+            this.airCount = airCount;
+            this.variety = variety;
+            this.west = west;
+            this.east = east;
+            this.north = north;
+            this.south = south;
+        }
+
+        void addFaces(final long[] neighbourAir, final int height) {
+            for (int yIndex = 1; yIndex < height - 1; yIndex++) {
+                if (!isSet(air, yIndex) && isSet(neighbourAir, yIndex)) {
+                    faces++;
+                }
+            }
+        }
+
+    }
+
+}
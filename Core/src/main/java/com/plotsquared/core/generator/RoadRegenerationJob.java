@@ -0,0 +1,442 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotAreaType;
+import com.sk89q.worldedit.math.BlockVector2;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * State of a single road regeneration run over one {@link PlotArea}. Jobs are created and driven by
+ * {@link HybridUtils}; several jobs may run at the same time, sharing the chunk budget of all
+ * {@link com.plotsquared.core.queue.ChunkCoordinator chunk coordinators}. A part of that budget is reserved for road
+ * regeneration, see {@link #canQueueBatch(int, int, int)}.
+ * <p>
+ * Pending work is kept as a set of 32x32 chunk regions that have not been expanded yet, and the
+ * chunks of already expanded regions that have not yet been regenerated. Regions are only expanded
+ * into chunks that actually contain road or wall columns, so plot interiors are never loaded.
+ * </p>
+ *
+ * @since 7.5.5
+ */
+public final class RoadRegenerationJob {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + RoadRegenerationJob.class.getSimpleName());
+
+    private final PlotArea area;
+    private final int extend;
+    private final ArrayDeque<BlockVector2> regions;
+    // Use ordered for reasonable chunk loading order to reduce paper unloading neighbour chunks and then us attempting to load
+    // them again, causing errors
+    private final LinkedHashSet<BlockVector2> chunks;
+    private final boolean[] roadColumns;
+    private final int initialSize;
+    // Held while the checkpoint file is written or deleted, so a late checkpoint cannot recreate a deleted file
+    private final Object checkpointLock = new Object();
+
+    private volatile boolean cancelled = false;
+    private volatile boolean running = false;
+    private int batchesSinceCheckpoint = 0;
+
+    RoadRegenerationJob(
+            final @NonNull PlotArea area,
+            final int extend,
+            final @NonNull Collection<BlockVector2> regions,
+            final @NonNull Collection<BlockVector2> chunks
+    ) {
+        this.area = area;
+        this.extend = extend;
+        this.regions = new ArrayDeque<>(regions);
+        this.chunks = new LinkedHashSet<>(chunks);
+        this.roadColumns = computeRoadColumns(area);
+        this.initialSize = 1024 * this.regions.size() + this.chunks.size();
+    }
+
+    /**
+     * Read a job previously written with {@link #checkpoint()}.
+     *
+     * @param area Area the job belongs to
+     * @return the restored job, or {@code null} if no checkpoint exists for the area
+     * @throws IOException if the checkpoint could not be read
+     */
+    static @Nullable RoadRegenerationJob restore(final @NonNull PlotArea area) throws IOException {
+        return restore(area, getCheckpointFile(area));
+    }
+
+    /**
+     * Read a job previously written with {@link #writeCheckpoint(File)}.
+     *
+     * @param area Area the job belongs to
+     * @param file Checkpoint file
+     * @return the restored job, or {@code null} if the file does not exist
+     * @throws IOException if the checkpoint could not be read
+     */
+    @SuppressWarnings("unchecked")
+    static @Nullable RoadRegenerationJob restore(final @NonNull PlotArea area, final @NonNull File file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+            List<Object> list = (List<Object>) ois.readObject();
+            ArrayList<int[]> regionInts = (ArrayList<int[]>) list.get(0);
+            ArrayList<int[]> chunkInts = (ArrayList<int[]>) list.get(1);
+            List<BlockVector2> regions = new ArrayList<>(regionInts.size());
+            List<BlockVector2> chunks = new ArrayList<>(chunkInts.size());
+            regionInts.forEach(l -> regions.add(BlockVector2.at(l[0], l[1])));
+            chunkInts.forEach(l -> chunks.add(BlockVector2.at(l[0], l[1])));
+            int height = (int) list.get(2);
+            return new RoadRegenerationJob(area, height, regions, chunks);
+        } catch (ClassNotFoundException | ClassCastException | IndexOutOfBoundsException e) {
+            throw new IOException("Malformed road regeneration checkpoint " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Get the file a job for the given area checkpoints its progress to.
+     *
+     * @param area Plot area
+     * @return checkpoint file
+     */
+    static @NonNull File getCheckpointFile(final @NonNull PlotArea area) {
+        return new File(
+                PlotSquared.platform().getDirectory(),
+                "persistent_regen_data_" + area.getId() + "_" + area.getWorldName()
+        );
+    }
+
+    /**
+     * Get if a road job may queue another batch. Batches go through the chunk budget shared by all queued work, but up
+     * to {@link Settings.QUEUE#ROAD_REGEN_RESERVED_BATCHES} road batches may always be in flight, so that road
+     * regeneration is not starved while other work, such as a large clear, keeps the budget in use.
+     *
+     * @param pendingChunks    Chunks pending in all chunk coordinators, see
+     *                         {@link com.plotsquared.core.queue.ChunkCoordinator#getPendingChunks()}
+     * @param queuedRoadChunks Chunks of road batches that have been queued and not yet completed, in all areas
+     * @param batchSize        Chunks in the batch to queue
+     * @return if the batch may be queued now
+     */
+    static boolean canQueueBatch(final int pendingChunks, final int queuedRoadChunks, final int batchSize) {
+        if (queuedRoadChunks + batchSize <= Math.max(0, Settings.QUEUE.ROAD_REGEN_RESERVED_BATCHES) * batchSize) {
+            return true;
+        }
+        return pendingChunks + batchSize <= Math.max(1, Settings.QUEUE.ROAD_REGEN_MAX_BATCHES) * batchSize;
+    }
+
+    private static boolean @Nullable [] computeRoadColumns(final @NonNull PlotArea area) {
+        if (!(area instanceof HybridPlotWorld hpw) || hpw.SIZE <= 0) {
+            return null;
+        }
+        return computeRoadColumns(hpw.SIZE, hpw.PATH_WIDTH_LOWER, hpw.PATH_WIDTH_UPPER);
+    }
+
+    /**
+     * Determine, for each position within one plot-plus-road period, whether a column at that offset
+     * is part of the road or wall. This mirrors the check done in
+     * {@link HybridUtils#regenerateRoad(PlotArea, BlockVector2, int, com.plotsquared.core.queue.QueueCoordinator)}.
+     */
+    static boolean @NonNull [] computeRoadColumns(final int size, final int pathWidthLower, final int pathWidthUpper) {
+        boolean[] road = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            road[i] = i <= pathWidthLower || i >= pathWidthUpper;
+        }
+        return road;
+    }
+
+    /**
+     * Get if a chunk contains at least one column that is road or wall on either axis.
+     *
+     * @param roadColumns Road columns, see {@link #computeRoadColumns(int, int, int)}
+     * @param chunk       Chunk position
+     * @param offsetX     Road offset of the area on the x axis
+     * @param offsetZ     Road offset of the area on the z axis
+     * @return if the chunk contains road
+     */
+    static boolean containsRoad(
+            final boolean @NonNull [] roadColumns, final @NonNull BlockVector2 chunk, final int offsetX,
+            final int offsetZ
+    ) {
+        return hasRoadOnAxis(roadColumns, chunk.getX() << 4, offsetX) || hasRoadOnAxis(roadColumns, chunk.getZ() << 4, offsetZ);
+    }
+
+    private static boolean hasRoadOnAxis(final boolean[] roadColumns, final int blockStart, final int offset) {
+        int size = roadColumns.length;
+        for (int i = 0; i < 16; i++) {
+            int abs = Math.floorMod(blockStart + i - offset, size);
+            if (roadColumns[abs]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get if the given chunk contains at least one road or wall column of this job's area.
+     *
+     * @param chunk Chunk position
+     * @return {@code true} if the chunk needs to be regenerated
+     */
+    public boolean containsRoad(final @NonNull BlockVector2 chunk) {
+        int x = chunk.getX() << 4;
+        int z = chunk.getZ() << 4;
+        if (this.area.getType() == PlotAreaType.PARTIAL && !this.area.contains(x, z) && !this.area.contains(x + 15, z + 15)) {
+            return false;
+        }
+        if (this.roadColumns == null) {
+            return true;
+        }
+        HybridPlotWorld hpw = (HybridPlotWorld) this.area;
+        return containsRoad(this.roadColumns, chunk, hpw.ROAD_OFFSET_X, hpw.ROAD_OFFSET_Z);
+    }
+
+    /**
+     * Expand the next pending region into the chunks that contain roads, if fewer than {@code threshold}
+     * chunks are currently pending.
+     *
+     * @param threshold Pending chunk count below which a new region is expanded
+     * @return the expanded region, or {@code null} if nothing was expanded
+     */
+    synchronized @Nullable BlockVector2 expandRegion(final int threshold) {
+        if (this.chunks.size() >= threshold || this.regions.isEmpty()) {
+            return null;
+        }
+        BlockVector2 region = this.regions.poll();
+        int sx = region.getX() << 5;
+        int sz = region.getZ() << 5;
+        for (int x = sx; x < sx + 32; x++) {
+            for (int z = sz; z < sz + 32; z++) {
+                BlockVector2 chunk = BlockVector2.at(x, z);
+                if (containsRoad(chunk)) {
+                    this.chunks.add(chunk);
+                }
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Remove up to {@code amount} chunks from the pending chunks.
+     *
+     * @param amount Maximum amount of chunks
+     * @return the removed chunks, in insertion order
+     */
+    synchronized @NonNull List<BlockVector2> pollChunks(final int amount) {
+        List<BlockVector2> batch = new ArrayList<>(Math.min(amount, this.chunks.size()));
+        Iterator<BlockVector2> iterator = this.chunks.iterator();
+        while (batch.size() < amount && iterator.hasNext()) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    /**
+     * Put chunks back into the pending set, e.g. when a batch could not be completed.
+     *
+     * @param batch Chunks to requeue
+     */
+    synchronized void requeue(final @NonNull Collection<BlockVector2> batch) {
+        this.chunks.addAll(batch);
+    }
+
+    /**
+     * Increment the count of completed batches and return if a checkpoint is due.
+     *
+     * @return if {@link #checkpoint()} should be called
+     */
+    synchronized boolean completeBatch() {
+        if (++this.batchesSinceCheckpoint >= Math.max(1, Settings.QUEUE.ROAD_REGEN_CHECKPOINT_INTERVAL)) {
+            this.batchesSinceCheckpoint = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Write the remaining work of this job to its checkpoint file. The file is first written to a temporary file and
+     * then atomically moved, so a crash during checkpointing leaves the previous checkpoint intact. Nothing is written
+     * once the job has been cancelled.
+     */
+    public void checkpoint() {
+        if (!Settings.Enabled_Components.PERSISTENT_ROAD_REGEN) {
+            return;
+        }
+        synchronized (this.checkpointLock) {
+            if (!this.cancelled) {
+                this.writeCheckpoint(getCheckpointFile(this.area));
+            }
+        }
+    }
+
+    /**
+     * Write the remaining work of this job to the given file, through a temporary file next to it.
+     *
+     * @param file Checkpoint file
+     */
+    void writeCheckpoint(final @NonNull File file) {
+        ArrayList<int[]> regionInts;
+        ArrayList<int[]> chunkInts;
+        synchronized (this) {
+            if (this.regions.isEmpty() && this.chunks.isEmpty()) {
+                return;
+            }
+            regionInts = new ArrayList<>(this.regions.size());
+            chunkInts = new ArrayList<>(this.chunks.size());
+            for (BlockVector2 r : this.regions) {
+                regionInts.add(new int[]{r.getBlockX(), r.getBlockZ()});
+            }
+            for (BlockVector2 c : this.chunks) {
+                chunkInts.add(new int[]{c.getBlockX(), c.getBlockZ()});
+            }
+        }
+        List<Object> list = new ArrayList<>();
+        list.add(regionInts);
+        list.add(chunkInts);
+        list.add(this.extend);
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(tmp.toPath()))) {
+                oos.writeObject(list);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.error("Error writing road regeneration checkpoint for area {}", this.area, e);
+        }
+    }
+
+    /**
+     * Delete the checkpoint file of this job, if it exists.
+     */
+    void deleteCheckpoint() {
+        synchronized (this.checkpointLock) {
+            File file = getCheckpointFile(this.area);
+            if (file.exists() && !file.delete()) {
+                LOGGER.error("Error deleting {}. Please delete this file manually", file.getName());
+            }
+        }
+    }
+
+    /**
+     * Get the area this job regenerates roads in.
+     *
+     * @return plot area
+     */
+    public @NonNull PlotArea getArea() {
+        return this.area;
+    }
+
+    /**
+     * Get how far above the road air is set.
+     *
+     * @return extend height
+     */
+    public int getExtend() {
+        return this.extend;
+    }
+
+    /**
+     * Get if there is no pending work left.
+     *
+     * @return if the job is complete
+     */
+    public synchronized boolean isComplete() {
+        return this.regions.isEmpty() && this.chunks.isEmpty();
+    }
+
+    /**
+     * Get the amount of regions that have not yet been expanded into chunks.
+     *
+     * @return remaining regions
+     */
+    public synchronized int getRemainingRegions() {
+        return this.regions.size();
+    }
+
+    /**
+     * Get the amount of chunks pending regeneration in expanded regions.
+     *
+     * @return remaining chunks
+     */
+    public synchronized int getRemainingChunks() {
+        return this.chunks.size();
+    }
+
+    /**
+     * Get the approximate progress of this job as a percentage.
+     *
+     * @return progress between 0 and 100
+     */
+    public synchronized int getProgress() {
+        if (this.initialSize == 0) {
+            return 100;
+        }
+        return 100 * (this.initialSize - (this.chunks.size() + 1024 * this.regions.size())) / this.initialSize;
+    }
+
+    /**
+     * Get if the job has been cancelled.
+     *
+     * @return if cancelled
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Stop the job after the batch currently in flight. The job is not checkpointed anymore, and its checkpoint is
+     * deleted once it has stopped.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    boolean isRunning() {
+        return this.running;
+    }
+
+    void setRunning(final boolean running) {
+        this.running = running;
+    }
+
+    @Override
+    public String toString() {
+        return "RoadRegenerationJob{area=" + this.area + ", regions=" + getRemainingRegions() + ", chunks="
+                + getRemainingChunks() + '}';
+    }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.util.MathMan;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The blocks and biomes that road and plot schematics place within one plot-plus-road period of a {@link HybridPlotWorld}.
+ * Positions are relative to the start of the period, from 0 (inclusive) to the period size (exclusive) on the x and z
+ * axes, and from 0 (inclusive) to {@link #getHeight()} (exclusive) on the y axis, relative to the schematic start height.
+ * <p>
+ * Each column covered by a schematic holds the span between its lowest and highest block as indices into a shared
+ * palette, stored in a single array. Columns are looked up by index so generation does not box or hash coordinates.
+ *
+ * @since 7.5.5
+ */
+public final class SchematicOverlay {
+
+    private static final int NO_COLUMN = -1;
+
+    private final int size;
+    private final int height;
+    private final BaseBlock[] palette;
+    private final int[] offsets;
+    private final short[] spanStarts;
+    private final short[] spanEnds;
+    private final int[] data;
+    private final BiomeType[] biomes;
+
+    private SchematicOverlay(
+            final int size, final int height, final BaseBlock[] palette, final int[] offsets,
+            final short[] spanStarts, final short[] spanEnds, final int[] data, final BiomeType[] biomes
+    ) {
+        this.size = size;
+        this.height = height;
+        this.palette = palette;
+        this.offsets = offsets;
+        this.spanStarts = spanStarts;
+        this.spanEnds = spanEnds;
+        this.data = data;
+        this.biomes = biomes;
+    }
+
+    /**
+     * Get the height of the overlay, which is the height of every column.
+     *
+     * @return overlay height
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Get the column at the given position, for use with {@link #getSpanStart(int)}, {@link #getSpanEnd(int)} and
+     * {@link #getBlock(int, int)}.
+     *
+     * @param x Relative x
+     * @param z Relative z
+     * @return column index, or {@code -1} if no schematic covers the position
+     */
+    public int getColumn(final int x, final int z) {
+        return this.offsets[x + z * this.size] == NO_COLUMN ? -1 : x + z * this.size;
+    }
+
+    /**
+     * Get the lowest y of a column that may hold a block.
+     *
+     * @param column Column index
+     * @return first y of the column's span (inclusive)
+     */
+    public int getSpanStart(final int column) {
+        return this.spanStarts[column];
+    }
+
+    /**
+     * Get the y above the highest block of a column.
+     *
+     * @param column Column index
+     * @return last y of the column's span (exclusive)
+     */
+    public int getSpanEnd(final int column) {
+        return this.spanEnds[column];
+    }
+
+    /**
+     * Get the block at a height in a column.
+     *
+     * @param column Column index
+     * @param y      Relative y
+     * @return block, or {@code null} if the schematic does not set a block there
+     */
+    public @Nullable BaseBlock getBlock(final int column, final int y) {
+        if (y < this.spanStarts[column] || y >= this.spanEnds[column]) {
+            return null;
+        }
+        return this.palette[this.data[this.offsets[column] + y - this.spanStarts[column]]];
+    }
+
+    /**
+     * Get the biome at a position.
+     *
+     * @param x Relative x
+     * @param z Relative z
+     * @return biome, or {@code null} if no schematic sets a biome there
+     */
+    public @Nullable BiomeType getBiome(final int x, final int z) {
+        return this.biomes[x + z * this.size];
+    }
+
+    /**
+     * Copy the columns into a map keyed by {@link MathMan#pair(short, short)}, in the layout of the deprecated
+     * {@link HybridPlotWorld#G_SCH} field.
+     */
+    void copyBlocksTo(final @NonNull Map<Integer, BaseBlock[]> map) {
+        for (int column = 0; column < this.offsets.length; column++) {
+            if (this.offsets[column] == NO_COLUMN) {
+                continue;
+            }
+            final BaseBlock[] blocks = new BaseBlock[this.height];
+            for (int y = this.spanStarts[column]; y < this.spanEnds[column]; y++) {
+                blocks[y] = this.getBlock(column, y);
+            }
+            map.put(MathMan.pair((short) (column % this.size), (short) (column / this.size)), blocks);
+        }
+    }
+
+    /**
+     * Copy the biomes into a map keyed by {@link MathMan#pair(short, short)}, in the layout of the deprecated
+     * {@link HybridPlotWorld#G_SCH_B} field.
+     */
+    void copyBiomesTo(final @NonNull Map<Integer, BiomeType> map) {
+        for (int i = 0; i < this.biomes.length; i++) {
+            if (this.biomes[i] != null) {
+                map.put(MathMan.pair((short) (i % this.size), (short) (i / this.size)), this.biomes[i]);
+            }
+        }
+    }
+
+    /**
+     * Builds a {@link SchematicOverlay}. Positions outside of the overlay wrap around to the other side of the period.
+     */
+    static final class Builder {
+
+        private final int size;
+        private final int height;
+        private final BaseBlock[][] columns;
+        private final BiomeType[] biomes;
+
+        Builder(final int size, final int height) {
+            this.size = size;
+            this.height = height;
+            this.columns = new BaseBlock[size * size][];
+            this.biomes = new BiomeType[size * size];
+        }
+
+        /**
+         * Set a block.
+         *
+         * @return {@code false} if the y is outside of the overlay, in which case the column is still marked as covered
+         */
+        boolean setBlock(final int x, final int y, final int z, final @NonNull BaseBlock block) {
+            final int index = this.index(x, z);
+            BaseBlock[] column = this.columns[index];
+            if (column == null) {
+                column = this.columns[index] = new BaseBlock[this.height];
+            }
+            if (y < 0 || y >= this.height) {
+                return false;
+            }
+            column[y] = block;
+            return true;
+        }
+
+        void setBiome(final int x, final int z, final @NonNull BiomeType biome) {
+            this.biomes[this.index(x, z)] = biome;
+        }
+
+        @NonNull SchematicOverlay build() {
+            final Map<BaseBlock, Integer> ids = new HashMap<>();
+            final List<BaseBlock> palette = new ArrayList<>();
+            // Index 0 is kept for positions without a block
+            palette.add(null);
+            final int[] offsets = new int[this.columns.length];
+            final short[] spanStarts = new short[this.columns.length];
+            final short[] spanEnds = new short[this.columns.length];
+            Arrays.fill(offsets, NO_COLUMN);
+            int length = 0;
+            for (int i = 0; i < this.columns.length; i++) {
+                final BaseBlock[] column = this.columns[i];
+                if (column == null) {
+                    continue;
+                }
+                int start = 0;
+                int end = column.length;
+                while (start < end && column[start] == null) {
+                    start++;
+                }
+                while (end > start && column[end - 1] == null) {
+                    end--;
+                }
+                offsets[i] = length;
+                spanStarts[i] = (short) start;
+                spanEnds[i] = (short) end;
+                length += end - start;
+            }
+            final int[] data = new int[length];
+            for (int i = 0; i < this.columns.length; i++) {
+                final BaseBlock[] column = this.columns[i];
+                if (column == null) {
+                    continue;
+                }
+                for (int y = spanStarts[i]; y < spanEnds[i]; y++) {
+                    final BaseBlock block = column[y];
+                    if (block != null) {
+                        data[offsets[i] + y - spanStarts[i]] = ids.computeIfAbsent(block, key -> {
+                            palette.add(key);
+                            return palette.size() - 1;
+                        });
+                    }
+                }
+            }
+            return new SchematicOverlay(
+                    this.size,
+                    this.height,
+                    palette.toArray(new BaseBlock[0]),
+                    offsets,
+                    spanStarts,
+                    spanEnds,
+                    data,
+                    this.biomes
+            );
+        }
+
+        private int index(final int x, final int z) {
+            return Math.floorMod(x, this.size) + Math.floorMod(z, this.size) * this.size;
+        }
+
+    }
+
+}
@@ -23,6 +23,8 @@ import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.caption.Caption;
 import com.plotsquared.core.configuration.caption.StaticCaption;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
+import com.plotsquared.core.events.PlayerEnterPlotEvent;
+import com.plotsquared.core.events.PlayerLeavePlotEvent;
 import com.plotsquared.core.events.PlotFlagRemoveEvent;
 import com.plotsquared.core.events.Result;
 import com.plotsquared.core.location.Location;
@@ -57,6 +59,7 @@ import com.plotsquared.core.plot.flag.types.TimedFlag;
 import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
+import com.plotsquared.core.util.task.TimingWheel;
 import com.sk89q.worldedit.world.gamemode.GameMode;
 import com.sk89q.worldedit.world.gamemode.GameModes;
 import com.sk89q.worldedit.world.item.ItemType;
@@ -70,19 +73,20 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 public class PlotListener {
 
     private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
 
-    private final HashMap<UUID, Interval> feedRunnable = new HashMap<>();
-    private final HashMap<UUID, Interval> healRunnable = new HashMap<>();
+    private final TimingWheel<Runnable> timers = new TimingWheel<>();
+    private final Map<UUID, TimingWheel.Timer<Runnable>> feedTimers = new HashMap<>();
+    private final Map<UUID, TimingWheel.Timer<Runnable>> healTimers = new HashMap<>();
     private final Map<UUID, List<StatusEffect>> playerEffects = new HashMap<>();
 
     private final EventDispatcher eventDispatcher;
@@ -92,65 +96,47 @@ public class PlotListener {
     }
 
     public void startRunnable() {
-        TaskManager.runTaskRepeat(() -> {
-            if (!healRunnable.isEmpty()) {
-                for (Iterator<Map.Entry<UUID, Interval>> iterator =
-                     healRunnable.entrySet().iterator(); iterator.hasNext(); ) {
-                    Map.Entry<UUID, Interval> entry = iterator.next();
-                    Interval value = entry.getValue();
-                    ++value.count;
-                    if (value.count == value.interval) {
-                        value.count = 0;
-                        final PlotPlayer<?> player = PlotSquared.platform().playerManager().getPlayerIfExists(entry.getKey());
-                        if (player == null) {
-                            iterator.remove();
-                            continue;
-                        }
-                        // Don't attempt to heal dead players - they will get stuck in the abyss (#4406)
-                        if (PlotSquared.platform().worldUtil().getHealth(player) <= 0) {
-                            continue;
-                        }
-                        double level = PlotSquared.platform().worldUtil().getHealth(player);
-                        if (level != value.max) {
-                            PlotSquared.platform().worldUtil().setHealth(player, Math.min(level + value.amount, value.max));
-                        }
-                    }
-                }
-            }
-            if (!feedRunnable.isEmpty()) {
-                for (Iterator<Map.Entry<UUID, Interval>> iterator =
-                     feedRunnable.entrySet().iterator(); iterator.hasNext(); ) {
-                    Map.Entry<UUID, Interval> entry = iterator.next();
-                    Interval value = entry.getValue();
-                    ++value.count;
-                    if (value.count == value.interval) {
-                        value.count = 0;
-                        final PlotPlayer<?> player = PlotSquared.platform().playerManager().getPlayerIfExists(entry.getKey());
-                        if (player == null) {
-                            iterator.remove();
-                            continue;
-                        }
-                        int level = PlotSquared.platform().worldUtil().getFoodLevel(player);
-                        if (level != value.max) {
-                            PlotSquared.platform().worldUtil().setFoodLevel(player, Math.min(level + value.amount, value.max));
-                        }
-                    }
-                }
-            }
+        // One wheel tick per second, only the timers that are due are visited
+        TaskManager.runTaskRepeat(() -> this.timers.advance(Runnable::run), TaskTime.seconds(1L));
+    }
 
-            if (!playerEffects.isEmpty()) {
-                long currentTime = System.currentTimeMillis();
-                for (Iterator<Map.Entry<UUID, List<StatusEffect>>> iterator =
-                     playerEffects.entrySet().iterator(); iterator.hasNext(); ) {
-                    Map.Entry<UUID, List<StatusEffect>> entry = iterator.next();
-                    List<StatusEffect> effects = entry.getValue();
-                    effects.removeIf(effect -> currentTime > effect.expiresAt);
-                    if (effects.isEmpty()) {
-                        iterator.remove();
-                    }
-                }
+    private void repeat(
+            final @NonNull Map<UUID, TimingWheel.Timer<Runnable>> timers, final @NonNull UUID uuid,
+            final @NonNull Interval interval, final @NonNull BiConsumer<PlotPlayer<?>, Interval> action
+    ) {
+        cancel(timers.put(uuid, this.timers.schedule(() -> {
+            final PlotPlayer<?> player = PlotSquared.platform().playerManager().getPlayerIfExists(uuid);
+            if (player == null) {
+                timers.remove(uuid);
+                return;
             }
-        }, TaskTime.seconds(1L));
+            this.repeat(timers, uuid, interval, action);
+            action.accept(player, interval);
+        }, interval.interval())));
+    }
+
+    private static void heal(final @NonNull PlotPlayer<?> player, final @NonNull Interval interval) {
+        double level = PlotSquared.platform().worldUtil().getHealth(player);
+        // Don't attempt to heal dead players - they will get stuck in the abyss (#4406)
+        if (level <= 0) {
+            return;
+        }
+        if (level != interval.max()) {
+            PlotSquared.platform().worldUtil().setHealth(player, Math.min(level + interval.amount(), interval.max()));
+        }
+    }
+
+    private static void feed(final @NonNull PlotPlayer<?> player, final @NonNull Interval interval) {
+        int level = PlotSquared.platform().worldUtil().getFoodLevel(player);
+        if (level != interval.max()) {
+            PlotSquared.platform().worldUtil().setFoodLevel(player, Math.min(level + interval.amount(), interval.max()));
+        }
+    }
+
+    private static void cancel(final TimingWheel.@Nullable Timer<Runnable> timer) {
+        if (timer != null) {
+            timer.cancel();
+        }
     }
 
     public boolean plotEntry(final PlotPlayer<?> player, final Plot plot) {
@@ -171,7 +157,9 @@ public class PlotListener {
             }
             lastPlot.set(plot);
         }
-        this.eventDispatcher.callEntry(player, plot);
+        if (this.eventDispatcher.hasListeners(PlayerEnterPlotEvent.class)) {
+            this.eventDispatcher.callEntry(player, plot);
+        }
         if (plot.hasOwner()) {
             // This will inherit values from PlotArea
             final TitlesFlag.TitlesFlagValue titlesFlag = plot.getFlag(TitlesFlag.class);
@@ -352,13 +340,11 @@ public class PlotListener {
 
             TimedFlag.Timed<Integer> feed = plot.getFlag(FeedFlag.class);
             if (feed.interval() != 0 && feed.value() != 0) {
-                feedRunnable
-                        .put(player.getUUID(), new Interval(feed.interval(), feed.value(), 20));
+                repeat(feedTimers, player.getUUID(), new Interval(feed.interval(), feed.value(), 20), PlotListener::feed);
             }
             TimedFlag.Timed<Integer> heal = plot.getFlag(HealFlag.class);
             if (heal.interval() != 0 && heal.value() != 0) {
-                healRunnable
-                        .put(player.getUUID(), new Interval(heal.interval(), heal.value(), 20));
+                repeat(healTimers, player.getUUID(), new Interval(heal.interval(), heal.value(), 20), PlotListener::heal);
             }
             return true;
         }
@@ -373,8 +359,9 @@ public class PlotListener {
             if (effects != null) {
                 long currentTime = System.currentTimeMillis();
                 effects.forEach(effect -> {
-                    if (currentTime <= effect.expiresAt) {
-                        player.removeEffect(effect.name);
+                    effect.expiry().cancel();
+                    if (currentTime <= effect.expiresAt()) {
+                        player.removeEffect(effect.name());
                     }
                 });
             }
@@ -467,11 +454,13 @@ public class PlotListener {
                     });
                 }
 
-                feedRunnable.remove(player.getUUID());
-                healRunnable.remove(player.getUUID());
+                cancel(feedTimers.remove(player.getUUID()));
+                cancel(healTimers.remove(player.getUUID()));
             }
         } finally {
-            this.eventDispatcher.callLeave(player, plot);
+            if (this.eventDispatcher.hasListeners(PlayerLeavePlotEvent.class)) {
+                this.eventDispatcher.callLeave(player, plot);
+            }
         }
         return true;
     }
@@ -490,9 +479,12 @@ public class PlotListener {
     }
 
     public void logout(UUID uuid) {
-        feedRunnable.remove(uuid);
-        healRunnable.remove(uuid);
-        playerEffects.remove(uuid);
+        cancel(feedTimers.remove(uuid));
+        cancel(healTimers.remove(uuid));
+        List<StatusEffect> effects = playerEffects.remove(uuid);
+        if (effects != null) {
+            effects.forEach(effect -> effect.expiry().cancel());
+        }
     }
 
     /**
@@ -505,34 +497,41 @@ public class PlotListener {
      */
     public void addEffect(@NonNull UUID uuid, @NonNull String name, long expiresAt) {
         List<StatusEffect> effects = playerEffects.getOrDefault(uuid, new ArrayList<>());
-        effects.removeIf(effect -> effect.name.equals(name));
+        effects.removeIf(effect -> {
+            if (effect.name().equals(name)) {
+                effect.expiry().cancel();
+                return true;
+            }
+            return false;
+        });
         if (expiresAt != -1) {
-            effects.add(new StatusEffect(name, expiresAt));
+            // Forget the effect one full tick after it expires, ticks are never shorter than a second
+            long delay = Math.max(0L, expiresAt - System.currentTimeMillis()) / 1000L + 1L;
+            effects.add(new StatusEffect(name, expiresAt, timers.schedule(() -> expire(uuid, name, expiresAt), delay)));
+        }
+        if (effects.isEmpty()) {
+            playerEffects.remove(uuid);
+        } else {
+            playerEffects.put(uuid, effects);
         }
-        playerEffects.put(uuid, effects);
     }
 
-    private static class Interval {
-
-        final int interval;
-        final int amount;
-        final int max;
-        int count = 0;
-
-        Interval(int interval, int amount, int max) {
-            this.interval = interval;
-            this.amount = amount;
-            this.max = max;
+    private void expire(final @NonNull UUID uuid, final @NonNull String name, final long expiresAt) {
+        List<StatusEffect> effects = playerEffects.get(uuid);
+        if (effects == null) {
+            return;
+        }
+        effects.removeIf(effect -> effect.name().equals(name) && effect.expiresAt() == expiresAt);
+        if (effects.isEmpty()) {
+            playerEffects.remove(uuid);
         }
-
     }
 
-    private record StatusEffect(@NonNull String name, long expiresAt) {
+    private record Interval(int interval, int amount, int max) {
 
-        private StatusEffect(@NonNull String name, long expiresAt) {
-            this.name = name;
-            this.expiresAt = expiresAt;
-        }
+    }
+
+    private record StatusEffect(@NonNull String name, long expiresAt, TimingWheel.@NonNull Timer<Runnable> expiry) {
 
     }
 
@@ -0,0 +1,136 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.player;
+
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.database.DBFunc;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotOwnerIndex;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands data loaded while a player is logging in over to the player object created when they join. Loading happens on
+ * the asynchronous pre-login thread, so that joining players do not wait behind queued database writes.
+ * <p>
+ * Each piece of data can be taken once. Data that is not taken shortly after it was loaded, because the login failed,
+ * is discarded.
+ * </p>
+ *
+ * @since 7.5.5
+ */
+public final class LoginPrefetch {
+
+    private static final long EXPIRY = TimeUnit.SECONDS.toMillis(30);
+    private static final Map<UUID, Prefetched> PREFETCHED = new ConcurrentHashMap<>();
+
+    private LoginPrefetch() {
+    }
+
+    /**
+     * Load the data of a player that is logging in. This blocks and must not be called from the main thread.
+     *
+     * @param uuid UUID of the player
+     */
+    public static void prefetch(final @NonNull UUID uuid) {
+        final long now = System.currentTimeMillis();
+        PREFETCHED.values().removeIf(prefetched -> now - prefetched.time > EXPIRY);
+        final Map<String, byte[]> persistentMeta =
+                Settings.Enabled_Components.PERSISTENT_META ? DBFunc.loadPersistentMeta(uuid) : null;
+        // Copy the indexed plots, the index only offers a live view
+        final Set<Plot> ownedPlots = Settings.Enabled_Components.PLOT_EXPIRY
+                ? new HashSet<>(PlotOwnerIndex.getInstance().getPlots(uuid)) : null;
+        if (persistentMeta != null || ownedPlots != null) {
+            PREFETCHED.put(uuid, new Prefetched(now, persistentMeta, ownedPlots));
+        }
+    }
+
+    /**
+     * Take the persistent meta loaded for a player.
+     *
+     * @param uuid UUID of the player
+     * @return the persistent meta, or {@code null} if it was not prefetched
+     */
+    public static @Nullable Map<String, byte[]> takePersistentMeta(final @NonNull UUID uuid) {
+        final Prefetched prefetched = take(uuid);
+        if (prefetched == null) {
+            return null;
+        }
+        final Map<String, byte[]> persistentMeta = prefetched.persistentMeta;
+        prefetched.persistentMeta = null;
+        release(uuid, prefetched);
+        return persistentMeta;
+    }
+
+    /**
+     * Take the plots a player owned when they logged in. The set is a snapshot of the loaded plots taken during the
+     * pre-login, so plots claimed, deleted or transferred in between are not reflected. It is only suitable for uses
+     * that tolerate this, such as dropping the player's plots from the expiry candidates.
+     *
+     * @param uuid UUID of the player
+     * @return the owned plots, or {@code null} if they were not prefetched
+     */
+    public static @Nullable Set<Plot> takeOwnedPlots(final @NonNull UUID uuid) {
+        final Prefetched prefetched = take(uuid);
+        if (prefetched == null) {
+            return null;
+        }
+        final Set<Plot> ownedPlots = prefetched.ownedPlots;
+        prefetched.ownedPlots = null;
+        release(uuid, prefetched);
+        return ownedPlots;
+    }
+
+    private static @Nullable Prefetched take(final @NonNull UUID uuid) {
+        final Prefetched prefetched = PREFETCHED.get(uuid);
+        if (prefetched == null || System.currentTimeMillis() - prefetched.time > EXPIRY) {
+            return null;
+        }
+        return prefetched;
+    }
+
+    private static void release(final @NonNull UUID uuid, final @NonNull Prefetched prefetched) {
+        if (prefetched.persistentMeta == null && prefetched.ownedPlots == null) {
+            PREFETCHED.remove(uuid, prefetched);
+        }
+    }
+
+    private static final class Prefetched {
+
+        private final long time;
+        private volatile Map<String, byte[]> persistentMeta;
+        private volatile Set<Plot> ownedPlots;
+
+        private Prefetched(final long time, final @Nullable Map<String, byte[]> persistentMeta,
+                           final @Nullable Set<Plot> ownedPlots) {
+            this.time = time;
+            this.persistentMeta = persistentMeta;
+            this.ownedPlots = ownedPlots;
+        }
+
+    }
+
+}
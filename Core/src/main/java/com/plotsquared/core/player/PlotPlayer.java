@@ -32,6 +32,7 @@ import com.plotsquared.core.configuration.caption.CaptionUtility;
 import com.plotsquared.core.configuration.caption.LocaleHolder;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.database.DBFunc;
+import com.plotsquared.core.events.PlayerPlotLimitEvent;
 import com.plotsquared.core.events.TeleportCause;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.permissions.NullPermissionProfile;
@@ -307,6 +308,9 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
      */
     public int getAllowedPlots() {
         final int calculatedLimit = hasPermissionRange("plots.plot", Settings.Limit.MAX_PLOTS);
+        if (!this.eventDispatcher.hasListeners(PlayerPlotLimitEvent.class)) {
+            return calculatedLimit;
+        }
         return this.eventDispatcher.callPlayerPlotLimit(this, calculatedLimit).limit();
     }
 
@@ -342,13 +346,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
             return getClusterCount(getLocation().getWorldName());
         }
         final AtomicInteger count = new AtomicInteger(0);
-        this.plotAreaManager.forEachPlotArea(value -> {
-            for (PlotCluster cluster : value.getClusters()) {
-                if (cluster.isOwner(getUUID())) {
-                    count.incrementAndGet();
-                }
-            }
-        });
+        this.plotAreaManager.forEachPlotArea(value -> count.addAndGet(value.getClusterIndex().getOwnedBy(getUUID()).size()));
         return count.get();
     }
 
@@ -375,11 +373,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
     public int getClusterCount(String world) {
         int count = 0;
         for (PlotArea area : this.plotAreaManager.getPlotAreasSet(world)) {
-            for (PlotCluster cluster : area.getClusters()) {
-                if (cluster.isOwner(getUUID())) {
-                    count++;
-                }
-            }
+            count += area.getClusterIndex().getOwnedBy(getUUID()).size();
         }
         return count;
     }
@@ -678,80 +672,91 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
 
     public void populatePersistentMetaMap() {
         if (Settings.Enabled_Components.PERSISTENT_META) {
+            final Map<String, byte[]> prefetched = LoginPrefetch.takePersistentMeta(getUUID());
+            if (prefetched != null) {
+                // Loaded during pre-login, so make it available right away
+                this.metaMap = prefetched;
+                TaskManager.runTaskAsync(() -> applyPersistentMeta(prefetched));
+                return;
+            }
             DBFunc.getPersistentMeta(getUUID(), new RunnableVal<>() {
                 @Override
                 public void run(Map<String, byte[]> value) {
-                    try {
-                        PlotPlayer.this.metaMap = value;
-                        if (value.isEmpty()) {
-                            return;
-                        }
-
-                        if (PlotPlayer.this.getAttribute("debug")) {
-                            debugModeEnabled.add(PlotPlayer.this);
-                        }
-
-                        if (!Settings.Teleport.ON_LOGIN) {
-                            return;
-                        }
-                        PlotAreaManager manager = PlotPlayer.this.plotAreaManager;
-
-                        if (!(manager instanceof SinglePlotAreaManager)) {
-                            return;
-                        }
-                        PlotArea area = ((SinglePlotAreaManager) manager).getArea();
-                        byte[] arr = PlotPlayer.this.getPersistentMeta("quitLoc");
-                        if (arr == null) {
-                            return;
-                        }
-                        removePersistentMeta("quitLoc");
-
-                        if (!getMeta("teleportOnLogin", true)) {
-                            return;
-                        }
-                        ByteBuffer quitWorld = ByteBuffer.wrap(arr);
-                        final int plotX = quitWorld.getShort();
-                        final int plotZ = quitWorld.getShort();
-                        PlotId id = PlotId.of(plotX, plotZ);
-                        int x = quitWorld.getInt();
-                        int y = quitWorld.get() & 0xFF;
-                        int z = quitWorld.getInt();
-                        Plot plot = area.getOwnedPlot(id);
-
-                        if (plot == null) {
-                            return;
-                        }
-
-                        final Location location = Location.at(plot.getWorldName(), x, y, z);
-                        if (plot.isLoaded()) {
-                            TaskManager.runTask(() -> {
+                    applyPersistentMeta(value);
+                }
+            });
+        }
+    }
+
+    private void applyPersistentMeta(final Map<String, byte[]> value) {
+        try {
+            this.metaMap = value;
+            if (value.isEmpty()) {
+                return;
+            }
+
+            if (this.getAttribute("debug")) {
+                debugModeEnabled.add(this);
+            }
+
+            if (!Settings.Teleport.ON_LOGIN) {
+                return;
+            }
+            PlotAreaManager manager = this.plotAreaManager;
+
+            if (!(manager instanceof SinglePlotAreaManager)) {
+                return;
+            }
+            PlotArea area = ((SinglePlotAreaManager) manager).getArea();
+            byte[] arr = this.getPersistentMeta("quitLoc");
+            if (arr == null) {
+                return;
+            }
+            removePersistentMeta("quitLoc");
+
+            if (!getMeta("teleportOnLogin", true)) {
+                return;
+            }
+            ByteBuffer quitWorld = ByteBuffer.wrap(arr);
+            final int plotX = quitWorld.getShort();
+            final int plotZ = quitWorld.getShort();
+            PlotId id = PlotId.of(plotX, plotZ);
+            int x = quitWorld.getInt();
+            int y = quitWorld.get() & 0xFF;
+            int z = quitWorld.getInt();
+            Plot plot = area.getOwnedPlot(id);
+
+            if (plot == null) {
+                return;
+            }
+
+            final Location location = Location.at(plot.getWorldName(), x, y, z);
+            if (plot.isLoaded()) {
+                TaskManager.runTask(() -> {
+                    if (getMeta("teleportOnLogin", true)) {
+                        teleport(location, TeleportCause.LOGIN);
+                        sendMessage(
+                                TranslatableCaption.of("teleport.teleported_to_plot"));
+                    }
+                });
+            } else if (!PlotSquared.get().isMainThread(Thread.currentThread())) {
+                if (getMeta("teleportOnLogin", true)) {
+                    plot.teleportPlayer(
+                            this,
+                            result -> TaskManager.runTask(() -> {
                                 if (getMeta("teleportOnLogin", true)) {
-                                    teleport(location, TeleportCause.LOGIN);
-                                    sendMessage(
-                                            TranslatableCaption.of("teleport.teleported_to_plot"));
+                                    if (plot.isLoaded()) {
+                                        teleport(location, TeleportCause.LOGIN);
+                                        sendMessage(TranslatableCaption
+                                                .of("teleport.teleported_to_plot"));
+                                    }
                                 }
-                            });
-                        } else if (!PlotSquared.get().isMainThread(Thread.currentThread())) {
-                            if (getMeta("teleportOnLogin", true)) {
-                                plot.teleportPlayer(
-                                        PlotPlayer.this,
-                                        result -> TaskManager.runTask(() -> {
-                                            if (getMeta("teleportOnLogin", true)) {
-                                                if (plot.isLoaded()) {
-                                                    teleport(location, TeleportCause.LOGIN);
-                                                    sendMessage(TranslatableCaption
-                                                            .of("teleport.teleported_to_plot"));
-                                                }
-                                            }
-                                        })
-                                );
-                            }
-                        }
-                    } catch (Throwable e) {
-                        e.printStackTrace();
-                    }
+                            })
+                    );
                 }
-            });
+            }
+        } catch (Throwable e) {
+            e.printStackTrace();
         }
     }
 
@@ -0,0 +1,374 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.database.DBFunc;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Spatial index of the clusters in a plot area, in plot id coordinates. The index is an immutable, bulk loaded R-tree
+ * that is replaced as a whole on every change: lookups never lock and are safe from any thread, updates are
+ * serialised. Clusters are rarely created, resized or given new helpers, so rebuilding on change is cheap compared
+ * to the lookups it speeds up.
+ * <p>
+ * Bounds, owners and helpers are captured when a cluster is indexed. {@link #update(PlotCluster)} has to be called
+ * after changing any of them, see {@link PlotCluster#reindex()}.
+ *
+ * @since 7.5.5
+ */
+public final class ClusterIndex {
+
+    private static final int NODE_SIZE = 16;
+
+    private volatile Snapshot snapshot = Snapshot.build(new PlotCluster[0]);
+
+    /**
+     * Add a cluster to the index. Adding a cluster that is already indexed has no effect.
+     *
+     * @param cluster Cluster to add
+     */
+    public void add(final @NonNull PlotCluster cluster) {
+        addAll(Collections.singletonList(cluster));
+    }
+
+    /**
+     * Add clusters to the index, rebuilding it once.
+     *
+     * @param clusters Clusters to add
+     */
+    public synchronized void addAll(final @NonNull Collection<PlotCluster> clusters) {
+        final PlotCluster[] current = this.snapshot.clusters;
+        final Set<PlotCluster> indexed = Collections.newSetFromMap(new IdentityHashMap<>());
+        indexed.addAll(Arrays.asList(current));
+        final List<PlotCluster> updated = new ArrayList<>(current.length + clusters.size());
+        updated.addAll(Arrays.asList(current));
+        for (final PlotCluster cluster : clusters) {
+            if (indexed.add(cluster)) {
+                updated.add(cluster);
+            }
+        }
+        if (updated.size() != current.length) {
+            this.snapshot = Snapshot.build(updated.toArray(new PlotCluster[0]));
+        }
+    }
+
+    /**
+     * Remove a cluster from the index.
+     *
+     * @param cluster Cluster to remove
+     * @return {@code true} if the cluster was indexed
+     */
+    public synchronized boolean remove(final @NonNull PlotCluster cluster) {
+        final PlotCluster[] current = this.snapshot.clusters;
+        final int index = indexOf(current, cluster);
+        if (index == -1) {
+            return false;
+        }
+        final PlotCluster[] updated = new PlotCluster[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, updated.length - index);
+        this.snapshot = Snapshot.build(updated);
+        return true;
+    }
+
+    /**
+     * Re-index a cluster after its bounds, owner or helpers changed. Clusters that are not indexed are ignored.
+     *
+     * @param cluster Cluster to re-index
+     */
+    public synchronized void update(final @NonNull PlotCluster cluster) {
+        final PlotCluster[] current = this.snapshot.clusters;
+        if (indexOf(current, cluster) != -1) {
+            this.snapshot = Snapshot.build(current);
+        }
+    }
+
+    private static int indexOf(final PlotCluster @NonNull [] clusters, final @NonNull PlotCluster cluster) {
+        // Cluster equality depends on the mutable bounds, only identity is reliable here
+        for (int i = 0; i < clusters.length; i++) {
+            if (clusters[i] == cluster) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the cluster containing a plot id.
+     *
+     * @param x Plot id x
+     * @param y Plot id y
+     * @return cluster, or {@code null} if the id is not part of a cluster
+     */
+    public @Nullable PlotCluster get(final int x, final int y) {
+        return this.snapshot.first(x, y, x, y);
+    }
+
+    /**
+     * Get a cluster intersecting a rectangle of plot ids.
+     *
+     * @param pos1 Bottom corner
+     * @param pos2 Top corner
+     * @return any intersecting cluster, or {@code null} if there is none
+     */
+    public @Nullable PlotCluster getFirstIntersecting(final @NonNull PlotId pos1, final @NonNull PlotId pos2) {
+        return this.snapshot.first(pos1.getX(), pos1.getY(), pos2.getX(), pos2.getY());
+    }
+
+    /**
+     * Get all clusters intersecting a rectangle of plot ids.
+     *
+     * @param pos1 Bottom corner
+     * @param pos2 Top corner
+     * @return intersecting clusters
+     */
+    public @NonNull List<PlotCluster> getIntersecting(final @NonNull PlotId pos1, final @NonNull PlotId pos2) {
+        final List<PlotCluster> result = new ArrayList<>();
+        this.snapshot.collect(pos1.getX(), pos1.getY(), pos2.getX(), pos2.getY(), result);
+        return result;
+    }
+
+    /**
+     * Get the clusters owned by a player.
+     *
+     * @param owner Owner UUID
+     * @return owned clusters
+     */
+    public @NonNull List<PlotCluster> getOwnedBy(final @NonNull UUID owner) {
+        return this.snapshot.owners.getOrDefault(owner, Collections.emptyList());
+    }
+
+    /**
+     * Get the clusters a player has helper rights in, either as owner or as helper.
+     *
+     * @param uuid Player UUID
+     * @return clusters the player may manage
+     * @see PlotCluster#hasHelperRights(UUID)
+     */
+    public @NonNull List<PlotCluster> getWithHelperRights(final @NonNull UUID uuid) {
+        final Snapshot snapshot = this.snapshot;
+        final Set<PlotCluster> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        result.addAll(snapshot.owners.getOrDefault(uuid, Collections.emptyList()));
+        result.addAll(snapshot.helpers.getOrDefault(uuid, Collections.emptyList()));
+        result.addAll(snapshot.helpers.getOrDefault(DBFunc.EVERYONE, Collections.emptyList()));
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Get all indexed clusters, in the order they were added.
+     *
+     * @return unmodifiable list of clusters
+     */
+    public @NonNull List<PlotCluster> getAll() {
+        return Collections.unmodifiableList(Arrays.asList(this.snapshot.clusters));
+    }
+
+    /**
+     * Get the number of indexed clusters.
+     *
+     * @return index size
+     */
+    public int size() {
+        return this.snapshot.clusters.length;
+    }
+
+    /**
+     * Packed R-tree over cluster bounds. Level {@code 0} holds the clusters themselves, node {@code i} on level
+     * {@code n} covers nodes {@code i * NODE_SIZE} up to {@code (i + 1) * NODE_SIZE} on level {@code n - 1}, and the
+     * last level holds the root.
+     */
+    private static final class Snapshot {
+
+        private final PlotCluster[] clusters;
+        private final PlotCluster[] entries;
+        private final int[][] minX;
+        private final int[][] minY;
+        private final int[][] maxX;
+        private final int[][] maxY;
+        private final Map<UUID, List<PlotCluster>> owners;
+        private final Map<UUID, List<PlotCluster>> helpers;
+
+        private Snapshot(
+                final PlotCluster[] clusters, final PlotCluster[] entries, final List<int[][]> levels,
+                final Map<UUID, List<PlotCluster>> owners, final Map<UUID, List<PlotCluster>> helpers
+        ) {
+            this.clusters = clusters;
+            this.entries = entries;
+            final int depth = levels.size();
+            this.minX = new int[depth][];
+            this.minY = new int[depth][];
+            this.maxX = new int[depth][];
+            this.maxY = new int[depth][];
+            for (int level = 0; level < depth; level++) {
+                final int[][] bounds = levels.get(level);
+                this.minX[level] = bounds[0];
+                this.minY[level] = bounds[1];
+                this.maxX[level] = bounds[2];
+                this.maxY[level] = bounds[3];
+            }
+            this.owners = owners;
+            this.helpers = helpers;
+        }
+
+        private static Snapshot build(final PlotCluster[] clusters) {
+            final int count = clusters.length;
+            final int[][] bounds = new int[count][];
+            final Map<PlotCluster, int[]> boundsByCluster = new IdentityHashMap<>(count);
+            final Map<UUID, List<PlotCluster>> owners = new HashMap<>();
+            final Map<UUID, List<PlotCluster>> helpers = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                final PlotCluster cluster = clusters[i];
+                final PlotId pos1 = cluster.getP1();
+                final PlotId pos2 = cluster.getP2();
+                bounds[i] = new int[]{Math.min(pos1.getX(), pos2.getX()), Math.min(pos1.getY(), pos2.getY()),
+                        Math.max(pos1.getX(), pos2.getX()), Math.max(pos1.getY(), pos2.getY())};
+                boundsByCluster.put(cluster, bounds[i]);
+                if (cluster.owner != null) {
+                    owners.computeIfAbsent(cluster.owner, k -> new ArrayList<>()).add(cluster);
+                }
+                for (final UUID helper : cluster.helpers) {
+                    helpers.computeIfAbsent(helper, k -> new ArrayList<>()).add(cluster);
+                }
+            }
+            // Sort-tile-recursive packing: vertical slices by x, then by y within each slice
+            final PlotCluster[] entries = clusters.clone();
+            final Comparator<PlotCluster> byX = Comparator.comparingLong(cluster -> center(boundsByCluster.get(cluster), 0));
+            final Comparator<PlotCluster> byY = Comparator.comparingLong(cluster -> center(boundsByCluster.get(cluster), 1));
+            Arrays.sort(entries, byX);
+            final int leaves = (count + NODE_SIZE - 1) / NODE_SIZE;
+            final int sliceSize = (int) Math.ceil(Math.sqrt(leaves)) * NODE_SIZE;
+            for (int from = 0; from < count; from += sliceSize) {
+                Arrays.sort(entries, from, Math.min(from + sliceSize, count), byY);
+            }
+            final List<int[][]> levels = new ArrayList<>();
+            int[][] level = new int[4][count];
+            for (int i = 0; i < count; i++) {
+                final int[] entry = boundsByCluster.get(entries[i]);
+                for (int j = 0; j < 4; j++) {
+                    level[j][i] = entry[j];
+                }
+            }
+            levels.add(level);
+            while (level[0].length > 1) {
+                final int size = level[0].length;
+                final int[][] parent = new int[4][(size + NODE_SIZE - 1) / NODE_SIZE];
+                for (int node = 0; node < parent[0].length; node++) {
+                    final int from = node * NODE_SIZE;
+                    final int to = Math.min(from + NODE_SIZE, size);
+                    parent[0][node] = Integer.MAX_VALUE;
+                    parent[1][node] = Integer.MAX_VALUE;
+                    parent[2][node] = Integer.MIN_VALUE;
+                    parent[3][node] = Integer.MIN_VALUE;
+                    for (int child = from; child < to; child++) {
+                        parent[0][node] = Math.min(parent[0][node], level[0][child]);
+                        parent[1][node] = Math.min(parent[1][node], level[1][child]);
+                        parent[2][node] = Math.max(parent[2][node], level[2][child]);
+                        parent[3][node] = Math.max(parent[3][node], level[3][child]);
+                    }
+                }
+                levels.add(parent);
+                level = parent;
+            }
+            return new Snapshot(clusters, entries, levels, freeze(owners), freeze(helpers));
+        }
+
+        private static long center(final int[] bounds, final int axis) {
+            return (long) bounds[axis] + bounds[axis + 2];
+        }
+
+        private static Map<UUID, List<PlotCluster>> freeze(final Map<UUID, List<PlotCluster>> map) {
+            final Map<UUID, List<PlotCluster>> frozen = new HashMap<>(map.size() * 2);
+            for (final Map.Entry<UUID, List<PlotCluster>> entry : map.entrySet()) {
+                frozen.put(entry.getKey(), List.copyOf(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(frozen);
+        }
+
+        private boolean intersects(final int level, final int node, final int x1, final int y1, final int x2, final int y2) {
+            return this.minX[level][node] <= x2 && this.maxX[level][node] >= x1
+                    && this.minY[level][node] <= y2 && this.maxY[level][node] >= y1;
+        }
+
+        private @Nullable PlotCluster first(final int x1, final int y1, final int x2, final int y2) {
+            if (this.entries.length == 0) {
+                return null;
+            }
+            return first(this.minX.length - 1, 0, x1, y1, x2, y2);
+        }
+
+        private @Nullable PlotCluster first(
+                final int level, final int node, final int x1, final int y1, final int x2, final int y2
+        ) {
+            if (!intersects(level, node, x1, y1, x2, y2)) {
+                return null;
+            }
+            if (level == 0) {
+                return this.entries[node];
+            }
+            final int from = node * NODE_SIZE;
+            final int to = Math.min(from + NODE_SIZE, this.minX[level - 1].length);
+            for (int child = from; child < to; child++) {
+                final PlotCluster cluster = first(level - 1, child, x1, y1, x2, y2);
+                if (cluster != null) {
+                    return cluster;
+                }
+            }
+            return null;
+        }
+
+        private void collect(final int x1, final int y1, final int x2, final int y2, final List<PlotCluster> result) {
+            if (this.entries.length != 0) {
+                collect(this.minX.length - 1, 0, x1, y1, x2, y2, result);
+            }
+        }
+
+        private void collect(
+                final int level, final int node, final int x1, final int y1, final int x2, final int y2,
+                final List<PlotCluster> result
+        ) {
+            if (!intersects(level, node, x1, y1, x2, y2)) {
+                return;
+            }
+            if (level == 0) {
+                result.add(this.entries[node]);
+                return;
+            }
+            final int from = node * NODE_SIZE;
+            final int to = Math.min(from + NODE_SIZE, this.minX[level - 1].length);
+            for (int child = from; child < to; child++) {
+                collect(level - 1, child, x1, y1, x2, y2, result);
+            }
+        }
+
+    }
+
+}
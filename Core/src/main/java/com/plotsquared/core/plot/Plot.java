@@ -20,7 +20,6 @@ package com.plotsquared.core.plot;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.command.Like;
 import com.plotsquared.core.configuration.Settings;
@@ -33,7 +32,6 @@ import com.plotsquared.core.events.PlayerTeleportToPlotEvent;
 import com.plotsquared.core.events.Result;
 import com.plotsquared.core.events.TeleportCause;
 import com.plotsquared.core.generator.ClassicPlotWorld;
-import com.plotsquared.core.listener.PlotListener;
 import com.plotsquared.core.location.BlockLoc;
 import com.plotsquared.core.location.Direction;
 import com.plotsquared.core.location.Location;
@@ -55,6 +53,7 @@ import com.plotsquared.core.plot.world.SinglePlotArea;
 import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.MathMan;
+import com.plotsquared.core.util.PlayerGrid;
 import com.plotsquared.core.util.PlayerManager;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.RegionUtil;
@@ -100,6 +99,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
 import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
@@ -130,17 +130,17 @@ public class Plot {
     }
 
     /**
-     * Plot flag container
+     * Plot flag container, created when first needed. Plots without flags read through to their area's container.
      */
-    private final FlagContainer flagContainer = new FlagContainer(null);
+    private volatile FlagContainer flagContainer;
     /**
-     * Utility used to manage plot comments
+     * Utility used to manage plot comments, created when first needed
      */
-    private final PlotCommentContainer plotCommentContainer = new PlotCommentContainer(this);
+    private PlotCommentContainer plotCommentContainer;
     /**
-     * Utility used to modify the plot
+     * Utility used to modify the plot, created when first needed
      */
-    private final PlotModificationManager plotModificationManager = new SquarePlotModificationManager(this);
+    private PlotModificationManager plotModificationManager;
     /**
      * Represents whatever the database manager needs it to: <br>
      * - A value of -1 usually indicates the plot will not be stored in the DB<br>
@@ -170,17 +170,6 @@ public class Plot {
     PlotSettings settings;
     @NonNull
     private PlotId id;
-    // These will be injected
-    @Inject
-    private EventDispatcher eventDispatcher;
-    @Inject
-    private PlotListener plotListener;
-    @Inject
-    private RegionManager regionManager;
-    @Inject
-    private WorldUtil worldUtil;
-    @Inject
-    private SchematicHandler schematicHandler;
     /**
      * plot owner
      * (Merged plots can have multiple owners)
@@ -259,11 +248,6 @@ public class Plot {
         this.id = id;
         this.owner = owner;
         this.temp = temp;
-        this.flagContainer.setParentContainer(area.getFlagContainer());
-        PlotSquared.platform().injector().injectMembers(this);
-        // This is needed, because otherwise the Plot, the FlagContainer and its
-        // `this::handleUnknown` PlotFlagUpdateHandler won't get cleaned up ever
-        CLEANER.register(this, this.flagContainer.createCleanupHook());
     }
 
     /**
@@ -303,24 +287,35 @@ public class Plot {
         this.id = id;
         this.area = area;
         this.owner = owner;
-        this.settings = new PlotSettings();
-        this.members = members;
-        this.trusted = trusted;
-        this.denied = denied;
-        this.settings.setAlias(alias);
-        this.settings.setPosition(position);
-        this.settings.setMerged(merged);
+        // Most plots have no players added, so empty sets are not kept
+        this.members = members == null || members.isEmpty() ? null : members;
+        this.trusted = trusted == null || trusted.isEmpty() ? null : trusted;
+        this.denied = denied == null || denied.isEmpty() ? null : denied;
+        if ((alias != null && !alias.isEmpty()) || position != null || isAnyMerged(merged)) {
+            this.settings = new PlotSettings();
+            this.settings.setAlias(alias);
+            this.settings.setPosition(position);
+            this.settings.setMerged(merged);
+        }
         this.timestamp = timestamp;
         this.temp = temp;
-        if (area != null) {
-            this.flagContainer.setParentContainer(area.getFlagContainer());
-            if (flags != null) {
-                for (PlotFlag<?, ?> flag : flags) {
-                    this.flagContainer.addFlag(flag);
+        if (area != null && flags != null && !flags.isEmpty()) {
+            final FlagContainer container = this.getFlagContainer();
+            for (PlotFlag<?, ?> flag : flags) {
+                container.addFlag(flag);
+            }
+        }
+    }
+
+    private static boolean isAnyMerged(final boolean @Nullable [] merged) {
+        if (merged != null) {
+            for (final boolean direction : merged) {
+                if (direction) {
+                    return true;
                 }
             }
         }
-        PlotSquared.platform().injector().injectMembers(this);
+        return false;
     }
 
     /**
@@ -471,7 +466,11 @@ public class Plot {
      * @param owner The new owner of this particular sub-plot.
      */
     public void setOwnerAbs(final @Nullable UUID owner) {
+        final UUID previous = this.owner;
         this.owner = owner;
+        if (!Objects.equals(previous, owner) && this.area != null && this.area.isRegistered(this)) {
+            PlotOwnerIndex.getInstance().changeOwner(this, previous);
+        }
     }
 
     /**
@@ -546,10 +545,19 @@ public class Plot {
      * @return list of PlotPlayer(s) or an empty list
      */
     public @NonNull List<PlotPlayer<?>> getPlayersInPlot() {
+        final PlayerGrid<? extends PlotPlayer<?>> grid = PlotSquared.platform().playerManager().getPlayerGrid();
         final List<PlotPlayer<?>> players = new ArrayList<>();
-        for (final PlotPlayer<?> player : PlotSquared.platform().playerManager().getPlayers()) {
-            if (this.equals(player.getCurrentPlot())) {
-                players.add(player);
+        for (final CuboidRegion region : this.getRegions()) {
+            for (final PlotPlayer<?> player : grid.getPlayersInArea(
+                    this.getWorldName(),
+                    region.getMinimumPoint().getX(),
+                    region.getMinimumPoint().getZ(),
+                    region.getMaximumPoint().getX(),
+                    region.getMaximumPoint().getZ()
+            )) {
+                if (this.equals(player.getCurrentPlot())) {
+                    players.add(player);
+                }
             }
         }
         return players;
@@ -619,6 +627,48 @@ public class Plot {
         return this.getOwnerAbs();
     }
 
+    /**
+     * Deny a player from this exact sub-plot. This does not update the database.
+     *
+     * @param uuid the uuid of the player to deny
+     * @return {@code true} if the player was not denied yet
+     * @since 7.5.5
+     */
+    public boolean addDeniedAbs(final @NonNull UUID uuid) {
+        if (this.denied == null) {
+            this.denied = new HashSet<>();
+        }
+        return this.denied.add(uuid);
+    }
+
+    /**
+     * Trust a player on this exact sub-plot. This does not update the database.
+     *
+     * @param uuid the uuid of the player to trust
+     * @return {@code true} if the player was not trusted yet
+     * @since 7.5.5
+     */
+    public boolean addTrustedAbs(final @NonNull UUID uuid) {
+        if (this.trusted == null) {
+            this.trusted = new HashSet<>();
+        }
+        return this.trusted.add(uuid);
+    }
+
+    /**
+     * Add a member to this exact sub-plot. This does not update the database.
+     *
+     * @param uuid the uuid of the player to add as a member
+     * @return {@code true} if the player was not a member yet
+     * @since 7.5.5
+     */
+    public boolean addMemberAbs(final @NonNull UUID uuid) {
+        if (this.members == null) {
+            this.members = new HashSet<>();
+        }
+        return this.members.add(uuid);
+    }
+
     /**
      * Sets the plot owner (and update the database)
      *
@@ -671,24 +721,28 @@ public class Plot {
      * @return {@code true} if the player is added/trusted or is the owner, else {@code false}
      */
     public boolean isAdded(final @NonNull UUID uuid) {
-        if (!this.hasOwner() || getDenied().contains(uuid)) {
+        if (!this.hasOwner() || contains(this.denied, uuid)) {
             return false;
         }
         if (isOwner(uuid)) {
             return true;
         }
-        if (getMembers().contains(uuid)) {
+        if (contains(this.members, uuid)) {
             return isOnline();
         }
-        if (getTrusted().contains(uuid) || getTrusted().contains(DBFunc.EVERYONE)) {
+        if (contains(this.trusted, uuid) || contains(this.trusted, DBFunc.EVERYONE)) {
             return true;
         }
-        if (getMembers().contains(DBFunc.EVERYONE)) {
+        if (contains(this.members, DBFunc.EVERYONE)) {
             return isOnline();
         }
         return false;
     }
 
+    private static boolean contains(final @Nullable Set<UUID> players, final @NonNull UUID uuid) {
+        return players != null && players.contains(uuid);
+    }
+
     /**
      * Checks if the player is not permitted on this plot.
      *
@@ -746,7 +800,10 @@ public class Plot {
         }
         this.area = area;
         area.addPlot(this);
-        this.flagContainer.setParentContainer(area.getFlagContainer());
+        final FlagContainer container = this.flagContainer;
+        if (container != null) {
+            container.setParentContainer(area.getFlagContainer());
+        }
     }
 
     /**
@@ -771,6 +828,15 @@ public class Plot {
         return this.settings;
     }
 
+    /**
+     * Get the settings of this plot without creating them if they do not exist yet.
+     *
+     * @return plot settings, or {@code null} if none have been created
+     */
+    @Nullable PlotSettings peekSettings() {
+        return this.settings;
+    }
+
     /**
      * Returns true if the plot is not merged, or it is the base
      * plot of multiple merged plots.
@@ -822,7 +888,7 @@ public class Plot {
      * @return {@code true} if this plot is merged, otherwise {@code false}
      */
     public boolean isMerged() {
-        return getSettings().getMerged(0) || getSettings().getMerged(2) || getSettings().getMerged(1) || getSettings().getMerged(3);
+        return this.settings != null && this.settings.isMerged();
     }
 
     /**
@@ -859,7 +925,8 @@ public class Plot {
      * @return {@code true} if merged in that direction, else {@code false}
      */
     public boolean isMerged(final int dir) {
-        if (this.settings == null) {
+        final PlotSettings settings = this.settings;
+        if (settings == null) {
             return false;
         }
         switch (dir) {
@@ -867,12 +934,12 @@ public class Plot {
             case 1:
             case 2:
             case 3:
-                return this.getSettings().getMerged(dir);
+                return settings.getMerged(dir);
             case 7:
                 int i = dir - 4;
                 int i2 = 0;
-                if (this.getSettings().getMerged(i2)) {
-                    if (this.getSettings().getMerged(i)) {
+                if (settings.getMerged(i2)) {
+                    if (settings.getMerged(i)) {
                         if (Objects.requireNonNull(
                                 this.area.getPlotAbs(this.id.getRelative(Direction.getFromIndex(i)))).isMerged(i2)) {
                             return Objects.requireNonNull(this.area
@@ -886,7 +953,7 @@ public class Plot {
             case 6:
                 i = dir - 4;
                 i2 = dir - 3;
-                return this.getSettings().getMerged(i2) && this.getSettings().getMerged(i) && Objects
+                return settings.getMerged(i2) && settings.getMerged(i) && Objects
                         .requireNonNull(
                                 this.area.getPlotAbs(this.id.getRelative(Direction.getFromIndex(i)))).isMerged(i2) && Objects
                         .requireNonNull(
@@ -903,7 +970,7 @@ public class Plot {
      */
     public @NonNull HashSet<UUID> getDenied() {
         if (this.denied == null) {
-            this.denied = new HashSet<>();
+            return new PlayerSet(players -> this.denied = players, () -> this.denied);
         }
         return this.denied;
     }
@@ -944,7 +1011,7 @@ public class Plot {
      */
     public @NonNull HashSet<UUID> getTrusted() {
         if (this.trusted == null) {
-            this.trusted = new HashSet<>();
+            return new PlayerSet(players -> this.trusted = players, () -> this.trusted);
         }
         return this.trusted;
     }
@@ -976,7 +1043,7 @@ public class Plot {
      */
     public @NonNull HashSet<UUID> getMembers() {
         if (this.members == null) {
-            this.members = new HashSet<>();
+            return new PlayerSet(players -> this.members = players, () -> this.members);
         }
         return this.members;
     }
@@ -1008,7 +1075,7 @@ public class Plot {
      */
     public void addDenied(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
-            if (current.getDenied().add(uuid)) {
+            if (current.addDeniedAbs(uuid)) {
                 DBFunc.setDenied(current, uuid);
             }
         }
@@ -1021,7 +1088,7 @@ public class Plot {
      */
     public void addTrusted(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
-            if (current.getTrusted().add(uuid)) {
+            if (current.addTrustedAbs(uuid)) {
                 DBFunc.setTrusted(current, uuid);
             }
         }
@@ -1034,7 +1101,7 @@ public class Plot {
      */
     public void addMember(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
-            if (current.getMembers().add(uuid)) {
+            if (current.addMemberAbs(uuid)) {
                 DBFunc.setMember(current, uuid);
             }
         }
@@ -1070,7 +1137,7 @@ public class Plot {
     }
 
     public boolean isLoaded() {
-        return this.worldUtil.isWorld(getWorldName());
+        return PlotSquared.platform().worldUtil().isWorld(getWorldName());
     }
 
     /**
@@ -1089,7 +1156,8 @@ public class Plot {
      * @return Immutable set containing the flags associated with the plot
      */
     public Set<PlotFlag<?, ?>> getFlags() {
-        return ImmutableSet.copyOf(flagContainer.getFlagMap().values());
+        final FlagContainer container = this.flagContainer;
+        return container == null ? ImmutableSet.of() : ImmutableSet.copyOf(container.getFlagMap().values());
     }
 
     /**
@@ -1155,7 +1223,11 @@ public class Plot {
             final Map<Class<?>, PlotFlag<?, ?>> flagMap = getArea().getFlagContainer().getFlagMap();
             flags.putAll(flagMap);
         }
-        final Map<Class<?>, PlotFlag<?, ?>> flagMap = getFlagContainer().getFlagMap();
+        final FlagContainer container = this.flagContainer;
+        if (container == null) {
+            return flags.values();
+        }
+        final Map<Class<?>, PlotFlag<?, ?>> flagMap = container.getFlagMap();
         if (ignorePluginFlags) {
             for (final PlotFlag<?, ?> flag : flagMap.values()) {
                 if (flag instanceof InternalFlag) {
@@ -1211,7 +1283,7 @@ public class Plot {
     public int[] countEntities() {
         int[] count = new int[6];
         for (Plot current : this.getConnectedPlots()) {
-            int[] result = this.regionManager.countEntities(current);
+            int[] result = PlotSquared.platform().regionManager().countEntities(current);
             count[CAP_ENTITY] += result[CAP_ENTITY];
             count[CAP_ANIMAL] += result[CAP_ANIMAL];
             count[CAP_MONSTER] += result[CAP_MONSTER];
@@ -1278,7 +1350,7 @@ public class Plot {
         for (Plot current : getConnectedPlots()) {
             List<PlotPlayer<?>> players = current.getPlayersInPlot();
             for (PlotPlayer<?> pp : players) {
-                this.plotListener.plotExit(pp, current);
+                PlotSquared.get().getPlotListener().plotExit(pp, current);
             }
 
             if (Settings.Backup.DELETE_ON_UNCLAIM) {
@@ -1292,7 +1364,7 @@ public class Plot {
             current.settings = null;
             current.clearCache();
             for (final PlotPlayer<?> pp : players) {
-                this.plotListener.plotEntry(pp, current);
+                PlotSquared.get().getPlotListener().plotEntry(pp, current);
             }
         }
         return true;
@@ -1308,7 +1380,7 @@ public class Plot {
                 MathMan.average(bot.getY(), top.getY()),
                 MathMan.average(bot.getZ(), top.getZ())
         );
-        this.worldUtil.getHighestBlock(getWorldName(), location.getX(), location.getZ(), y -> {
+        PlotSquared.platform().worldUtil().getHighestBlock(getWorldName(), location.getX(), location.getZ(), y -> {
             int height = y;
             if (area.allowSigns()) {
                 height = Math.max(y, getManager().getSignLoc(this).getY());
@@ -1340,7 +1412,7 @@ public class Plot {
                 MathMan.average(bot.getY(), top.getY()),
                 MathMan.average(bot.getZ(), top.getZ())
         );
-        int y = this.worldUtil.getHighestBlockSynchronous(getWorldName(), location.getX(), location.getZ());
+        int y = PlotSquared.platform().worldUtil().getHighestBlockSynchronous(getWorldName(), location.getX(), location.getZ());
         if (area.allowSigns()) {
             y = Math.max(y, getManager().getSignLoc(this).getY());
         }
@@ -1359,7 +1431,7 @@ public class Plot {
                 .getX();
         int z = largest.getMinimumPoint().getZ() - 1;
         PlotManager manager = getManager();
-        int y = isLoaded() ? this.worldUtil.getHighestBlockSynchronous(getWorldName(), x, z) : 62;
+        int y = isLoaded() ? PlotSquared.platform().worldUtil().getHighestBlockSynchronous(getWorldName(), x, z) : 62;
         if (area.allowSigns() && (y <= area.getMinGenHeight() || y >= area.getMaxGenHeight())) {
             y = Math.max(y, manager.getSignLoc(this).getY() - 1);
         }
@@ -1374,7 +1446,7 @@ public class Plot {
         int z = largest.getMinimumPoint().getZ() - 1;
         PlotManager manager = getManager();
         if (isLoaded()) {
-            this.worldUtil.getHighestBlock(getWorldName(), x, z, y -> {
+            PlotSquared.platform().worldUtil().getHighestBlock(getWorldName(), x, z, y -> {
                 int height = y;
                 if (area.allowSigns() && (y <= area.getMinGenHeight() || y >= area.getMaxGenHeight())) {
                     height = Math.max(y, manager.getSignLoc(this).getY() - 1);
@@ -1410,12 +1482,12 @@ public class Plot {
                 );
             }
             Location location = toHomeLocation(bottom, home);
-            if (Settings.Teleport.SIZED_BASED && this.worldUtil.isSmallBlock(location) && this.worldUtil.isSmallBlock(location.add(0,1,0))) {
+            if (Settings.Teleport.SIZED_BASED && PlotSquared.platform().worldUtil().isSmallBlock(location) && PlotSquared.platform().worldUtil().isSmallBlock(location.add(0,1,0))) {
                 return location;
             }
-            if (!this.worldUtil.getBlockSynchronous(location).getBlockType().getMaterial().isAir()) {
+            if (!PlotSquared.platform().worldUtil().getBlockSynchronous(location).getBlockType().getMaterial().isAir()) {
                 location = location.withY(
-                        Math.max(1 + this.worldUtil.getHighestBlockSynchronous(
+                        Math.max(1 + PlotSquared.platform().worldUtil().getHighestBlockSynchronous(
                                 this.getWorldName(),
                                 location.getX(),
                                 location.getZ()
@@ -1446,13 +1518,13 @@ public class Plot {
             }
             Location bottom = this.getBottomAbs();
             Location location = toHomeLocation(bottom, home);
-            if (Settings.Teleport.SIZED_BASED && this.worldUtil.isSmallBlock(location) && this.worldUtil.isSmallBlock(location.add(0,1,0))) {
+            if (Settings.Teleport.SIZED_BASED && PlotSquared.platform().worldUtil().isSmallBlock(location) && PlotSquared.platform().worldUtil().isSmallBlock(location.add(0,1,0))) {
                 result.accept(location);
             } else {
-                this.worldUtil.getBlock(location, block -> {
+                PlotSquared.platform().worldUtil().getBlock(location, block -> {
 
                     if (!block.getBlockType().getMaterial().isAir()) {
-                        this.worldUtil.getHighestBlock(this.getWorldName(), location.getX(), location.getZ(),
+                        PlotSquared.platform().worldUtil().getHighestBlock(this.getWorldName(), location.getX(), location.getZ(),
                                 y -> result.accept(location.withY(Math.max(1 + y, bottom.getY())))
                         );
                     } else {
@@ -1519,7 +1591,7 @@ public class Plot {
                 // center
                 if (getArea() instanceof SinglePlotArea) {
                     int y = loc.getY() == Integer.MIN_VALUE
-                            ? (isLoaded() ? this.worldUtil.getHighestBlockSynchronous(plot.getWorldName(), 0, 0) + 1 : 63)
+                            ? (isLoaded() ? PlotSquared.platform().worldUtil().getHighestBlockSynchronous(plot.getWorldName(), 0, 0) + 1 : 63)
                             : loc.getY();
                     return Location.at(plot.getWorldName(), 0, y, 0, 0, 0);
                 }
@@ -1537,12 +1609,12 @@ public class Plot {
                 z = bot.getZ() + loc.getZ();
             }
             int y = loc.getY() == Integer.MIN_VALUE
-                    ? (isLoaded() ? this.worldUtil.getHighestBlockSynchronous(plot.getWorldName(), x, z) + 1 : 63)
+                    ? (isLoaded() ? PlotSquared.platform().worldUtil().getHighestBlockSynchronous(plot.getWorldName(), x, z) + 1 : 63)
                     : loc.getY();
             return Location.at(plot.getWorldName(), x, y, z, loc.getYaw(), loc.getPitch());
         }
         if (getArea() instanceof SinglePlotArea) {
-            int y = isLoaded() ? this.worldUtil.getHighestBlockSynchronous(plot.getWorldName(), 0, 0) + 1 : 63;
+            int y = isLoaded() ? PlotSquared.platform().worldUtil().getHighestBlockSynchronous(plot.getWorldName(), 0, 0) + 1 : 63;
             return Location.at(plot.getWorldName(), 0, y, 0, 0, 0);
         }
         // Side
@@ -1586,7 +1658,7 @@ public class Plot {
             }
             if (loc.getY() == Integer.MIN_VALUE) {
                 if (isLoaded()) {
-                    this.worldUtil.getHighestBlock(
+                    PlotSquared.platform().worldUtil().getHighestBlock(
                             plot.getWorldName(),
                             x,
                             z,
@@ -1603,7 +1675,7 @@ public class Plot {
         }
         // Side
         if (getArea() instanceof SinglePlotArea) {
-            int y = isLoaded() ? this.worldUtil.getHighestBlockSynchronous(plot.getWorldName(), 0, 0) + 1 : 63;
+            int y = isLoaded() ? PlotSquared.platform().worldUtil().getHighestBlockSynchronous(plot.getWorldName(), 0, 0) + 1 : 63;
             result.accept(Location.at(plot.getWorldName(), 0, y, 0, 0, 0));
         }
         plot.getSide(result);
@@ -1624,9 +1696,11 @@ public class Plot {
      * @return average rating as double, {@link Double#NaN} of no ratings exist
      */
     public double getAverageRating() {
-        Collection<Rating> ratings = this.getRatings().values();
-        double sum = ratings.stream().mapToDouble(Rating::getAverageRating).sum();
-        return sum / ratings.size();
+        Plot base = this.getBasePlot(false);
+        if (!base.hasRatings()) {
+            return Double.NaN;
+        }
+        return base.settings.getRatingAggregate().getAverageRating();
     }
 
     /**
@@ -1644,7 +1718,9 @@ public class Plot {
             return false;
         }
         int aggregate = rating.getAggregate();
+        baseSettings.getRatingAggregate().add(aggregate);
         baseSettings.getRatings().put(uuid, aggregate);
+        RatingIndex.getInstance().update(base);
         DBFunc.setRating(base, uuid, aggregate);
         return true;
     }
@@ -1658,6 +1734,7 @@ public class Plot {
         if (baseSettings.getRatings() != null && !baseSettings.getRatings().isEmpty()) {
             DBFunc.deleteRatings(base);
             baseSettings.setRatings(null);
+            RatingIndex.getInstance().remove(base);
         }
     }
 
@@ -1688,7 +1765,7 @@ public class Plot {
 
     public boolean hasRatings() {
         Plot base = this.getBasePlot(false);
-        return base.settings != null && base.settings.getRatings() != null;
+        return base.settings != null && base.settings.hasRatings();
     }
 
     /**
@@ -1706,7 +1783,7 @@ public class Plot {
             final @NonNull PlotPlayer<?> player, boolean teleport, String schematic, boolean updateDB,
             boolean auto
     ) {
-        this.eventDispatcher.callPlotClaimedNotify(this, auto);
+        PlotSquared.get().getEventDispatcher().callPlotClaimedNotify(this, auto);
         if (updateDB) {
             if (!this.getPlotModificationManager().create(player.getUUID(), true)) {
                 LOGGER.error("Player {} attempted to claim plot {}, but the database failed to update", player.getName(),
@@ -1734,6 +1811,7 @@ public class Plot {
         }
         PlotArea plotworld = getArea();
         if (plotworld.isSchematicOnClaim()) {
+            final SchematicHandler schematicHandler = PlotSquared.platform().injector().getInstance(SchematicHandler.class);
             Schematic sch;
             try {
                 if (schematic == null || schematic.isEmpty()) {
@@ -1779,7 +1857,7 @@ public class Plot {
      * @param result consumer to pass biome to when found
      */
     public void getBiome(Consumer<BiomeType> result) {
-        this.getCenter(location -> this.worldUtil.getBiome(location.getWorldName(), location.getX(), location.getZ(), result));
+        this.getCenter(location -> PlotSquared.platform().worldUtil().getBiome(location.getWorldName(), location.getX(), location.getZ(), result));
     }
 
     //TODO Better documentation needed.
@@ -1791,7 +1869,7 @@ public class Plot {
     @Deprecated
     public BiomeType getBiomeSynchronous() {
         final Location location = this.getCenterSynchronous();
-        return this.worldUtil.getBiomeSynchronous(location.getWorldName(), location.getX(), location.getZ());
+        return PlotSquared.platform().worldUtil().getBiomeSynchronous(location.getWorldName(), location.getX(), location.getZ());
     }
 
     /**
@@ -1964,7 +2042,7 @@ public class Plot {
      * @return success or not
      */
     public boolean removeDenied(UUID uuid) {
-        if (uuid == DBFunc.EVERYONE && !denied.contains(uuid)) {
+        if (uuid == DBFunc.EVERYONE && (this.denied == null || !this.denied.contains(uuid))) {
             boolean result = false;
             for (UUID other : new HashSet<>(getDenied())) {
                 result = rmvDenied(other) || result;
@@ -1993,7 +2071,7 @@ public class Plot {
      * @return success or not
      */
     public boolean removeTrusted(UUID uuid) {
-        if (uuid == DBFunc.EVERYONE && !trusted.contains(uuid)) {
+        if (uuid == DBFunc.EVERYONE && (this.trusted == null || !this.trusted.contains(uuid))) {
             boolean result = false;
             for (UUID other : new HashSet<>(getTrusted())) {
                 result = rmvTrusted(other) || result;
@@ -2094,7 +2172,7 @@ public class Plot {
      */
     public void setAlias(String alias) {
         for (Plot current : this.getConnectedPlots()) {
-            String name = this.getSettings().getAlias();
+            String name = this.getAlias();
             if (alias == null) {
                 alias = "";
             }
@@ -2145,7 +2223,10 @@ public class Plot {
      * @return boolean [ north, east, south, west ]
      */
     public boolean[] getMerged() {
-        return this.getSettings().getMerged();
+        if (this.settings == null) {
+            return new boolean[4];
+        }
+        return this.settings.getMerged();
     }
 
     /**
@@ -2185,7 +2266,10 @@ public class Plot {
      * @return home location
      */
     public BlockLoc getPosition() {
-        return this.getSettings().getPosition();
+        if (this.settings == null) {
+            return BlockLoc.MINY;
+        }
+        return this.settings.getPosition();
     }
 
     /**
@@ -2228,11 +2312,11 @@ public class Plot {
                 flagContainer2.addAll(flagContainer1.getFlagMap().values());
             }
             if (!greater) {
-                this.flagContainer.clearLocal();
-                this.flagContainer.addAll(flagContainer2.getFlagMap().values());
+                flagContainer1.clearLocal();
+                flagContainer1.addAll(flagContainer2.getFlagMap().values());
             }
-            plot.flagContainer.clearLocal();
-            plot.flagContainer.addAll(this.flagContainer.getFlagMap().values());
+            flagContainer2.clearLocal();
+            flagContainer2.addAll(flagContainer1.getFlagMap().values());
         }
         if (!this.getAlias().isEmpty()) {
             plot.setAlias(this.getAlias());
@@ -2540,8 +2624,8 @@ public class Plot {
     public void reEnter() {
         TaskManager.runTaskLater(() -> {
             for (PlotPlayer<?> pp : Plot.this.getPlayersInPlot()) {
-                this.plotListener.plotExit(pp, Plot.this);
-                this.plotListener.plotEntry(pp, Plot.this);
+                PlotSquared.get().getPlotListener().plotExit(pp, Plot.this);
+                PlotSquared.get().getPlotListener().plotEntry(pp, Plot.this);
             }
         }, TaskTime.ticks(1L));
     }
@@ -2592,8 +2676,11 @@ public class Plot {
             return;
         }
 
-        PlayerTeleportToPlotEvent event = this.eventDispatcher.callTeleport(player, player.getLocation(), plot, cause);
-        if (event.getEventResult() == Result.DENY) {
+        final EventDispatcher eventDispatcher = PlotSquared.get().getEventDispatcher();
+        final PlayerTeleportToPlotEvent event = eventDispatcher.hasListeners(PlayerTeleportToPlotEvent.class)
+                ? eventDispatcher.callTeleport(player, player.getLocation(), plot, cause)
+                : null;
+        if (event != null && event.getEventResult() == Result.DENY) {
             player.sendMessage(
                     TranslatableCaption.of("events.event_denied"),
                     TagResolver.resolver("value", Tag.inserting(Component.text("Teleport")))
@@ -2603,7 +2690,7 @@ public class Plot {
         }
 
         final Consumer<Location> locationConsumer = calculatedLocation -> {
-            Location location = event.getLocationTransformer() == null ? calculatedLocation :
+            Location location = event == null || event.getLocationTransformer() == null ? calculatedLocation :
                     Objects.requireNonNullElse(event.getLocationTransformer().apply(calculatedLocation), calculatedLocation);
             if (Settings.Teleport.DELAY == 0 || player.hasPermission("plots.teleport.delay.bypass")) {
                 player.sendMessage(TranslatableCaption.of("teleport.teleported_to_plot"));
@@ -2629,10 +2716,21 @@ public class Plot {
             }, TaskTime.seconds(Settings.Teleport.DELAY));
             resultConsumer.accept(true);
         };
-        if (this.area.isHomeAllowNonmember() || plot.isAdded(player.getUUID())) {
-            this.getHome(locationConsumer);
+        final Runnable teleport = () -> {
+            if (this.area.isHomeAllowNonmember() || plot.isAdded(player.getUUID())) {
+                this.getHome(locationConsumer);
+            } else {
+                this.getDefaultHome(false, locationConsumer);
+            }
+        };
+        // Looking up the home would otherwise load the plot world synchronously
+        final CompletableFuture<Void> worldLoaded = this.area instanceof SinglePlotArea
+                ? ((SinglePlotArea) this.area).getWorldManager().preload(plot.getId())
+                : null;
+        if (worldLoaded == null || worldLoaded.isDone()) {
+            teleport.run();
         } else {
-            this.getDefaultHome(false, locationConsumer);
+            worldLoaded.whenComplete((ignored, throwable) -> TaskManager.runTask(teleport));
         }
     }
 
@@ -2716,11 +2814,11 @@ public class Plot {
                     lesserPlot.getPlotModificationManager().removeRoadSouth(queue);
                     Plot diagonal = greaterPlot.getRelative(Direction.EAST);
                     if (diagonal.isMerged(Direction.NORTHWEST)) {
-                        lesserPlot.plotModificationManager.removeRoadSouthEast(queue);
+                        lesserPlot.getPlotModificationManager().removeRoadSouthEast(queue);
                     }
                     Plot below = greaterPlot.getRelative(Direction.WEST);
                     if (below.isMerged(Direction.NORTHEAST)) {
-                        below.getRelative(Direction.NORTH).plotModificationManager.removeRoadSouthEast(queue);
+                        below.getRelative(Direction.NORTH).getPlotModificationManager().removeRoadSouthEast(queue);
                     }
                 }
             }
@@ -2740,9 +2838,9 @@ public class Plot {
                     //lesserPlot.removeSign();
                     Plot diagonal = greaterPlot.getRelative(Direction.SOUTH);
                     if (diagonal.isMerged(Direction.NORTHWEST)) {
-                        lesserPlot.plotModificationManager.removeRoadSouthEast(queue);
+                        lesserPlot.getPlotModificationManager().removeRoadSouthEast(queue);
                     }
-                    lesserPlot.plotModificationManager.removeRoadEast(queue);
+                    lesserPlot.getPlotModificationManager().removeRoadEast(queue);
                 }
                 Plot below = greaterPlot.getRelative(Direction.NORTH);
                 if (below.isMerged(Direction.SOUTHWEST)) {
@@ -2772,7 +2870,7 @@ public class Plot {
      * @return The flag value
      */
     public @NonNull <T> T getFlag(final @NonNull Class<? extends PlotFlag<T, ?>> flagClass) {
-        return this.flagContainer.getFlag(flagClass).getValue();
+        return this.getReadFlagContainer().getFlag(flagClass).getValue();
     }
 
     /**
@@ -2787,7 +2885,7 @@ public class Plot {
      */
     public @NonNull <T, V extends PlotFlag<T, ?>> T getFlag(final @NonNull V flag) {
         final Class<?> flagClass = flag.getClass();
-        final PlotFlag<?, ?> flagInstance = this.flagContainer.getFlagErased(flagClass);
+        final PlotFlag<?, ?> flagInstance = this.getReadFlagContainer().getFlagErased(flagClass);
         return FlagContainer.<T, V>castUnsafe(flagInstance).getValue();
     }
 
@@ -2976,14 +3074,10 @@ public class Plot {
      * @return Average ratings in each category
      */
     public @NonNull double[] getAverageRatings() {
-        Map<UUID, Integer> rating;
-        if (this.getSettings().getRatings() != null) {
-            rating = this.getSettings().getRatings();
-        } else if (Settings.Enabled_Components.RATING_CACHE) {
-            rating = new HashMap<>();
-        } else {
-            rating = DBFunc.getRatings(this);
-        }
+        final PlotSettings settings = this.settings;
+        final Map<UUID, Integer> rating = settings == null || !settings.hasRatings()
+                ? Collections.emptyMap()
+                : settings.getRatings();
         int size = 1;
         if (!Settings.Ratings.CATEGORIES.isEmpty()) {
             size = Math.max(1, Settings.Ratings.CATEGORIES.size());
@@ -3015,7 +3109,31 @@ public class Plot {
      * @return Flag container
      */
     public @NonNull FlagContainer getFlagContainer() {
-        return this.flagContainer;
+        FlagContainer container = this.flagContainer;
+        if (container == null) {
+            synchronized (this) {
+                container = this.flagContainer;
+                if (container == null) {
+                    container = new FlagContainer(this.area == null ? null : this.area.getFlagContainer());
+                    // This is needed, because otherwise the Plot, the FlagContainer and its
+                    // `this::handleUnknown` PlotFlagUpdateHandler won't get cleaned up ever
+                    CLEANER.register(this, container.createCleanupHook());
+                    this.flagContainer = container;
+                }
+            }
+        }
+        return container;
+    }
+
+    /**
+     * Get the container to read flag values from without creating a container for plots that have no flags of their own.
+     */
+    private @NonNull FlagContainer getReadFlagContainer() {
+        final FlagContainer container = this.flagContainer;
+        if (container != null) {
+            return container;
+        }
+        return this.area != null ? this.area.getFlagContainer() : this.getFlagContainer();
     }
 
     /**
@@ -3025,6 +3143,9 @@ public class Plot {
      * @return Plot comment container
      */
     public @NonNull PlotCommentContainer getPlotCommentContainer() {
+        if (this.plotCommentContainer == null) {
+            this.plotCommentContainer = new PlotCommentContainer(this);
+        }
         return this.plotCommentContainer;
     }
 
@@ -3034,7 +3155,54 @@ public class Plot {
      * @return Plot modification manager
      */
     public @NonNull PlotModificationManager getPlotModificationManager() {
+        if (this.plotModificationManager == null) {
+            this.plotModificationManager = new SquarePlotModificationManager(this);
+        }
         return this.plotModificationManager;
     }
 
+    /**
+     * Player set returned while a plot has no players of a kind, so reading does not create a set for every plot. The
+     * first player added to it makes it the plot's set.
+     */
+    private static final class PlayerSet extends HashSet<UUID> {
+
+        private final Consumer<HashSet<UUID>> attach;
+        private final Supplier<HashSet<UUID>> current;
+
+        PlayerSet(final Consumer<HashSet<UUID>> attach, final Supplier<HashSet<UUID>> current) {
+            super(0);
+            this.attach = attach;
+            this.current = current;
+        }
+
+        /**
+         * Get the set of the plot, attaching this set if the plot has none yet.
+         */
+        private HashSet<UUID> backing() {
+            final HashSet<UUID> players = this.current.get();
+            if (players == null) {
+                this.attach.accept(this);
+                return this;
+            }
+            return players;
+        }
+
+        @Override
+        public boolean add(final UUID uuid) {
+            final HashSet<UUID> players = this.backing();
+            return players == this ? super.add(uuid) : players.add(uuid);
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends UUID> uuids) {
+            if (uuids.isEmpty()) {
+                return false;
+            }
+            final HashSet<UUID> players = this.backing();
+            return players == this ? super.addAll(uuids) : players.addAll(uuids);
+        }
+
+    }
+
 }
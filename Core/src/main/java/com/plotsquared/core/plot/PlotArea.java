@@ -22,7 +22,6 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.plotsquared.core.PlotSquared;
-import com.plotsquared.core.collection.QuadMap;
 import com.plotsquared.core.configuration.ConfigurationNode;
 import com.plotsquared.core.configuration.ConfigurationSection;
 import com.plotsquared.core.configuration.ConfigurationUtil;
@@ -53,7 +52,6 @@ import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.StringMan;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
-import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.biome.BiomeType;
@@ -152,7 +150,7 @@ public abstract class PlotArea implements ComponentLike {
     private int hash;
     private CuboidRegion region;
     private ConcurrentHashMap<String, Object> meta;
-    private QuadMap<PlotCluster> clusters;
+    private final ClusterIndex clusters = new ClusterIndex();
     private String signMaterial = "OAK_WALL_SIGN";
     private String legacySignMaterial = "WALL_SIGN";
 
@@ -286,7 +284,17 @@ public abstract class PlotArea implements ComponentLike {
     }
 
     public Set<PlotCluster> getClusters() {
-        return this.clusters == null ? new HashSet<>() : this.clusters.getAll();
+        return new HashSet<>(this.clusters.getAll());
+    }
+
+    /**
+     * Get the spatial index of the clusters in this area. The index may be queried from any thread.
+     *
+     * @return cluster index
+     * @since 7.5.5
+     */
+    public @NonNull ClusterIndex getClusterIndex() {
+        return this.clusters;
     }
 
     /**
@@ -782,26 +790,18 @@ public abstract class PlotArea implements ComponentLike {
         if (plot == null) {
             return null;
         }
-        return this.clusters != null ? this.clusters.get(plot.getId().getX(), plot.getId().getY()) : null;
+        return this.clusters.get(plot.getId().getX(), plot.getId().getY());
     }
 
     public @Nullable PlotCluster getFirstIntersectingCluster(
             final @NonNull PlotId pos1,
             final @NonNull PlotId pos2
     ) {
-        if (this.clusters == null) {
-            return null;
-        }
-        for (PlotCluster cluster : this.clusters.getAll()) {
-            if (cluster.intersects(pos1, pos2)) {
-                return cluster;
-            }
-        }
-        return null;
+        return this.clusters.getFirstIntersecting(pos1, pos2);
     }
 
     @Nullable PlotCluster getCluster(final @NonNull PlotId id) {
-        return this.clusters != null ? this.clusters.get(id.getX(), id.getY()) : null;
+        return this.clusters.get(id.getX(), id.getY());
     }
 
     /**
@@ -883,7 +883,10 @@ public abstract class PlotArea implements ComponentLike {
                 metaDataAccess.set(plot);
             }
         }
-        return this.plots.put(plot.getId(), plot) == null;
+        RatingIndex.getInstance().update(plot);
+        final Plot previous = this.plots.put(plot.getId(), plot);
+        PlotOwnerIndex.getInstance().add(plot, previous);
+        return previous == null;
     }
 
     public Plot getNextFreePlot(final PlotPlayer<?> player, @Nullable PlotId start) {
@@ -919,6 +922,8 @@ public abstract class PlotArea implements ComponentLike {
 
     public boolean addPlotIfAbsent(final @NonNull Plot plot) {
         if (this.plots.putIfAbsent(plot.getId(), plot) == null) {
+            RatingIndex.getInstance().update(plot);
+            PlotOwnerIndex.getInstance().add(plot, null);
             for (PlotPlayer<?> pp : plot.getPlayersInPlot()) {
                 try (final MetaDataAccess<Plot> metaDataAccess = pp.accessTemporaryMetaData(
                         PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
@@ -931,7 +936,10 @@ public abstract class PlotArea implements ComponentLike {
     }
 
     public boolean addPlotAbs(final @NonNull Plot plot) {
-        return this.plots.put(plot.getId(), plot) == null;
+        RatingIndex.getInstance().update(plot);
+        final Plot previous = this.plots.put(plot.getId(), plot);
+        PlotOwnerIndex.getInstance().add(plot, previous);
+        return previous == null;
     }
 
     /**
@@ -1040,8 +1048,24 @@ public abstract class PlotArea implements ComponentLike {
         return plots;
     }
 
+    /**
+     * Check whether a plot object is the one registered in this area for its ID.
+     *
+     * @param plot Plot
+     * @return {@code true} if the plot is registered
+     */
+    boolean isRegistered(final @NonNull Plot plot) {
+        return this.plots.get(plot.getId()) == plot;
+    }
+
     public boolean removePlot(final @NonNull PlotId id) {
-        return this.plots.remove(id) != null;
+        final Plot plot = this.plots.remove(id);
+        if (plot == null) {
+            return false;
+        }
+        RatingIndex.getInstance().remove(plot);
+        PlotOwnerIndex.getInstance().remove(plot);
+        return true;
     }
 
     /**
@@ -1173,31 +1197,19 @@ public abstract class PlotArea implements ComponentLike {
 
     @SuppressWarnings("WeakerAccess")
     public void removeCluster(final @Nullable PlotCluster plotCluster) {
-        if (this.clusters == null) {
-            throw new IllegalAccessError("Clusters not enabled!");
+        if (plotCluster != null) {
+            this.clusters.remove(plotCluster);
         }
-        this.clusters.remove(plotCluster);
     }
 
     public void addCluster(final @Nullable PlotCluster plotCluster) {
-        if (this.clusters == null) {
-            this.clusters = new QuadMap<>(Integer.MAX_VALUE, 0, 0, 62) {
-                @Override
-                public CuboidRegion getRegion(PlotCluster value) {
-                    BlockVector2 pos1 = BlockVector2.at(value.getP1().getX(), value.getP1().getY());
-                    BlockVector2 pos2 = BlockVector2.at(value.getP2().getX(), value.getP2().getY());
-                    return new CuboidRegion(
-                            pos1.toBlockVector3(getMinGenHeight()),
-                            pos2.toBlockVector3(getMaxGenHeight())
-                    );
-                }
-            };
+        if (plotCluster != null) {
+            this.clusters.add(plotCluster);
         }
-        this.clusters.add(plotCluster);
     }
 
     public @Nullable PlotCluster getCluster(final String string) {
-        for (PlotCluster cluster : getClusters()) {
+        for (PlotCluster cluster : this.clusters.getAll()) {
             if (cluster.getName().equalsIgnoreCase(string)) {
                 return cluster;
             }
@@ -1512,6 +1524,16 @@ public abstract class PlotArea implements ComponentLike {
         return this.schematics;
     }
 
+    /**
+     * Get the names of the schematics players may specify when claiming a plot in this area.
+     *
+     * @return unmodifiable view of the schematic names
+     * @since 7.5.5
+     */
+    public @NonNull Collection<String> getClaimSchematics() {
+        return Collections.unmodifiableList(this.schematics);
+    }
+
     public boolean isRoadFlags() {
         return this.roadFlags;
     }
@@ -70,6 +70,7 @@ public class PlotCluster {
     public void setP1(PlotId id) {
         this.pos1 = id;
         setRegion();
+        reindex();
     }
 
     public PlotId getP2() {
@@ -79,6 +80,19 @@ public class PlotCluster {
     public void setP2(PlotId id) {
         this.pos2 = id;
         setRegion();
+        reindex();
+    }
+
+    /**
+     * Update the cluster index of this cluster's area. Needs to be called after changing the {@link #helpers}.
+     *
+     * @see ClusterIndex#update(PlotCluster)
+     * @since 7.5.5
+     */
+    public void reindex() {
+        if (this.area != null) {
+            this.area.getClusterIndex().update(this);
+        }
     }
 
     private void setRegion() {
@@ -0,0 +1,166 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the plots of all loaded areas by the owner of each individual plot, see {@link Plot#getOwnerAbs()}. The index
+ * is maintained as plots are added to or removed from their area and as their owner changes. Reads are lock free and may
+ * be performed from any thread; updates are serialised.
+ *
+ * @since 7.5.5
+ */
+public final class PlotOwnerIndex {
+
+    private static final PlotOwnerIndex instance = new PlotOwnerIndex();
+
+    private final ConcurrentHashMap<UUID, Set<Plot>> plots = new ConcurrentHashMap<>();
+    // Owners that got their first plot since the last call to drainNewOwners, null until it is first called
+    private @Nullable List<UUID> newOwners;
+
+    private PlotOwnerIndex() {
+    }
+
+    /**
+     * Get the index of all loaded plots.
+     *
+     * @return owner index
+     */
+    public static @NonNull PlotOwnerIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Index a plot that was added to its area.
+     *
+     * @param plot     Added plot
+     * @param replaced Plot with the same ID that the added plot replaced, if any
+     */
+    synchronized void add(final @NonNull Plot plot, final @Nullable Plot replaced) {
+        if (replaced != null) {
+            remove(replaced, replaced.getOwnerAbs());
+        }
+        add(plot, plot.getOwnerAbs());
+    }
+
+    /**
+     * Remove a plot that was removed from its area.
+     *
+     * @param plot Removed plot
+     */
+    synchronized void remove(final @NonNull Plot plot) {
+        remove(plot, plot.getOwnerAbs());
+    }
+
+    /**
+     * Remove all plots of an area that is no longer loaded.
+     *
+     * @param area Removed area
+     */
+    public synchronized void removeArea(final @NonNull PlotArea area) {
+        for (final Plot plot : area.getPlots()) {
+            remove(plot, plot.getOwnerAbs());
+        }
+    }
+
+    /**
+     * Move a plot that is part of its area to the owner it has now.
+     *
+     * @param plot     Plot
+     * @param previous Previous owner of the plot
+     */
+    synchronized void changeOwner(final @NonNull Plot plot, final @Nullable UUID previous) {
+        remove(plot, previous);
+        add(plot, plot.getOwnerAbs());
+    }
+
+    private void add(final @NonNull Plot plot, final @Nullable UUID owner) {
+        if (owner == null) {
+            return;
+        }
+        Set<Plot> owned = this.plots.get(owner);
+        if (owned == null) {
+            owned = ConcurrentHashMap.newKeySet();
+            this.plots.put(owner, owned);
+            if (this.newOwners != null) {
+                this.newOwners.add(owner);
+            }
+        }
+        // Drop an equal plot object left behind by a replaced plot, so the current object is indexed
+        owned.remove(plot);
+        owned.add(plot);
+    }
+
+    private void remove(final @NonNull Plot plot, final @Nullable UUID owner) {
+        if (owner == null) {
+            return;
+        }
+        final Set<Plot> owned = this.plots.get(owner);
+        if (owned != null && owned.remove(plot) && owned.isEmpty()) {
+            this.plots.remove(owner);
+        }
+    }
+
+    /**
+     * Get the plots owned by a player. Merged plots are indexed individually, by the owner of each part.
+     *
+     * @param owner Owner UUID
+     * @return unmodifiable view of the owned plots
+     */
+    public @NonNull Set<Plot> getPlots(final @NonNull UUID owner) {
+        final Set<Plot> owned = this.plots.get(owner);
+        return owned == null ? Collections.emptySet() : Collections.unmodifiableSet(owned);
+    }
+
+    /**
+     * Get all players owning at least one plot.
+     *
+     * @return unmodifiable view of the owners
+     */
+    public @NonNull Set<UUID> getOwners() {
+        return Collections.unmodifiableSet(this.plots.keySet());
+    }
+
+    /**
+     * Get the players that became owners since the previous call. The first call returns all current owners, and starts
+     * keeping track of new ones.
+     *
+     * @return owners that are new since the previous call
+     */
+    public synchronized @NonNull List<UUID> drainNewOwners() {
+        final List<UUID> owners;
+        if (this.newOwners == null) {
+            owners = new ArrayList<>(this.plots.keySet());
+        } else {
+            owners = this.newOwners;
+        }
+        this.newOwners = new ArrayList<>();
+        return owners;
+    }
+
+}
@@ -38,9 +38,9 @@ import java.util.UUID;
 public class PlotSettings {
 
     /**
-     * Merged plots.
+     * Merged plots, one bit per direction index.
      */
-    private boolean[] merged = new boolean[]{false, false, false, false};
+    private byte merged;
     /**
      * Plot alias.
      */
@@ -49,6 +49,10 @@ public class PlotSettings {
      * The ratings for a plot.
      */
     private HashMap<UUID, Integer> ratings;
+    /**
+     * Running totals over {@link #ratings}, built lazily.
+     */
+    private RatingAggregate ratingAggregate;
     /**
      * Plot comments.
      */
@@ -65,7 +69,17 @@ public class PlotSettings {
      * @return boolean merged
      */
     public boolean getMerged(int direction) {
-        return this.merged[direction];
+        return (this.merged & (1 << direction)) != 0;
+    }
+
+    /**
+     * Check if the plot is merged in any direction
+     *
+     * @return {@code true} if the plot is merged
+     * @since 7.5.5
+     */
+    public boolean isMerged() {
+        return this.merged != 0;
     }
 
     public Map<UUID, Integer> getRatings() {
@@ -77,14 +91,38 @@ public class PlotSettings {
 
     public void setRatings(HashMap<UUID, Integer> ratings) {
         this.ratings = ratings;
+        this.ratingAggregate = null;
+    }
+
+    boolean hasRatings() {
+        return this.ratings != null && !this.ratings.isEmpty();
+    }
+
+    /**
+     * Get the running totals over this plot's ratings. The aggregate is kept up to date by
+     * {@link Plot#addRating(UUID, Rating)}; ratings put into {@link #getRatings()} directly are only picked up after
+     * {@link #setRatings(HashMap)} is called.
+     *
+     * @return rating aggregate
+     * @since 7.5.5
+     */
+    public RatingAggregate getRatingAggregate() {
+        RatingAggregate aggregate = this.ratingAggregate;
+        if (aggregate == null || !aggregate.isCurrent()) {
+            aggregate = this.ratings == null ? new RatingAggregate() : RatingAggregate.of(this.ratings);
+            this.ratingAggregate = aggregate;
+        }
+        return aggregate;
     }
 
     public boolean setMerged(Direction direction, boolean merged) {
         if (Direction.ALL == direction) {
             throw new IllegalArgumentException("You cannot use Direction.ALL in this method!");
         }
-        if (this.merged[direction.getIndex()] != merged) {
-            this.merged[direction.getIndex()] = merged;
+        final int bit = 1 << direction.getIndex();
+        final byte updated = (byte) (merged ? this.merged | bit : this.merged & ~bit);
+        if (updated != this.merged) {
+            this.merged = updated;
             return true;
         }
         return false;
@@ -132,12 +170,27 @@ public class PlotSettings {
         this.comments.add(comment);
     }
 
+    /**
+     * Get the merged state of each direction, indexed as in {@link #getMerged(int)}. The returned array is a copy.
+     *
+     * @return merged directions
+     */
     public boolean[] getMerged() {
-        return this.merged;
+        final boolean[] merged = new boolean[4];
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = getMerged(i);
+        }
+        return merged;
     }
 
     public void setMerged(boolean[] merged) {
-        this.merged = merged;
+        byte packed = 0;
+        for (int i = 0; i < 4 && i < merged.length; i++) {
+            if (merged[i]) {
+                packed |= (byte) (1 << i);
+            }
+        }
+        this.merged = packed;
     }
 
     public String getAlias() {
@@ -0,0 +1,167 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.configuration.Settings;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Map;
+
+/**
+ * Running totals over the ratings of a single base plot. Values are decoded the same way as {@link Rating} does, so
+ * averages and scores match those computed from {@link Plot#getRatings()} without allocating a {@link Rating} per
+ * rater.
+ *
+ * @since 7.5.5
+ */
+public final class RatingAggregate {
+
+    private final boolean likes;
+    private final long[] sums;
+    private final long[] sumSquares;
+    private int count;
+    private double sumAverage;
+    private double sumAverageSquares;
+
+    /**
+     * Create an empty aggregate for the currently configured rating categories.
+     */
+    public RatingAggregate() {
+        this.likes = Settings.Ratings.USE_LIKES;
+        final int categories = categoryCount();
+        this.sums = new long[categories];
+        this.sumSquares = new long[categories];
+    }
+
+    /**
+     * Create an aggregate over existing ratings.
+     *
+     * @param ratings Map of rater to aggregate rating value
+     * @return new aggregate
+     */
+    public static @NonNull RatingAggregate of(final @NonNull Map<?, Integer> ratings) {
+        final RatingAggregate aggregate = new RatingAggregate();
+        for (final int value : ratings.values()) {
+            aggregate.add(value);
+        }
+        return aggregate;
+    }
+
+    private static int categoryCount() {
+        if (Settings.Ratings.USE_LIKES || Settings.Ratings.CATEGORIES == null) {
+            return 1;
+        }
+        return Math.max(1, Settings.Ratings.CATEGORIES.size());
+    }
+
+    /**
+     * Add a rating.
+     *
+     * @param value Aggregate rating value, see {@link Rating#getAggregate()}
+     */
+    public void add(final int value) {
+        double total = 0;
+        if (this.likes) {
+            total = value == 10 ? 10 : 1;
+            accumulate(0, (int) total);
+        } else if (this.sums.length > 1) {
+            int remaining = value;
+            for (int i = 0; i < this.sums.length; i++) {
+                final int category = value < 10 ? value : remaining % 10 - 1;
+                remaining /= 10;
+                accumulate(i, category);
+                total += category;
+            }
+            total /= this.sums.length;
+        } else {
+            total = value;
+            accumulate(0, value);
+        }
+        this.count++;
+        this.sumAverage += total;
+        this.sumAverageSquares += total * total;
+    }
+
+    private void accumulate(final int category, final int value) {
+        this.sums[category] += value;
+        this.sumSquares[category] += (long) value * value;
+    }
+
+    /**
+     * Whether this aggregate was built for the currently configured rating mode and categories.
+     *
+     * @return {@code true} if the aggregate can still be used
+     */
+    public boolean isCurrent() {
+        return this.likes == Settings.Ratings.USE_LIKES && this.sums.length == categoryCount();
+    }
+
+    /**
+     * Get the number of ratings.
+     *
+     * @return rating count
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Get the mean of the per-rater average ratings. This is the value displayed in /plot info.
+     *
+     * @return average rating, {@link Double#NaN} if there are no ratings
+     */
+    public double getAverageRating() {
+        return this.sumAverage / this.count;
+    }
+
+    /**
+     * Get the average rating in a category.
+     *
+     * @param category Category index, see {@link Settings.Ratings#CATEGORIES}
+     * @return average rating, {@link Double#NaN} if there are no ratings
+     */
+    public double getAverageRating(final int category) {
+        return (double) this.sums[category] / this.count;
+    }
+
+    /**
+     * Get the standard deviation of the ratings in a category.
+     *
+     * @param category Category index, see {@link Settings.Ratings#CATEGORIES}
+     * @return standard deviation, {@link Double#NaN} if there are no ratings
+     */
+    public double getStandardDeviation(final int category) {
+        final double mean = getAverageRating(category);
+        return Math.sqrt(Math.max(0, (double) this.sumSquares[category] / this.count - mean * mean));
+    }
+
+    /**
+     * Get the score used to rank plots by rating: the mean of the squared per-rater averages plus the number of
+     * ratings.
+     *
+     * @return score, {@code 0} if there are no ratings
+     */
+    public double getScore() {
+        if (this.count == 0) {
+            return 0;
+        }
+        return this.sumAverageSquares / this.count + this.count;
+    }
+
+}
@@ -0,0 +1,360 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Order statistics index over the rating scores of rated base plots, highest score first. Ties are broken by the number
+ * of ratings, then by insertion order. Rank lookups and positional access are {@code O(log n)}, and top-N iteration does
+ * not allocate.
+ *
+ * @see RatingAggregate#getScore()
+ * @since 7.5.5
+ */
+public final class RatingIndex {
+
+    /**
+     * Orders plots by the rating score of their base plot, highest first, breaking ties by rating count.
+     */
+    public static final Comparator<Plot> BY_SCORE = (a, b) -> {
+        final RatingAggregate first = getAggregate(a);
+        final RatingAggregate second = getAggregate(b);
+        final int compare = Double.compare(second.getScore(), first.getScore());
+        if (compare != 0) {
+            return compare;
+        }
+        return Integer.compare(second.getCount(), first.getCount());
+    };
+
+    // Stands in for the aggregate of unrated plots, so sorting does not create their settings
+    private static final RatingAggregate UNRATED = new RatingAggregate();
+    private static final RatingIndex instance = new RatingIndex();
+
+    private final Map<Plot, Node> nodes = new HashMap<>();
+    private Node root;
+    private long sequence;
+
+    RatingIndex() {
+    }
+
+    /**
+     * Get the index of all loaded plots.
+     *
+     * @return rating index
+     */
+    public static @NonNull RatingIndex getInstance() {
+        return instance;
+    }
+
+    private static @NonNull RatingAggregate getAggregate(final @NonNull Plot plot) {
+        final PlotSettings settings = plot.getBasePlot(false).peekSettings();
+        return settings == null || !settings.hasRatings() ? UNRATED : settings.getRatingAggregate();
+    }
+
+    private static int size(final @Nullable Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int compare(final @NonNull Node a, final @NonNull Node b) {
+        int compare = Double.compare(b.score, a.score);
+        if (compare == 0) {
+            compare = Integer.compare(b.count, a.count);
+            if (compare == 0) {
+                compare = Long.compare(a.sequence, b.sequence);
+            }
+        }
+        return compare;
+    }
+
+    /**
+     * Re-index a plot after its ratings changed. Plots without ratings are removed from the index.
+     *
+     * @param plot Base plot
+     */
+    public synchronized void update(final @NonNull Plot plot) {
+        final Node previous = this.nodes.remove(plot);
+        if (previous != null) {
+            this.root = remove(this.root, previous);
+        }
+        // Do not use getSettings(), every plot added to an area passes through here
+        final PlotSettings settings = plot.peekSettings();
+        if (settings == null || !settings.hasRatings()) {
+            return;
+        }
+        final RatingAggregate aggregate = settings.getRatingAggregate();
+        final long sequence = previous == null ? this.sequence++ : previous.sequence;
+        final Node node = new Node(plot, aggregate.getScore(), aggregate.getCount(), sequence);
+        this.nodes.put(plot, node);
+        this.root = insert(this.root, node);
+    }
+
+    /**
+     * Remove a plot from the index.
+     *
+     * @param plot Plot to remove
+     */
+    public synchronized void remove(final @NonNull Plot plot) {
+        final Node previous = this.nodes.remove(plot);
+        if (previous != null) {
+            this.root = remove(this.root, previous);
+        }
+    }
+
+    /**
+     * Remove all plots of an area that is no longer loaded.
+     *
+     * @param area Removed area
+     */
+    public synchronized void removeArea(final @NonNull PlotArea area) {
+        final List<Node> removed = new ArrayList<>();
+        for (final Node node : this.nodes.values()) {
+            if (node.plot.getArea() == area) {
+                removed.add(node);
+            }
+        }
+        for (final Node node : removed) {
+            this.nodes.remove(node.plot);
+            this.root = remove(this.root, node);
+        }
+    }
+
+    /**
+     * Get the number of indexed plots.
+     *
+     * @return index size
+     */
+    public synchronized int size() {
+        return size(this.root);
+    }
+
+    /**
+     * Get the rank of a plot, where {@code 0} is the highest rated plot.
+     *
+     * @param plot Plot to look up
+     * @return rank, or {@code -1} if the plot is not indexed
+     */
+    public synchronized int getRank(final @NonNull Plot plot) {
+        final Node target = this.nodes.get(plot.getBasePlot(false));
+        if (target == null) {
+            return -1;
+        }
+        int rank = 0;
+        Node node = this.root;
+        while (node != null) {
+            final int compare = compare(target, node);
+            if (compare == 0) {
+                return rank + size(node.left);
+            } else if (compare < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the plot at a rank.
+     *
+     * @param rank Rank, where {@code 0} is the highest rated plot
+     * @return plot, or {@code null} if the rank is out of range
+     */
+    public synchronized @Nullable Plot get(int rank) {
+        Node node = this.root;
+        while (node != null) {
+            final int left = size(node.left);
+            if (rank < left) {
+                node = node.left;
+            } else if (rank == left) {
+                return node.plot;
+            } else {
+                rank -= left + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Visit the highest rated plots in order until {@code limit} plots were visited or the visitor returns
+     * {@code false}.
+     *
+     * @param limit   Maximum number of plots to visit
+     * @param visitor Visitor, returning whether to continue
+     */
+    public synchronized void forEachTop(final int limit, final @NonNull Predicate<Plot> visitor) {
+        int remaining = limit;
+        Node node = this.root;
+        Node previous = null;
+        // In-order walk using the parent pointers, so no stack has to be allocated
+        while (node != null && remaining > 0) {
+            if (previous == node.parent) {
+                if (node.left != null) {
+                    previous = node;
+                    node = node.left;
+                    continue;
+                }
+                previous = null;
+            }
+            if (previous == node.left) {
+                if (!visitor.test(node.plot)) {
+                    return;
+                }
+                remaining--;
+                if (node.right != null) {
+                    previous = node;
+                    node = node.right;
+                    continue;
+                }
+            }
+            previous = node;
+            node = node.parent;
+        }
+    }
+
+    private Node insert(final @Nullable Node root, final @NonNull Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (compare(node, root) < 0) {
+            root.setLeft(insert(root.left, node));
+            if (root.left.priority > root.priority) {
+                return rotateRight(root);
+            }
+        } else {
+            root.setRight(insert(root.right, node));
+            if (root.right.priority > root.priority) {
+                return rotateLeft(root);
+            }
+        }
+        root.update();
+        return root;
+    }
+
+    private Node remove(final @Nullable Node root, final @NonNull Node node) {
+        if (root == null) {
+            return null;
+        }
+        final int compare = compare(node, root);
+        if (compare < 0) {
+            root.setLeft(remove(root.left, node));
+        } else if (compare > 0) {
+            root.setRight(remove(root.right, node));
+        } else {
+            final Node merged = merge(root.left, root.right);
+            if (merged != null) {
+                merged.parent = root.parent;
+            }
+            return merged;
+        }
+        root.update();
+        return root;
+    }
+
+    private Node merge(final @Nullable Node left, final @Nullable Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.setRight(merge(left.right, right));
+            left.update();
+            return left;
+        }
+        right.setLeft(merge(left, right.left));
+        right.update();
+        return right;
+    }
+
+    private Node rotateRight(final @NonNull Node node) {
+        final Node left = node.left;
+        left.parent = node.parent;
+        node.setLeft(left.right);
+        left.setRight(node);
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private Node rotateLeft(final @NonNull Node node) {
+        final Node right = node.right;
+        right.parent = node.parent;
+        node.setRight(right.left);
+        right.setLeft(node);
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static final class Node {
+
+        private final Plot plot;
+        private final double score;
+        private final int count;
+        private final long sequence;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private Node parent;
+        private int size = 1;
+
+        private Node(final Plot plot, final double score, final int count, final long sequence) {
+            this.plot = plot;
+            this.score = score;
+            this.count = count;
+            this.sequence = sequence;
+            // Scramble the sequence so priorities are well distributed without a shared random source
+            long hash = sequence * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 32;
+            this.priority = (int) hash;
+        }
+
+        private void setLeft(final @Nullable Node left) {
+            this.left = left;
+            if (left != null) {
+                left.parent = this;
+            }
+        }
+
+        private void setRight(final @Nullable Node right) {
+            this.right = right;
+            if (right != null) {
+                right.parent = this;
+            }
+        }
+
+        private void update() {
+            this.size = 1 + RatingIndex.size(this.left) + RatingIndex.size(this.right);
+        }
+
+    }
+
+}
@@ -524,9 +524,9 @@ public class SquarePlotModificationManager implements PlotModificationManager {
             }
         }
         this.plot.clearCache();
-        this.plot.getTrusted().clear();
-        this.plot.getMembers().clear();
-        this.plot.getDenied().clear();
+        this.plot.trusted = null;
+        this.plot.members = null;
+        this.plot.denied = null;
         this.plot.settings = new PlotSettings();
         if (this.plot.getArea().addPlot(this.plot)) {
             DBFunc.createPlotAndSettings(this.plot, () -> {
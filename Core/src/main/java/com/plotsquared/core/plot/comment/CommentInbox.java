@@ -91,6 +91,7 @@ public abstract class CommentInbox {
      * @param comment the comment to remove
      */
     public void removeComment(Plot plot, PlotComment comment) {
+        CommentManager.getInboxCache().removeComment(plot, comment);
         DBFunc.removeComment(plot, comment);
     }
 
@@ -98,6 +99,7 @@ public abstract class CommentInbox {
      * @param plot plot
      */
     public void clearInbox(Plot plot) {
+        CommentManager.getInboxCache().clearInbox(plot, toString());
         DBFunc.clearInbox(plot, toString());
     }
 
@@ -33,7 +33,7 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -41,16 +41,31 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class CommentManager {
 
     public static final HashMap<String, CommentInbox> inboxes = new HashMap<>();
+    private static final InboxCache inboxCache = new InboxCache();
 
     public static void sendTitle(final PlotPlayer<?> player, final Plot plot) {
         if (!Settings.Enabled_Components.COMMENT_NOTIFIER || !plot.isOwner(player.getUUID())) {
             return;
         }
         TaskManager.runTaskLaterAsync(() -> {
-            Collection<CommentInbox> boxes = CommentManager.inboxes.values();
-            final AtomicInteger count = new AtomicInteger(0);
-            final AtomicInteger size = new AtomicInteger(boxes.size());
+            // Cached inboxes are answered from their unread counters, only the others have to be loaded
+            int cached = 0;
+            final List<CommentInbox> uncached = new ArrayList<>();
             for (final CommentInbox inbox : inboxes.values()) {
+                final int unread = inboxCache.getUnread(plot, inbox.toString(), getTimestamp(player, inbox.toString()));
+                if (unread == -1) {
+                    uncached.add(inbox);
+                } else {
+                    cached += unread;
+                }
+            }
+            if (uncached.isEmpty()) {
+                sendNotification(player, cached);
+                return;
+            }
+            final AtomicInteger count = new AtomicInteger(cached);
+            final AtomicInteger size = new AtomicInteger(uncached.size());
+            for (final CommentInbox inbox : uncached) {
                 inbox.getComments(plot, new RunnableVal<>() {
                     @Override
                     public void run(List<PlotComment> value) {
@@ -66,15 +81,8 @@ public class CommentManager {
                         } else {
                             total = count.get();
                         }
-                        if ((size.decrementAndGet() == 0) && (total > 0)) {
-                            player.sendTitle(
-                                    StaticCaption.of(""),
-                                    TranslatableCaption.of("comment.inbox_notification"),
-                                    TagResolver.builder()
-                                            .tag("amount", Tag.inserting(Component.text(total)))
-                                            .tag("command", Tag.inserting(Component.text("/plot inbox")))
-                                            .build()
-                            );
+                        if (size.decrementAndGet() == 0) {
+                            sendNotification(player, total);
                         }
                     }
                 });
@@ -82,6 +90,29 @@ public class CommentManager {
         }, TaskTime.seconds(1L));
     }
 
+    private static void sendNotification(final PlotPlayer<?> player, final int total) {
+        if (total > 0) {
+            player.sendTitle(
+                    StaticCaption.of(""),
+                    TranslatableCaption.of("comment.inbox_notification"),
+                    TagResolver.builder()
+                            .tag("amount", Tag.inserting(Component.text(total)))
+                            .tag("command", Tag.inserting(Component.text("/plot inbox")))
+                            .build()
+            );
+        }
+    }
+
+    /**
+     * Get the cache the default inboxes load their comments through.
+     *
+     * @return inbox cache
+     * @since 7.5.5
+     */
+    public static InboxCache getInboxCache() {
+        return inboxCache;
+    }
+
     /**
      * @param player The player the inbox belongs to
      * @param inbox  the inbox
@@ -0,0 +1,422 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.comment;
+
+import com.google.common.cache.CacheBuilder;
+import com.plotsquared.core.database.DBFunc;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.util.task.RunnableVal;
+import com.plotsquared.core.util.task.TaskManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache of plot comment inboxes, keyed by plot and inbox name. A cached inbox is kept up to date by the writes going
+ * through it, together with a sorted index of comment timestamps so that unread counts can be answered without touching
+ * the database. Reads are lock free and may be performed from any thread.
+ * <p>
+ * The cache is bounded, and inboxes are dropped a few minutes after they were loaded, so that comments written by other
+ * servers sharing the database are picked up.
+ * </p>
+ *
+ * @since 7.5.5
+ */
+public final class InboxCache {
+
+    private static final int MAXIMUM_SIZE = 10000;
+    private static final long EXPIRY_MINUTES = 5;
+
+    private final ConcurrentMap<Key, Entry> entries = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(EXPIRY_MINUTES, TimeUnit.MINUTES)
+            .<Key, Entry>build()
+            .asMap();
+    private final Loader loader;
+
+    public InboxCache() {
+        this(InboxCache::loadFromDatabase);
+    }
+
+    InboxCache(final @NonNull Loader loader) {
+        this.loader = loader;
+    }
+
+    private static void loadFromDatabase(
+            final @NonNull Plot plot, final @NonNull String inbox,
+            final @NonNull Consumer<List<PlotComment>> whenDone
+    ) {
+        if (plot.temp == -1 || DBFunc.dbManager == null) {
+            // The database would silently drop the request
+            whenDone.accept(Collections.emptyList());
+            return;
+        }
+        DBFunc.getComments(plot, inbox, new RunnableVal<>() {
+            @Override
+            public void run(List<PlotComment> value) {
+                whenDone.accept(value);
+            }
+        });
+    }
+
+    /**
+     * Get the comments in a plot inbox, loading the inbox from the database if it is not cached yet. Concurrent
+     * requests for an inbox that is being loaded share the same query. The task is run on the main thread with its
+     * value set to an unmodifiable list of the comments, oldest first. If the inbox could not be loaded, the list is
+     * empty and the inbox is loaded again on the next request.
+     *
+     * @param plot     Plot
+     * @param inbox    Inbox name
+     * @param whenDone Task to run once the comments are available
+     */
+    public void getComments(
+            final @NonNull Plot plot, final @NonNull String inbox,
+            final @NonNull RunnableVal<List<PlotComment>> whenDone
+    ) {
+        final Key key = Key.of(plot, inbox);
+        final Entry entry = this.entries.computeIfAbsent(key, k -> new Entry());
+        final boolean load = entry.request(snapshot -> {
+            whenDone.value = snapshot.comments();
+            TaskManager.runTask(whenDone);
+        });
+        if (load) {
+            this.loader.load(plot, inbox, comments -> {
+                if (!entry.complete(comments)) {
+                    // Retry on the next request
+                    this.entries.remove(key, entry);
+                }
+            });
+        }
+    }
+
+    /**
+     * Get the cached comments in a plot inbox.
+     *
+     * @param plot  Plot
+     * @param inbox Inbox name
+     * @return unmodifiable list of the comments, oldest first, or {@code null} if the inbox is not cached
+     */
+    public @Nullable List<PlotComment> getCachedComments(final @NonNull Plot plot, final @NonNull String inbox) {
+        final Snapshot snapshot = this.snapshot(plot, inbox);
+        return snapshot == null ? null : snapshot.comments();
+    }
+
+    /**
+     * Get the number of comments in a plot inbox.
+     *
+     * @param plot  Plot
+     * @param inbox Inbox name
+     * @return number of comments, or {@code -1} if the inbox is not cached
+     */
+    public int getTotal(final @NonNull Plot plot, final @NonNull String inbox) {
+        final Snapshot snapshot = this.snapshot(plot, inbox);
+        return snapshot == null ? -1 : snapshot.size();
+    }
+
+    /**
+     * Get the number of comments in a plot inbox that were posted after the given time.
+     *
+     * @param plot  Plot
+     * @param inbox Inbox name
+     * @param since Time in milliseconds since the epoch
+     * @return number of newer comments, or {@code -1} if the inbox is not cached
+     */
+    public int getUnread(final @NonNull Plot plot, final @NonNull String inbox, final long since) {
+        final Snapshot snapshot = this.snapshot(plot, inbox);
+        return snapshot == null ? -1 : snapshot.countAfter(since);
+    }
+
+    /**
+     * Record a comment that was added to a plot inbox. Does not write to the database.
+     *
+     * @param plot    Plot
+     * @param comment Added comment
+     */
+    public void addComment(final @NonNull Plot plot, final @NonNull PlotComment comment) {
+        this.update(plot, comment.inbox(), snapshot -> snapshot.with(comment));
+    }
+
+    /**
+     * Record a comment that was removed from a plot inbox. Does not write to the database.
+     *
+     * @param plot    Plot
+     * @param comment Removed comment
+     */
+    public void removeComment(final @NonNull Plot plot, final @NonNull PlotComment comment) {
+        this.update(plot, comment.inbox(), snapshot -> snapshot.without(comment));
+    }
+
+    /**
+     * Record that a plot inbox was cleared. Does not write to the database.
+     *
+     * @param plot  Plot
+     * @param inbox Inbox name
+     */
+    public void clearInbox(final @NonNull Plot plot, final @NonNull String inbox) {
+        this.update(plot, inbox, snapshot -> Snapshot.EMPTY);
+    }
+
+    /**
+     * Drop all cached inboxes of a plot, so that they are loaded from the database again on next access.
+     *
+     * @param plot Plot
+     */
+    public void invalidate(final @NonNull Plot plot) {
+        if (plot.getArea() == null) {
+            return;
+        }
+        final String area = plot.getArea().toString();
+        final PlotId id = plot.getId();
+        this.entries.keySet().removeIf(key -> key.id().equals(id) && key.area().equals(area));
+    }
+
+    /**
+     * Drop all cached inboxes of the plots in an area.
+     *
+     * @param area Plot area
+     */
+    public void invalidate(final @NonNull PlotArea area) {
+        final String name = area.toString();
+        this.entries.keySet().removeIf(key -> key.area().equals(name));
+    }
+
+    /**
+     * Drop all cached inboxes.
+     */
+    public void invalidateAll() {
+        this.entries.clear();
+    }
+
+    private @Nullable Snapshot snapshot(final @NonNull Plot plot, final @NonNull String inbox) {
+        final Entry entry = this.entries.get(Key.of(plot, inbox));
+        return entry == null ? null : entry.snapshot();
+    }
+
+    private void update(final @NonNull Plot plot, final @NonNull String inbox, final @NonNull UnaryOperator<Snapshot> update) {
+        final Entry entry = this.entries.get(Key.of(plot, inbox));
+        if (entry != null) {
+            entry.update(update);
+        }
+    }
+
+    @FunctionalInterface
+    interface Loader {
+
+        /**
+         * Load an inbox. The consumer is passed {@code null} if the inbox could not be loaded, and may not be called at
+         * all if the failure could not be detected.
+         */
+        void load(@NonNull Plot plot, @NonNull String inbox, @NonNull Consumer<List<PlotComment>> whenDone);
+
+    }
+
+    private record Key(String area, PlotId id, String inbox) {
+
+        static Key of(final @NonNull Plot plot, final @NonNull String inbox) {
+            return new Key(String.valueOf(plot.getArea()), plot.getId(), inbox);
+        }
+
+    }
+
+    /**
+     * A single cached inbox. Writes made while the inbox is loading are queued and replayed on top of the loaded
+     * comments, as the database may or may not have seen them when it answered the query. A load that has not
+     * completed within {@link #LOAD_TIMEOUT} is assumed to be lost, and the next request loads the inbox again.
+     */
+    static final class Entry {
+
+        static final long LOAD_TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+        private final LongSupplier clock;
+        private volatile @Nullable Snapshot snapshot;
+        private @Nullable List<Consumer<Snapshot>> waiting;
+        private @Nullable List<UnaryOperator<Snapshot>> pending;
+        private long loadStarted;
+
+        Entry() {
+            this(System::nanoTime);
+        }
+
+        Entry(final @NonNull LongSupplier clock) {
+            this.clock = clock;
+        }
+
+        @Nullable Snapshot snapshot() {
+            return this.snapshot;
+        }
+
+        /**
+         * Pass the comments to the consumer as soon as they are available.
+         *
+         * @return {@code true} if the caller has to load the inbox and {@link #complete(List)} the entry
+         */
+        boolean request(final @NonNull Consumer<Snapshot> consumer) {
+            final Snapshot current;
+            synchronized (this) {
+                current = this.snapshot;
+                if (current == null) {
+                    final long now = this.clock.getAsLong();
+                    if (this.waiting != null) {
+                        this.waiting.add(consumer);
+                        if (now - this.loadStarted < LOAD_TIMEOUT) {
+                            return false;
+                        }
+                    } else {
+                        this.waiting = new ArrayList<>();
+                        this.waiting.add(consumer);
+                        this.pending = new ArrayList<>();
+                    }
+                    this.loadStarted = now;
+                    return true;
+                }
+            }
+            consumer.accept(current);
+            return false;
+        }
+
+        /**
+         * Complete a load. If the comments are {@code null} the load failed: the waiting consumers are passed an empty
+         * inbox, and the entry is left unloaded.
+         *
+         * @return {@code false} if the load failed
+         */
+        boolean complete(final @Nullable List<PlotComment> comments) {
+            final List<Consumer<Snapshot>> consumers;
+            final Snapshot loaded;
+            synchronized (this) {
+                if (this.snapshot != null) {
+                    return true;
+                }
+                consumers = this.waiting;
+                this.waiting = null;
+                if (comments == null) {
+                    this.pending = null;
+                    loaded = Snapshot.EMPTY;
+                } else {
+                    Snapshot snapshot = Snapshot.of(comments);
+                    if (this.pending != null) {
+                        for (final UnaryOperator<Snapshot> update : this.pending) {
+                            snapshot = update.apply(snapshot);
+                        }
+                    }
+                    this.snapshot = loaded = snapshot;
+                    this.pending = null;
+                }
+            }
+            if (consumers != null) {
+                consumers.forEach(consumer -> consumer.accept(loaded));
+            }
+            return comments != null;
+        }
+
+        synchronized void update(final @NonNull UnaryOperator<Snapshot> update) {
+            final Snapshot current = this.snapshot;
+            if (current != null) {
+                this.snapshot = update.apply(current);
+            } else if (this.pending != null) {
+                this.pending.add(update);
+            }
+            // Otherwise nothing is cached, and the next load reads the write from the database
+        }
+
+    }
+
+    /**
+     * Immutable inbox contents with the comment timestamps kept sorted for unread counts.
+     */
+    record Snapshot(List<PlotComment> comments, long[] timestamps) {
+
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), new long[0]);
+
+        static @NonNull Snapshot of(final @NonNull List<PlotComment> comments) {
+            if (comments.isEmpty()) {
+                return EMPTY;
+            }
+            final long[] timestamps = new long[comments.size()];
+            for (int i = 0; i < timestamps.length; i++) {
+                timestamps[i] = comments.get(i).timestamp();
+            }
+            Arrays.sort(timestamps);
+            return new Snapshot(Collections.unmodifiableList(new ArrayList<>(comments)), timestamps);
+        }
+
+        int size() {
+            return this.comments.size();
+        }
+
+        /**
+         * @return the number of comments with a timestamp strictly greater than the given one
+         */
+        int countAfter(final long since) {
+            int low = 0;
+            int high = this.timestamps.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (this.timestamps[mid] <= since) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return this.timestamps.length - low;
+        }
+
+        @NonNull Snapshot with(final @NonNull PlotComment comment) {
+            final List<PlotComment> comments = new ArrayList<>(this.comments.size() + 1);
+            comments.addAll(this.comments);
+            comments.add(comment);
+            final int index = this.timestamps.length - this.countAfter(comment.timestamp());
+            final long[] timestamps = new long[this.timestamps.length + 1];
+            System.arraycopy(this.timestamps, 0, timestamps, 0, index);
+            timestamps[index] = comment.timestamp();
+            System.arraycopy(this.timestamps, index, timestamps, index + 1, this.timestamps.length - index);
+            return new Snapshot(Collections.unmodifiableList(comments), timestamps);
+        }
+
+        @NonNull Snapshot without(final @NonNull PlotComment comment) {
+            final int position = this.comments.indexOf(comment);
+            if (position == -1) {
+                return this;
+            }
+            if (this.comments.size() == 1) {
+                return EMPTY;
+            }
+            final List<PlotComment> comments = new ArrayList<>(this.comments);
+            comments.remove(position);
+            final int index = Arrays.binarySearch(this.timestamps, comment.timestamp());
+            final long[] timestamps = new long[this.timestamps.length - 1];
+            System.arraycopy(this.timestamps, 0, timestamps, 0, index);
+            System.arraycopy(this.timestamps, index + 1, timestamps, index, timestamps.length - index);
+            return new Snapshot(Collections.unmodifiableList(comments), timestamps);
+        }
+
+    }
+
+}
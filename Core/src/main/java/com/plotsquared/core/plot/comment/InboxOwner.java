@@ -21,35 +21,14 @@ package com.plotsquared.core.plot.comment;
 import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.util.task.RunnableVal;
-import com.plotsquared.core.util.task.TaskManager;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class InboxOwner extends CommentInbox {
 
     @Override
     public boolean getComments(final Plot plot, final RunnableVal<List<PlotComment>> whenDone) {
-        List<PlotComment> comments = plot.getPlotCommentContainer().getComments(toString());
-        if (!comments.isEmpty()) {
-            whenDone.value = comments;
-            TaskManager.runTask(whenDone);
-            return true;
-        }
-        DBFunc.getComments(plot, toString(), new RunnableVal<>() {
-            @Override
-            public void run(List<PlotComment> value) {
-                whenDone.value = value;
-                if (value != null) {
-                    for (PlotComment comment : value) {
-                        plot.getPlotCommentContainer().addComment(comment);
-                    }
-                } else {
-                    plot.getPlotCommentContainer().setComments(new ArrayList<>());
-                }
-                TaskManager.runTask(whenDone);
-            }
-        });
+        CommentManager.getInboxCache().getComments(plot, toString(), whenDone);
         return true;
     }
 
@@ -59,6 +38,7 @@ public class InboxOwner extends CommentInbox {
             return false;
         }
         plot.getPlotCommentContainer().addComment(comment);
+        CommentManager.getInboxCache().addComment(plot, comment);
         DBFunc.setComment(plot, comment);
         return true;
     }
@@ -21,7 +21,6 @@ package com.plotsquared.core.plot.comment;
 import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.util.task.RunnableVal;
-import com.plotsquared.core.util.task.TaskManager;
 
 import java.util.List;
 
@@ -29,30 +28,14 @@ public class InboxPublic extends CommentInbox {
 
     @Override
     public boolean getComments(final Plot plot, final RunnableVal<List<PlotComment>> whenDone) {
-        List<PlotComment> comments = plot.getPlotCommentContainer().getComments(toString());
-        if (!comments.isEmpty()) {
-            whenDone.value = comments;
-            TaskManager.runTask(whenDone);
-            return true;
-        }
-        DBFunc.getComments(plot, toString(), new RunnableVal<>() {
-            @Override
-            public void run(List<PlotComment> value) {
-                whenDone.value = value;
-                if (value != null) {
-                    for (PlotComment comment : value) {
-                        plot.getPlotCommentContainer().addComment(comment);
-                    }
-                }
-                TaskManager.runTask(whenDone);
-            }
-        });
+        CommentManager.getInboxCache().getComments(plot, toString(), whenDone);
         return true;
     }
 
     @Override
     public boolean addComment(Plot plot, PlotComment comment) {
         plot.getPlotCommentContainer().addComment(comment);
+        CommentManager.getInboxCache().addComment(plot, comment);
         DBFunc.setComment(plot, comment);
         return true;
     }
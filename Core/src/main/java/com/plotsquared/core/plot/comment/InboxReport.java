@@ -21,21 +21,14 @@ package com.plotsquared.core.plot.comment;
 import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.util.task.RunnableVal;
-import com.plotsquared.core.util.task.TaskManager;
 
 import java.util.List;
 
 public class InboxReport extends CommentInbox {
 
     @Override
-    public boolean getComments(Plot plot, final RunnableVal<List<PlotComment>> whenDone) {
-        DBFunc.getComments(plot, toString(), new RunnableVal<>() {
-            @Override
-            public void run(List<PlotComment> value) {
-                whenDone.value = value;
-                TaskManager.runTask(whenDone);
-            }
-        });
+    public boolean getComments(final Plot plot, final RunnableVal<List<PlotComment>> whenDone) {
+        CommentManager.getInboxCache().getComments(plot, toString(), whenDone);
         return true;
     }
 
@@ -44,6 +37,7 @@ public class InboxReport extends CommentInbox {
         if (plot.getOwner() == null) {
             return false;
         }
+        CommentManager.getInboxCache().addComment(plot, comment);
         DBFunc.setComment(plot, comment);
         return true;
     }
@@ -20,12 +20,14 @@ package com.plotsquared.core.plot.expiration;
 
 import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.caption.Caption;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.events.PlotFlagAddEvent;
 import com.plotsquared.core.events.PlotUnlinkEvent;
 import com.plotsquared.core.events.Result;
+import com.plotsquared.core.player.LoginPrefetch;
 import com.plotsquared.core.player.MetaDataAccess;
 import com.plotsquared.core.player.OfflinePlotPlayer;
 import com.plotsquared.core.player.PlayerMetaDataKeys;
@@ -33,21 +35,23 @@ import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotAreaType;
+import com.plotsquared.core.plot.PlotOwnerIndex;
 import com.plotsquared.core.plot.flag.GlobalFlagContainer;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
 import com.plotsquared.core.plot.flag.implementations.KeepFlag;
 import com.plotsquared.core.plot.flag.implementations.ServerPlotFlag;
 import com.plotsquared.core.util.EventDispatcher;
-import com.plotsquared.core.util.query.PlotQuery;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.RunnableVal3;
 import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskProfiler;
 import com.plotsquared.core.util.task.TaskTime;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -56,13 +60,17 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ExpireManager {
 
-    private final ConcurrentHashMap<UUID, Long> dates_cache;
+    private final LastSeenIndex lastSeen;
+    // Owners of plots that the platform has never seen, and so are missing from the last seen index
+    private final Set<UUID> unknownOwners = ConcurrentHashMap.newKeySet();
     private final ConcurrentHashMap<UUID, Long> account_age_cache;
     private final EventDispatcher eventDispatcher;
     private final ArrayDeque<ExpiryTask> tasks;
@@ -75,7 +83,7 @@ public class ExpireManager {
     @Inject
     public ExpireManager(final @NonNull EventDispatcher eventDispatcher) {
         this.tasks = new ArrayDeque<>();
-        this.dates_cache = new ConcurrentHashMap<>();
+        this.lastSeen = new LastSeenIndex();
         this.account_age_cache = new ConcurrentHashMap<>();
         this.eventDispatcher = eventDispatcher;
     }
@@ -86,8 +94,10 @@ public class ExpireManager {
 
     public void handleJoin(PlotPlayer<?> pp) {
         storeDate(pp.getUUID(), System.currentTimeMillis());
+        // May be slightly stale, which at worst keeps a plot the player lost during login out of this expiry run
+        final Set<Plot> prefetched = LoginPrefetch.takeOwnedPlots(pp.getUUID());
         if (plotsToDelete != null && !plotsToDelete.isEmpty()) {
-            for (Plot plot : pp.getPlots()) {
+            for (Plot plot : prefetched != null ? prefetched : pp.getPlots()) {
                 plotsToDelete.remove(plot);
             }
         }
@@ -118,7 +128,7 @@ public class ExpireManager {
     }
 
     public long getTimestamp(UUID uuid) {
-        Long value = this.dates_cache.get(uuid);
+        Long value = this.lastSeen.get(uuid);
         return value == null ? 0 : value;
     }
 
@@ -183,10 +193,12 @@ public class ExpireManager {
             @Override
             public void run(Plot plot, Runnable runnable, Boolean confirm) {
                 if (confirm) {
-                    if (plotsToDelete == null) {
-                        plotsToDelete = new HashSet<>();
+                    synchronized (ExpireManager.this) {
+                        if (plotsToDelete == null) {
+                            plotsToDelete = new HashSet<>();
+                        }
+                        plotsToDelete.add(plot);
                     }
-                    plotsToDelete.add(plot);
                     runnable.run();
                 } else {
                     deleteWithMessage(plot, runnable);
@@ -292,104 +304,243 @@ public class ExpireManager {
             return false;
         }
         this.running = 2;
-        TaskManager.runTaskAsync(new Runnable() {
-            private ConcurrentLinkedDeque<Plot> plots = null;
+        TaskManager.runTaskAsync(() -> new ExpirySweep(expiredTask).start());
+        return true;
+    }
 
-            @Override
-            public void run() {
-                final Runnable task = this;
+    /**
+     * Get the plots that may be expired by one of the registered tasks, ordered by the time their owners were last seen,
+     * least recently seen first, preceded by plots whose owners were never seen. Plots whose owners are online or were seen
+     * within the shortest expiry period of all tasks are not included. Only owners past that period are visited.
+     *
+     * @return expiry candidates
+     * @since 7.5.5
+     */
+    public @NonNull ArrayDeque<Plot> getExpiryCandidates() {
+        long minAge = Long.MAX_VALUE;
+        for (ExpiryTask task : this.tasks) {
+            minAge = Math.min(minAge, TimeUnit.DAYS.toMillis(task.getSettings().DAYS));
+        }
+        final ArrayDeque<Plot> candidates = new ArrayDeque<>();
+        if (minAge == Long.MAX_VALUE) {
+            return candidates;
+        }
+        final long threshold = System.currentTimeMillis() - minAge;
+        final PlotOwnerIndex owners = PlotOwnerIndex.getInstance();
+        // Look up new owners once, so that all owners the platform knows about are part of the last seen index
+        for (UUID owner : owners.drainNewOwners()) {
+            if (getLastSeen(owner) == 0) {
+                this.unknownOwners.add(owner);
+            }
+        }
+        final Set<Plot> visited = new HashSet<>();
+        for (Iterator<UUID> iterator = this.unknownOwners.iterator(); iterator.hasNext(); ) {
+            UUID owner = iterator.next();
+            Set<Plot> owned = owners.getPlots(owner);
+            if (owned.isEmpty() || this.lastSeen.get(owner) != null) {
+                iterator.remove();
+                continue;
+            }
+            addCandidates(owner, null, owned, threshold, visited, candidates);
+        }
+        for (UUID owner : this.lastSeen.seenBefore(threshold)) {
+            addCandidates(owner, owner, owners.getPlots(owner), threshold, visited, candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * Add the expirable plots of an owner to the candidates. A merged or shared plot is added once, by the owner that was
+     * seen most recently, as that owner determines the age of the plot.
+     *
+     * @param owner      Owner to add the plots of
+     * @param expected   Owner expected to be the most recently seen one, or {@code null} if the owner was never seen
+     * @param owned      Plots of the owner
+     * @param threshold  Time all owners of a candidate must have been last seen at or before
+     * @param visited    Base plots that have already been dealt with
+     * @param candidates Candidates to add to
+     */
+    private void addCandidates(
+            final @NonNull UUID owner, final @Nullable UUID expected, final @NonNull Set<Plot> owned, final long threshold,
+            final @NonNull Set<Plot> visited, final @NonNull ArrayDeque<Plot> candidates
+    ) {
+        if (DBFunc.EVERYONE.equals(owner) || PlotSquared.platform().playerManager().getPlayerIfExists(owner) != null) {
+            return;
+        }
+        for (Plot plot : owned) {
+            Plot base = plot.getBasePlot(false);
+            if (base.getArea() == null || visited.contains(base)) {
+                continue;
+            }
+            UUID latestOwner = null;
+            long latest = Long.MIN_VALUE;
+            boolean expirable = true;
+            for (UUID other : base.getOwners()) {
+                if (DBFunc.EVERYONE.equals(other) || PlotSquared.platform().playerManager().getPlayerIfExists(other) != null) {
+                    expirable = false;
+                    break;
+                }
+                long time = getLastSeen(other);
+                if (time > threshold) {
+                    expirable = false;
+                    break;
+                }
+                if (time > latest) {
+                    latest = time;
+                    latestOwner = time == 0 ? null : other;
+                }
+            }
+            if (!expirable) {
+                visited.add(base);
+            } else if (Objects.equals(latestOwner, expected)) {
+                visited.add(base);
+                candidates.add(base);
+            }
+        }
+    }
+
+    /**
+     * Get the time a player was last seen, looking it up from the platform if not already indexed.
+     *
+     * @param uuid Player UUID
+     * @return last seen time, or {@code 0} if unknown
+     */
+    private long getLastSeen(final @NonNull UUID uuid) {
+        Long last = this.lastSeen.get(uuid);
+        if (last == null) {
+            OfflinePlotPlayer opp = PlotSquared.platform().playerManager().getOfflinePlayer(uuid);
+            if (opp == null || (last = opp.getLastPlayed()) == 0) {
+                return 0;
+            }
+            this.lastSeen.update(uuid, last);
+        }
+        return last;
+    }
+
+    /**
+     * A single pass over the expiry candidates. Candidates are handed out in order to a bounded number of workers, so that
+     * several plots can be analysed at the same time.
+     */
+    private final class ExpirySweep {
+
+        private final RunnableVal3<Plot, Runnable, Boolean> expiredTask;
+        private final AtomicInteger activeWorkers = new AtomicInteger();
+        private ArrayDeque<Plot> candidates;
+
+        private ExpirySweep(final RunnableVal3<Plot, Runnable, Boolean> expiredTask) {
+            this.expiredTask = expiredTask;
+        }
+
+        private void start() {
+            if (ExpireManager.this.running != 2) {
+                ExpireManager.this.running = 0;
+                return;
+            }
+            this.candidates = getExpiryCandidates();
+            int workers = Math.max(1, Math.min(Settings.QUEUE.EXPIRY_ANALYSIS_WORKERS, this.candidates.size()));
+            this.activeWorkers.set(workers);
+            for (int i = 0; i < workers; i++) {
+                TaskManager.runTaskAsync(this::next);
+            }
+        }
+
+        private synchronized @Nullable Plot poll() {
+            return this.candidates.poll();
+        }
+
+        private void continueLater() {
+            TaskManager.runTaskAsync(this::next);
+        }
+
+        private void next() {
+            final long start = TaskProfiler.start();
+            try {
+                sweep();
+            } finally {
+                TaskProfiler.record(TaskProfiler.Origin.EXPIRY, start);
+            }
+        }
+
+        private void sweep() {
+            Plot plot;
+            while ((plot = poll()) != null) {
                 if (ExpireManager.this.running != 2) {
-                    ExpireManager.this.running = 0;
-                    return;
+                    break;
                 }
-                if (plots == null) {
-                    plots = new ConcurrentLinkedDeque<>(PlotQuery.newQuery().allPlots().asList());
+                PlotArea area = plot.getArea();
+                final Plot newPlot = area.getPlot(plot.getId());
+                if (newPlot == null) {
+                    continue;
                 }
-                while (!plots.isEmpty()) {
-                    if (ExpireManager.this.running != 2) {
-                        ExpireManager.this.running = 0;
+                final ArrayDeque<ExpiryTask> applicable = new ArrayDeque<>(tasks);
+                final Collection<ExpiryTask> expired = isExpired(applicable, newPlot);
+                if (expired.isEmpty()) {
+                    continue;
+                }
+                for (ExpiryTask expiryTask : expired) {
+                    if (!expiryTask.needsAnalysis()) {
+                        expiredTask.run(newPlot, this::continueLater, expiryTask.requiresConfirmation());
                         return;
                     }
-                    Plot plot = plots.poll();
-                    PlotArea area = plot.getArea();
-                    final Plot newPlot = area.getPlot(plot.getId());
-                    final ArrayDeque<ExpiryTask> applicable = new ArrayDeque<>(tasks);
-                    final Collection<ExpiryTask> expired = isExpired(applicable, newPlot);
-                    if (expired.isEmpty()) {
-                        continue;
-                    }
-                    for (ExpiryTask expiryTask : expired) {
-                        if (!expiryTask.needsAnalysis()) {
-                            expiredTask.run(newPlot, () -> TaskManager.getPlatformImplementation()
-                                            .taskLaterAsync(task, TaskTime.ticks(1L)),
-                                    expiryTask.requiresConfirmation()
-                            );
-                            return;
-                        }
-                    }
-                    final RunnableVal<PlotAnalysis> handleAnalysis =
-                            new RunnableVal<>() {
-                                @Override
-                                public void run(final PlotAnalysis changed) {
-                                    passesComplexity(changed, expired, new RunnableVal<>() {
-                                        @Override
-                                        public void run(Boolean confirmation) {
-                                            expiredTask.run(
-                                                    newPlot,
-                                                    () -> TaskManager
-                                                            .getPlatformImplementation()
-                                                            .taskLaterAsync(task, TaskTime.ticks(1L)),
-                                                    confirmation
-                                            );
-                                        }
-                                    }, () -> {
-                                        PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance()
-                                                .getFlag(AnalysisFlag.class)
-                                                .createFlagInstance(changed.asList());
-                                        PlotFlagAddEvent event =
-                                                eventDispatcher.callFlagAdd(plotFlag, plot);
-                                        if (event.getEventResult() == Result.DENY) {
-                                            return;
-                                        }
-                                        newPlot.setFlag(event.getFlag());
-                                        TaskManager.runTaskLaterAsync(task, TaskTime.seconds(1L));
-                                    });
-                                }
-                            };
-                    final Runnable doAnalysis =
-                            () -> PlotSquared.platform().hybridUtils().analyzePlot(newPlot, handleAnalysis);
-
-                    PlotAnalysis analysis = newPlot.getComplexity(null);
-                    if (analysis != null) {
-                        passesComplexity(analysis, expired, new RunnableVal<>() {
+                }
+                final RunnableVal<PlotAnalysis> handleAnalysis =
+                        new RunnableVal<>() {
                             @Override
-                            public void run(Boolean value) {
-                                doAnalysis.run();
+                            public void run(final PlotAnalysis changed) {
+                                passesComplexity(changed, expired, new RunnableVal<>() {
+                                    @Override
+                                    public void run(Boolean confirmation) {
+                                        expiredTask.run(newPlot, ExpirySweep.this::continueLater, confirmation);
+                                    }
+                                }, () -> {
+                                    PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance()
+                                            .getFlag(AnalysisFlag.class)
+                                            .createFlagInstance(changed.asList());
+                                    PlotFlagAddEvent event =
+                                            eventDispatcher.callFlagAdd(plotFlag, newPlot);
+                                    if (event.getEventResult() != Result.DENY) {
+                                        newPlot.setFlag(event.getFlag());
+                                    }
+                                    continueLater();
+                                });
                             }
-                        }, () -> TaskManager.getPlatformImplementation().taskLaterAsync(task, TaskTime.ticks(1L)));
-                    } else {
-                        doAnalysis.run();
-                    }
-                    return;
-                }
-                if (plots.isEmpty()) {
-                    ExpireManager.this.running = 3;
-                    TaskManager.runTaskLater(() -> {
-                        if (ExpireManager.this.running == 3) {
-                            ExpireManager.this.running = 2;
-                            runTask(expiredTask);
+                        };
+                final Runnable doAnalysis =
+                        () -> PlotSquared.platform().hybridUtils().analyzePlot(newPlot, handleAnalysis);
+
+                PlotAnalysis analysis = newPlot.getComplexity(null);
+                if (analysis != null) {
+                    passesComplexity(analysis, expired, new RunnableVal<>() {
+                        @Override
+                        public void run(Boolean value) {
+                            doAnalysis.run();
                         }
-                    }, TaskTime.ticks(86400000L));
+                    }, this::continueLater);
                 } else {
-                    TaskManager.runTaskLaterAsync(task, TaskTime.seconds(10L));
+                    doAnalysis.run();
                 }
+                return;
             }
-        });
-        return true;
+            if (this.activeWorkers.decrementAndGet() > 0) {
+                return;
+            }
+            if (ExpireManager.this.running != 2) {
+                ExpireManager.this.running = 0;
+                return;
+            }
+            ExpireManager.this.running = 3;
+            TaskManager.runTaskLater(() -> {
+                if (ExpireManager.this.running == 3) {
+                    ExpireManager.this.running = 2;
+                    TaskManager.runTaskAsync(() -> new ExpirySweep(expiredTask).start());
+                }
+            }, TaskTime.ticks(86400000L));
+        }
+
     }
 
     public void storeDate(UUID uuid, long time) {
-        Long existing = this.dates_cache.put(uuid, time);
+        Long existing = this.lastSeen.update(uuid, time);
         if (existing != null) {
             long diff = time - existing;
             if (diff > 0) {
@@ -451,11 +602,11 @@ public class ExpireManager {
         if (PlotSquared.platform().playerManager().getPlayerIfExists(uuid) != null) {
             return 0;
         }
-        Long last = this.dates_cache.get(uuid);
+        Long last = this.lastSeen.get(uuid);
         if (last == null) {
             OfflinePlotPlayer opp = PlotSquared.platform().playerManager().getOfflinePlayer(uuid);
             if (opp != null && (last = opp.getLastPlayed()) != 0) {
-                this.dates_cache.put(uuid, last);
+                this.lastSeen.update(uuid, last);
             } else {
                 return shouldDeleteUnknownOwner ? Long.MAX_VALUE : 0;
             }
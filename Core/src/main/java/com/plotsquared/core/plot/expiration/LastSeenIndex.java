@@ -0,0 +1,119 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Index of players by the time they were last seen, ordered from least to most recently seen. Reads are lock free and
+ * may be performed from any thread; updates are serialised.
+ *
+ * @since 7.5.5
+ */
+public final class LastSeenIndex {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::time).thenComparing(Entry::uuid);
+
+    private final ConcurrentHashMap<UUID, Long> times = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ordered = new ConcurrentSkipListSet<>(ORDER);
+
+    /**
+     * Set the time a player was last seen.
+     *
+     * @param uuid Player UUID
+     * @param time Last seen time in milliseconds since the epoch
+     * @return the previously stored time, or {@code null} if there was none
+     */
+    public synchronized @Nullable Long update(final @NonNull UUID uuid, final long time) {
+        final Long previous = this.times.put(uuid, time);
+        if (previous != null) {
+            this.ordered.remove(new Entry(previous, uuid));
+        }
+        this.ordered.add(new Entry(time, uuid));
+        return previous;
+    }
+
+    /**
+     * Remove a player from the index.
+     *
+     * @param uuid Player UUID
+     */
+    public synchronized void remove(final @NonNull UUID uuid) {
+        final Long previous = this.times.remove(uuid);
+        if (previous != null) {
+            this.ordered.remove(new Entry(previous, uuid));
+        }
+    }
+
+    /**
+     * Get the time a player was last seen.
+     *
+     * @param uuid Player UUID
+     * @return last seen time, or {@code null} if the player is not indexed
+     */
+    public @Nullable Long get(final @NonNull UUID uuid) {
+        return this.times.get(uuid);
+    }
+
+    /**
+     * Get the players last seen at or before the given time, least recently seen first. The returned view is weakly
+     * consistent and reflects concurrent updates.
+     *
+     * @param time Time in milliseconds since the epoch
+     * @return iterable over the matching player UUIDs
+     */
+    public @NonNull Iterable<UUID> seenBefore(final long time) {
+        final NavigableSet<Entry> head = this.ordered.headSet(new Entry(time, new UUID(Long.MAX_VALUE, Long.MAX_VALUE)), true);
+        return () -> new Iterator<>() {
+            private final Iterator<Entry> iterator = head.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public UUID next() {
+                return iterator.next().uuid();
+            }
+        };
+    }
+
+    /**
+     * Get the number of indexed players.
+     *
+     * @return index size
+     */
+    public int size() {
+        return this.times.size();
+    }
+
+    private record Entry(long time, UUID uuid) {
+
+    }
+
+}
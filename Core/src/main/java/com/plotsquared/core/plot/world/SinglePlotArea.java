@@ -31,29 +31,22 @@ import com.plotsquared.core.listener.PlotListener;
 import com.plotsquared.core.location.BlockLoc;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.Plot;
-import com.plotsquared.core.plot.PlotAreaType;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.plot.PlotSettings;
 import com.plotsquared.core.plot.flag.FlagContainer;
 import com.plotsquared.core.queue.GlobalBlockQueue;
-import com.plotsquared.core.setup.PlotAreaBuilder;
-import com.plotsquared.core.setup.SettingsNodesWrapper;
 import com.plotsquared.core.util.EventDispatcher;
-import com.plotsquared.core.util.task.TaskManager;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-
 public class SinglePlotArea extends GridPlotWorld {
 
     @SuppressWarnings({"unused", "FieldCanBeLocal"})
     private final EventDispatcher eventDispatcher;
     @SuppressWarnings({"unused", "FieldCanBeLocal"})
     private final PlotListener plotListener;
+    private final SinglePlotWorldManager worldManager = new SinglePlotWorldManager(this);
     public boolean VOID = false;
 
     public SinglePlotArea(
@@ -123,90 +116,18 @@ public class SinglePlotArea extends GridPlotWorld {
     }
 
     public void loadWorld(final PlotId id) {
-        String worldName = id.toUnderscoreSeparatedString();
-        if (PlotSquared.platform().worldUtil().isWorld(worldName)) {
-            return;
-        }
-        PlotAreaBuilder builder = PlotAreaBuilder.newBuilder()
-                .plotManager("PlotSquared:single")
-                .generatorName("PlotSquared:single")
-                .plotAreaType(getType())
-                .terrainType(getTerrain())
-                .settingsNodesWrapper(new SettingsNodesWrapper(new ConfigurationNode[0], null))
-                .worldName(worldName);
-
-        File container = PlotSquared.platform().worldContainer();
-        File destination = new File(container, worldName);
-
-        {// convert old
-            File oldFile = new File(container, id.toCommaSeparatedString());
-            if (oldFile.exists()) {
-                oldFile.renameTo(destination);
-            } else {
-                oldFile = new File(container, id.toSeparatedString("."));
-                if (oldFile.exists()) {
-                    oldFile.renameTo(destination);
-                }
-            }
-        }
-        // Duplicate 0;0
-        if (builder.plotAreaType() != PlotAreaType.NORMAL) {
-            if (!destination.exists()) {
-                File src = new File(container, "0_0");
-                if (src.exists()) {
-                    if (!destination.exists()) {
-                        destination.mkdirs();
-                    }
-                    File levelDat = new File(src, "level.dat");
-                    if (levelDat.exists()) {
-                        try {
-                            Files.copy(
-                                    levelDat.toPath(),
-                                    new File(destination, levelDat.getName()).toPath()
-                            );
-                            File data = new File(src, "data");
-                            if (data.exists()) {
-                                File dataDest = new File(destination, "data");
-                                dataDest.mkdirs();
-                                for (File file : data.listFiles()) {
-                                    Files.copy(
-                                            file.toPath(),
-                                            new File(dataDest, file.getName()).toPath()
-                                    );
-                                }
-                            }
-                        } catch (IOException exception) {
-                            exception.printStackTrace();
-                        }
-                    }
-                }
-            }
-        }
-
-        try {
-            TaskManager.getPlatformImplementation().sync(() -> {
-                final String name = id.toUnderscoreSeparatedString();
-                if (!PlotSquared.platform().worldUtil().isWorld(name)) {
-                    PlotSquared.platform().setupUtils().setupWorld(builder);
-                }
-                return null;
-            });
-        } catch (final Exception e) {
-            e.printStackTrace();
-        }
-
-        //        String worldName = plot.getWorldName();
-        //        World world = Bukkit.getWorld(worldName);
-        //        if (world != null) {
-        //            return world;
-        //        }
-        //        WorldCreator wc = new WorldCreator(worldName);
-        //        wc.generator("PlotSquared:single");
-        //        wc.environment(World.Environment.NORMAL);
-        //        wc.type(WorldType.FLAT);
-        //        return AsyncWorld.create(wc);
+        this.worldManager.load(id);
     }
 
+    /**
+     * Get the manager that loads and unloads the worlds of this area.
+     *
+     * @return world manager
+     * @since 7.5.5
+     */
+    public @NonNull SinglePlotWorldManager getWorldManager() {
+        return this.worldManager;
+    }
 
     @Override
     public ConfigurationNode[] getSettingNodes() {
@@ -0,0 +1,389 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.world;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.ConfigurationNode;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.plot.PlotAreaType;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.setup.PlotAreaBuilder;
+import com.plotsquared.core.setup.SettingsNodesWrapper;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskProfiler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Manages the lifecycle of the worlds backing a {@link SinglePlotArea}.
+ * <ul>
+ *     <li>World files are prepared off the main thread, so the server thread only has to create the world</li>
+ *     <li>A small pool of template copies is kept ready, so that preparing a new plot world is a rename</li>
+ *     <li>Worlds can be preloaded when a player is about to teleport to them. Preloaded worlds are created one per
+ *     tick, which bounds the main thread time spent on them. That time is recorded by the {@link TaskProfiler}</li>
+ *     <li>Idle worlds are unloaded least recently used first, and only once they have been idle for a while,
+ *     so worlds are not repeatedly unloaded and loaded again</li>
+ * </ul>
+ *
+ * @since 7.5.5
+ */
+public final class SinglePlotWorldManager {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + SinglePlotWorldManager.class.getSimpleName());
+
+    private static final String POOL_DIRECTORY = ".plotsquared-world-pool";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final SinglePlotArea area;
+    private final Map<PlotId, CompletableFuture<Void>> preparing = new ConcurrentHashMap<>();
+    private final Map<PlotId, CompletableFuture<Void>> queued = new ConcurrentHashMap<>();
+    private final Queue<PlotId> loadQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    // Set once the copies of a previous run have been discarded, entries must not be taken before
+    private volatile boolean poolReady;
+    // Set when a world was created outside of the load queue, which then skips a tick
+    private volatile boolean createdDirectly;
+    private final AtomicInteger poolIndex = new AtomicInteger();
+    private final Map<String, Long> lastUsed = new ConcurrentHashMap<>();
+
+    SinglePlotWorldManager(final @NonNull SinglePlotArea area) {
+        this.area = area;
+    }
+
+    /**
+     * Discard template copies left over from a previous run, as the template may have changed since, and start
+     * filling the pool.
+     */
+    public void start() {
+        final File pool = this.pool();
+        TaskManager.runTaskAsync(() -> {
+            final File[] entries = pool.listFiles();
+            if (entries != null) {
+                for (final File entry : entries) {
+                    delete(entry);
+                }
+            }
+            this.poolReady = true;
+            this.refillPool();
+        });
+    }
+
+    /**
+     * Load the world of a plot, waiting for it to be created. Off the main thread, the world is created through the same
+     * queue as preloaded worlds. On the main thread, the world is created straight away and the queue skips a tick
+     * instead. Prefer {@link #preload(PlotId)} where possible.
+     *
+     * @param id Plot ID
+     */
+    public void load(final @NonNull PlotId id) {
+        final String worldName = id.toUnderscoreSeparatedString();
+        if (PlotSquared.platform().worldUtil().isWorld(worldName)) {
+            return;
+        }
+        try {
+            if (!PlotSquared.get().isMainThread(Thread.currentThread())) {
+                this.preload(id).join();
+                return;
+            }
+            this.touch(worldName);
+            this.prepare(id).join();
+            this.createWorld(id);
+            this.createdDirectly = true;
+        } catch (final Exception e) {
+            LOGGER.error("Failed to load plot world {}", worldName, e);
+        }
+    }
+
+    /**
+     * Start loading the world of a plot, for example because a player is about to teleport to it. The world files are
+     * prepared asynchronously, after which the world is created on the main thread.
+     *
+     * @param id Plot ID
+     * @return future completed once the world is loaded
+     */
+    public @NonNull CompletableFuture<Void> preload(final @NonNull PlotId id) {
+        final String worldName = id.toUnderscoreSeparatedString();
+        this.touch(worldName);
+        if (PlotSquared.platform().worldUtil().isWorld(worldName)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return this.prepare(id).thenCompose(ignored -> {
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            final CompletableFuture<Void> existing = this.queued.putIfAbsent(id, future);
+            if (existing != null) {
+                return existing;
+            }
+            this.loadQueue.add(id);
+            this.scheduleDrain();
+            return future;
+        });
+    }
+
+    /**
+     * Mark a world as in use, which keeps it from being unloaded for the configured idle time.
+     *
+     * @param worldName World name
+     */
+    public void touch(final @NonNull String worldName) {
+        this.lastUsed.put(worldName, System.currentTimeMillis());
+    }
+
+    /**
+     * Forget about a world that has been unloaded.
+     *
+     * @param worldName World name
+     */
+    public void forget(final @NonNull String worldName) {
+        this.lastUsed.remove(worldName);
+    }
+
+    /**
+     * Select which of the given idle worlds may be unloaded, least recently used first. Worlds become eligible once
+     * they have been idle for {@link Settings.Single_Plot_Worlds#IDLE_UNLOAD_DELAY}, or straight away while more than
+     * {@link Settings.Single_Plot_Worlds#MAX_IDLE_WORLDS} idle worlds are loaded.
+     *
+     * @param worlds    Loaded worlds without players
+     * @param worldName Function returning the name of a world
+     * @param <W>       World type
+     * @return worlds that may be unloaded, in the order they should be unloaded
+     */
+    public <W> @NonNull List<W> selectUnloadable(
+            final @NonNull Collection<W> worlds,
+            final @NonNull Function<W, String> worldName
+    ) {
+        final long now = System.currentTimeMillis();
+        final List<W> ordered = new ArrayList<>(worlds);
+        for (final W world : ordered) {
+            // Worlds loaded without going through this manager start their idle time when first seen
+            this.lastUsed.putIfAbsent(worldName.apply(world), now);
+        }
+        ordered.sort(Comparator.comparingLong(world -> this.lastUsed.getOrDefault(worldName.apply(world), now)));
+        final int excess = ordered.size() - Settings.Single_Plot_Worlds.MAX_IDLE_WORLDS;
+        final long delay = TimeUnit.SECONDS.toMillis(Settings.Single_Plot_Worlds.IDLE_UNLOAD_DELAY);
+        final List<W> unloadable = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            final W world = ordered.get(i);
+            if (i < excess || now - this.lastUsed.getOrDefault(worldName.apply(world), now) >= delay) {
+                unloadable.add(world);
+            }
+        }
+        return unloadable;
+    }
+
+    private @NonNull CompletableFuture<Void> prepare(final @NonNull PlotId id) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final CompletableFuture<Void> existing = this.preparing.putIfAbsent(id, future);
+        if (existing != null) {
+            return existing;
+        }
+        TaskManager.runTaskAsync(() -> {
+            try {
+                this.prepareFiles(id);
+                future.complete(null);
+            } catch (final Throwable throwable) {
+                future.completeExceptionally(throwable);
+            } finally {
+                this.preparing.remove(id, future);
+            }
+        });
+        return future;
+    }
+
+    private void prepareFiles(final @NonNull PlotId id) throws IOException {
+        final File container = PlotSquared.platform().worldContainer();
+        final File destination = new File(container, id.toUnderscoreSeparatedString());
+
+        {// convert old
+            File oldFile = new File(container, id.toCommaSeparatedString());
+            if (oldFile.exists()) {
+                oldFile.renameTo(destination);
+            } else {
+                oldFile = new File(container, id.toSeparatedString("."));
+                if (oldFile.exists()) {
+                    oldFile.renameTo(destination);
+                }
+            }
+        }
+        // Duplicate 0;0
+        if (this.area.getType() == PlotAreaType.NORMAL || destination.exists()) {
+            return;
+        }
+        if (this.takeFromPool(destination)) {
+            return;
+        }
+        final File template = this.template();
+        if (template.exists()) {
+            destination.mkdirs();
+            copyTemplate(template, destination);
+        }
+    }
+
+    private boolean takeFromPool(final @NonNull File destination) {
+        if (!this.poolReady) {
+            return false;
+        }
+        final File[] entries = this.pool().listFiles();
+        if (entries == null) {
+            return false;
+        }
+        for (final File entry : entries) {
+            if (entry.getName().endsWith(TEMPORARY_SUFFIX)) {
+                continue;
+            }
+            try {
+                Files.move(entry.toPath(), destination.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (final IOException ignored) {
+                // Taken by another load, or the world container is on another file system
+                continue;
+            }
+            this.refillPool();
+            return true;
+        }
+        return false;
+    }
+
+    private void refillPool() {
+        if (Settings.Single_Plot_Worlds.POOL_SIZE <= 0 || this.area.getType() == PlotAreaType.NORMAL
+                || !this.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        TaskManager.runTaskAsync(() -> {
+            try {
+                final File template = this.template();
+                final File pool = this.pool();
+                File[] entries;
+                while (template.exists() && ((entries = pool.listFiles()) == null
+                        || entries.length < Settings.Single_Plot_Worlds.POOL_SIZE)) {
+                    final String name = Integer.toString(this.poolIndex.incrementAndGet());
+                    final File entry = new File(pool, name + TEMPORARY_SUFFIX);
+                    entry.mkdirs();
+                    copyTemplate(template, entry);
+                    // Only complete copies may be taken
+                    Files.move(entry.toPath(), new File(pool, name).toPath(), StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (final IOException e) {
+                LOGGER.error("Failed to prepare plot world template copies", e);
+            } finally {
+                this.refilling.set(false);
+            }
+        });
+    }
+
+    private void scheduleDrain() {
+        if (this.draining.compareAndSet(false, true)) {
+            TaskManager.runTask(this::drain);
+        }
+    }
+
+    private void drain() {
+        // A world created outside of the queue takes the place of this tick's
+        final PlotId id = this.createdDirectly ? null : this.loadQueue.poll();
+        this.createdDirectly = false;
+        if (id != null) {
+            final CompletableFuture<Void> future = this.queued.remove(id);
+            try {
+                this.createWorld(id);
+                future.complete(null);
+            } catch (final Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }
+        this.draining.set(false);
+        if (!this.loadQueue.isEmpty()) {
+            // Next tick, so that at most one queued world is created per tick
+            this.scheduleDrain();
+        }
+    }
+
+    private void createWorld(final @NonNull PlotId id) {
+        final String worldName = id.toUnderscoreSeparatedString();
+        if (PlotSquared.platform().worldUtil().isWorld(worldName)) {
+            return;
+        }
+        final PlotAreaBuilder builder = PlotAreaBuilder.newBuilder()
+                .plotManager("PlotSquared:single")
+                .generatorName("PlotSquared:single")
+                .plotAreaType(this.area.getType())
+                .terrainType(this.area.getTerrain())
+                .settingsNodesWrapper(new SettingsNodesWrapper(new ConfigurationNode[0], null))
+                .worldName(worldName);
+        final long sample = TaskProfiler.start();
+        final long start = System.nanoTime();
+        PlotSquared.platform().setupUtils().setupWorld(builder);
+        final long time = System.nanoTime() - start;
+        TaskProfiler.record(TaskProfiler.Origin.WORLD_LOAD, sample);
+        if (Settings.DEBUG) {
+            LOGGER.info("Loaded plot world {} in {}ms", worldName, TimeUnit.NANOSECONDS.toMillis(time));
+        }
+    }
+
+    private @NonNull File template() {
+        return new File(new File(PlotSquared.platform().worldContainer(), "0_0"), "level.dat");
+    }
+
+    private @NonNull File pool() {
+        return new File(PlotSquared.platform().worldContainer(), POOL_DIRECTORY);
+    }
+
+    private static void copyTemplate(final @NonNull File levelDat, final @NonNull File destination) throws IOException {
+        Files.copy(levelDat.toPath(), new File(destination, levelDat.getName()).toPath());
+        final File data = new File(levelDat.getParentFile(), "data");
+        if (data.exists()) {
+            final File dataDest = new File(destination, "data");
+            dataDest.mkdirs();
+            final File[] files = data.listFiles();
+            if (files != null) {
+                for (final File file : files) {
+                    Files.copy(file.toPath(), new File(dataDest, file.getName()).toPath());
+                }
+            }
+        }
+    }
+
+    private static void delete(final @NonNull File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (final File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
@@ -62,6 +62,7 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
     private int[] regenEnd;
     private CuboidRegion regenRegion = null;
     private Consumer<BlockVector2> consumer = null;
+    private Consumer<BlockVector2> producer = null;
     private boolean unloadAfter = true;
     private Runnable whenDone = null;
     private SideEffectSet sideEffectSet = null;
@@ -287,6 +288,49 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
         this.consumer = consumer;
     }
 
+    /**
+     * Get the producer invoked before each chunk is written, or null if one is not set
+     *
+     * @return chunk producer
+     * @since 7.5.5
+     */
+    public final @Nullable Consumer<BlockVector2> getChunkProducer() {
+        return this.producer;
+    }
+
+    /**
+     * Set a producer that is invoked on the main thread with each chunk position immediately before the queue writes
+     * that chunk. Blocks, biomes and tiles set on this queue by the producer for that chunk are written straight away,
+     * after which the chunk is released from the queue, so only chunks in flight are held in memory. The chunks to be
+     * produced must be added using {@link #addReadChunks(Set)}. Has no effect if a chunk consumer is set.
+     *
+     * @param producer Producer to be executed on each chunk before it is written
+     * @since 7.5.5
+     */
+    public final void setChunkProducer(@Nullable Consumer<BlockVector2> producer) {
+        this.producer = producer;
+    }
+
+    /**
+     * Get the {@link LocalChunk} to write at the given chunk position, invoking the chunk producer first if one is set.
+     * When a producer is set the chunk is removed from the queue.
+     *
+     * @param blockVector2 chunk position
+     * @return the chunk to write, or null if nothing is to be written to the chunk
+     * @since 7.5.5
+     */
+    protected @Nullable LocalChunk pollChunk(@NonNull BlockVector2 blockVector2) {
+        if (this.producer == null) {
+            return this.blockChunks.get(blockVector2);
+        }
+        this.producer.accept(blockVector2);
+        // The chunk is written and released below, so further writes must not go to the cached instance
+        this.lastWrappedChunk = null;
+        this.lastX = Integer.MIN_VALUE;
+        this.lastZ = Integer.MIN_VALUE;
+        return this.blockChunks.remove(blockVector2);
+    }
+
     /**
      * Get the list of progress subscribers currently added to the queue to be added to the Chunk Coordinator
      */
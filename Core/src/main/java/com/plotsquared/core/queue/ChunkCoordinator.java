@@ -18,8 +18,34 @@
  */
 package com.plotsquared.core.queue;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public abstract class ChunkCoordinator implements Runnable {
 
+    private static final AtomicInteger PENDING_CHUNKS = new AtomicInteger();
+
+    /**
+     * Get the number of chunks that all started chunk coordinators have yet to process. This is the budget shared by
+     * all queued work: background work, such as road regeneration, waits while it is used up.
+     *
+     * @return pending chunks of all chunk coordinators
+     * @since 7.5.5
+     */
+    public static int getPendingChunks() {
+        return PENDING_CHUNKS.get();
+    }
+
+    /**
+     * Update the number of chunks pending in all chunk coordinators. Implementations add their chunks when started and
+     * remove them once processed, or once finished for chunks that were never processed.
+     *
+     * @param chunks Number of chunks to add, negative to remove chunks
+     * @since 7.5.5
+     */
+    protected static void addPendingChunks(final int chunks) {
+        PENDING_CHUNKS.addAndGet(chunks);
+    }
+
     /**
      * Starts the chunk coordinator. This will usually (implementation-specific-permitting) mark chunks to be loaded in batches,
      * then add them to a queue and apply tickets once loaded to prevent unloading. A repeating task will then iterate over loaded
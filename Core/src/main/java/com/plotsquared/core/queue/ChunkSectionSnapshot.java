@@ -0,0 +1,75 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.util.ChunkUtil;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Read only view of the contents of a single loaded chunk, used to copy a chunk without querying the world for every
+ * block. Coordinates are relative to the chunk on the x and z axes and absolute on the y axis. Once taken, a snapshot
+ * may be read from several threads at once.
+ *
+ * @since 7.5.5
+ */
+public interface ChunkSectionSnapshot {
+
+    /**
+     * Get the block at a position, including its block entity data.
+     *
+     * @param x Chunk relative x, 0-15
+     * @param y World y
+     * @param z Chunk relative z, 0-15
+     * @return block
+     */
+    @NonNull BaseBlock getFullBlock(int x, int y, int z);
+
+    /**
+     * Get the blocks of a whole section, indexed by {@link ChunkUtil#getJ(int, int, int)}. A new section is returned by
+     * every call, so it may be handed to {@link LocalChunk#setBlockSection(int, PalettedSection)} as is.
+     *
+     * @param layer Section y coordinate, the world y divided by 16
+     * @return blocks of the section
+     */
+    default @NonNull PalettedSection<BaseBlock> getSection(final int layer) {
+        final PalettedSection<BaseBlock> section = new PalettedSection<>(4096);
+        final int minY = layer << 4;
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    section.set(ChunkUtil.getJ(x, y, z), this.getFullBlock(x, minY + y, z));
+                }
+            }
+        }
+        return section;
+    }
+
+    /**
+     * Get the biome of the 4x4x4 biome cell containing a position.
+     *
+     * @param x Chunk relative x, 0-15
+     * @param y World y
+     * @param z Chunk relative z, 0-15
+     * @return biome
+     */
+    @NonNull BiomeType getBiome(int x, int y, int z);
+
+}
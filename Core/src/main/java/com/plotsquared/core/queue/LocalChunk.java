@@ -27,6 +27,7 @@ import com.sk89q.worldedit.util.Location;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.HashMap;
 
@@ -37,8 +38,8 @@ public class LocalChunk {
     private final int z;
     private final int minSection;
 
-    private final BaseBlock[][] baseblocks;
-    private final BiomeType[][] biomes;
+    private final PalettedSection<BaseBlock>[] blocks;
+    private final PalettedSection<BiomeType>[] biomes;
     private final HashMap<BlockVector3, CompoundTag> tiles = new HashMap<>();
     private final HashMap<Location, BaseEntity> entities = new HashMap<>();
 
@@ -48,8 +49,26 @@ public class LocalChunk {
         this.z = z;
         this.minSection = parent.getMinLayer();
         int sections = parent.getMaxLayer() - parent.getMinLayer() + 1;
-        baseblocks = new BaseBlock[sections][];
-        biomes = new BiomeType[sections][];
+        blocks = newSections(sections);
+        biomes = newSections(sections);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> PalettedSection<T>[] newSections(final int sections) {
+        return (PalettedSection<T>[]) new PalettedSection[sections];
+    }
+
+    /**
+     * Get the index of the biome cell containing a position, biomes are stored at their native 4x4x4 resolution.
+     *
+     * @param x Section relative x
+     * @param y Section relative y
+     * @param z Section relative z
+     * @return biome cell index
+     * @since 7.5.5
+     */
+    public static int getBiomeIndex(final int x, final int y, final int z) {
+        return ((y & 15) >> 2) << 4 | ((z & 15) >> 2) << 2 | (x & 15) >> 2;
     }
 
     public @NonNull QueueCoordinator getParent() {
@@ -73,12 +92,86 @@ public class LocalChunk {
         return this.minSection;
     }
 
+    /**
+     * Get the number of sections this chunk can hold.
+     *
+     * @return section count
+     * @since 7.5.5
+     */
+    public int getSectionCount() {
+        return this.blocks.length;
+    }
+
+    /**
+     * Get the blocks set in a section, indexed by {@link ChunkUtil#getJ(int, int, int)}.
+     *
+     * @param layerIndex Section index, starting at {@link #getMinSection()}
+     * @return the section, or {@code null} if no block was set in it
+     * @since 7.5.5
+     */
+    public @Nullable PalettedSection<BaseBlock> getBlockSection(final int layerIndex) {
+        return this.blocks[layerIndex];
+    }
+
+    /**
+     * Replace all blocks of a section. The section is used as is, not copied.
+     *
+     * @param layerIndex Section index, starting at {@link #getMinSection()}
+     * @param section    Blocks indexed by {@link ChunkUtil#getJ(int, int, int)}, or {@code null} to unset all blocks
+     * @since 7.5.5
+     */
+    public void setBlockSection(final int layerIndex, final @Nullable PalettedSection<BaseBlock> section) {
+        this.blocks[layerIndex] = section;
+    }
+
+    /**
+     * Get the biomes set in a section, indexed by {@link #getBiomeIndex(int, int, int)}.
+     *
+     * @param layerIndex Section index, starting at {@link #getMinSection()}
+     * @return the section, or {@code null} if no biome was set in it
+     * @since 7.5.5
+     */
+    public @Nullable PalettedSection<BiomeType> getBiomeSection(final int layerIndex) {
+        return this.biomes[layerIndex];
+    }
+
+    /**
+     * Get a copy of the blocks set in this chunk.
+     *
+     * @return copy of the blocks of each section, indexed by {@link ChunkUtil#getJ(int, int, int)}
+     * @deprecated Blocks are stored paletted, this allocates the full arrays. Use {@link #getBlockSection(int)}
+     */
+    @Deprecated(forRemoval = true, since = "7.5.5")
     public @NonNull BaseBlock[][] getBaseblocks() {
-        return this.baseblocks;
+        final BaseBlock[][] copy = new BaseBlock[this.blocks.length][];
+        for (int i = 0; i < this.blocks.length; i++) {
+            if (this.blocks[i] != null) {
+                copy[i] = this.blocks[i].toArray(new BaseBlock[4096]);
+            }
+        }
+        return copy;
     }
 
+    /**
+     * Get a copy of the biomes set in this chunk, expanded to one entry per block.
+     *
+     * @return copy of the biomes of each section, indexed by {@link ChunkUtil#getJ(int, int, int)}
+     * @deprecated Biomes are stored paletted at 4x4x4 resolution, this allocates the full arrays. Use
+     *         {@link #getBiomeSection(int)}
+     */
+    @Deprecated(forRemoval = true, since = "7.5.5")
     public @NonNull BiomeType[][] getBiomes() {
-        return this.biomes;
+        final BiomeType[][] copy = new BiomeType[this.biomes.length][];
+        for (int i = 0; i < this.biomes.length; i++) {
+            if (this.biomes[i] == null) {
+                continue;
+            }
+            final BiomeType[] layer = copy[i] = new BiomeType[4096];
+            for (int j = 0; j < layer.length; j++) {
+                layer[j] = this.biomes[i].get(getBiomeIndex(ChunkUtil.getX(j), ChunkUtil.getY(0, j), ChunkUtil.getZ(j)));
+            }
+        }
+        return copy;
     }
 
     public @NonNull HashMap<BlockVector3, CompoundTag> getTiles() {
@@ -87,12 +180,11 @@ public class LocalChunk {
 
     public void setBiome(final int x, final int y, final int z, final @NonNull BiomeType biomeType) {
         final int i = getLayerIndex(y);
-        final int j = ChunkUtil.getJ(x, y, z);
-        BiomeType[] array = this.biomes[i];
-        if (array == null) {
-            array = this.biomes[i] = new BiomeType[4096];
+        PalettedSection<BiomeType> section = this.biomes[i];
+        if (section == null) {
+            section = this.biomes[i] = new PalettedSection<>(64);
         }
-        array[j] = biomeType;
+        section.set(getBiomeIndex(x, y, z), biomeType);
     }
 
     @Override
@@ -102,12 +194,11 @@ public class LocalChunk {
 
     public void setBlock(final int x, final int y, final int z, final @NonNull BaseBlock baseBlock) {
         final int i = getLayerIndex(y);
-        final int j = ChunkUtil.getJ(x, y, z);
-        BaseBlock[] array = baseblocks[i];
-        if (array == null) {
-            array = (baseblocks[i] = new BaseBlock[4096]);
+        PalettedSection<BaseBlock> section = this.blocks[i];
+        if (section == null) {
+            section = this.blocks[i] = new PalettedSection<>(4096);
         }
-        array[j] = baseBlock;
+        section.set(ChunkUtil.getJ(x, y, z), baseBlock);
     }
 
     public void setTile(final int x, final int y, final int z, final @NonNull CompoundTag tag) {
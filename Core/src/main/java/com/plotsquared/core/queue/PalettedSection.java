@@ -0,0 +1,263 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Fixed size storage of nullable values which keeps every distinct value once, in a palette, and stores palette
+ * indices packed into as few bits as the palette size allows. This is the storage Minecraft uses for chunk sections, a
+ * section only holding a handful of distinct block states needs a few bits per block instead of a reference.
+ * <p>
+ * Values are compared using {@link Object#equals(Object)}. Palette entries are never removed, so a section that had
+ * many distinct values keeps its width until it is discarded. Instances are not thread safe.
+ * </p>
+ *
+ * @param <T> value type
+ * @since 7.5.5
+ */
+public final class PalettedSection<T> {
+
+    // Palettes up to this size are searched linearly, which is faster than hashing for the common case
+    private static final int LINEAR_PALETTE_LIMIT = 16;
+
+    private final int size;
+    // Index 0 is reserved for unset (null) values
+    private Object[] palette = new Object[4];
+    private int paletteSize = 1;
+    private Map<Object, Integer> lookup;
+    private int bits;
+    private int valuesPerLong;
+    private long mask;
+    private long[] data;
+    private int count;
+
+    /**
+     * Create an empty section.
+     *
+     * @param size Number of values
+     */
+    public PalettedSection(final int size) {
+        this.size = size;
+    }
+
+    /**
+     * Get the number of values, set or not, in this section.
+     *
+     * @return section size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the number of set values.
+     *
+     * @return number of non null values
+     */
+    public int count() {
+        return this.count;
+    }
+
+    /**
+     * Check whether no value is set.
+     *
+     * @return {@code true} if all values are {@code null}
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * Get the number of bits used to store each value.
+     *
+     * @return bits per value
+     */
+    public int getBitsPerValue() {
+        return this.bits;
+    }
+
+    /**
+     * Get a value.
+     *
+     * @param index Value index
+     * @return value, or {@code null} if it is not set
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T get(final int index) {
+        Objects.checkIndex(index, this.size);
+        if (this.data == null) {
+            return null;
+        }
+        return (T) this.palette[this.getId(index)];
+    }
+
+    /**
+     * Set a value.
+     *
+     * @param index Value index
+     * @param value New value, or {@code null} to unset it
+     */
+    public void set(final int index, final @Nullable T value) {
+        Objects.checkIndex(index, this.size);
+        final int id = value == null ? 0 : this.idFor(value);
+        if (this.data == null) {
+            if (id == 0) {
+                return;
+            }
+            this.resize(Math.max(1, 32 - Integer.numberOfLeadingZeros(this.paletteSize - 1)));
+        }
+        final int previous = this.getId(index);
+        if (previous == id) {
+            return;
+        }
+        if (previous == 0) {
+            this.count++;
+        } else if (id == 0) {
+            this.count--;
+        }
+        this.setId(index, id);
+    }
+
+    /**
+     * Call a consumer for every set value, in index order. This decodes the packed indices sequentially and is cheaper
+     * than calling {@link #get(int)} for every index.
+     *
+     * @param consumer Consumer to call for each index and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(final @NonNull EntryConsumer<? super T> consumer) {
+        if (this.count == 0) {
+            return;
+        }
+        int index = 0;
+        for (final long word : this.data) {
+            long remaining = word;
+            for (int i = 0; i < this.valuesPerLong && index < this.size; i++, index++) {
+                final int id = (int) (remaining & this.mask);
+                remaining >>>= this.bits;
+                if (id != 0) {
+                    consumer.accept(index, (T) this.palette[id]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy the values of this section into an array.
+     *
+     * @param array Array of at least {@link #size()} elements
+     * @return the given array
+     */
+    public T[] toArray(final T[] array) {
+        Arrays.fill(array, 0, this.size, null);
+        this.forEach((index, value) -> array[index] = value);
+        return array;
+    }
+
+    private int idFor(final @NonNull Object value) {
+        if (this.lookup != null) {
+            final Integer id = this.lookup.get(value);
+            if (id != null) {
+                return id;
+            }
+        } else {
+            for (int i = 1; i < this.paletteSize; i++) {
+                final Object entry = this.palette[i];
+                if (entry == value || entry.equals(value)) {
+                    return i;
+                }
+            }
+        }
+        final int id = this.paletteSize++;
+        if (id == this.palette.length) {
+            this.palette = Arrays.copyOf(this.palette, id * 2);
+        }
+        this.palette[id] = value;
+        if (this.lookup != null) {
+            this.lookup.put(value, id);
+        } else if (this.paletteSize > LINEAR_PALETTE_LIMIT) {
+            this.lookup = new HashMap<>();
+            for (int i = 1; i < this.paletteSize; i++) {
+                this.lookup.put(this.palette[i], i);
+            }
+        }
+        if (this.data != null && id > this.mask) {
+            this.resize(this.bits + 1);
+        }
+        return id;
+    }
+
+    private int getId(final int index) {
+        final int shift = (index % this.valuesPerLong) * this.bits;
+        return (int) ((this.data[index / this.valuesPerLong] >>> shift) & this.mask);
+    }
+
+    private void setId(final int index, final int id) {
+        final int word = index / this.valuesPerLong;
+        final int shift = (index % this.valuesPerLong) * this.bits;
+        this.data[word] = (this.data[word] & ~(this.mask << shift)) | ((long) id << shift);
+    }
+
+    private void resize(final int bits) {
+        final long[] previous = this.data;
+        final int previousBits = this.bits;
+        final int previousValuesPerLong = this.valuesPerLong;
+        final long previousMask = this.mask;
+        this.bits = bits;
+        this.valuesPerLong = 64 / bits;
+        this.mask = (1L << bits) - 1;
+        this.data = new long[(this.size + this.valuesPerLong - 1) / this.valuesPerLong];
+        if (previous == null) {
+            return;
+        }
+        for (int index = 0; index < this.size; index++) {
+            final int shift = (index % previousValuesPerLong) * previousBits;
+            final int id = (int) ((previous[index / previousValuesPerLong] >>> shift) & previousMask);
+            if (id != 0) {
+                this.setId(index, id);
+            }
+        }
+    }
+
+    /**
+     * Consumer of the set values of a section.
+     *
+     * @param <T> value type
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<T> {
+
+        /**
+         * Accept a value.
+         *
+         * @param index Value index
+         * @param value Value, never {@code null}
+         */
+        void accept(int index, @NonNull T value);
+
+    }
+
+}
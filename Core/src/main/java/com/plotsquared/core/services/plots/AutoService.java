@@ -20,10 +20,12 @@ package com.plotsquared.core.services.plots;
 
 import cloud.commandframework.services.types.Service;
 import com.google.common.cache.Cache;
+import com.google.common.base.Ticker;
 import com.google.common.cache.CacheBuilder;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotAreaType;
 import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.util.task.TaskManager;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -35,7 +37,13 @@ import java.util.function.Predicate;
 public interface AutoService extends Service<AutoQuery, List<Plot>> {
 
     Cache<PlotId, Plot> plotCandidateCache = CacheBuilder.newBuilder()
-            .expireAfterWrite(20, TimeUnit.SECONDS).build();
+            .expireAfterWrite(20, TimeUnit.SECONDS)
+            .ticker(new Ticker() {
+                @Override
+                public long read() {
+                    return TaskManager.currentNanoTime();
+                }
+            }).build();
     Object plotLock = new Object();
 
     final class DefaultAutoService implements AutoService {
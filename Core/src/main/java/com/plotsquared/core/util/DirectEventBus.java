@@ -0,0 +1,256 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event bus dispatching to methods annotated with Guava's {@link Subscribe}, as a drop-in replacement for Guava's
+ * {@code EventBus}. Subscriber methods are bound to generated invokers when a listener is registered, and the
+ * subscribers for an event type are resolved once and cached, so posting an event is a plain loop of direct calls, and
+ * posting an event nobody listens to costs a single map lookup.
+ * <p>
+ * Like Guava's bus, subscribers receive events of their parameter type and all of its subtypes, calls to a subscriber
+ * are serialised unless it is annotated with {@link AllowConcurrentEvents}, and exceptions thrown by subscribers are
+ * logged rather than propagated. Unlike Guava's bus, events posted from within a subscriber are dispatched immediately
+ * rather than after the current event, so the caller can always inspect an event once it was posted.
+ * </p>
+ */
+final class DirectEventBus {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + DirectEventBus.class.getSimpleName());
+    private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+    private final Map<Object, List<Subscriber>> listeners = new IdentityHashMap<>();
+    private final Map<Class<?>, Subscriber[]> dispatch = new ConcurrentHashMap<>();
+
+    /**
+     * Register all subscriber methods of a listener.
+     *
+     * @param listener Listener to register
+     */
+    synchronized void register(final @NonNull Object listener) {
+        if (this.listeners.containsKey(listener)) {
+            return;
+        }
+        final List<Subscriber> subscribers = new ArrayList<>();
+        for (final Method method : subscriberMethods(listener.getClass())) {
+            subscribers.add(new Subscriber(listener, method, invoker(method),
+                    method.isAnnotationPresent(AllowConcurrentEvents.class)
+            ));
+        }
+        this.listeners.put(listener, subscribers);
+        this.dispatch.clear();
+    }
+
+    /**
+     * Unregister all subscriber methods of a listener.
+     *
+     * @param listener Listener to unregister
+     */
+    synchronized void unregister(final @NonNull Object listener) {
+        if (this.listeners.remove(listener) != null) {
+            this.dispatch.clear();
+        }
+    }
+
+    /**
+     * Check whether any subscriber would receive an event of the given type.
+     *
+     * @param eventType Event type
+     * @return {@code true} if there is at least one subscriber
+     */
+    boolean hasSubscribers(final @NonNull Class<?> eventType) {
+        return subscribers(eventType).length > 0;
+    }
+
+    /**
+     * Post an event to all subscribers.
+     *
+     * @param event Event to post
+     */
+    void post(final @NonNull Object event) {
+        for (final Subscriber subscriber : subscribers(event.getClass())) {
+            subscriber.dispatch(event);
+        }
+    }
+
+    private Subscriber @NonNull [] subscribers(final @NonNull Class<?> eventType) {
+        final Subscriber[] subscribers = this.dispatch.get(eventType);
+        if (subscribers != null) {
+            return subscribers;
+        }
+        return resolve(eventType);
+    }
+
+    private synchronized Subscriber @NonNull [] resolve(final @NonNull Class<?> eventType) {
+        final List<Subscriber> matching = new ArrayList<>();
+        for (final List<Subscriber> subscribers : this.listeners.values()) {
+            for (final Subscriber subscriber : subscribers) {
+                if (subscriber.eventType.isAssignableFrom(eventType)) {
+                    matching.add(subscriber);
+                }
+            }
+        }
+        final Subscriber[] subscribers = matching.isEmpty() ? NO_SUBSCRIBERS : matching.toArray(Subscriber[]::new);
+        this.dispatch.put(eventType, subscribers);
+        return subscribers;
+    }
+
+    private static @NonNull List<Method> subscriberMethods(final @NonNull Class<?> listenerType) {
+        final Set<Class<?>> types = new LinkedHashSet<>();
+        collectTypes(listenerType, types);
+        final Set<String> signatures = new HashSet<>();
+        final List<Method> methods = new ArrayList<>();
+        for (final Class<?> type : types) {
+            for (final Method method : type.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(Subscribe.class) || method.isSynthetic()) {
+                    continue;
+                }
+                if (method.getParameterCount() != 1 || method.getParameterTypes()[0].isPrimitive()) {
+                    throw new IllegalArgumentException("Method " + method + " has @Subscribe annotation but has "
+                            + method.getParameterCount() + " parameters. Subscriber methods must have exactly 1 "
+                            + "parameter of a reference type.");
+                }
+                if (signatures.add(method.getName() + method.getParameterTypes()[0].getName())) {
+                    methods.add(method);
+                }
+            }
+        }
+        return methods;
+    }
+
+    private static void collectTypes(final Class<?> type, final @NonNull Set<Class<?>> types) {
+        if (type == null || !types.add(type)) {
+            return;
+        }
+        collectTypes(type.getSuperclass(), types);
+        for (final Class<?> iface : type.getInterfaces()) {
+            collectTypes(iface, types);
+        }
+    }
+
+    private static @NonNull Invoker invoker(final @NonNull Method method) {
+        final MethodHandle handle;
+        final MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            handle = lookup.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access subscriber method " + method, e);
+        }
+        try {
+            final CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "invoke",
+                    MethodType.methodType(Invoker.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0])
+            );
+            return (Invoker) site.getTarget().invokeExact();
+        } catch (Throwable ignored) {
+            // Generating a class is not possible for every lookup, e.g. across modules. Fall back to the method handle
+        }
+        final MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (listener, event) -> {
+            try {
+                generic.invokeExact(listener, event);
+            } catch (final Throwable throwable) {
+                throw new InvocationException(throwable);
+            }
+        };
+    }
+
+    /**
+     * Invokes a subscriber method.
+     */
+    @FunctionalInterface
+    public interface Invoker {
+
+        void invoke(Object listener, Object event);
+
+    }
+
+    private static final class InvocationException extends RuntimeException {
+
+        private InvocationException(final @NonNull Throwable cause) {
+            super(cause);
+        }
+
+    }
+
+    private static final class Subscriber {
+
+        private final Object listener;
+        private final Method method;
+        private final Invoker invoker;
+        private final boolean concurrent;
+        private final Class<?> eventType;
+
+        private Subscriber(
+                final @NonNull Object listener, final @NonNull Method method, final @NonNull Invoker invoker,
+                final boolean concurrent
+        ) {
+            this.listener = listener;
+            this.method = method;
+            this.invoker = invoker;
+            this.concurrent = concurrent;
+            this.eventType = method.getParameterTypes()[0];
+        }
+
+        private void dispatch(final @NonNull Object event) {
+            try {
+                if (this.concurrent) {
+                    this.invoker.invoke(this.listener, event);
+                } else {
+                    synchronized (this) {
+                        this.invoker.invoke(this.listener, event);
+                    }
+                }
+            } catch (final Throwable throwable) {
+                final Throwable cause = throwable instanceof InvocationException ? throwable.getCause() : throwable;
+                LOGGER.error("Exception thrown by subscriber method {} on subscriber {} when dispatching event {}",
+                        this.method, this.listener, event, cause
+                );
+            }
+        }
+
+    }
+
+}
@@ -18,7 +18,6 @@
  */
 package com.plotsquared.core.util;
 
-import com.google.common.eventbus.EventBus;
 import com.intellectualsites.annotations.DoNotUse;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
@@ -96,7 +95,7 @@ import java.util.UUID;
 @DoNotUse
 public class EventDispatcher {
 
-    private final EventBus eventBus = new EventBus("PlotSquaredEvents");
+    private final DirectEventBus eventBus = new DirectEventBus();
     private final List<Object> listeners = new ArrayList<>();
     private final WorldEdit worldEdit;
 
@@ -120,6 +119,18 @@ public class EventDispatcher {
         }
     }
 
+    /**
+     * Check whether any registered listener subscribes to events of the given type, or one of its supertypes. Hot paths
+     * use this to skip creating events nobody will receive.
+     *
+     * @param eventType Event type
+     * @return {@code true} if posting an event of the type would reach at least one listener
+     * @since 7.5.5
+     */
+    public boolean hasListeners(final @NonNull Class<?> eventType) {
+        return eventBus.hasSubscribers(eventType);
+    }
+
     public void callGenericEvent(final @NonNull Object event) {
         eventBus.post(event);
     }
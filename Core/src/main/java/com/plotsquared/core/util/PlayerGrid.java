@@ -0,0 +1,237 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Spatial hash of online player positions, bucketed by world and chunk. Positions are updated incrementally as
+ * players move, and queries only visit the buckets that overlap the queried area, so their cost depends on the
+ * number of players nearby rather than the number of players online.
+ *
+ * @param <P> Player type
+ * @since 7.5.5
+ */
+public final class PlayerGrid<P> {
+
+    private final Map<String, Map<Long, List<Entry<P>>>> worlds = new HashMap<>();
+    private final Map<UUID, Entry<P>> entries = new HashMap<>();
+
+    private static long key(final int chunkX, final int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    private static int chunk(final double coordinate) {
+        return (int) Math.floor(coordinate) >> 4;
+    }
+
+    /**
+     * Set the position of a player, adding the player if they are not tracked yet.
+     *
+     * @param uuid   Player UUID
+     * @param player Player
+     * @param world  World name
+     * @param x      X coordinate
+     * @param y      Y coordinate
+     * @param z      Z coordinate
+     */
+    public synchronized void update(
+            final @NonNull UUID uuid,
+            final @NonNull P player,
+            final @NonNull String world,
+            final double x,
+            final double y,
+            final double z
+    ) {
+        final long key = key(chunk(x), chunk(z));
+        Entry<P> entry = this.entries.get(uuid);
+        if (entry == null) {
+            entry = new Entry<>();
+            this.entries.put(uuid, entry);
+        } else if (entry.key != key || !entry.world.equals(world)) {
+            this.unlink(entry);
+        } else {
+            entry.set(player, x, y, z);
+            return;
+        }
+        entry.world = world;
+        entry.key = key;
+        entry.set(player, x, y, z);
+        this.worlds.computeIfAbsent(world, name -> new HashMap<>()).computeIfAbsent(key, chunk -> new ArrayList<>()).add(entry);
+    }
+
+    /**
+     * Stop tracking a player.
+     *
+     * @param uuid Player UUID
+     */
+    public synchronized void remove(final @NonNull UUID uuid) {
+        final Entry<P> entry = this.entries.remove(uuid);
+        if (entry != null) {
+            this.unlink(entry);
+        }
+    }
+
+    /**
+     * Get the players within a distance of a position on every axis.
+     *
+     * @param world  World name
+     * @param x      X coordinate
+     * @param y      Y coordinate
+     * @param z      Z coordinate
+     * @param radius Maximum distance on every axis
+     * @return players near the position
+     */
+    public synchronized @NonNull List<P> getNearbyPlayers(
+            final @NonNull String world,
+            final double x,
+            final double y,
+            final double z,
+            final double radius
+    ) {
+        final List<P> players = new ArrayList<>();
+        final Map<Long, List<Entry<P>>> buckets = this.worlds.get(world);
+        if (buckets == null) {
+            return players;
+        }
+        final int maxChunkX = chunk(x + radius);
+        final int maxChunkZ = chunk(z + radius);
+        for (int chunkX = chunk(x - radius); chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = chunk(z - radius); chunkZ <= maxChunkZ; chunkZ++) {
+                final List<Entry<P>> bucket = buckets.get(key(chunkX, chunkZ));
+                if (bucket == null) {
+                    continue;
+                }
+                for (final Entry<P> entry : bucket) {
+                    if (Math.abs(entry.x - x) <= radius && Math.abs(entry.y - y) <= radius && Math.abs(entry.z - z) <= radius) {
+                        players.add(entry.player);
+                    }
+                }
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Get the players standing within an area, given by inclusive block coordinates.
+     *
+     * @param world World name
+     * @param minX  Minimum X block coordinate
+     * @param minZ  Minimum Z block coordinate
+     * @param maxX  Maximum X block coordinate
+     * @param maxZ  Maximum Z block coordinate
+     * @return players in the area
+     */
+    public synchronized @NonNull List<P> getPlayersInArea(
+            final @NonNull String world,
+            final int minX,
+            final int minZ,
+            final int maxX,
+            final int maxZ
+    ) {
+        final List<P> players = new ArrayList<>();
+        final Map<Long, List<Entry<P>>> buckets = this.worlds.get(world);
+        if (buckets == null) {
+            return players;
+        }
+        final int minChunkX = minX >> 4;
+        final int minChunkZ = minZ >> 4;
+        final int maxChunkX = maxX >> 4;
+        final int maxChunkZ = maxZ >> 4;
+        // Large areas are cheaper to answer by visiting the occupied chunks instead
+        if ((long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1) > buckets.size()) {
+            for (final List<Entry<P>> bucket : buckets.values()) {
+                this.collect(bucket, minX, minZ, maxX, maxZ, players);
+            }
+            return players;
+        }
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                final List<Entry<P>> bucket = buckets.get(key(chunkX, chunkZ));
+                if (bucket != null) {
+                    this.collect(bucket, minX, minZ, maxX, maxZ, players);
+                }
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Get the number of tracked players.
+     *
+     * @return number of players
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    private void collect(
+            final @NonNull List<Entry<P>> bucket,
+            final int minX,
+            final int minZ,
+            final int maxX,
+            final int maxZ,
+            final @NonNull List<P> players
+    ) {
+        for (final Entry<P> entry : bucket) {
+            final double x = Math.floor(entry.x);
+            final double z = Math.floor(entry.z);
+            if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) {
+                players.add(entry.player);
+            }
+        }
+    }
+
+    private void unlink(final @NonNull Entry<P> entry) {
+        final Map<Long, List<Entry<P>>> buckets = this.worlds.get(entry.world);
+        final List<Entry<P>> bucket = buckets.get(entry.key);
+        bucket.remove(entry);
+        if (bucket.isEmpty()) {
+            buckets.remove(entry.key);
+            if (buckets.isEmpty()) {
+                this.worlds.remove(entry.world);
+            }
+        }
+    }
+
+    private static final class Entry<P> {
+
+        private P player;
+        private String world;
+        private long key;
+        private double x;
+        private double y;
+        private double z;
+
+        private void set(final P player, final double x, final double y, final double z) {
+            this.player = player;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+    }
+
+}
@@ -63,6 +63,7 @@ public abstract class PlayerManager<P extends PlotPlayer<? extends T>, T> {
 
     private final Map<UUID, P> playerMap = new HashMap<>();
     private final Object playerLock = new Object();
+    private final PlayerGrid<P> playerGrid = new PlayerGrid<>();
 
     public static void getUUIDsFromString(
             final @NonNull String list,
@@ -271,6 +272,7 @@ public abstract class PlayerManager<P extends PlotPlayer<? extends T>, T> {
         synchronized (playerLock) {
             this.playerMap.remove(plotPlayer.getUUID());
         }
+        this.playerGrid.remove(plotPlayer.getUUID());
     }
 
     /**
@@ -282,6 +284,17 @@ public abstract class PlayerManager<P extends PlotPlayer<? extends T>, T> {
         synchronized (playerLock) {
             this.playerMap.remove(uuid);
         }
+        this.playerGrid.remove(uuid);
+    }
+
+    /**
+     * Get the positions of the online players. Platforms keep it up to date as players move.
+     *
+     * @return player grid
+     * @since 7.5.5
+     */
+    public @NonNull PlayerGrid<P> getPlayerGrid() {
+        return this.playerGrid;
     }
 
     /**
@@ -29,7 +29,9 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.queue.BasicQueueCoordinator;
+import com.plotsquared.core.queue.ChunkSectionSnapshot;
 import com.plotsquared.core.queue.GlobalBlockQueue;
+import com.plotsquared.core.queue.LocalChunk;
 import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.task.TaskManager;
 import com.sk89q.worldedit.entity.Entity;
@@ -40,6 +42,7 @@ import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.regions.Region;
 import com.sk89q.worldedit.world.World;
 import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -330,6 +333,32 @@ public abstract class RegionManager {
         fromQueue1.enqueue();
     }
 
+    /**
+     * Take a snapshot of a chunk to copy blocks and biomes from. This is called from the chunk consumer of the queue that
+     * loaded the chunk, once per chunk. The default implementation reads through WorldEdit as blocks are requested;
+     * platforms may override this to read the chunk in a single pass.
+     *
+     * @param world World the chunk is in
+     * @param chunk Chunk position
+     * @return snapshot of the chunk
+     * @since 7.5.5
+     */
+    public @NonNull ChunkSectionSnapshot snapshotChunk(final @NonNull World world, final @NonNull BlockVector2 chunk) {
+        final int cbx = chunk.getX() << 4;
+        final int cbz = chunk.getZ() << 4;
+        return new ChunkSectionSnapshot() {
+            @Override
+            public @NonNull BaseBlock getFullBlock(final int x, final int y, final int z) {
+                return world.getFullBlock(BlockVector3.at(cbx + x, y, cbz + z));
+            }
+
+            @Override
+            public @NonNull BiomeType getBiome(final int x, final int y, final int z) {
+                return world.getBiome(BlockVector3.at(cbx + x, y, cbz + z));
+            }
+        };
+    }
+
     private void setCopyFromToConsumer(
             final Location pos1,
             final Location pos2,
@@ -340,6 +369,9 @@ public abstract class RegionManager {
             final QueueCoordinator toQueue,
             boolean removeEntities
     ) {
+        // Chunk aligned offsets map every source chunk onto exactly one target chunk, so sections can be written into the
+        // target chunk directly instead of going through the queue block by block
+        final boolean aligned = (relX & 15) == 0 && (relZ & 15) == 0 && toQueue instanceof BasicQueueCoordinator;
         fromQueue.setChunkConsumer(chunk -> {
             int cx = chunk.getX();
             int cz = chunk.getZ();
@@ -349,17 +381,21 @@ public abstract class RegionManager {
             int bz = Math.max(pos1.getZ(), cbz) & 15;
             int tx = Math.min(pos2.getX(), cbx + 15) & 15;
             int tz = Math.min(pos2.getZ(), cbz + 15) & 15;
-            for (int y = world1.getMinY(); y <= world1.getMaxY(); y++) {
-                for (int x = bx; x <= tx; x++) {
-                    for (int z = bz; z <= tz; z++) {
-                        int rx = cbx + x;
-                        int rz = cbz + z;
-                        BlockVector3 loc = BlockVector3.at(rx, y, rz);
-                        toQueue.setBlock(rx + relX, y, rz + relZ, world1.getFullBlock(loc));
-                        toQueue.setBiome(rx + relX, y, rz + relZ, world1.getBiome(loc));
+            final ChunkSectionSnapshot snapshot = snapshotChunk(world1, chunk);
+            if (aligned) {
+                copySections(snapshot, bx, bz, tx, tz, world1.getMinY(), world1.getMaxY(),
+                        (BasicQueueCoordinator) toQueue, cx + (relX >> 4), cz + (relZ >> 4)
+                );
+            } else {
+                for (int y = world1.getMinY(); y <= world1.getMaxY(); y++) {
+                    for (int x = bx; x <= tx; x++) {
+                        for (int z = bz; z <= tz; z++) {
+                            toQueue.setBlock(cbx + x + relX, y, cbz + z + relZ, snapshot.getFullBlock(x, y, z));
+                        }
                     }
                 }
             }
+            copyBiomes(snapshot, bx, bz, tx, tz, world1.getMinY(), world1.getMaxY(), toQueue, cbx + relX, cbz + relZ);
             Region region = new CuboidRegion(
                     BlockVector3.at(cbx + bx, world1.getMinY(), cbz + bz),
                     BlockVector3.at(cbx + tx, world1.getMaxY(), cbz + tz)
@@ -373,6 +409,71 @@ public abstract class RegionManager {
         });
     }
 
+    /**
+     * Copy the part of a chunk between the given chunk relative bounds into a target chunk at the same chunk relative
+     * position, writing to the target chunk's sections directly. Sections covered completely are transferred whole.
+     */
+    private void copySections(
+            final ChunkSectionSnapshot snapshot,
+            final int bx,
+            final int bz,
+            final int tx,
+            final int tz,
+            final int minY,
+            final int maxY,
+            final BasicQueueCoordinator toQueue,
+            final int targetX,
+            final int targetZ
+    ) {
+        final LocalChunk target = toQueue.getBlockChunks().computeIfAbsent(
+                BlockVector2.at(targetX, targetZ),
+                key -> new LocalChunk(toQueue, targetX, targetZ)
+        );
+        final int minLayer = Math.max(minY >> 4, target.getMinSection());
+        final int maxLayer = Math.min(maxY >> 4, target.getMinSection() + target.getSectionCount() - 1);
+        final boolean wholeColumns = bx == 0 && bz == 0 && tx == 15 && tz == 15;
+        for (int layer = minLayer; layer <= maxLayer; layer++) {
+            final int fromY = Math.max(layer << 4, minY);
+            final int toY = Math.min((layer << 4) + 15, maxY);
+            if (wholeColumns && fromY == layer << 4 && toY == (layer << 4) + 15) {
+                // The whole section is copied, so it replaces the target section instead of being written block by block
+                target.setBlockSection(layer - target.getMinSection(), snapshot.getSection(layer));
+                continue;
+            }
+            for (int y = fromY; y <= toY; y++) {
+                for (int x = bx; x <= tx; x++) {
+                    for (int z = bz; z <= tz; z++) {
+                        target.setBlock(x, y, z, snapshot.getFullBlock(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy biomes at their native 4x4x4 resolution, reading a single position inside the copied area per biome cell.
+     */
+    private void copyBiomes(
+            final ChunkSectionSnapshot snapshot,
+            final int bx,
+            final int bz,
+            final int tx,
+            final int tz,
+            final int minY,
+            final int maxY,
+            final QueueCoordinator toQueue,
+            final int targetX,
+            final int targetZ
+    ) {
+        for (int y = minY; y <= maxY; y = (y & ~3) + 4) {
+            for (int x = bx; x <= tx; x = (x & ~3) + 4) {
+                for (int z = bz; z <= tz; z = (z & ~3) + 4) {
+                    toQueue.setBiome(targetX + x, y, targetZ + z, snapshot.getBiome(x, y, z));
+                }
+            }
+        }
+    }
+
     /**
      * Set a region to a biome type.
      *
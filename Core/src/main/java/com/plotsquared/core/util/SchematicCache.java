@@ -0,0 +1,160 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.plot.schematic.Schematic;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Least recently used cache of parsed schematics, keyed by file and invalidated when the file's modification time or
+ * size changes. The cache is bounded by the total block volume of the cached clipboards, see
+ * {@link Settings.Schematics#CACHE_VOLUME}. Concurrent requests for the same file share a single parse.
+ */
+final class SchematicCache {
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Pending> loading = new ConcurrentHashMap<>();
+    private final ToLongFunction<Schematic> weigher;
+    private long volume;
+
+    SchematicCache() {
+        this(schematic -> schematic.getClipboard().getRegion().getVolume());
+    }
+
+    /**
+     * Create a cache that weighs schematics with the given function instead of by the volume of their clipboard.
+     *
+     * @param weigher Volume counted against {@link Settings.Schematics#CACHE_VOLUME} for a schematic
+     */
+    SchematicCache(final @NonNull ToLongFunction<Schematic> weigher) {
+        this.weigher = weigher;
+    }
+
+    /**
+     * Get the parsed schematic for a file, loading it if it is not cached or the file changed since it was cached.
+     *
+     * @param file   Schematic file
+     * @param loader Parses the file if required
+     * @return the schematic, or {@code null} if the loader could not read it
+     * @throws SchematicHandler.UnsupportedFormatException if the loader does not support the file's format
+     */
+    @Nullable Schematic get(final @NonNull File file, final @NonNull Loader loader) throws
+            SchematicHandler.UnsupportedFormatException {
+        final String key = file.getAbsolutePath();
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        synchronized (this) {
+            final Entry entry = this.entries.get(key);
+            if (entry != null) {
+                if (entry.lastModified() == lastModified && entry.length() == length) {
+                    return entry.schematic();
+                }
+                remove(key);
+            }
+        }
+        final Pending pending = new Pending(lastModified, length, new CompletableFuture<>());
+        final Pending existing = this.loading.putIfAbsent(key, pending);
+        if (existing != null && existing.lastModified() == lastModified && existing.length() == length) {
+            return await(existing.future());
+        }
+        try {
+            final Schematic schematic = loader.load(file);
+            if (schematic != null) {
+                put(key, lastModified, length, schematic);
+            }
+            pending.future().complete(schematic);
+            return schematic;
+        } catch (SchematicHandler.UnsupportedFormatException | RuntimeException e) {
+            pending.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            if (existing == null) {
+                this.loading.remove(key, pending);
+            }
+        }
+    }
+
+    private synchronized void put(
+            final @NonNull String key, final long lastModified, final long length,
+            final @NonNull Schematic schematic
+    ) {
+        final long budget = Settings.Schematics.CACHE_VOLUME;
+        final long size = this.weigher.applyAsLong(schematic);
+        if (size > budget) {
+            return;
+        }
+        remove(key);
+        final Iterator<Entry> iterator = this.entries.values().iterator();
+        while (this.volume + size > budget && iterator.hasNext()) {
+            this.volume -= iterator.next().volume();
+            iterator.remove();
+        }
+        this.entries.put(key, new Entry(lastModified, length, size, schematic));
+        this.volume += size;
+    }
+
+    private void remove(final @NonNull String key) {
+        final Entry removed = this.entries.remove(key);
+        if (removed != null) {
+            this.volume -= removed.volume();
+        }
+    }
+
+    private static @Nullable Schematic await(final @NonNull CompletableFuture<Schematic> future) throws
+            SchematicHandler.UnsupportedFormatException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SchematicHandler.UnsupportedFormatException unsupported) {
+                throw unsupported;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    interface Loader {
+
+        @Nullable Schematic load(@NonNull File file) throws SchematicHandler.UnsupportedFormatException;
+
+    }
+
+    private record Entry(long lastModified, long length, long volume, Schematic schematic) {
+
+    }
+
+    private record Pending(long lastModified, long length, CompletableFuture<Schematic> future) {
+
+    }
+
+}
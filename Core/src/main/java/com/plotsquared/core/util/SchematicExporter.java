@@ -0,0 +1,363 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.queue.ChunkSectionSnapshot;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.IntArrayTag;
+import com.sk89q.jnbt.StringTag;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.regions.RegionIntersection;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads regions into the block and biome data of a Sponge (version 2) schematic. Chunks are snapshotted through a queue,
+ * after which slabs of {@value #SLAB_HEIGHT} block layers are encoded in parallel, each against its own palette of
+ * block states. The slabs are then merged in order, assigning schematic palette ids in the order blocks are first seen
+ * so the result is the same as encoding the whole region in one pass.
+ */
+final class SchematicExporter {
+
+    static final int SLAB_HEIGHT = 16;
+
+    /**
+     * Palette keys of WorldEdit blocks: slabs are keyed by the interned block state, the schematic palette by its string.
+     */
+    static final PaletteKeys BLOCK_STATES = new PaletteKeys() {
+        @Override
+        public @NonNull Object state(final @NonNull BaseBlock block) {
+            return block.toImmutableState();
+        }
+
+        @Override
+        public @NonNull Object air() {
+            return BlockTypes.AIR.getDefaultState();
+        }
+
+        @Override
+        public @NonNull String key(final @NonNull Object state) {
+            return ((BlockState) state).getAsString();
+        }
+    };
+
+    private final PaletteKeys keys;
+
+    private final CuboidRegion aabb;
+    private final RegionIntersection intersection;
+    private final boolean multipleRegions;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunksZ;
+    private final ChunkSectionSnapshot[] snapshots;
+
+    SchematicExporter(
+            final @NonNull CuboidRegion aabb, final @NonNull Set<CuboidRegion> regions,
+            final @NonNull Map<BlockVector2, ChunkSectionSnapshot> snapshots, final @NonNull PaletteKeys keys
+    ) {
+        this.keys = keys;
+        this.aabb = aabb;
+        this.intersection = new RegionIntersection(new ArrayList<>(regions));
+        this.multipleRegions = regions.size() > 1;
+        this.minChunkX = aabb.getMinimumPoint().getX() >> 4;
+        this.minChunkZ = aabb.getMinimumPoint().getZ() >> 4;
+        this.chunksZ = (aabb.getMaximumPoint().getZ() >> 4) - this.minChunkZ + 1;
+        final int chunksX = (aabb.getMaximumPoint().getX() >> 4) - this.minChunkX + 1;
+        this.snapshots = new ChunkSectionSnapshot[chunksX * this.chunksZ];
+        snapshots.forEach((chunk, snapshot) -> this.snapshots[this.index(chunk.getX(), chunk.getZ())] = snapshot);
+    }
+
+    /**
+     * Export the given regions.
+     *
+     * @param regionManager Region manager used to snapshot chunks
+     * @param queue         Queue used to load the chunks
+     * @param world         World to read from
+     * @param aabb          Bounding box of the regions
+     * @param regions       Regions to export, positions outside of them are exported as air
+     * @return future completing with the encoded data
+     */
+    static @NonNull CompletableFuture<Result> export(
+            final @NonNull RegionManager regionManager,
+            final @NonNull QueueCoordinator queue,
+            final @NonNull World world,
+            final @NonNull CuboidRegion aabb,
+            final @NonNull Set<CuboidRegion> regions
+    ) {
+        final CompletableFuture<Result> future = new CompletableFuture<>();
+        final Set<BlockVector2> chunks = new HashSet<>();
+        for (final CuboidRegion region : regions) {
+            chunks.addAll(region.getChunks());
+        }
+        final Map<BlockVector2, ChunkSectionSnapshot> snapshots = new ConcurrentHashMap<>();
+        queue.addReadChunks(chunks);
+        queue.setChunkConsumer(chunk -> snapshots.put(chunk, regionManager.snapshotChunk(world, chunk)));
+        queue.setCompleteTask(() -> {
+            try {
+                new SchematicExporter(aabb, regions, snapshots, BLOCK_STATES).encode().whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                    } else {
+                        future.complete(result);
+                    }
+                });
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        queue.enqueue();
+        return future;
+    }
+
+    /**
+     * Encode the snapshotted chunks.
+     *
+     * @return future completing with the encoded data
+     */
+    @NonNull CompletableFuture<Result> encode() {
+        final int minY = this.aabb.getMinimumPoint().getY();
+        final int maxY = this.aabb.getMaximumPoint().getY();
+        final List<CompletableFuture<Slab>> slabs = new ArrayList<>();
+        for (int y = minY; y <= maxY; y += SLAB_HEIGHT) {
+            final int fromY = y;
+            final int toY = Math.min(maxY, y + SLAB_HEIGHT - 1);
+            slabs.add(CompletableFuture.supplyAsync(() -> this.encodeSlab(fromY, toY)));
+        }
+        return CompletableFuture
+                .allOf(slabs.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> this.merge(slabs.stream().map(CompletableFuture::join).toList()));
+    }
+
+    private @NonNull Slab encodeSlab(final int fromY, final int toY) {
+        final BlockVector3 minimum = this.aabb.getMinimumPoint();
+        final BlockVector3 maximum = this.aabb.getMaximumPoint();
+        final int minX = minimum.getX();
+        final int minY = minimum.getY();
+        final int minZ = minimum.getZ();
+        final int maxX = maximum.getX();
+        final int maxZ = maximum.getZ();
+        final Object air = this.keys.air();
+
+        final Slab slab = new Slab((toY - fromY + 1) * this.aabb.getWidth() * this.aabb.getLength());
+        final boolean biomes = fromY == minY;
+        int lastBiome = 0;
+        for (int y = fromY; y <= toY; y++) {
+            final int relativeY = y - minY;
+            for (int z = minZ; z <= maxZ; z++) {
+                final int relativeZ = z - minZ;
+                ChunkSectionSnapshot snapshot = null;
+                int snapshotX = Integer.MIN_VALUE;
+                for (int x = minX; x <= maxX; x++) {
+                    final int relativeX = x - minX;
+                    if (this.multipleRegions && !this.intersection.contains(BlockVector3.at(x, y, z))) {
+                        writeVarInt(slab.data, slab.idOf(air));
+                        if (biomes && relativeY == 0) {
+                            // Positions outside the plot repeat the last biome read from the plot
+                            writeVarInt(slab.biomeData, lastBiome);
+                        }
+                        continue;
+                    }
+                    if (snapshotX != x >> 4) {
+                        snapshotX = x >> 4;
+                        snapshot = this.snapshots[this.index(snapshotX, z >> 4)];
+                    }
+                    if (snapshot == null) {
+                        throw new IllegalStateException("Chunk " + snapshotX + "," + (z >> 4) + " was not read");
+                    }
+                    final BaseBlock block = snapshot.getFullBlock(x & 15, y, z & 15);
+                    if (block.getNbtData() != null) {
+                        slab.tileEntities.add(toTileEntity(block, relativeX, relativeY, relativeZ));
+                    }
+                    writeVarInt(slab.data, slab.idOf(this.keys.state(block)));
+                    if (biomes && relativeY == 0) {
+                        // Schematics hold 2D biomes, which WorldEdit reads at y = 0
+                        lastBiome = slab.biomeIdOf(snapshot.getBiome(x & 15, 0, z & 15).getId());
+                        writeVarInt(slab.biomeData, lastBiome);
+                    }
+                }
+            }
+        }
+        return slab;
+    }
+
+    private @NonNull Result merge(final @NonNull List<Slab> slabs) {
+        final Map<String, Integer> palette = new HashMap<>();
+        final List<CompoundTag> tileEntities = new ArrayList<>();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(
+                this.aabb.getWidth() * this.aabb.getHeight() * this.aabb.getLength());
+        for (final Slab slab : slabs) {
+            final int[] ids = new int[slab.states.size()];
+            boolean identity = true;
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = palette.computeIfAbsent(this.keys.key(slab.states.get(i)), key -> palette.size());
+                identity &= ids[i] == i;
+            }
+            if (identity) {
+                buffer.writeBytes(slab.data.toByteArray());
+            } else {
+                final ByteArrayInputStream in = new ByteArrayInputStream(slab.data.toByteArray());
+                while (in.available() > 0) {
+                    writeVarInt(buffer, ids[readVarInt(in)]);
+                }
+            }
+            tileEntities.addAll(slab.tileEntities);
+        }
+        final Slab first = slabs.isEmpty() ? null : slabs.get(0);
+        final Map<String, Integer> biomePalette = first == null ? new HashMap<>() : first.biomes;
+        final ByteArrayOutputStream biomeBuffer = first == null ? new ByteArrayOutputStream() : first.biomeData;
+        return new Result(palette, biomePalette, tileEntities, buffer, biomeBuffer);
+    }
+
+    private int index(final int chunkX, final int chunkZ) {
+        return (chunkX - this.minChunkX) * this.chunksZ + (chunkZ - this.minChunkZ);
+    }
+
+    private static @NonNull CompoundTag toTileEntity(
+            final @NonNull BaseBlock block, final int relativeX, final int relativeY,
+            final int relativeZ
+    ) {
+        final Map<String, Tag> values = new HashMap<>(block.getNbtData().getValue());
+        // Positions are kept in NBT, we don't want that.
+        values.remove("x");
+        values.remove("y");
+        values.remove("z");
+        values.put("Id", new StringTag(block.getNbtId()));
+        // Remove 'id' after reading getNbtId, which reads it
+        values.remove("id");
+        values.put("Pos", new IntArrayTag(new int[]{relativeX, relativeY, relativeZ}));
+        return new CompoundTag(values);
+    }
+
+    static void writeVarInt(final @NonNull ByteArrayOutputStream out, int value) {
+        while ((value & -128) != 0) {
+            out.write(value & 127 | 128);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    static int readVarInt(final @NonNull ByteArrayInputStream in) {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.read();
+            value |= (b & 127) << shift;
+            shift += 7;
+        } while ((b & 128) != 0);
+        return value;
+    }
+
+    /**
+     * Keys of the blocks in a palette.
+     */
+    interface PaletteKeys {
+
+        /**
+         * Get the key a slab palette uses for a block. Blocks with equal keys share a palette entry.
+         *
+         * @param block Block
+         * @return key, cheap to hash and compare
+         */
+        @NonNull Object state(@NonNull BaseBlock block);
+
+        /**
+         * Get the key of the block written at positions outside of the exported regions.
+         *
+         * @return key of air
+         */
+        @NonNull Object air();
+
+        /**
+         * Get the schematic palette key of a slab palette key.
+         *
+         * @param state Key returned by {@link #state(BaseBlock)} or {@link #air()}
+         * @return schematic palette key
+         */
+        @NonNull String key(@NonNull Object state);
+
+    }
+
+    /**
+     * Encoded schematic data, in the form written to the schematic tag.
+     */
+    record Result(
+            Map<String, Integer> palette, Map<String, Integer> biomePalette, List<CompoundTag> tileEntities,
+            ByteArrayOutputStream buffer, ByteArrayOutputStream biomeBuffer
+    ) {
+
+    }
+
+    private static final class Slab {
+
+        private final Map<Object, Integer> ids = new HashMap<>();
+        private final List<Object> states = new ArrayList<>();
+        private final Map<String, Integer> biomes = new HashMap<>();
+        private final List<CompoundTag> tileEntities = new ArrayList<>();
+        private final ByteArrayOutputStream data;
+        private final ByteArrayOutputStream biomeData = new ByteArrayOutputStream();
+        private @Nullable Object lastState;
+        private int lastId;
+
+        private Slab(final int volume) {
+            this.data = new ByteArrayOutputStream(volume);
+        }
+
+        private int idOf(final @NonNull Object state) {
+            // Runs of the same block are common, so avoid the lookup for them
+            if (state == this.lastState) {
+                return this.lastId;
+            }
+            Integer id = this.ids.get(state);
+            if (id == null) {
+                id = this.states.size();
+                this.ids.put(state, id);
+                this.states.add(state);
+            }
+            this.lastState = state;
+            this.lastId = id;
+            return id;
+        }
+
+        private int biomeIdOf(final @NonNull String biome) {
+            return this.biomes.computeIfAbsent(biome, key -> this.biomes.size());
+        }
+
+    }
+
+}
@@ -32,11 +32,11 @@ import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.schematic.Schematic;
+import com.plotsquared.core.queue.BasicQueueCoordinator;
 import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.net.AbstractDelegateOutputStream;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
-import com.plotsquared.core.util.task.YieldRunnable;
 import com.sk89q.jnbt.ByteArrayTag;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.jnbt.IntArrayTag;
@@ -45,7 +45,6 @@ import com.sk89q.jnbt.ListTag;
 import com.sk89q.jnbt.NBTInputStream;
 import com.sk89q.jnbt.NBTOutputStream;
 import com.sk89q.jnbt.ShortTag;
-import com.sk89q.jnbt.StringTag;
 import com.sk89q.jnbt.Tag;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.extension.platform.Capability;
@@ -55,15 +54,11 @@ import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
 import com.sk89q.worldedit.extent.clipboard.io.MCEditSchematicReader;
 import com.sk89q.worldedit.extent.clipboard.io.SpongeSchematicReader;
-import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.regions.Region;
 import com.sk89q.worldedit.regions.RegionIntersection;
 import com.sk89q.worldedit.world.World;
-import com.sk89q.worldedit.world.biome.BiomeType;
-import com.sk89q.worldedit.world.block.BaseBlock;
-import com.sk89q.worldedit.world.block.BlockTypes;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -94,6 +89,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -113,6 +109,7 @@ public abstract class SchematicHandler {
     public static SchematicHandler manager;
     private final WorldUtil worldUtil;
     private final ProgressSubscriberFactory subscriberFactory;
+    private final SchematicCache schematicCache = new SchematicCache();
     private boolean exportAll = false;
 
     @Inject
@@ -286,6 +283,34 @@ public abstract class SchematicHandler {
             final boolean autoHeight,
             final PlotPlayer<?> actor,
             final RunnableVal<Boolean> whenDone
+    ) {
+        paste(schematic, plot, xOffset, yOffset, zOffset, autoHeight, actor, whenDone, PasteOptions.DEFAULT);
+    }
+
+    /**
+     * Paste a schematic.
+     *
+     * @param schematic  the schematic object to paste
+     * @param plot       plot to paste in
+     * @param xOffset    offset x to paste it from plot origin
+     * @param yOffset    offset y to paste it from plot origin
+     * @param zOffset    offset z to paste it from plot origin
+     * @param autoHeight if to automatically choose height to paste from
+     * @param actor      the actor pasting the schematic
+     * @param whenDone   task to run when schematic is pasted
+     * @param options    how the schematic should be pasted
+     * @since 7.5.5
+     */
+    public void paste(
+            final Schematic schematic,
+            final Plot plot,
+            final int xOffset,
+            final int yOffset,
+            final int zOffset,
+            final boolean autoHeight,
+            final PlotPlayer<?> actor,
+            final RunnableVal<Boolean> whenDone,
+            final @NonNull PasteOptions options
     ) {
         if (whenDone != null) {
             whenDone.value = false;
@@ -355,29 +380,21 @@ public abstract class SchematicHandler {
             // Paste schematic here
             final QueueCoordinator queue = plot.getArea().getQueue();
 
-            for (int ry = 0; ry < Math.min(worldHeight, HEIGHT); ry++) {
-                int yy = y_offset_actual + ry;
-                if (yy > plot.getArea().getMaxGenHeight() || yy < plot.getArea().getMinGenHeight()) {
-                    continue;
-                }
-                for (int rz = 0; rz < blockArrayClipboard.getDimensions().getZ(); rz++) {
-                    for (int rx = 0; rx < blockArrayClipboard.getDimensions().getX(); rx++) {
-                        int xx = p1x + rx;
-                        int zz = p1z + rz;
-                        if (sizeMismatch && (xx < p1x || xx > p2x || zz < p1z || zz > p2z || !allRegion.contains(BlockVector3.at(
-                                xx,
-                                ry,
-                                zz
-                        )))) {
-                            continue;
-                        }
-                        BlockVector3 loc = BlockVector3.at(rx, ry, rz);
-                        BaseBlock id = blockArrayClipboard.getFullBlock(loc);
-                        queue.setBlock(xx, yy, zz, id);
-                        BiomeType biome = blockArrayClipboard.getBiome(loc);
-                        queue.setBiome(xx, yy, zz, biome);
-                    }
-                }
+            final SchematicPaste paste = new SchematicPaste(blockArrayClipboard, plot.getArea(), p1x, p1z, p2x, p2z,
+                    y_offset_actual, sizeMismatch, allRegion
+            );
+            if (options.stream() && queue instanceof BasicQueueCoordinator basicQueue) {
+                // Read the schematic into each chunk as it is written, rather than buffering the whole schematic
+                final SchematicPaste.Target target = SchematicPaste.Target.of(basicQueue);
+                basicQueue.addReadChunks(paste.getChunks());
+                basicQueue.setChunkProducer(chunk -> paste.pasteChunk(
+                        target,
+                        chunk,
+                        options.skipAir(),
+                        options.skipUnchanged()
+                ));
+            } else {
+                paste.paste(SchematicPaste.Target.of(queue), options.skipAir());
             }
             if (actor != null && Settings.QUEUE.NOTIFY_PROGRESS) {
                 queue.addProgressSubscriber(subscriberFactory.createWithActor(actor));
@@ -440,7 +457,8 @@ public abstract class SchematicHandler {
     }
 
     /**
-     * Get a schematic
+     * Get a schematic. Parsed schematics are cached until the file changes, so the returned schematic may be shared
+     * and must not be modified.
      *
      * @param file to check
      * @return schematic if found, else null
@@ -450,6 +468,41 @@ public abstract class SchematicHandler {
         if (!file.exists()) {
             return null;
         }
+        return this.schematicCache.get(file, this::readSchematic);
+    }
+
+    /**
+     * Parse the schematics used when claiming plots in the given area in the background, so that claiming does not
+     * have to wait for them to be read.
+     *
+     * @param area Plot area
+     * @since 7.5.5
+     */
+    public void prefetch(final @NonNull PlotArea area) {
+        if (Settings.Schematics.CACHE_VOLUME <= 0) {
+            return;
+        }
+        final Set<String> names = new HashSet<>();
+        if (area.isSchematicOnClaim()) {
+            names.add(area.getSchematicFile());
+        }
+        names.addAll(area.getClaimSchematics());
+        names.removeIf(name -> name == null || name.isEmpty() || name.equalsIgnoreCase("null"));
+        if (names.isEmpty()) {
+            return;
+        }
+        TaskManager.runTaskAsync(() -> {
+            for (final String name : names) {
+                try {
+                    getSchematic(name);
+                } catch (UnsupportedFormatException | RuntimeException e) {
+                    LOGGER.warn("Failed to prefetch schematic {} for area {}", name, area, e);
+                }
+            }
+        });
+    }
+
+    private @Nullable Schematic readSchematic(final @NonNull File file) throws UnsupportedFormatException {
         ClipboardFormat format = ClipboardFormats.findByFile(file);
         if (format != null) {
             try (ClipboardReader reader = format.getReader(new FileInputStream(file))) {
@@ -652,158 +705,63 @@ public abstract class SchematicHandler {
             CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(regions);
             aabb.setWorld(world);
 
-            RegionIntersection intersection = new RegionIntersection(new ArrayList<>(regions));
-
             final int width = aabb.getWidth();
             int height = aabb.getHeight();
             final int length = aabb.getLength();
-            final boolean multipleRegions = regions.size() > 1;
 
             Map<String, Tag> schematic = initSchematic((short) width, (short) height, (short) length);
-
-            Map<String, Integer> palette = new HashMap<>();
-            Map<String, Integer> biomePalette = new HashMap<>();
-
-            List<CompoundTag> tileEntities = new ArrayList<>();
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length);
-            ByteArrayOutputStream biomeBuffer = new ByteArrayOutputStream(width * length);
-            // Queue
-            TaskManager.runTaskAsync(() -> {
-                final BlockVector3 minimum = aabb.getMinimumPoint();
-                final BlockVector3 maximum = aabb.getMaximumPoint();
-
-                final int minX = minimum.getX();
-                final int minZ = minimum.getZ();
-                final int minY = minimum.getY();
-
-                final int maxX = maximum.getX();
-                final int maxZ = maximum.getZ();
-                final int maxY = maximum.getY();
-
-                final Runnable yTask = new YieldRunnable() {
-                    int currentY = minY;
-                    int currentX = minX;
-                    int currentZ = minZ;
-
-                    @Override
-                    public void run() {
-                        long start = System.currentTimeMillis();
-                        int lastBiome = 0;
-                        for (; currentY <= maxY; currentY++) {
-                            int relativeY = currentY - minY;
-                            for (; currentZ <= maxZ; currentZ++) {
-                                int relativeZ = currentZ - minZ;
-                                for (; currentX <= maxX; currentX++) {
-                                    // if too much time was spent here, we yield this task
-                                    // note that current(X/Y/Z) aren't incremented, so the same position
-                                    // as *right now* will be visited again
-                                    if (System.currentTimeMillis() - start > 40) {
-                                        this.yield();
-                                        return;
-                                    }
-                                    int relativeX = currentX - minX;
-                                    BlockVector3 point = BlockVector3.at(currentX, currentY, currentZ);
-                                    if (multipleRegions && !intersection.contains(point)) {
-                                        String blockKey = BlockTypes.AIR.getDefaultState().getAsString();
-                                        int blockId;
-                                        if (palette.containsKey(blockKey)) {
-                                            blockId = palette.get(blockKey);
-                                        } else {
-                                            blockId = palette.size();
-                                            palette.put(blockKey, palette.size());
-                                        }
-                                        while ((blockId & -128) != 0) {
-                                            buffer.write(blockId & 127 | 128);
-                                            blockId >>>= 7;
-                                        }
-                                        buffer.write(blockId);
-
-                                        if (relativeY > 0) {
-                                            continue;
-                                        }
-
-                                        // Write the last biome if we're not getting it from the plot;
-                                        int biomeId = lastBiome;
-                                        while ((biomeId & -128) != 0) {
-                                            biomeBuffer.write(biomeId & 127 | 128);
-                                            biomeId >>>= 7;
-                                        }
-                                        biomeBuffer.write(biomeId);
-                                        continue;
-                                    }
-                                    BaseBlock block = aabb.getWorld().getFullBlock(point);
-                                    if (block.getNbtData() != null) {
-                                        Map<String, Tag> values = new HashMap<>();
-                                        for (Map.Entry<String, Tag> entry : block.getNbtData().getValue().entrySet()) {
-                                            values.put(entry.getKey(), entry.getValue());
-                                        }
-
-                                        // Positions are kept in NBT, we don't want that.
-                                        values.remove("x");
-                                        values.remove("y");
-                                        values.remove("z");
-
-                                        values.put("Id", new StringTag(block.getNbtId()));
-
-                                        // Remove 'id' if it exists. We want 'Id'.
-                                        // Do this after we get "getNbtId" cos otherwise "getNbtId" doesn't work.
-                                        // Dum.
-                                        values.remove("id");
-                                        values.put("Pos", new IntArrayTag(new int[]{relativeX, relativeY, relativeZ}));
-
-                                        tileEntities.add(new CompoundTag(values));
-                                    }
-                                    String blockKey = block.toImmutableState().getAsString();
-                                    int blockId;
-                                    if (palette.containsKey(blockKey)) {
-                                        blockId = palette.get(blockKey);
-                                    } else {
-                                        blockId = palette.size();
-                                        palette.put(blockKey, palette.size());
-                                    }
-
-                                    while ((blockId & -128) != 0) {
-                                        buffer.write(blockId & 127 | 128);
-                                        blockId >>>= 7;
-                                    }
-                                    buffer.write(blockId);
-
-                                    if (relativeY > 0) {
-                                        continue;
-                                    }
-                                    BlockVector2 pt = BlockVector2.at(currentX, currentZ);
-                                    BiomeType biome = aabb.getWorld().getBiome(pt);
-                                    String biomeStr = biome.getId();
-                                    int biomeId;
-                                    if (biomePalette.containsKey(biomeStr)) {
-                                        biomeId = lastBiome = biomePalette.get(biomeStr);
-                                    } else {
-                                        biomeId = lastBiome = biomePalette.size();
-                                        biomePalette.put(biomeStr, biomeId);
-                                    }
-                                    while ((biomeId & -128) != 0) {
-                                        biomeBuffer.write(biomeId & 127 | 128);
-                                        biomeId >>>= 7;
-                                    }
-                                    biomeBuffer.write(biomeId);
-                                }
-                                currentX = minX; // reset manually as not using local variable
-                            }
-                            currentZ = minZ; // reset manually as not using local variable
-                        }
-                        TaskManager.runTaskAsync(() -> {
-                            writeSchematicData(schematic, palette, biomePalette, tileEntities, buffer, biomeBuffer);
-                            completableFuture.complete(new CompoundTag(schematic));
-                        });
-                    }
-                };
-                yTask.run();
+            SchematicExporter.export(
+                    PlotSquared.platform().regionManager(),
+                    PlotSquared.platform().globalBlockQueue().getNewQueue(world),
+                    world,
+                    aabb,
+                    regions
+            ).whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.error("Failed to export schematic in world {}", worldName, throwable);
+                    completableFuture.completeExceptionally(throwable);
+                    return;
+                }
+                writeSchematicData(
+                        schematic,
+                        result.palette(),
+                        result.biomePalette(),
+                        result.tileEntities(),
+                        result.buffer(),
+                        result.biomeBuffer()
+                );
+                completableFuture.complete(new CompoundTag(schematic));
             });
         });
         return completableFuture;
     }
 
 
+    /**
+     * Options controlling how a schematic is pasted.
+     *
+     * @param stream        whether the schematic is read into each chunk as that chunk is written, instead of being
+     *                      buffered in the queue before any chunk is written. Only used if the plot area's queue
+     *                      supports it
+     * @param skipAir       whether air in the schematic leaves the existing block in place
+     * @param skipUnchanged whether blocks that already match the schematic are left alone. Only used when streaming
+     * @since 7.5.5
+     */
+    public record PasteOptions(boolean stream, boolean skipAir, boolean skipUnchanged) {
+
+        /**
+         * Buffers the schematic in the queue before any chunk is written and sets every block, as
+         * {@link SchematicHandler#paste(Schematic, Plot, int, int, int, boolean, PlotPlayer, RunnableVal)} does.
+         */
+        public static final PasteOptions DEFAULT = new PasteOptions(false, false, false);
+
+        /**
+         * Streams the schematic into each chunk as it is written and sets every block.
+         */
+        public static final PasteOptions STREAMING = new PasteOptions(true, false, false);
+
+    }
+
     public static class UnsupportedFormatException extends Exception {
 
         /**
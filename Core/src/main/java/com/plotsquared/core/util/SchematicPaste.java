@@ -0,0 +1,240 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.Region;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Copies the blocks and biomes of a schematic into the world. The schematic can be copied whole, or one chunk at a time
+ * so that it is read into each chunk as that chunk is written.
+ */
+final class SchematicPaste {
+
+    private final Source source;
+    private final Predicate<BaseBlock> air;
+    private final int minGenHeight;
+    private final int maxGenHeight;
+    private final int p1x;
+    private final int p1z;
+    private final int p2x;
+    private final int p2z;
+    private final int yOffset;
+    private final int height;
+    private final boolean sizeMismatch;
+    private final Region allRegion;
+    private final int minX;
+    private final int maxX;
+    private final int minZ;
+    private final int maxZ;
+
+    SchematicPaste(
+            final @NonNull Clipboard clipboard, final @NonNull PlotArea area, final int p1x, final int p1z, final int p2x,
+            final int p2z, final int yOffset, final boolean sizeMismatch, final @NonNull Region allRegion
+    ) {
+        this(Source.of(clipboard), block -> block.getBlockType().getMaterial().isAir(), clipboard.getDimensions(),
+                area.getMinGenHeight(), area.getMaxGenHeight(), p1x, p1z, p2x, p2z, yOffset, sizeMismatch, allRegion
+        );
+    }
+
+    SchematicPaste(
+            final @NonNull Source source, final @NonNull Predicate<BaseBlock> air, final @NonNull BlockVector3 dimensions,
+            final int minGenHeight, final int maxGenHeight, final int p1x, final int p1z, final int p2x, final int p2z,
+            final int yOffset, final boolean sizeMismatch, final @NonNull Region allRegion
+    ) {
+        this.source = source;
+        this.air = air;
+        this.minGenHeight = minGenHeight;
+        this.maxGenHeight = maxGenHeight;
+        this.p1x = p1x;
+        this.p1z = p1z;
+        this.p2x = p2x;
+        this.p2z = p2z;
+        this.yOffset = yOffset;
+        this.height = Math.min(maxGenHeight - minGenHeight + 1, dimensions.getY());
+        this.sizeMismatch = sizeMismatch;
+        this.allRegion = allRegion;
+        this.minX = p1x;
+        this.minZ = p1z;
+        this.maxX = sizeMismatch ? Math.min(p1x + dimensions.getX() - 1, p2x) : p1x + dimensions.getX() - 1;
+        this.maxZ = sizeMismatch ? Math.min(p1z + dimensions.getZ() - 1, p2z) : p1z + dimensions.getZ() - 1;
+    }
+
+    /**
+     * Get the chunks the schematic is pasted into.
+     *
+     * @return chunk coordinates
+     */
+    @NonNull Set<BlockVector2> getChunks() {
+        final Set<BlockVector2> chunks = new HashSet<>();
+        for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+            for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+                chunks.add(BlockVector2.at(cx, cz));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Copy the whole schematic.
+     *
+     * @param target  where the schematic is copied to
+     * @param skipAir whether air in the schematic leaves the existing block in place
+     */
+    void paste(final @NonNull Target target, final boolean skipAir) {
+        paste(target, minX, maxX, minZ, maxZ, skipAir, false);
+    }
+
+    /**
+     * Copy the part of the schematic that lands within a chunk.
+     *
+     * @param target        where the schematic is copied to
+     * @param chunk         chunk coordinates
+     * @param skipAir       whether air in the schematic leaves the existing block in place
+     * @param skipUnchanged whether blocks that already match the schematic are left alone
+     */
+    void pasteChunk(
+            final @NonNull Target target, final @NonNull BlockVector2 chunk, final boolean skipAir,
+            final boolean skipUnchanged
+    ) {
+        paste(
+                target,
+                Math.max(minX, chunk.getX() << 4),
+                Math.min(maxX, (chunk.getX() << 4) + 15),
+                Math.max(minZ, chunk.getZ() << 4),
+                Math.min(maxZ, (chunk.getZ() << 4) + 15),
+                skipAir,
+                skipUnchanged
+        );
+    }
+
+    /**
+     * Copy the part of the schematic that lands within the given (inclusive) world x and z bounds.
+     */
+    private void paste(
+            final @NonNull Target target, final int minX, final int maxX, final int minZ, final int maxZ,
+            final boolean skipAir, final boolean skipUnchanged
+    ) {
+        for (int ry = 0; ry < height; ry++) {
+            int yy = yOffset + ry;
+            if (yy > maxGenHeight || yy < minGenHeight) {
+                continue;
+            }
+            for (int zz = minZ; zz <= maxZ; zz++) {
+                for (int xx = minX; xx <= maxX; xx++) {
+                    if (sizeMismatch && (xx < p1x || xx > p2x || zz < p1z || zz > p2z || !allRegion.contains(BlockVector3.at(
+                            xx,
+                            ry,
+                            zz
+                    )))) {
+                        continue;
+                    }
+                    BlockVector3 loc = BlockVector3.at(xx - p1x, ry, zz - p1z);
+                    target.setBiome(xx, yy, zz, source.getBiome(loc));
+                    BaseBlock id = source.getFullBlock(loc);
+                    if (skipAir && air.test(id)) {
+                        continue;
+                    }
+                    if (skipUnchanged && target.contains(xx, yy, zz, id)) {
+                        continue;
+                    }
+                    target.setBlock(xx, yy, zz, id);
+                }
+            }
+        }
+    }
+
+    /**
+     * The schematic being pasted, at positions relative to its origin.
+     */
+    interface Source {
+
+        static @NonNull Source of(final @NonNull Clipboard clipboard) {
+            return new Source() {
+                @Override
+                public @NonNull BaseBlock getFullBlock(final @NonNull BlockVector3 position) {
+                    return clipboard.getFullBlock(position);
+                }
+
+                @Override
+                public @NonNull BiomeType getBiome(final @NonNull BlockVector3 position) {
+                    return clipboard.getBiome(position);
+                }
+            };
+        }
+
+        @NonNull BaseBlock getFullBlock(@NonNull BlockVector3 position);
+
+        @NonNull BiomeType getBiome(@NonNull BlockVector3 position);
+
+    }
+
+    /**
+     * Where a schematic is pasted to, at world positions.
+     */
+    interface Target {
+
+        static @NonNull Target of(final @NonNull QueueCoordinator queue) {
+            return new Target() {
+                @Override
+                public void setBlock(final int x, final int y, final int z, final @NonNull BaseBlock block) {
+                    queue.setBlock(x, y, z, block);
+                }
+
+                @Override
+                public void setBiome(final int x, final int y, final int z, final @NonNull BiomeType biome) {
+                    queue.setBiome(x, y, z, biome);
+                }
+
+                @Override
+                public boolean contains(final int x, final int y, final int z, final @NonNull BaseBlock block) {
+                    return !block.hasNbtData() && block.toImmutableState().equals(queue.getBlock(x, y, z));
+                }
+            };
+        }
+
+        void setBlock(int x, int y, int z, @NonNull BaseBlock block);
+
+        void setBiome(int x, int y, int z, @NonNull BiomeType biome);
+
+        /**
+         * Get if a position already holds a block, so that setting it would change nothing.
+         *
+         * @param x     x coordinate
+         * @param y     y coordinate
+         * @param z     z coordinate
+         * @param block Block
+         * @return {@code true} if setting the block can be skipped
+         */
+        boolean contains(int x, int y, int z, @NonNull BaseBlock block);
+
+    }
+
+}
@@ -31,6 +31,7 @@ import com.plotsquared.core.player.MetaDataAccess;
 import com.plotsquared.core.player.PlayerMetaDataKeys;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.RatingIndex;
 import com.plotsquared.core.plot.flag.GlobalFlagContainer;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.plot.flag.implementations.DoneFlag;
@@ -197,6 +198,13 @@ public final class PlaceholderRegistry {
                 return Double.toString(plot.getAverageRating());
             }
         });
+        this.createPlaceholder("currentplot_rating_rank", (player, plot) -> {
+            final int rank = RatingIndex.getInstance().getRank(plot);
+            if (rank < 0) {
+                return legacyComponent(TranslatableCaption.of("placeholder.nan"), player);
+            }
+            return Integer.toString(rank + 1);
+        });
         this.createPlaceholder("currentplot_biome", (player, plot) -> plot.getBiomeSynchronous().toString());
         this.createPlaceholder("currentplot_size", (player, plot) -> String.valueOf(plot.getConnectedPlots().size()));
         this.createPlaceholder("total_grants", player -> {
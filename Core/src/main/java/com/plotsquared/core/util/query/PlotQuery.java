@@ -23,11 +23,12 @@ import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
-import com.plotsquared.core.plot.Rating;
+import com.plotsquared.core.plot.RatingIndex;
 import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.MathMan;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -35,9 +36,9 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Predicate;
@@ -349,30 +350,7 @@ public final class PlotQuery implements Iterable<Plot> {
                 return 1;
             });
         } else if (this.sortingStrategy == SortingStrategy.SORT_BY_RATING) {
-            result.sort((p1, p2) -> {
-                double v1 = 0;
-                int p1s = p1.getSettings().getRatings().size();
-                int p2s = p2.getRatings().size();
-                if (!p1.getSettings().getRatings().isEmpty()) {
-                    v1 = p1.getRatings().values().stream().mapToDouble(Rating::getAverageRating)
-                            .map(av -> av * av).sum();
-                    v1 /= p1s;
-                    v1 += p1s;
-                }
-                double v2 = 0;
-                if (!p2.getSettings().getRatings().isEmpty()) {
-                    for (Map.Entry<UUID, Rating> entry : p2.getRatings().entrySet()) {
-                        double av = entry.getValue().getAverageRating();
-                        v2 += av * av;
-                    }
-                    v2 /= p2s;
-                    v2 += p2s;
-                }
-                if (v2 == v1 && v2 != 0) {
-                    return p2s - p1s;
-                }
-                return (int) Math.signum(v2 - v1);
-            });
+            return sortByRating(result);
         } else if (this.sortingStrategy == SortingStrategy.SORT_BY_CREATION) {
             return PlotSquared.get().sortPlots(result, PlotSquared.SortType.CREATION_DATE, this.priorityArea);
         } else if (this.sortingStrategy == SortingStrategy.COMPARATOR) {
@@ -381,6 +359,88 @@ public final class PlotQuery implements Iterable<Plot> {
         return result;
     }
 
+    /**
+     * Get the first plots that match the given criteria, in the order of the sorting strategy. When sorting by rating,
+     * the plots are read from the {@link RatingIndex} until enough of them matched, rather than sorting all plots
+     *
+     * @param limit Maximum number of plots
+     * @return Matching plots as a mutable list
+     * @since 7.5.5
+     */
+    public @NonNull List<Plot> asList(final int limit) {
+        Preconditions.checkState(limit >= 0, "Limit may not be negative");
+        if (this.sortingStrategy == SortingStrategy.SORT_BY_RATING && limit > 0) {
+            final Predicate<Plot> provided = getProvidedPredicate();
+            if (provided != null) {
+                final List<Plot> result = new ArrayList<>(limit);
+                RatingIndex.getInstance().forEachTop(Integer.MAX_VALUE, plot -> {
+                    if (provided.test(plot) && accepts(plot)) {
+                        result.add(plot);
+                    }
+                    return result.size() < limit;
+                });
+                // Only fill up with unrated plots if there are not enough rated ones
+                if (result.size() == limit) {
+                    return result;
+                }
+            }
+        }
+        final List<Plot> result = this.asList();
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Order plots by rating. Rated base plots are taken in order from the rating index, so only the few plots the index
+     * does not cover have to be compared.
+     */
+    private @NonNull List<Plot> sortByRating(final @NonNull List<Plot> plots) {
+        final Set<Plot> remaining = new LinkedHashSet<>(plots);
+        final List<Plot> result = new ArrayList<>(plots.size());
+        RatingIndex.getInstance().forEachTop(Integer.MAX_VALUE, plot -> {
+            if (remaining.remove(plot)) {
+                result.add(plot);
+            }
+            return !remaining.isEmpty();
+        });
+        // Parts of merged plots share the rating of their base plot, but are not indexed themselves
+        boolean resort = false;
+        for (final Iterator<Plot> iterator = remaining.iterator(); iterator.hasNext(); ) {
+            final Plot plot = iterator.next();
+            if (plot.isMerged()) {
+                result.add(plot);
+                iterator.remove();
+                resort = true;
+            }
+        }
+        if (resort) {
+            result.sort(RatingIndex.BY_SCORE);
+        }
+        result.addAll(remaining);
+        return result;
+    }
+
+    /**
+     * Get a cheap check whether the plot provider of this query provides a plot, if there is one
+     */
+    private @Nullable Predicate<Plot> getProvidedPredicate() {
+        if (this.plotProvider instanceof GlobalPlotProvider) {
+            // The rating index only holds plots of loaded areas
+            return plot -> true;
+        } else if (this.plotProvider instanceof AreaLimitedPlotProvider provider) {
+            return plot -> provider.getAreas().contains(plot.getArea());
+        }
+        return null;
+    }
+
+    private boolean accepts(final @NonNull Plot plot) {
+        for (final PlotFilter filter : this.filters) {
+            if (!filter.accepts(plot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Get all plots that match the given criteria
      *
@@ -42,12 +42,14 @@ public class ObjectTaskRunnable<T> implements Runnable {
 
     @Override
     public void run() {
+        final long sample = TaskProfiler.start();
         long start = System.currentTimeMillis();
         boolean hasNext;
         while ((hasNext = iterator.hasNext()) && System.currentTimeMillis() - start < 5) {
             task.value = iterator.next();
             task.run();
         }
+        TaskProfiler.record(TaskProfiler.Origin.OBJECT_TASK, sample);
         if (!hasNext) {
             completionFuture.complete(null);
         } else {
@@ -105,7 +105,7 @@ public abstract class TaskManager {
             if (getPlatformImplementation() == null) {
                 throw new IllegalArgumentException("disabled");
             }
-            return getPlatformImplementation().taskRepeat(runnable, taskTime);
+            return getPlatformImplementation().taskRepeat(TaskProfiler.wrap(TaskProfiler.Origin.SYNC_TASK, runnable), taskTime);
         }
         return PlotSquaredTask.nullTask();
     }
@@ -137,7 +137,7 @@ public abstract class TaskManager {
                 runnable.run();
                 return;
             }
-            getPlatformImplementation().task(runnable);
+            getPlatformImplementation().task(profiled(runnable));
         }
     }
 
@@ -157,7 +157,7 @@ public abstract class TaskManager {
                 runnable.run();
                 return;
             }
-            getPlatformImplementation().taskLater(runnable, taskTime);
+            getPlatformImplementation().taskLater(profiled(runnable), taskTime);
         }
     }
 
@@ -189,6 +189,34 @@ public abstract class TaskManager {
         platformImplementation = implementation;
     }
 
+    /**
+     * Get the time of the clock the platform implementation schedules tasks by, in nanoseconds. As with
+     * {@link System#nanoTime()}, only the difference between two values is meaningful.
+     *
+     * @return current time in nanoseconds
+     * @since 7.5.5
+     */
+    public static long currentNanoTime() {
+        final TaskManager implementation = platformImplementation;
+        return implementation == null ? System.nanoTime() : implementation.nanoTime();
+    }
+
+    /**
+     * Get the time of the clock this task manager schedules tasks by, in nanoseconds.
+     *
+     * @return current time in nanoseconds
+     * @since 7.5.5
+     */
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private static @NonNull Runnable profiled(final @NonNull Runnable runnable) {
+        // One-off tasks are only wrapped while profiling, repeating tasks are always wrapped so that they are
+        // recorded once profiling is enabled after they were scheduled
+        return TaskProfiler.isEnabled() ? TaskProfiler.wrap(TaskProfiler.Origin.SYNC_TASK, runnable) : runnable;
+    }
+
     /**
      * Break up a series of tasks so that they can run without lagging the server
      *
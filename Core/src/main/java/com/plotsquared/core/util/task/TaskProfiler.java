@@ -0,0 +1,256 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.task;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how much time is spent in work of a given {@link Origin}. Each origin keeps its wall time, number of
+ * invocations, the longest invocation and the number of invocations that took longer than their budget. Profiling is
+ * disabled by default, in which case recording costs a single volatile read.
+ * <pre>{@code
+ * final long start = TaskProfiler.start();
+ * doWork();
+ * TaskProfiler.record(TaskProfiler.Origin.DATABASE, start);
+ * }</pre>
+ * Origins may be nested, the time spent in a chunk coordinator batch is for example also part of the sync task that
+ * runs it.
+ *
+ * @since 7.5.5
+ */
+public final class TaskProfiler {
+
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+    private static final Stats[] STATS = new Stats[Origin.values().length];
+
+    private static volatile boolean enabled = false;
+
+    static {
+        for (int i = 0; i < STATS.length; i++) {
+            STATS[i] = new Stats();
+        }
+    }
+
+    private TaskProfiler() {
+    }
+
+    /**
+     * Get whether invocations are currently being recorded
+     *
+     * @return {@code true} if profiling is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable profiling. Collected samples are kept when profiling is disabled.
+     *
+     * @param enabled whether to record invocations
+     */
+    public static void setEnabled(final boolean enabled) {
+        TaskProfiler.enabled = enabled;
+    }
+
+    /**
+     * Start timing an invocation
+     *
+     * @return start time to pass to {@link #record(Origin, long)}
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    /**
+     * Record an invocation against the default budget of its origin
+     *
+     * @param origin origin of the work
+     * @param start  value returned by {@link #start()} before the work began
+     */
+    public static void record(final @NonNull Origin origin, final long start) {
+        record(origin, start, origin.budget);
+    }
+
+    /**
+     * Record an invocation
+     *
+     * @param origin       origin of the work
+     * @param start        value returned by {@link #start()} before the work began
+     * @param budgetMillis time the invocation was allowed to take, invocations taking longer count as an overrun
+     */
+    public static void record(final @NonNull Origin origin, final long start, final long budgetMillis) {
+        if (start == NOT_SAMPLED) {
+            return;
+        }
+        final long elapsed = System.nanoTime() - start;
+        final Stats stats = STATS[origin.ordinal()];
+        stats.invocations.increment();
+        stats.time.add(elapsed);
+        stats.max.accumulate(elapsed);
+        if (elapsed > TimeUnit.MILLISECONDS.toNanos(budgetMillis)) {
+            stats.overruns.increment();
+        }
+    }
+
+    /**
+     * Wrap a task so that each of its invocations is recorded
+     *
+     * @param origin   origin of the task
+     * @param runnable task to wrap
+     * @return wrapped task
+     */
+    public static @NonNull Runnable wrap(final @NonNull Origin origin, final @NonNull Runnable runnable) {
+        return () -> {
+            final long start = start();
+            try {
+                runnable.run();
+            } finally {
+                record(origin, start);
+            }
+        };
+    }
+
+    /**
+     * Get the samples collected so far, for every origin
+     *
+     * @return map of origin to collected samples
+     */
+    public static @NonNull Map<Origin, Snapshot> snapshot() {
+        final Map<Origin, Snapshot> snapshot = new EnumMap<>(Origin.class);
+        for (final Origin origin : Origin.values()) {
+            final Stats stats = STATS[origin.ordinal()];
+            snapshot.put(origin, new Snapshot(
+                    stats.invocations.sum(),
+                    stats.time.sum(),
+                    stats.max.get(),
+                    stats.overruns.sum()
+            ));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Discard all collected samples
+     */
+    public static void reset() {
+        for (final Stats stats : STATS) {
+            stats.invocations.reset();
+            stats.time.reset();
+            stats.max.reset();
+            stats.overruns.reset();
+        }
+    }
+
+    /**
+     * Kind of work that is profiled
+     */
+    public enum Origin {
+        /**
+         * Synchronous tasks scheduled through the {@link TaskManager}
+         */
+        SYNC_TASK("sync-task", 50L),
+        /**
+         * Time slices of {@link TaskManager#objectTask(java.util.Collection, RunnableVal)}
+         */
+        OBJECT_TASK("object-task", 5L),
+        /**
+         * Chunk batches processed by a chunk coordinator
+         */
+        CHUNK_COORDINATOR("chunk-coordinator", 50L),
+        /**
+         * Plot expiry sweeps
+         */
+        EXPIRY("expiry", 50L),
+        /**
+         * Road regeneration batches
+         */
+        ROAD_REGENERATION("road-regeneration", 50L),
+        /**
+         * Database batches flushed by the SQL manager
+         */
+        DATABASE("database", 1000L),
+        /**
+         * Single plot worlds created on the main thread
+         */
+        WORLD_LOAD("world-load", 50L);
+
+        private final String id;
+        private final long budget;
+
+        Origin(final @NonNull String id, final long budget) {
+            this.id = id;
+            this.budget = budget;
+        }
+
+        /**
+         * Get the identifier of the origin, as shown to players
+         *
+         * @return origin identifier
+         */
+        public @NonNull String getId() {
+            return this.id;
+        }
+
+        /**
+         * Get the default budget of a single invocation, in milliseconds
+         *
+         * @return budget in milliseconds
+         */
+        public long getBudget() {
+            return this.budget;
+        }
+    }
+
+    /**
+     * Samples collected for an origin
+     *
+     * @param invocations number of recorded invocations
+     * @param totalNanos  total wall time of all invocations, in nanoseconds
+     * @param maxNanos    wall time of the longest invocation, in nanoseconds
+     * @param overruns    number of invocations that took longer than their budget
+     */
+    public record Snapshot(long invocations, long totalNanos, long maxNanos, long overruns) {
+
+        /**
+         * Get the average wall time of an invocation
+         *
+         * @return average wall time in nanoseconds, or {@code 0} if nothing was recorded
+         */
+        public long averageNanos() {
+            return this.invocations == 0 ? 0L : this.totalNanos / this.invocations;
+        }
+
+    }
+
+    private static final class Stats {
+
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder time = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+        private final LongAdder overruns = new LongAdder();
+
+    }
+
+}
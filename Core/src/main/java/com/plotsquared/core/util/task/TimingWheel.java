@@ -0,0 +1,234 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.task;
+
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. Values are scheduled a number of ticks ahead and handed back once the wheel has been
+ * {@link #advance(Consumer) advanced} that far. Scheduling and cancelling are constant time, and advancing only
+ * touches the timers that are due, apart from cascading a coarser slot down once every {@value #SLOTS} ticks.
+ * <p>
+ * The wheel does not keep time by itself; the owner decides how long a tick is by how often it advances the wheel.
+ * It is not thread safe.
+ *
+ * @param <T> type of scheduled value
+ * @since 7.5.5
+ */
+public final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final Timer<T>[][] wheels;
+    private Timer<T> overflow;
+    private long tick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel() {
+        this.wheels = new Timer[LEVELS][SLOTS];
+    }
+
+    /**
+     * Schedule a value.
+     *
+     * @param value value to hand back once due
+     * @param delay number of ticks until the value is due, values below one are treated as one
+     * @return handle that may be used to cancel the timer
+     */
+    public @NonNull Timer<T> schedule(final @NonNull T value, final long delay) {
+        final Timer<T> timer = new Timer<>(this, value, this.tick + Math.max(1L, delay));
+        this.insert(timer);
+        this.size++;
+        return timer;
+    }
+
+    /**
+     * Advance the wheel by one tick and hand every value that became due to the consumer, in no particular order.
+     * The consumer may schedule and cancel timers.
+     *
+     * @param consumer consumer of due values
+     */
+    public void advance(final @NonNull Consumer<? super T> consumer) {
+        final long now = ++this.tick;
+        if ((now & MASK) == 0) {
+            if ((now & ((1L << (BITS * LEVELS)) - 1)) == 0) {
+                this.cascade(this.overflow);
+                this.overflow = null;
+            }
+            int level = 1;
+            while (level < LEVELS - 1 && ((now >>> (BITS * level)) & MASK) == 0) {
+                level++;
+            }
+            for (; level > 0; level--) {
+                final int slot = (int) ((now >>> (BITS * level)) & MASK);
+                final Timer<T> head = this.wheels[level][slot];
+                this.wheels[level][slot] = null;
+                this.cascade(head);
+            }
+        }
+        final int slot = (int) (now & MASK);
+        Timer<T> timer;
+        // Pop one timer at a time so that the consumer may cancel timers that are due in the same tick
+        while ((timer = this.wheels[0][slot]) != null) {
+            this.wheels[0][slot] = timer.next;
+            if (timer.next != null) {
+                timer.next.previous = null;
+            }
+            timer.unlink();
+            this.size--;
+            consumer.accept(timer.value);
+        }
+    }
+
+    /**
+     * Get the number of ticks the wheel has been advanced by.
+     *
+     * @return current tick
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Get the number of scheduled timers.
+     *
+     * @return number of timers
+     */
+    @NonNegative
+    public int size() {
+        return this.size;
+    }
+
+    private void cascade(@Nullable Timer<T> timer) {
+        while (timer != null) {
+            final Timer<T> next = timer.next;
+            timer.unlink();
+            this.insert(timer);
+            timer = next;
+        }
+    }
+
+    private void insert(final @NonNull Timer<T> timer) {
+        final long due = timer.due;
+        final long now = this.tick;
+        int level = 0;
+        while (level < LEVELS && (due >>> (BITS * (level + 1))) != (now >>> (BITS * (level + 1)))) {
+            level++;
+        }
+        if (level == LEVELS) {
+            timer.link(null, -1, this.overflow);
+            this.overflow = timer;
+            return;
+        }
+        final int slot = (int) ((due >>> (BITS * level)) & MASK);
+        timer.link(this.wheels[level], slot, this.wheels[level][slot]);
+        this.wheels[level][slot] = timer;
+    }
+
+    /**
+     * Handle for a scheduled value.
+     *
+     * @param <T> type of scheduled value
+     * @since 7.5.5
+     */
+    public static final class Timer<T> {
+
+        private final TimingWheel<T> wheel;
+        private final T value;
+        private final long due;
+        private Timer<T>[] bucket;
+        private int slot;
+        private Timer<T> previous;
+        private Timer<T> next;
+        private boolean scheduled = true;
+
+        private Timer(final @NonNull TimingWheel<T> wheel, final @NonNull T value, final long due) {
+            this.wheel = wheel;
+            this.value = value;
+            this.due = due;
+        }
+
+        /**
+         * Get the scheduled value.
+         *
+         * @return value
+         */
+        public @NonNull T getValue() {
+            return this.value;
+        }
+
+        /**
+         * Get whether the timer is still waiting to become due.
+         *
+         * @return {@code true} if the timer has neither fired nor been cancelled
+         */
+        public boolean isScheduled() {
+            return this.scheduled;
+        }
+
+        /**
+         * Cancel the timer. Cancelling a timer that has already fired or been cancelled does nothing.
+         */
+        public void cancel() {
+            if (!this.scheduled) {
+                return;
+            }
+            if (this.previous != null) {
+                this.previous.next = this.next;
+            } else if (this.bucket != null) {
+                this.bucket[this.slot] = this.next;
+            } else {
+                this.wheel.overflow = this.next;
+            }
+            if (this.next != null) {
+                this.next.previous = this.previous;
+            }
+            this.unlink();
+            this.wheel.size--;
+        }
+
+        private void link(final Timer<T> @Nullable [] bucket, final int slot, final @Nullable Timer<T> next) {
+            this.bucket = bucket;
+            this.slot = slot;
+            this.previous = null;
+            this.next = next;
+            this.scheduled = true;
+            if (next != null) {
+                next.previous = this;
+            }
+        }
+
+        private void unlink() {
+            this.bucket = null;
+            this.previous = null;
+            this.next = null;
+            this.scheduled = false;
+        }
+
+    }
+
+}
@@ -0,0 +1,498 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.uuid;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * UUID service backed by an append-only, memory-mapped file. Every mapping is stored as a fixed-width record holding
+ * the 128-bit UUID and the UTF-8 encoded username; the heap only holds two open-addressing tables of record numbers,
+ * one keyed by UUID and one keyed by the case-insensitive username. Opening a store maps the file and rebuilds these
+ * tables, without reading anything else into memory.
+ * <p>
+ * Updated mappings are appended and supersede earlier records for the same UUID. Superseded records are dropped when
+ * the store is opened and they outnumber the current ones.
+ *
+ * @since 7.5.5
+ */
+public final class MappedUUIDService implements UUIDService, Consumer<List<UUIDMapping>>, AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + MappedUUIDService.class.getSimpleName());
+
+    private static final int MAGIC = 0x50535555;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 8;
+    private static final int RECORD_SIZE = 48;
+    private static final int NAME_OFFSET = 17;
+    private static final int MAX_NAME_LENGTH = RECORD_SIZE - NAME_OFFSET;
+    private static final int MAX_RECORDS = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+    private static final int INITIAL_RECORDS = 1024;
+    private static final int INITIAL_SLOTS = 2048;
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int count;
+    private int live;
+    private int[] uuidSlots = new int[INITIAL_SLOTS];
+    private int[] nameSlots = new int[INITIAL_SLOTS];
+    private int nameEntries;
+
+    private MappedUUIDService(final @NonNull Path path, final @NonNull FileChannel channel, final int count) throws
+            IOException {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, offset((int) Math.min(
+                MAX_RECORDS,
+                Math.max(INITIAL_RECORDS, count * 2L)
+        )));
+        for (int record = 0; record < count; record++) {
+            if (this.buffer.get(offset(record) + NAME_OFFSET - 1) != 0) {
+                this.index(record);
+            }
+        }
+        this.count = count;
+    }
+
+    /**
+     * Open a store, creating the file if it does not exist.
+     *
+     * @param path Store file
+     * @return the opened store
+     * @throws IOException if the file cannot be opened or is not a UUID store
+     */
+    public static @NonNull MappedUUIDService open(final @NonNull Path path) throws IOException {
+        return open(path, true);
+    }
+
+    private static @NonNull MappedUUIDService open(final @NonNull Path path, final boolean compact) throws IOException {
+        final FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+        final MappedUUIDService service;
+        try {
+            service = new MappedUUIDService(path, channel, readHeader(channel));
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (compact && service.count > INITIAL_RECORDS && service.count - service.live > service.live) {
+            try {
+                service.compact();
+            } catch (final IOException e) {
+                LOGGER.warn("(UUID) Failed to compact {}, superseded mappings will be kept", path, e);
+            }
+            service.close();
+            return open(path, false);
+        }
+        return service;
+    }
+
+    private static int readHeader(final @NonNull FileChannel channel) throws IOException {
+        final long size = channel.size();
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (size < HEADER_SIZE) {
+            header.putInt(MAGIC).putInt(VERSION).putInt(0).putInt(0).flip();
+            channel.write(header, 0);
+            return 0;
+        }
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a UUID store");
+        }
+        final int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported UUID store version " + version);
+        }
+        // Records are written before the count is, so anything past the end of the file is a torn write
+        return (int) Math.min(Math.max(header.getInt(), 0), (size - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    private static int offset(final int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    private static int mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        return (int) value;
+    }
+
+    private static int hash(final long mostSignificantBits, final long leastSignificantBits) {
+        return mix(mostSignificantBits * 31 + leastSignificantBits);
+    }
+
+    private static int hash(final byte @NonNull [] name, final int length) {
+        long hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = hash * 31 + fold(name[i]);
+        }
+        return mix(hash);
+    }
+
+    private static int fold(final byte value) {
+        return value >= 'A' && value <= 'Z' ? value + ('a' - 'A') : value;
+    }
+
+    /**
+     * Get the number of mappings in the store.
+     *
+     * @return number of mappings
+     */
+    public synchronized int size() {
+        return this.live;
+    }
+
+    /**
+     * Check whether the store holds a mapping for a UUID.
+     *
+     * @param uuid UUID to look up
+     * @return {@code true} if the name of the player is stored
+     */
+    public synchronized boolean contains(final @NonNull UUID uuid) {
+        return this.findUUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    @Override
+    public synchronized @NonNull List<UUIDMapping> getNames(final @NonNull List<@NonNull UUID> uuids) {
+        final List<UUIDMapping> mappings = new ArrayList<>(uuids.size());
+        for (final UUID uuid : uuids) {
+            final int record = this.findUUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (record >= 0) {
+                mappings.add(new UUIDMapping(uuid, this.readName(record)));
+            }
+        }
+        return mappings;
+    }
+
+    @Override
+    public synchronized @NonNull List<UUIDMapping> getUUIDs(final @NonNull List<@NonNull String> usernames) {
+        final List<UUIDMapping> mappings = new ArrayList<>(usernames.size());
+        for (final String username : usernames) {
+            final byte[] name = username.getBytes(StandardCharsets.UTF_8);
+            if (name.length == 0 || name.length > MAX_NAME_LENGTH) {
+                continue;
+            }
+            final int record = this.findName(name, name.length);
+            if (record >= 0) {
+                mappings.add(this.read(record));
+            }
+        }
+        return mappings;
+    }
+
+    @Override
+    public synchronized void accept(final @NonNull List<@NonNull UUIDMapping> uuidMappings) {
+        for (final UUIDMapping mapping : uuidMappings) {
+            final byte[] name = mapping.username().getBytes(StandardCharsets.UTF_8);
+            if (name.length == 0 || name.length > MAX_NAME_LENGTH) {
+                continue;
+            }
+            final long mostSignificantBits = mapping.uuid().getMostSignificantBits();
+            final long leastSignificantBits = mapping.uuid().getLeastSignificantBits();
+            final int existing = this.findUUID(mostSignificantBits, leastSignificantBits);
+            if (existing >= 0 && this.nameEquals(existing, name, name.length, false)) {
+                continue;
+            }
+            this.append(mostSignificantBits, leastSignificantBits, name);
+        }
+    }
+
+    @Override
+    public synchronized @NonNull Collection<@NonNull UUIDMapping> getImmediately() {
+        final List<UUIDMapping> mappings = new ArrayList<>(this.live);
+        for (final int slot : this.uuidSlots) {
+            if (slot != 0) {
+                mappings.add(this.read(slot - 1));
+            }
+        }
+        return mappings;
+    }
+
+    @Override
+    public boolean canBeSynchronous() {
+        return true;
+    }
+
+    @Override
+    public @Nullable UUIDMapping getImmediately(final @NonNull Object object) {
+        final List<UUIDMapping> list;
+        if (object instanceof String) {
+            list = getUUIDs(Collections.singletonList((String) object));
+        } else if (object instanceof UUID) {
+            list = getNames(Collections.singletonList((UUID) object));
+        } else {
+            list = Collections.emptyList();
+        }
+        if (list.isEmpty()) {
+            return null;
+        }
+        return list.get(0);
+    }
+
+    /**
+     * Flush all appended mappings to disk and close the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.channel.isOpen()) {
+            this.buffer.force();
+            this.channel.close();
+        }
+    }
+
+    private void append(final long mostSignificantBits, final long leastSignificantBits, final byte @NonNull [] name) {
+        if (this.count == MAX_RECORDS) {
+            throw new IllegalStateException("UUID store is full");
+        }
+        if (offset(this.count + 1) > this.buffer.capacity()) {
+            final int records = (int) Math.min(MAX_RECORDS, this.count * 2L);
+            try {
+                this.buffer.force();
+                this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, offset(records));
+            } catch (final IOException e) {
+                throw new IllegalStateException("Failed to grow UUID store", e);
+            }
+        }
+        final int offset = offset(this.count);
+        this.buffer.putLong(offset, mostSignificantBits);
+        this.buffer.putLong(offset + 8, leastSignificantBits);
+        this.buffer.put(offset + NAME_OFFSET, name);
+        this.buffer.put(offset + NAME_OFFSET - 1, (byte) name.length);
+        this.index(this.count);
+        this.buffer.putInt(COUNT_OFFSET, ++this.count);
+    }
+
+    private void index(final int record) {
+        if ((this.live + 1) * 2 > this.uuidSlots.length) {
+            this.uuidSlots = this.rehash(this.uuidSlots, true);
+        }
+        final int offset = offset(record);
+        final long mostSignificantBits = this.buffer.getLong(offset);
+        final long leastSignificantBits = this.buffer.getLong(offset + 8);
+        final int mask = this.uuidSlots.length - 1;
+        for (int slot = hash(mostSignificantBits, leastSignificantBits) & mask; ; slot = (slot + 1) & mask) {
+            final int existing = this.uuidSlots[slot] - 1;
+            if (existing < 0) {
+                this.live++;
+                this.uuidSlots[slot] = record + 1;
+                break;
+            }
+            final int existingOffset = offset(existing);
+            if (this.buffer.getLong(existingOffset) == mostSignificantBits
+                    && this.buffer.getLong(existingOffset + 8) == leastSignificantBits) {
+                this.uuidSlots[slot] = record + 1;
+                break;
+            }
+        }
+        // Superseded records keep their name entry until the next rehash, lookups skip them
+        if ((this.nameEntries + 1) * 2 > this.nameSlots.length) {
+            this.nameSlots = this.rehash(this.nameSlots, false);
+        }
+        this.indexName(this.nameSlots, record);
+    }
+
+    private void indexName(final int @NonNull [] slots, final int record) {
+        final int offset = offset(record) + NAME_OFFSET;
+        final int length = this.buffer.get(offset - 1);
+        long hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = hash * 31 + fold(this.buffer.get(offset + i));
+        }
+        final int mask = slots.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            final int existing = slots[slot] - 1;
+            if (existing < 0) {
+                this.nameEntries++;
+                slots[slot] = record + 1;
+                return;
+            }
+            if (this.buffer.get(offset(existing) + NAME_OFFSET - 1) == length && this.recordsEqualIgnoreCase(
+                    existing,
+                    record,
+                    length
+            )) {
+                slots[slot] = record + 1;
+                return;
+            }
+        }
+    }
+
+    private int @NonNull [] rehash(final int @NonNull [] slots, final boolean uuids) {
+        final int size = uuids ? this.live : this.live + 1;
+        int capacity = INITIAL_SLOTS;
+        while (capacity < (size + 1) * 4) {
+            capacity <<= 1;
+        }
+        final int[] rehashed = new int[capacity];
+        if (uuids) {
+            final int mask = capacity - 1;
+            for (final int entry : slots) {
+                if (entry == 0) {
+                    continue;
+                }
+                final int offset = offset(entry - 1);
+                int slot = hash(this.buffer.getLong(offset), this.buffer.getLong(offset + 8)) & mask;
+                while (rehashed[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                rehashed[slot] = entry;
+            }
+        } else {
+            // Only current records are carried over, which drops the names of superseded ones
+            this.nameEntries = 0;
+            for (final int entry : this.uuidSlots) {
+                if (entry != 0) {
+                    this.indexName(rehashed, entry - 1);
+                }
+            }
+        }
+        return rehashed;
+    }
+
+    private int findUUID(final long mostSignificantBits, final long leastSignificantBits) {
+        final int mask = this.uuidSlots.length - 1;
+        for (int slot = hash(mostSignificantBits, leastSignificantBits) & mask; ; slot = (slot + 1) & mask) {
+            final int record = this.uuidSlots[slot] - 1;
+            if (record < 0) {
+                return -1;
+            }
+            final int offset = offset(record);
+            if (this.buffer.getLong(offset) == mostSignificantBits && this.buffer.getLong(offset + 8) == leastSignificantBits) {
+                return record;
+            }
+        }
+    }
+
+    private int findName(final byte @NonNull [] name, final int length) {
+        final int mask = this.nameSlots.length - 1;
+        for (int slot = hash(name, length) & mask; ; slot = (slot + 1) & mask) {
+            final int record = this.nameSlots[slot] - 1;
+            if (record < 0) {
+                return -1;
+            }
+            if (this.nameEquals(record, name, length, true)) {
+                final int offset = offset(record);
+                // The UUID may have been given another name since
+                return this.findUUID(this.buffer.getLong(offset), this.buffer.getLong(offset + 8)) == record ? record : -1;
+            }
+        }
+    }
+
+    private boolean nameEquals(final int record, final byte @NonNull [] name, final int length, final boolean ignoreCase) {
+        final int offset = offset(record) + NAME_OFFSET;
+        if (this.buffer.get(offset - 1) != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final byte stored = this.buffer.get(offset + i);
+            if (ignoreCase ? fold(stored) != fold(name[i]) : stored != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean recordsEqualIgnoreCase(final int first, final int second, final int length) {
+        final int firstOffset = offset(first) + NAME_OFFSET;
+        final int secondOffset = offset(second) + NAME_OFFSET;
+        for (int i = 0; i < length; i++) {
+            if (fold(this.buffer.get(firstOffset + i)) != fold(this.buffer.get(secondOffset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private @NonNull String readName(final int record) {
+        final int offset = offset(record) + NAME_OFFSET;
+        final byte[] name = new byte[this.buffer.get(offset - 1)];
+        this.buffer.get(offset, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private @NonNull UUIDMapping read(final int record) {
+        final int offset = offset(record);
+        return new UUIDMapping(new UUID(this.buffer.getLong(offset), this.buffer.getLong(offset + 8)), this.readName(record));
+    }
+
+    /**
+     * Rewrite the file with only the current record of every UUID, closing this store before it is replaced.
+     */
+    private void compact() throws IOException {
+        final Path temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try (final FileChannel target = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+        )) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(this.live).putInt(0).flip();
+            target.write(header);
+            final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            // Keep records in file order so names resolve the same way after reopening
+            final int[] current = new int[this.live];
+            int index = 0;
+            for (final int slot : this.uuidSlots) {
+                if (slot != 0) {
+                    current[index++] = slot - 1;
+                }
+            }
+            Arrays.sort(current);
+            for (final int entry : current) {
+                record.clear();
+                record.put(0, this.buffer, offset(entry), RECORD_SIZE);
+                target.write(record);
+            }
+            target.force(true);
+        }
+        this.close();
+        Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+}
@@ -34,17 +34,24 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * An UUID pipeline is essentially an ordered list of
@@ -62,6 +69,12 @@ public class UUIDPipeline {
     private final Executor executor;
     private final List<UUIDService> serviceList;
     private final List<Consumer<List<UUIDMapping>>> consumerList;
+    private final Resolver<UUID> names = new Resolver<>(UUIDService::getNames, UUIDMapping::uuid, uuid -> uuid);
+    private final Resolver<String> uuids = new Resolver<>(
+            UUIDService::getUUIDs,
+            UUIDMapping::username,
+            username -> username.toLowerCase(Locale.ROOT)
+    );
 
     /**
      * Construct a new UUID pipeline
@@ -108,6 +121,13 @@ public class UUIDPipeline {
      * @param mappings Mappings
      */
     public void consume(final @NonNull List<@NonNull UUIDMapping> mappings) {
+        for (final UUIDMapping mapping : mappings) {
+            this.names.forget(mapping.uuid());
+            this.uuids.forget(mapping.username());
+        }
+        if (this.consumerList.isEmpty()) {
+            return;
+        }
         final Runnable runnable = () -> {
             for (final Consumer<List<UUIDMapping>> consumer : this.consumerList) {
                 consumer.accept(mappings);
@@ -274,7 +294,10 @@ public class UUIDPipeline {
     }
 
     /**
-     * Asynchronously attempt to fetch the mapping from a list of UUIDs
+     * Asynchronously attempt to fetch the mapping from a list of UUIDs.
+     * <p>
+     * Requests for UUIDs that are already being looked up share the pending lookup, and UUIDs that no service could
+     * resolve recently are not looked up again.
      *
      * @param requests UUIDs
      * @return Mappings
@@ -282,68 +305,31 @@ public class UUIDPipeline {
     public @NonNull CompletableFuture<@NonNull List<@NonNull UUIDMapping>> getNames(
             final @NonNull Collection<@NonNull UUID> requests
     ) {
-        if (requests.isEmpty()) {
-            return CompletableFuture.completedFuture(Collections.emptyList());
-        }
-
-        final List<UUIDService> serviceList = this.getServiceListInstance();
-        final List<UUIDMapping> mappings = new ArrayList<>(requests.size());
-        final List<UUID> remainingRequests = new ArrayList<>(requests);
-
-        for (final UUIDService service : serviceList) {
-            // We can chain multiple synchronous
-            // ones in a row
-            if (service.canBeSynchronous()) {
-                final List<UUIDMapping> completedRequests = service.getNames(remainingRequests);
-                for (final UUIDMapping mapping : completedRequests) {
-                    remainingRequests.remove(mapping.uuid());
-                }
-                mappings.addAll(completedRequests);
-            } else {
-                break;
-            }
-            if (remainingRequests.isEmpty()) {
-                return CompletableFuture.completedFuture(mappings);
-            }
-        }
-
-        return CompletableFuture.supplyAsync(() -> {
-            for (final UUIDService service : serviceList) {
-                final List<UUIDMapping> completedRequests = service.getNames(remainingRequests);
-                for (final UUIDMapping mapping : completedRequests) {
-                    remainingRequests.remove(mapping.uuid());
-                }
-                mappings.addAll(completedRequests);
-                if (remainingRequests.isEmpty()) {
-                    break;
-                }
-            }
-
-            if (mappings.size() == requests.size()) {
-                this.consume(mappings);
-                return mappings;
+        return this.names.request(requests).thenApply(lookup -> {
+            if (lookup.unresolved().isEmpty()) {
+                return lookup.mappings();
             } else if (Settings.DEBUG) {
                 LOGGER.info("(UUID) Failed to find all usernames");
             }
-
             if (Settings.UUID.UNKNOWN_AS_DEFAULT) {
-                for (final UUID uuid : remainingRequests) {
-                    mappings.add(new UUIDMapping(
-                            uuid,
-                            MINI_MESSAGE.escapeTags(TranslatableCaption
-                                    .of("info.unknown")
-                                    .getComponent(ConsolePlayer.getConsole()))
-                    ));
+                final String unknown = MINI_MESSAGE.escapeTags(TranslatableCaption
+                        .of("info.unknown")
+                        .getComponent(ConsolePlayer.getConsole()));
+                final List<UUIDMapping> mappings = new ArrayList<>(lookup.mappings());
+                for (final UUID uuid : lookup.unresolved()) {
+                    mappings.add(new UUIDMapping(uuid, unknown));
                 }
                 return mappings;
-            } else {
-                throw new ServiceError("End of pipeline");
             }
-        }, this.executor);
+            throw new ServiceError("End of pipeline");
+        });
     }
 
     /**
-     * Asynchronously attempt to fetch the mapping from a list of names
+     * Asynchronously attempt to fetch the mapping from a list of names.
+     * <p>
+     * Requests for names that are already being looked up share the pending lookup, and names that no service could
+     * resolve recently are not looked up again.
      *
      * @param requests Names
      * @return Mappings
@@ -351,52 +337,14 @@ public class UUIDPipeline {
     public @NonNull CompletableFuture<@NonNull List<@NonNull UUIDMapping>> getUUIDs(
             final @NonNull Collection<@NonNull String> requests
     ) {
-        if (requests.isEmpty()) {
-            return CompletableFuture.completedFuture(Collections.emptyList());
-        }
-
-        final List<UUIDService> serviceList = this.getServiceListInstance();
-        final List<UUIDMapping> mappings = new ArrayList<>(requests.size());
-        final List<String> remainingRequests = new ArrayList<>(requests);
-
-        for (final UUIDService service : serviceList) {
-            // We can chain multiple synchronous
-            // ones in a row
-            if (service.canBeSynchronous()) {
-                final List<UUIDMapping> completedRequests = service.getUUIDs(remainingRequests);
-                for (final UUIDMapping mapping : completedRequests) {
-                    remainingRequests.remove(mapping.username());
-                }
-                mappings.addAll(completedRequests);
-            } else {
-                break;
-            }
-            if (remainingRequests.isEmpty()) {
-                return CompletableFuture.completedFuture(mappings);
-            }
-        }
-
-        return CompletableFuture.supplyAsync(() -> {
-            for (final UUIDService service : serviceList) {
-                final List<UUIDMapping> completedRequests = service.getUUIDs(remainingRequests);
-                for (final UUIDMapping mapping : completedRequests) {
-                    remainingRequests.remove(mapping.username());
-                }
-                mappings.addAll(completedRequests);
-                if (remainingRequests.isEmpty()) {
-                    break;
-                }
-            }
-
-            if (mappings.size() == requests.size()) {
-                this.consume(mappings);
-                return mappings;
+        return this.uuids.request(requests).thenApply(lookup -> {
+            if (lookup.unresolved().isEmpty()) {
+                return lookup.mappings();
             } else if (Settings.DEBUG) {
                 LOGGER.info("(UUID) Failed to find all UUIDs");
             }
-
             throw new ServiceError("End of pipeline");
-        }, this.executor);
+        });
     }
 
     /**
@@ -431,4 +379,173 @@ public class UUIDPipeline {
         return null;
     }
 
+    private record Lookup<K>(@NonNull List<@NonNull UUIDMapping> mappings, @NonNull Set<K> unresolved) {
+
+    }
+
+    /**
+     * Resolves requests of one kind (UUIDs or usernames) through the service list, sharing lookups that are in flight
+     * and remembering requests that no service could resolve.
+     *
+     * @param <K> Request type
+     */
+    private final class Resolver<K> {
+
+        private final BiFunction<UUIDService, List<K>, List<UUIDMapping>> lookup;
+        private final Function<UUIDMapping, K> key;
+        private final UnaryOperator<K> normalise;
+        private final Map<K, CompletableFuture<UUIDMapping>> pending = new ConcurrentHashMap<>();
+        private final Map<K, Long> unresolved = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Long> eldest) {
+                return size() > Settings.UUID.UNRESOLVED_CACHE_SIZE;
+            }
+        };
+
+        private Resolver(
+                final @NonNull BiFunction<UUIDService, List<K>, List<UUIDMapping>> lookup,
+                final @NonNull Function<UUIDMapping, K> key,
+                final @NonNull UnaryOperator<K> normalise
+        ) {
+            this.lookup = lookup;
+            this.key = key;
+            this.normalise = normalise;
+        }
+
+        private @NonNull CompletableFuture<Lookup<K>> request(final @NonNull Collection<K> requests) {
+            if (requests.isEmpty()) {
+                return CompletableFuture.completedFuture(new Lookup<>(Collections.emptyList(), Collections.emptySet()));
+            }
+            // Remaining requests, keyed by their normalised form
+            final Map<K, K> remaining = new LinkedHashMap<>();
+            for (final K request : requests) {
+                remaining.putIfAbsent(this.normalise.apply(request), request);
+            }
+            final List<UUIDService> serviceList = getServiceListInstance();
+            final List<UUIDMapping> mappings = new ArrayList<>(remaining.size());
+
+            int index = 0;
+            // We can chain multiple synchronous
+            // ones in a row
+            for (; index < serviceList.size() && serviceList.get(index).canBeSynchronous(); index++) {
+                resolve(serviceList.get(index), remaining, mappings);
+                if (remaining.isEmpty()) {
+                    return CompletableFuture.completedFuture(new Lookup<>(mappings, Collections.emptySet()));
+                }
+            }
+
+            final Set<K> unresolved = new LinkedHashSet<>();
+            final Map<K, K> fetch = new LinkedHashMap<>();
+            final List<K> waiting = new ArrayList<>();
+            final List<CompletableFuture<UUIDMapping>> futures = new ArrayList<>();
+            for (final Map.Entry<K, K> entry : remaining.entrySet()) {
+                if (isUnresolved(entry.getKey())) {
+                    unresolved.add(entry.getValue());
+                    continue;
+                }
+                final CompletableFuture<UUIDMapping> future = new CompletableFuture<>();
+                final CompletableFuture<UUIDMapping> existing = this.pending.putIfAbsent(entry.getKey(), future);
+                if (existing == null) {
+                    fetch.put(entry.getKey(), entry.getValue());
+                }
+                waiting.add(entry.getValue());
+                futures.add(existing == null ? future : existing);
+            }
+            if (!fetch.isEmpty()) {
+                final List<UUIDService> services = new ArrayList<>(serviceList.subList(index, serviceList.size()));
+                executor.execute(() -> fetch(services, fetch));
+            }
+            if (futures.isEmpty()) {
+                return CompletableFuture.completedFuture(new Lookup<>(mappings, unresolved));
+            }
+            return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+                for (int i = 0; i < futures.size(); i++) {
+                    final UUIDMapping mapping = futures.get(i).join();
+                    if (mapping != null) {
+                        mappings.add(mapping);
+                    } else {
+                        unresolved.add(waiting.get(i));
+                    }
+                }
+                return new Lookup<>(mappings, unresolved);
+            });
+        }
+
+        private void fetch(final @NonNull List<UUIDService> services, final @NonNull Map<K, K> fetch) {
+            try {
+                final Map<K, K> remaining = new LinkedHashMap<>(fetch);
+                final List<UUIDMapping> mappings = new ArrayList<>(remaining.size());
+                for (final UUIDService service : services) {
+                    resolve(service, remaining, mappings);
+                    if (remaining.isEmpty()) {
+                        break;
+                    }
+                }
+                if (!mappings.isEmpty()) {
+                    consume(mappings);
+                }
+                synchronized (this.unresolved) {
+                    final long now = System.currentTimeMillis();
+                    for (final K request : remaining.keySet()) {
+                        this.unresolved.put(request, now);
+                    }
+                }
+                for (final UUIDMapping mapping : mappings) {
+                    complete(this.normalise.apply(this.key.apply(mapping)), mapping);
+                }
+                for (final K request : remaining.keySet()) {
+                    complete(request, null);
+                }
+            } catch (final Throwable throwable) {
+                for (final K request : fetch.keySet()) {
+                    final CompletableFuture<UUIDMapping> future = this.pending.remove(request);
+                    if (future != null) {
+                        future.completeExceptionally(throwable);
+                    }
+                }
+            }
+        }
+
+        private void resolve(
+                final @NonNull UUIDService service, final @NonNull Map<K, K> remaining,
+                final @NonNull List<UUIDMapping> mappings
+        ) {
+            for (final UUIDMapping mapping : this.lookup.apply(service, new ArrayList<>(remaining.values()))) {
+                if (remaining.remove(this.normalise.apply(this.key.apply(mapping))) != null) {
+                    mappings.add(mapping);
+                }
+            }
+        }
+
+        private void complete(final @NonNull K request, final @Nullable UUIDMapping mapping) {
+            final CompletableFuture<UUIDMapping> future = this.pending.remove(request);
+            if (future != null) {
+                future.complete(mapping);
+            }
+        }
+
+        private boolean isUnresolved(final @NonNull K request) {
+            synchronized (this.unresolved) {
+                final Long time = this.unresolved.get(request);
+                if (time == null) {
+                    return false;
+                }
+                if (System.currentTimeMillis() - time > Settings.UUID.UNRESOLVED_CACHE_TIME) {
+                    this.unresolved.remove(request);
+                    return false;
+                }
+                return true;
+            }
+        }
+
+        private void forget(final @NonNull K request) {
+            synchronized (this.unresolved) {
+                if (!this.unresolved.isEmpty()) {
+                    this.unresolved.remove(this.normalise.apply(request));
+                }
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,103 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.backup;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class SectionStoreTest {
+
+    @TempDir
+    Path backupPath;
+
+    @Test
+    public void testSectionsAreStoredOnceAndReleasedWithLastReference() throws IOException {
+        SectionStore store = SectionStore.of(backupPath);
+        byte[] data = "section".getBytes(StandardCharsets.UTF_8);
+
+        String hash = store.put(data);
+        Assertions.assertEquals(hash, store.put(data.clone()));
+        Assertions.assertArrayEquals(data, store.read(hash));
+        Assertions.assertEquals(1, countObjects());
+
+        List<BackupManifest.Section> sections = List.of(new BackupManifest.Section(0, 0, 0, hash));
+        store.release(sections);
+        Assertions.assertArrayEquals(data, store.read(hash));
+        store.release(sections);
+        Assertions.assertEquals(0, countObjects());
+    }
+
+    @Test
+    public void testReferencesAreRebuiltFromManifests() throws IOException {
+        byte[] kept = "kept".getBytes(StandardCharsets.UTF_8);
+        byte[] orphan = "orphan".getBytes(StandardCharsets.UTF_8);
+        String keptHash = SectionStore.hash(kept);
+        String orphanHash = SectionStore.hash(orphan);
+        for (String hash : List.of(keptHash, orphanHash)) {
+            Path file = backupPath.resolve("sections").resolve(hash.substring(0, 2)).resolve(hash);
+            Files.createDirectories(file.getParent());
+            Files.write(file, new byte[0]);
+        }
+        Path profile = Files.createDirectories(backupPath.resolve("area").resolve("0;0"));
+        new BackupManifest("world", List.of(new BackupManifest.Section(0, 0, 0, keptHash)))
+                .write(profile.resolve("1" + BackupManifest.EXTENSION));
+
+        SectionStore store = SectionStore.of(backupPath);
+        store.put("new".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(2, countObjects());
+
+        store.release(List.of(new BackupManifest.Section(0, 0, 0, keptHash)));
+        Assertions.assertEquals(1, countObjects());
+    }
+
+    @Test
+    public void testSectionsAreKeptWhenAManifestCannotBeRead() throws IOException {
+        byte[] orphan = "orphan".getBytes(StandardCharsets.UTF_8);
+        String orphanHash = SectionStore.hash(orphan);
+        Path file = backupPath.resolve("sections").resolve(orphanHash.substring(0, 2)).resolve(orphanHash);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[0]);
+        Path profile = Files.createDirectories(backupPath.resolve("area").resolve("0;0"));
+        Files.write(profile.resolve("1" + BackupManifest.EXTENSION), new byte[]{1, 2});
+
+        SectionStore store = SectionStore.of(backupPath);
+        String hash = store.put("new".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(2, countObjects());
+
+        store.release(List.of(
+                new BackupManifest.Section(0, 0, 0, hash),
+                new BackupManifest.Section(0, 0, 0, orphanHash)
+        ));
+        Assertions.assertEquals(2, countObjects());
+    }
+
+    private long countObjects() throws IOException {
+        try (var files = Files.walk(backupPath.resolve("sections"))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+}
@@ -96,6 +96,11 @@ public class AbstractDBTest implements AbstractDB {
     public void getPersistentMeta(UUID uuid, RunnableVal<Map<String, byte[]>> result) {
     }
 
+    @Override
+    public Map<String, byte[]> loadPersistentMeta(UUID uuid) {
+        return null;
+    }
+
     @Override
     public void createPlotSettings(int id, Plot plot) {
     }
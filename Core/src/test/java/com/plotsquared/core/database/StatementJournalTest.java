@@ -0,0 +1,165 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+public class StatementJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private static SQLManager.UniqueStatement statement(final String sql, final int x) {
+        return new SQLManager.UniqueStatement("test") {
+            @Override
+            public PreparedStatement get() {
+                return StatementJournal.recording().prepare(sql);
+            }
+
+            @Override
+            public void set(PreparedStatement statement) throws SQLException {
+                statement.setString(1, "value");
+                statement.setInt(2, StatementJournal.recording().reference(new StatementJournal.PlotReference("world", x, -x)));
+                statement.setBytes(3, new byte[]{1, 2, 3});
+            }
+        };
+    }
+
+    private static SQLManager.UniqueStatement insert(final String user, final int x, final int size) {
+        return new SQLManager.UniqueStatement("test") {
+            @Override
+            public PreparedStatement get() {
+                return StatementJournal.recording()
+                        .prepare("INSERT INTO `plot_trusted` (`plot_plot_id`, `user_uuid`) VALUES(?, ?)");
+            }
+
+            @Override
+            public void set(PreparedStatement statement) throws SQLException {
+                final StatementJournal.PlotReference plot = new StatementJournal.PlotReference("world", x, x);
+                statement.setInt(1, StatementJournal.recording().reference(plot));
+                statement.setString(2, user + "x".repeat(size));
+            }
+        };
+    }
+
+    private static String row(final StatementJournal.Entry entry) {
+        return entry.parameters().get(0) + "/" + entry.parameters().get(1);
+    }
+
+    @Test
+    public void testStatementsAreRecorded() {
+        StatementJournal.Entry entry = StatementJournal.record(statement("UPDATE `plot` SET `a` = ? WHERE `id` = ?", 4));
+        Assertions.assertNotNull(entry);
+        Assertions.assertEquals("value", entry.parameters().get(0));
+        Assertions.assertEquals(new StatementJournal.PlotReference("world", 4, -4), entry.parameters().get(1));
+        Assertions.assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) entry.parameters().get(2));
+        Assertions.assertNull(StatementJournal.record(statement("SELECT * FROM `plot`", 0)));
+        Assertions.assertNull(StatementJournal.recording());
+    }
+
+    @Test
+    public void testEntriesSurviveReopenAndTornTailIsDiscarded() throws IOException {
+        Path file = directory.resolve("database.journal");
+        try (StatementJournal journal = StatementJournal.open(file)) {
+            for (int x = 0; x < 3; x++) {
+                journal.append(StatementJournal.record(statement("UPDATE `plot` SET `a` = ? WHERE `id` = ?", x)));
+            }
+        }
+        long complete = Files.size(file);
+        Files.write(file, new byte[]{0, 0, 0, 64, 1, 2}, StandardOpenOption.APPEND);
+
+        try (StatementJournal journal = StatementJournal.open(file)) {
+            List<StatementJournal.Entry> entries = journal.read();
+            Assertions.assertEquals(3, entries.size());
+            Assertions.assertEquals(new StatementJournal.PlotReference("world", 2, -2), entries.get(2).parameters().get(1));
+            Assertions.assertEquals(complete, Files.size(file));
+
+            journal.truncate();
+            Assertions.assertEquals(0, Files.size(file));
+            Assertions.assertTrue(journal.read().isEmpty());
+        }
+    }
+
+    @Test
+    public void testCommittedEntriesAreNotReplayed() throws IOException {
+        Path file = directory.resolve("database.journal");
+        List<String> table = new ArrayList<>();
+        try (StatementJournal journal = StatementJournal.open(file)) {
+            List<Long> sequences = new ArrayList<>();
+            for (int x = 0; x < 4; x++) {
+                StatementJournal.Entry entry = StatementJournal.record(insert("user" + x, x, 0));
+                long sequence = journal.append(entry);
+                // The first two inserts are flushed and committed, the server stops before the others are
+                if (x < 2) {
+                    table.add(row(entry));
+                    sequences.add(sequence);
+                }
+            }
+            journal.commit(sequences);
+        }
+
+        try (StatementJournal journal = StatementJournal.open(file)) {
+            for (StatementJournal.Entry entry : journal.read()) {
+                table.add(row(entry));
+            }
+            Assertions.assertEquals(4, table.size());
+            Assertions.assertEquals(4, new HashSet<>(table).size());
+
+            // Entries appended after a replay are numbered after the replayed ones
+            long sequence = journal.append(StatementJournal.record(insert("user4", 4, 0)));
+            journal.commit(List.of(sequence));
+            Assertions.assertEquals(2, journal.read().size());
+        }
+    }
+
+    @Test
+    public void testJournalIsCutOnceCommitted() throws IOException {
+        Path file = directory.resolve("database.journal");
+        try (StatementJournal journal = StatementJournal.open(file)) {
+            List<Long> sequences = new ArrayList<>();
+            for (int x = 0; x < 300; x++) {
+                sequences.add(journal.append(StatementJournal.record(insert("user" + x, x, 4096))));
+            }
+            long last = sequences.remove(sequences.size() - 1);
+            journal.commit(sequences);
+            // Only the uncommitted entry is kept once most of the file is committed
+            Assertions.assertTrue(Files.size(file) < 8192);
+            Assertions.assertEquals(1, journal.read().size());
+
+            journal.commit(List.of(last));
+            Assertions.assertEquals(0, Files.size(file));
+        }
+        try (StatementJournal journal = StatementJournal.open(file)) {
+            Assertions.assertTrue(journal.read().isEmpty());
+        }
+    }
+
+}
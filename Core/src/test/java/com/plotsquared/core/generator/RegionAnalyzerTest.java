@@ -0,0 +1,204 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RegionAnalyzerTest {
+
+    private static final int BX = -21;
+    private static final int BZ = 5;
+    private static final int WIDTH = 45;
+    private static final int LENGTH = 38;
+    private static final int HEIGHT = 70;
+
+    private static RegionAnalyzer analyzer() {
+        return new RegionAnalyzer(
+                BlockVector3.at(BX, 0, BZ),
+                BlockVector3.at(BX + WIDTH - 1, HEIGHT - 1, BZ + LENGTH - 1),
+                Runnable::run
+        );
+    }
+
+    private static RegionAnalyzer.ChunkColumns columns(
+            final boolean[][][] air, final int[][] other, final BlockVector2 pos, final int x0, final int z0,
+            final int cw, final int cl
+    ) {
+        final long[][] masks = new long[cw * cl][(HEIGHT + 63) >> 6];
+        final int[] changes = new int[cw * cl];
+        final int[] data = new int[cw * cl];
+        final int[] airCount = new int[cw * cl];
+        final int[] variety = new int[cw * cl];
+        int i = 0;
+        for (int x = 0; x < cw; x++) {
+            for (int z = 0; z < cl; z++, i++) {
+                final int rx = x0 - BX + x;
+                final int rz = z0 - BZ + z;
+                for (int y = 0; y < HEIGHT; y++) {
+                    if (air[rx][rz][y]) {
+                        masks[i][y >> 6] |= 1L << y;
+                        airCount[i]++;
+                    }
+                }
+                changes[i] = other[rx][rz];
+                data[i] = other[rx][rz] / 2;
+                variety[i] = other[rx][rz] % 7;
+            }
+        }
+        return new RegionAnalyzer.ChunkColumns(pos, x0, z0, cw, cl, masks, changes, data, airCount, variety);
+    }
+
+    private static void assertSameAnalysis(final PlotAnalysis expected, final PlotAnalysis actual) {
+        Assertions.assertEquals(expected.changes, actual.changes);
+        Assertions.assertEquals(expected.faces, actual.faces);
+        Assertions.assertEquals(expected.data, actual.data);
+        Assertions.assertEquals(expected.air, actual.air);
+        Assertions.assertEquals(expected.variety, actual.variety);
+        Assertions.assertEquals(expected.changes_sd, actual.changes_sd);
+        Assertions.assertEquals(expected.faces_sd, actual.faces_sd);
+        Assertions.assertEquals(expected.data_sd, actual.data_sd);
+        Assertions.assertEquals(expected.air_sd, actual.air_sd);
+        Assertions.assertEquals(expected.variety_sd, actual.variety_sd);
+    }
+
+    @Test
+    public void testChunksInAnyOrderMatchWholeRegion() {
+        final Random random = new Random(3);
+        final boolean[][][] air = new boolean[WIDTH][LENGTH][HEIGHT];
+        final int[][] other = new int[WIDTH][LENGTH];
+        for (int x = 0; x < WIDTH; x++) {
+            for (int z = 0; z < LENGTH; z++) {
+                final int surface = 20 + random.nextInt(30);
+                for (int y = 0; y < HEIGHT; y++) {
+                    air[x][z][y] = y > surface || random.nextInt(10) == 0;
+                }
+                other[x][z] = random.nextInt(40);
+            }
+        }
+        long faces = 0;
+        for (int x = 1; x < WIDTH - 1; x++) {
+            for (int z = 1; z < LENGTH - 1; z++) {
+                for (int y = 1; y < HEIGHT - 1; y++) {
+                    if (air[x][z][y]) {
+                        continue;
+                    }
+                    faces += (air[x][z][y - 1] ? 1 : 0) + (air[x][z][y + 1] ? 1 : 0) + (air[x - 1][z][y] ? 1 : 0)
+                            + (air[x + 1][z][y] ? 1 : 0) + (air[x][z - 1][y] ? 1 : 0) + (air[x][z + 1][y] ? 1 : 0);
+                }
+            }
+        }
+
+        final RegionAnalyzer whole = analyzer();
+        whole.accumulate(columns(air, other, BlockVector2.ZERO, BX, BZ, WIDTH, LENGTH));
+        final PlotAnalysis expected = whole.complete().join();
+        Assertions.assertEquals((int) (((double) faces / (WIDTH * LENGTH)) * 100), expected.faces);
+
+        final List<RegionAnalyzer.ChunkColumns> chunks = new ArrayList<>();
+        for (int cx = BX >> 4; cx <= (BX + WIDTH - 1) >> 4; cx++) {
+            for (int cz = BZ >> 4; cz <= (BZ + LENGTH - 1) >> 4; cz++) {
+                final int x0 = Math.max(BX, cx << 4);
+                final int z0 = Math.max(BZ, cz << 4);
+                final int x1 = Math.min(BX + WIDTH - 1, (cx << 4) + 15);
+                final int z1 = Math.min(BZ + LENGTH - 1, (cz << 4) + 15);
+                chunks.add(columns(air, other, BlockVector2.at(cx, cz), x0, z0, x1 - x0 + 1, z1 - z0 + 1));
+            }
+        }
+        for (int run = 0; run < 5; run++) {
+            Collections.shuffle(chunks, random);
+            final RegionAnalyzer streamed = analyzer();
+            chunks.forEach(streamed::accumulate);
+            assertSameAnalysis(expected, streamed.complete().join());
+        }
+    }
+
+    @Test
+    public void testWorkIsNeverRunInline() {
+        final List<Runnable> started = new ArrayList<>();
+        final RegionAnalyzer analyzer = new RegionAnalyzer(
+                BlockVector3.at(0, 0, 0),
+                BlockVector3.at(15, 15, 15),
+                started::add
+        );
+        final AtomicInteger done = new AtomicInteger();
+        final int work = RegionAnalyzer.MAX_WORKERS * 3;
+        for (int i = 0; i < work; i++) {
+            analyzer.schedule(done::incrementAndGet);
+        }
+        Assertions.assertEquals(0, done.get());
+        Assertions.assertEquals(RegionAnalyzer.MAX_WORKERS, started.size());
+        // The first worker drains the whole backlog, the others find it empty
+        started.forEach(Runnable::run);
+        Assertions.assertEquals(work, done.get());
+        analyzer.schedule(done::incrementAndGet);
+        Assertions.assertEquals(RegionAnalyzer.MAX_WORKERS + 1, started.size());
+        started.get(started.size() - 1).run();
+        Assertions.assertEquals(work + 1, done.get());
+        analyzer.complete().join();
+    }
+
+    @Test
+    public void testBacklogIsBounded() {
+        final Queue<Runnable> started = new ArrayDeque<>();
+        final RegionAnalyzer analyzer = new RegionAnalyzer(
+                BlockVector3.at(0, 0, 0),
+                BlockVector3.at(15, 15, 15),
+                started::add
+        );
+        final Set<BlockVector2> chunks = new HashSet<>();
+        for (int i = 0; i < RegionAnalyzer.MAX_PENDING_SLICES * 10; i++) {
+            chunks.add(BlockVector2.at(i, -i));
+        }
+        final AtomicInteger read = new AtomicInteger();
+        final AtomicInteger analysed = new AtomicInteger();
+        final CompletableFuture<PlotAnalysis> analysis = analyzer.analyze(chunks, batch -> {
+            Assertions.assertTrue(batch.size() <= RegionAnalyzer.BATCH_SIZE);
+            for (BlockVector2 ignored : batch) {
+                read.incrementAndGet();
+                analyzer.scheduleSlice(analysed::incrementAndGet);
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+        // Nothing is analysed until the workers run, so reading stops once the backlog is full
+        Assertions.assertEquals(RegionAnalyzer.MAX_PENDING_SLICES, read.get());
+        Runnable worker;
+        while ((worker = started.poll()) != null) {
+            worker.run();
+        }
+        Assertions.assertTrue(analysis.isDone());
+        Assertions.assertEquals(chunks.size(), read.get());
+        Assertions.assertEquals(chunks.size(), analysed.get());
+        Assertions.assertTrue(analyzer.getPeakPendingSlices() <= RegionAnalyzer.MAX_PENDING_SLICES);
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.configuration.Settings;
+import com.sk89q.worldedit.math.BlockVector2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class RoadRegenerationJobTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Road columns as set up by {@link HybridPlotWorld#loadConfiguration}.
+     */
+    private static boolean[] roadColumns(final int roadWidth, final int plotWidth) {
+        final int lower = (roadWidth & 1) == 0 ? roadWidth / 2 - 1 : roadWidth / 2;
+        final int upper = roadWidth == 0 ? roadWidth + plotWidth + 1 : lower + plotWidth + 1;
+        return RoadRegenerationJob.computeRoadColumns(roadWidth + plotWidth, lower, upper);
+    }
+
+    /**
+     * The check {@link HybridUtils#regenerateRoad} does for every column of a chunk.
+     */
+    private static boolean regeneratesRoad(
+            final int roadWidth, final int plotWidth, final BlockVector2 chunk, final int offsetX, final int offsetZ
+    ) {
+        final int size = roadWidth + plotWidth;
+        final int lower = (roadWidth & 1) == 0 ? roadWidth / 2 - 1 : roadWidth / 2;
+        final int upper = lower + plotWidth + 1;
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                final int absX = Math.floorMod((chunk.getX() << 4) - offsetX + x, size);
+                final int absZ = Math.floorMod((chunk.getZ() << 4) - offsetZ + z, size);
+                if (absX <= lower || absZ <= lower || absX >= upper || absZ >= upper) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testRoadColumnsCoverRoadWidth() {
+        for (final int roadWidth : new int[]{1, 6, 7}) {
+            final boolean[] road = roadColumns(roadWidth, 42);
+            Assertions.assertEquals(roadWidth + 42, road.length);
+            int columns = 0;
+            for (final boolean column : road) {
+                columns += column ? 1 : 0;
+            }
+            Assertions.assertEquals(roadWidth, columns);
+            Assertions.assertTrue(road[0]);
+            Assertions.assertFalse(road[road.length / 2]);
+        }
+    }
+
+    @Test
+    public void testOnlyChunksWithRoadAreRegenerated() {
+        final int[][] layouts = {{7, 42, 0, 0}, {6, 100, 13, -5}, {1, 200, 3, 250}};
+        for (final int[] layout : layouts) {
+            final boolean[] road = roadColumns(layout[0], layout[1]);
+            int interior = 0;
+            for (int x = -40; x < 40; x++) {
+                for (int z = -40; z < 40; z++) {
+                    final BlockVector2 chunk = BlockVector2.at(x, z);
+                    final boolean expected = regeneratesRoad(layout[0], layout[1], chunk, layout[2], layout[3]);
+                    Assertions.assertEquals(expected, RoadRegenerationJob.containsRoad(road, chunk, layout[2], layout[3]));
+                    interior += expected ? 0 : 1;
+                }
+            }
+            // Chunks within a plot are never loaded
+            Assertions.assertTrue(interior > 0);
+        }
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws IOException {
+        final List<BlockVector2> regions = List.of(BlockVector2.at(0, 0), BlockVector2.at(-1, 3));
+        final List<BlockVector2> chunks = List.of(BlockVector2.at(5, 5), BlockVector2.at(5, 6), BlockVector2.at(-2, 7));
+        final RoadRegenerationJob job = new RoadRegenerationJob(null, 12, regions, chunks);
+        Assertions.assertEquals(List.of(BlockVector2.at(5, 5)), job.pollChunks(1));
+        final File file = this.tempDir.resolve("checkpoint").toFile();
+        job.writeCheckpoint(file);
+        Assertions.assertFalse(new File(file.getParentFile(), file.getName() + ".tmp").exists());
+
+        final RoadRegenerationJob restored = RoadRegenerationJob.restore(null, file);
+        Assertions.assertNotNull(restored);
+        Assertions.assertEquals(12, restored.getExtend());
+        Assertions.assertEquals(2, restored.getRemainingRegions());
+        Assertions.assertEquals(2, restored.getRemainingChunks());
+        // Chunks are resumed in the order they were queued in
+        Assertions.assertEquals(List.of(BlockVector2.at(5, 6), BlockVector2.at(-2, 7)), restored.pollChunks(10));
+        Assertions.assertNull(RoadRegenerationJob.restore(null, this.tempDir.resolve("missing").toFile()));
+    }
+
+    @Test
+    public void testMalformedCheckpointIsRejected() throws IOException {
+        final File file = this.tempDir.resolve("checkpoint").toFile();
+        try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(file.toPath()))) {
+            oos.writeObject(List.of("not", "a", "checkpoint"));
+        }
+        Assertions.assertThrows(IOException.class, () -> RoadRegenerationJob.restore(null, file));
+        Files.write(file.toPath(), new byte[]{1, 2, 3});
+        Assertions.assertThrows(IOException.class, () -> RoadRegenerationJob.restore(null, file));
+    }
+
+    @Test
+    public void testReservedBatchesAreNotStarved() {
+        final int maxBatches = Settings.QUEUE.ROAD_REGEN_MAX_BATCHES;
+        final int reservedBatches = Settings.QUEUE.ROAD_REGEN_RESERVED_BATCHES;
+        try {
+            Settings.QUEUE.ROAD_REGEN_MAX_BATCHES = 2;
+            Settings.QUEUE.ROAD_REGEN_RESERVED_BATCHES = 1;
+            // A large clear uses up the shared budget, one road batch still gets through
+            Assertions.assertTrue(RoadRegenerationJob.canQueueBatch(10_000, 0, 32));
+            Assertions.assertFalse(RoadRegenerationJob.canQueueBatch(10_000, 32, 32));
+            // Without other work, road batches use the shared budget as before
+            Assertions.assertTrue(RoadRegenerationJob.canQueueBatch(32, 32, 32));
+            Assertions.assertFalse(RoadRegenerationJob.canQueueBatch(64, 64, 32));
+            Settings.QUEUE.ROAD_REGEN_RESERVED_BATCHES = 0;
+            Assertions.assertFalse(RoadRegenerationJob.canQueueBatch(10_000, 0, 32));
+        } finally {
+            Settings.QUEUE.ROAD_REGEN_MAX_BATCHES = maxBatches;
+            Settings.QUEUE.ROAD_REGEN_RESERVED_BATCHES = reservedBatches;
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+public class ClusterIndexTest {
+
+    private static PlotCluster cluster(final int x, final int y, final int width, final int length, final UUID owner) {
+        return new PlotCluster(null, PlotId.of(x, y), PlotId.of(x + width - 1, y + length - 1), owner);
+    }
+
+    @Test
+    public void testLookupsMatchLinearScan() {
+        final Random random = new Random(42);
+        final UUID owner = UUID.randomUUID();
+        final List<PlotCluster> clusters = new ArrayList<>();
+        // Non overlapping clusters of random size, one per 10x10 cell
+        for (int cellX = -25; cellX < 25; cellX++) {
+            for (int cellY = -25; cellY < 25; cellY++) {
+                if (random.nextInt(4) != 0) {
+                    clusters.add(cluster(cellX * 10 + random.nextInt(3), cellY * 10 + random.nextInt(3),
+                            1 + random.nextInt(7), 1 + random.nextInt(7), owner
+                    ));
+                }
+            }
+        }
+        final ClusterIndex index = new ClusterIndex();
+        index.addAll(clusters);
+        Assertions.assertEquals(clusters.size(), index.size());
+        for (int i = 0; i < 5000; i++) {
+            final PlotId id = PlotId.of(random.nextInt(520) - 260, random.nextInt(520) - 260);
+            PlotCluster expected = null;
+            for (final PlotCluster cluster : clusters) {
+                if (cluster.contains(id)) {
+                    expected = cluster;
+                }
+            }
+            Assertions.assertSame(expected, index.get(id.getX(), id.getY()));
+        }
+        for (int i = 0; i < 500; i++) {
+            final PlotId pos1 = PlotId.of(random.nextInt(520) - 260, random.nextInt(520) - 260);
+            final PlotId pos2 = PlotId.of(pos1.getX() + random.nextInt(30), pos1.getY() + random.nextInt(30));
+            final HashSet<PlotCluster> expected = new HashSet<>();
+            for (final PlotCluster cluster : clusters) {
+                if (cluster.intersects(pos1, pos2)) {
+                    expected.add(cluster);
+                }
+            }
+            Assertions.assertEquals(expected, new HashSet<>(index.getIntersecting(pos1, pos2)));
+            Assertions.assertEquals(expected.isEmpty(), index.getFirstIntersecting(pos1, pos2) == null);
+        }
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        final PlotCluster cluster = cluster(0, 0, 2, 2, UUID.randomUUID());
+        final ClusterIndex index = new ClusterIndex();
+        index.add(cluster);
+        index.add(cluster);
+        Assertions.assertEquals(1, index.size());
+        cluster.setP2(PlotId.of(5, 5));
+        // The index keeps the bounds it was built with until it is updated
+        Assertions.assertNull(index.get(4, 4));
+        index.update(cluster);
+        Assertions.assertSame(cluster, index.get(4, 4));
+        Assertions.assertTrue(index.remove(cluster));
+        Assertions.assertFalse(index.remove(cluster));
+        Assertions.assertNull(index.get(0, 0));
+    }
+
+    @Test
+    public void testOwnerAndHelperQueries() {
+        final UUID owner = UUID.randomUUID();
+        final UUID helper = UUID.randomUUID();
+        final PlotCluster first = cluster(0, 0, 2, 2, owner);
+        final PlotCluster second = cluster(5, 5, 2, 2, helper);
+        final ClusterIndex index = new ClusterIndex();
+        index.add(first);
+        index.add(second);
+        Assertions.assertEquals(List.of(first), index.getOwnedBy(owner));
+        Assertions.assertEquals(List.of(second), index.getWithHelperRights(helper));
+        first.helpers.add(helper);
+        index.update(first);
+        Assertions.assertEquals(new HashSet<>(List.of(first, second)), new HashSet<>(index.getWithHelperRights(helper)));
+        Assertions.assertTrue(index.getOwnedBy(UUID.randomUUID()).isEmpty());
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.location.BlockLoc;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class PlotTest {
+
+    private static Plot plot() {
+        return new Plot(null, PlotId.of(1, 1), null, 0);
+    }
+
+    @Test
+    public void testReadingDoesNotCreateSettings() {
+        final Plot plot = plot();
+        Assertions.assertEquals("", plot.getAlias());
+        Assertions.assertSame(BlockLoc.MINY, plot.getPosition());
+        Assertions.assertArrayEquals(new boolean[4], plot.getMerged());
+        Assertions.assertFalse(plot.isMerged(0));
+        Assertions.assertFalse(plot.hasRatings());
+        Assertions.assertEquals(0, plot.getAverageRatings()[0]);
+        Assertions.assertNull(plot.peekSettings());
+    }
+
+    @Test
+    public void testEmptyPlayerSetsAreWritable() {
+        final Plot plot = plot();
+        final UUID trusted = UUID.randomUUID();
+        final UUID member = UUID.randomUUID();
+        final UUID denied = UUID.randomUUID();
+        Assertions.assertTrue(plot.getTrusted().isEmpty());
+        Assertions.assertNotSame(plot.getTrusted(), plot.getMembers());
+
+        Assertions.assertTrue(plot.getTrusted().add(trusted));
+        Assertions.assertTrue(plot.getMembers().addAll(List.of(member)));
+        Assertions.assertTrue(plot.getDenied().add(denied));
+        Assertions.assertEquals(1, plot.getTrusted().size());
+        Assertions.assertTrue(plot.getTrusted().contains(trusted));
+        Assertions.assertTrue(plot.getMembers().contains(member));
+        Assertions.assertTrue(plot.getDenied().contains(denied));
+        Assertions.assertSame(plot.getTrusted(), plot.getTrusted());
+    }
+
+    @Test
+    public void testStaleEmptySetWritesToPlot() {
+        final Plot plot = plot();
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        final Set<UUID> stale = plot.getMembers();
+        plot.getMembers().add(first);
+        stale.add(second);
+        Assertions.assertTrue(plot.getMembers().contains(first));
+        Assertions.assertTrue(plot.getMembers().contains(second));
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+public class RatingIndexTest {
+
+    private RatingIndex index;
+
+    private static Plot rated(final int x, final int... values) {
+        final Plot plot = new Plot(null, PlotId.of(x, 0), null, 0);
+        if (values.length > 0) {
+            final HashMap<UUID, Integer> ratings = new HashMap<>();
+            for (final int value : values) {
+                ratings.put(UUID.randomUUID(), value);
+            }
+            plot.getSettings().setRatings(ratings);
+        }
+        return plot;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        this.index = new RatingIndex();
+    }
+
+    @Test
+    public void testRankFollowsScore() {
+        final Plot low = rated(1, 2);
+        final Plot high = rated(2, 8);
+        final Plot middle = rated(3, 5);
+        this.index.update(low);
+        this.index.update(high);
+        this.index.update(middle);
+        Assertions.assertEquals(3, this.index.size());
+        Assertions.assertEquals(0, this.index.getRank(high));
+        Assertions.assertEquals(1, this.index.getRank(middle));
+        Assertions.assertEquals(2, this.index.getRank(low));
+        Assertions.assertSame(high, this.index.get(0));
+        Assertions.assertSame(low, this.index.get(2));
+        Assertions.assertNull(this.index.get(3));
+    }
+
+    @Test
+    public void testUpdateMovesPlot() {
+        final Plot first = rated(1, 2);
+        final Plot second = rated(2, 8);
+        this.index.update(first);
+        this.index.update(second);
+        final HashMap<UUID, Integer> ratings = new HashMap<>();
+        ratings.put(UUID.randomUUID(), 10);
+        first.getSettings().setRatings(ratings);
+        this.index.update(first);
+        Assertions.assertEquals(2, this.index.size());
+        Assertions.assertEquals(0, this.index.getRank(first));
+        Assertions.assertEquals(1, this.index.getRank(second));
+    }
+
+    @Test
+    public void testUnratedAndRemovedPlotsAreNotIndexed() {
+        final Plot unrated = rated(1);
+        final Plot plot = rated(2, 5);
+        this.index.update(unrated);
+        this.index.update(plot);
+        Assertions.assertEquals(1, this.index.size());
+        Assertions.assertEquals(-1, this.index.getRank(unrated));
+        this.index.remove(plot);
+        Assertions.assertEquals(0, this.index.size());
+        Assertions.assertEquals(-1, this.index.getRank(plot));
+        Assertions.assertNull(this.index.get(0));
+    }
+
+    @Test
+    public void testTiesBrokenByCountThenInsertion() {
+        // 3 * 3 + 1 and (4 * 4 + 0 * 0) / 2 + 2 are the same score
+        final Plot single = rated(1, 3);
+        final Plot pair = rated(2, 4, 0);
+        final Plot first = rated(3, 5);
+        final Plot second = rated(4, 5);
+        this.index.update(single);
+        this.index.update(first);
+        this.index.update(pair);
+        this.index.update(second);
+        // Re-indexing keeps the original insertion order
+        this.index.update(first);
+        Assertions.assertEquals(0, this.index.getRank(first));
+        Assertions.assertEquals(1, this.index.getRank(second));
+        Assertions.assertEquals(2, this.index.getRank(pair));
+        Assertions.assertEquals(3, this.index.getRank(single));
+    }
+
+    @Test
+    public void testForEachTop() {
+        final List<Plot> plots = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            final Plot plot = rated(i, i);
+            plots.add(0, plot);
+            this.index.update(plot);
+        }
+        final List<Plot> top = new ArrayList<>();
+        this.index.forEachTop(3, top::add);
+        Assertions.assertEquals(plots.subList(0, 3), top);
+        top.clear();
+        this.index.forEachTop(10, plot -> top.add(plot) && top.size() < 2);
+        Assertions.assertEquals(plots.subList(0, 2), top);
+    }
+
+}
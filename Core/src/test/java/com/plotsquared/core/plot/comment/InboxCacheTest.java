@@ -0,0 +1,123 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.comment;
+
+import com.plotsquared.core.plot.PlotId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class InboxCacheTest {
+
+    private static PlotComment comment(final String text, final long timestamp) {
+        return new PlotComment("world", PlotId.of(1, 1), text, "sender", "owner", timestamp);
+    }
+
+    @Test
+    public void testUnreadCountsMatchLinearScan() {
+        final Random random = new Random(7);
+        final List<PlotComment> comments = new ArrayList<>();
+        InboxCache.Snapshot snapshot = InboxCache.Snapshot.EMPTY;
+        for (int i = 0; i < 200; i++) {
+            final PlotComment comment = comment("comment " + i, random.nextInt(100));
+            comments.add(comment);
+            snapshot = snapshot.with(comment);
+            if (random.nextInt(4) == 0) {
+                final PlotComment removed = comments.remove(random.nextInt(comments.size()));
+                snapshot = snapshot.without(removed);
+            }
+            Assertions.assertEquals(comments, snapshot.comments());
+            for (long since = -1; since <= 100; since += 10) {
+                final long time = since;
+                final int expected = (int) comments.stream().filter(c -> c.timestamp() > time).count();
+                Assertions.assertEquals(expected, snapshot.countAfter(since));
+            }
+        }
+        Assertions.assertEquals(InboxCache.Snapshot.of(comments).comments(), snapshot.comments());
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneLoad() {
+        final InboxCache.Entry entry = new InboxCache.Entry();
+        final List<Integer> sizes = new ArrayList<>();
+        Assertions.assertTrue(entry.request(snapshot -> sizes.add(snapshot.size())));
+        Assertions.assertFalse(entry.request(snapshot -> sizes.add(snapshot.size())));
+        Assertions.assertNull(entry.snapshot());
+        Assertions.assertTrue(sizes.isEmpty());
+
+        entry.complete(List.of(comment("a", 1), comment("b", 2)));
+        Assertions.assertEquals(List.of(2, 2), sizes);
+        Assertions.assertFalse(entry.request(snapshot -> sizes.add(snapshot.size())));
+        Assertions.assertEquals(List.of(2, 2, 2), sizes);
+    }
+
+    @Test
+    public void testWritesDuringLoadAreReplayed() {
+        final InboxCache.Entry entry = new InboxCache.Entry();
+        final PlotComment stale = comment("stale", 1);
+        final PlotComment added = comment("added", 5);
+        // Without a pending load there is nothing to update
+        entry.update(snapshot -> snapshot.with(added));
+        Assertions.assertNull(entry.snapshot());
+
+        Assertions.assertTrue(entry.request(snapshot -> {
+        }));
+        entry.update(snapshot -> snapshot.with(added));
+        entry.update(snapshot -> snapshot.without(stale));
+        entry.complete(List.of(stale, comment("kept", 3)));
+        Assertions.assertEquals(List.of(comment("kept", 3), added), entry.snapshot().comments());
+        Assertions.assertEquals(1, entry.snapshot().countAfter(3));
+
+        entry.update(snapshot -> InboxCache.Snapshot.EMPTY);
+        Assertions.assertEquals(0, entry.snapshot().size());
+    }
+
+    @Test
+    public void testFailedLoadIsRetried() {
+        final InboxCache.Entry entry = new InboxCache.Entry();
+        final List<Integer> sizes = new ArrayList<>();
+        Assertions.assertTrue(entry.request(snapshot -> sizes.add(snapshot.size())));
+        Assertions.assertFalse(entry.complete(null));
+        Assertions.assertEquals(List.of(0), sizes);
+        Assertions.assertNull(entry.snapshot());
+
+        Assertions.assertTrue(entry.request(snapshot -> sizes.add(snapshot.size())));
+        Assertions.assertTrue(entry.complete(List.of(comment("a", 1))));
+        Assertions.assertEquals(List.of(0, 1), sizes);
+    }
+
+    @Test
+    public void testLostLoadTimesOut() {
+        final long[] now = {0};
+        final InboxCache.Entry entry = new InboxCache.Entry(() -> now[0]);
+        final List<Integer> sizes = new ArrayList<>();
+        Assertions.assertTrue(entry.request(snapshot -> sizes.add(snapshot.size())));
+        now[0] = InboxCache.Entry.LOAD_TIMEOUT - 1;
+        Assertions.assertFalse(entry.request(snapshot -> sizes.add(snapshot.size())));
+        // The first load never completes, so the next request after the timeout starts another one
+        now[0] = InboxCache.Entry.LOAD_TIMEOUT;
+        Assertions.assertTrue(entry.request(snapshot -> sizes.add(snapshot.size())));
+        Assertions.assertTrue(entry.complete(List.of(comment("a", 1))));
+        Assertions.assertEquals(List.of(1, 1, 1), sizes);
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.util.task.RunnableVal3;
+import com.plotsquared.core.util.task.VirtualTaskManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ExpireManagerTest {
+
+    // Delay between two sweeps, in ticks
+    private static final long SWEEP_INTERVAL = 86400000L;
+
+    private static final RunnableVal3<Plot, Runnable, Boolean> NO_EXPIRY = new RunnableVal3<>() {
+        @Override
+        public void run(final Plot plot, final Runnable whenDone, final Boolean confirm) {
+            Assertions.fail("No plot should expire without expiry tasks");
+        }
+    };
+
+    @Test
+    public void testSweepRepeatsAfterInterval() {
+        try (final VirtualTaskManager taskManager = VirtualTaskManager.install()) {
+            final ExpireManager expireManager = new ExpireManager(null);
+            Assertions.assertTrue(expireManager.runTask(NO_EXPIRY));
+            Assertions.assertFalse(expireManager.runTask(NO_EXPIRY));
+
+            // The sweep and its single worker run right away, then the next sweep waits
+            taskManager.runPending();
+            Assertions.assertEquals(2, taskManager.getExecutedTasks());
+            Assertions.assertEquals(1, taskManager.getPendingTasks());
+
+            taskManager.advance(SWEEP_INTERVAL - 1);
+            Assertions.assertEquals(2, taskManager.getExecutedTasks());
+            taskManager.advance(1);
+            Assertions.assertEquals(5, taskManager.getExecutedTasks());
+            Assertions.assertEquals(1, taskManager.getPendingTasks());
+
+            taskManager.advance(SWEEP_INTERVAL * 3);
+            Assertions.assertEquals(14, taskManager.getExecutedTasks());
+            Assertions.assertFalse(expireManager.runTask(NO_EXPIRY));
+        }
+    }
+
+    @Test
+    public void testCancelledSweepStops() {
+        try (final VirtualTaskManager taskManager = VirtualTaskManager.install()) {
+            final ExpireManager expireManager = new ExpireManager(null);
+            Assertions.assertTrue(expireManager.runTask(NO_EXPIRY));
+            Assertions.assertTrue(expireManager.cancelTask());
+            taskManager.runPending();
+            Assertions.assertEquals(1, taskManager.getExecutedTasks());
+            Assertions.assertEquals(0, taskManager.getPendingTasks());
+            taskManager.advance(SWEEP_INTERVAL);
+            Assertions.assertEquals(1, taskManager.getExecutedTasks());
+
+            Assertions.assertTrue(expireManager.runTask(NO_EXPIRY));
+            taskManager.runPending();
+            Assertions.assertEquals(3, taskManager.getExecutedTasks());
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class LastSeenIndexTest {
+
+    @Test
+    public void testSeenBeforeIsOrderedAndBounded() {
+        LastSeenIndex index = new LastSeenIndex();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        index.update(a, 300);
+        index.update(b, 100);
+        index.update(c, 200);
+
+        Assertions.assertEquals(List.of(b, c), collect(index.seenBefore(200)));
+        Assertions.assertEquals(List.of(b, c, a), collect(index.seenBefore(Long.MAX_VALUE)));
+        Assertions.assertTrue(collect(index.seenBefore(99)).isEmpty());
+    }
+
+    @Test
+    public void testUpdateMovesEntry() {
+        LastSeenIndex index = new LastSeenIndex();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        index.update(a, 100);
+        index.update(b, 200);
+
+        Assertions.assertEquals(100L, index.update(a, 300));
+        Assertions.assertEquals(300L, index.get(a));
+        Assertions.assertEquals(List.of(b, a), collect(index.seenBefore(Long.MAX_VALUE)));
+        Assertions.assertEquals(2, index.size());
+
+        index.remove(b);
+        Assertions.assertNull(index.get(b));
+        Assertions.assertEquals(List.of(a), collect(index.seenBefore(Long.MAX_VALUE)));
+    }
+
+    private static List<UUID> collect(Iterable<UUID> iterable) {
+        List<UUID> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.world;
+
+import com.plotsquared.core.configuration.Settings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class SinglePlotWorldManagerTest {
+
+    private int idleUnloadDelay;
+    private int maxIdleWorlds;
+    private SinglePlotWorldManager manager;
+
+    @BeforeEach
+    public void setup() {
+        this.idleUnloadDelay = Settings.Single_Plot_Worlds.IDLE_UNLOAD_DELAY;
+        this.maxIdleWorlds = Settings.Single_Plot_Worlds.MAX_IDLE_WORLDS;
+        this.manager = new SinglePlotWorldManager(null);
+    }
+
+    @AfterEach
+    public void restore() {
+        Settings.Single_Plot_Worlds.IDLE_UNLOAD_DELAY = this.idleUnloadDelay;
+        Settings.Single_Plot_Worlds.MAX_IDLE_WORLDS = this.maxIdleWorlds;
+    }
+
+    private void touchInOrder(final String... worlds) throws InterruptedException {
+        for (final String world : worlds) {
+            this.manager.touch(world);
+            // Last used times have millisecond precision
+            Thread.sleep(2L);
+        }
+    }
+
+    @Test
+    public void testRecentlyUsedWorldsAreKept() throws InterruptedException {
+        Settings.Single_Plot_Worlds.IDLE_UNLOAD_DELAY = 3600;
+        Settings.Single_Plot_Worlds.MAX_IDLE_WORLDS = 10;
+        this.touchInOrder("1_1", "1_2");
+        Assertions.assertEquals(List.of(), this.manager.selectUnloadable(List.of("1_1", "1_2", "1_3"), Function.identity()));
+    }
+
+    @Test
+    public void testExcessWorldsAreUnloadedLeastRecentlyUsedFirst() throws InterruptedException {
+        Settings.Single_Plot_Worlds.IDLE_UNLOAD_DELAY = 3600;
+        Settings.Single_Plot_Worlds.MAX_IDLE_WORLDS = 2;
+        this.touchInOrder("1_3", "1_1", "1_4", "1_2");
+        Assertions.assertEquals(
+                List.of("1_3", "1_1"),
+                this.manager.selectUnloadable(List.of("1_1", "1_2", "1_3", "1_4"), Function.identity())
+        );
+    }
+
+    @Test
+    public void testIdleWorldsAreUnloadedAfterTheDelay() throws InterruptedException {
+        Settings.Single_Plot_Worlds.IDLE_UNLOAD_DELAY = 0;
+        Settings.Single_Plot_Worlds.MAX_IDLE_WORLDS = 10;
+        this.touchInOrder("1_2", "1_1");
+        Assertions.assertEquals(
+                List.of("1_2", "1_1"),
+                this.manager.selectUnloadable(List.of("1_1", "1_2"), Function.identity())
+        );
+    }
+
+    @Test
+    public void testTouchedWorldsAreUnloadedLast() throws InterruptedException {
+        Settings.Single_Plot_Worlds.IDLE_UNLOAD_DELAY = 3600;
+        Settings.Single_Plot_Worlds.MAX_IDLE_WORLDS = 1;
+        // Worlds that were never touched start their idle time when first seen
+        Assertions.assertEquals(List.of("1_1"), this.manager.selectUnloadable(List.of("1_1", "1_2"), Function.identity()));
+        Thread.sleep(2L);
+        this.touchInOrder("1_1");
+        Assertions.assertEquals(List.of("1_2"), this.manager.selectUnloadable(List.of("1_1", "1_2"), Function.identity()));
+        this.manager.forget("1_2");
+        Assertions.assertEquals(List.of("1_1"), this.manager.selectUnloadable(List.of("1_1", "1_2"), Function.identity()));
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.util.ChunkUtil;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ChunkSectionSnapshotTest {
+
+    private static final BaseBlock[] BLOCKS = {new SyntheticBlock(0), new SyntheticBlock(1), new SyntheticBlock(2)};
+
+    private static final ChunkSectionSnapshot SNAPSHOT = new ChunkSectionSnapshot() {
+        @Override
+        public BaseBlock getFullBlock(final int x, final int y, final int z) {
+            return BLOCKS[Math.floorMod(x * 31 + y * 7 + z, BLOCKS.length)];
+        }
+
+        @Override
+        public BiomeType getBiome(final int x, final int y, final int z) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Test
+    public void testSectionMatchesBlocks() {
+        for (final int layer : new int[]{-4, 0, 3}) {
+            final PalettedSection<BaseBlock> section = SNAPSHOT.getSection(layer);
+            Assertions.assertEquals(4096, section.count());
+            for (int y = layer << 4; y < (layer << 4) + 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        Assertions.assertEquals(SNAPSHOT.getFullBlock(x, y, z), section.get(ChunkUtil.getJ(x, y, z)));
+                    }
+                }
+            }
+        }
+        // Sections are handed over to chunks as is, so they must not be shared
+        Assertions.assertNotSame(SNAPSHOT.getSection(0), SNAPSHOT.getSection(0));
+    }
+
+    /**
+     * Block without a backing state, WorldEdit block states cannot be created without a platform.
+     */
+    private static final class SyntheticBlock extends BaseBlock {
+
+        private final int id;
+
+        private SyntheticBlock(final int id) {
+            super((BlockState) null);
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof SyntheticBlock other && other.id == this.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id;
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PalettedSectionTest {
+
+    @Test
+    public void testValuesSurvivePaletteGrowth() {
+        PalettedSection<String> section = new PalettedSection<>(4096);
+        Assertions.assertTrue(section.isEmpty());
+        for (int i = 0; i < 4096; i++) {
+            section.set(i, "state" + (i % 300));
+        }
+        Assertions.assertEquals(4096, section.count());
+        Assertions.assertTrue(section.getBitsPerValue() >= 9);
+        for (int i = 0; i < 4096; i++) {
+            Assertions.assertEquals("state" + (i % 300), section.get(i));
+        }
+    }
+
+    @Test
+    public void testUnsetEntriesAreSkipped() {
+        PalettedSection<String> section = new PalettedSection<>(64);
+        section.set(3, "a");
+        section.set(40, "b");
+        section.set(3, null);
+        List<Integer> visited = new ArrayList<>();
+        section.forEach((index, value) -> visited.add(index));
+        Assertions.assertEquals(List.of(40), visited);
+        Assertions.assertEquals(1, section.count());
+        Assertions.assertNull(section.get(3));
+        Assertions.assertEquals("b", section.toArray(new String[64])[40]);
+    }
+
+}
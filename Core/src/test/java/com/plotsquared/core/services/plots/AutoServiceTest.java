@@ -0,0 +1,53 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.services.plots;
+
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.util.task.TaskTime;
+import com.plotsquared.core.util.task.VirtualTaskManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AutoServiceTest {
+
+    @Test
+    public void testCandidatesExpireAfterTwentySeconds() {
+        try (final VirtualTaskManager taskManager = VirtualTaskManager.install()) {
+            AutoService.plotCandidateCache.invalidateAll();
+            final Plot first = new Plot(null, PlotId.of(1, 1), null, 0);
+            final Plot second = new Plot(null, PlotId.of(2, 1), null, 0);
+            AutoService.plotCandidateCache.put(first.getId(), first);
+            final long expiry = taskManager.toTicks(TaskTime.seconds(20L));
+            taskManager.tick(expiry / 2);
+            AutoService.plotCandidateCache.put(second.getId(), second);
+
+            taskManager.tick(expiry - expiry / 2 - 1);
+            Assertions.assertSame(first, AutoService.plotCandidateCache.getIfPresent(first.getId()));
+            taskManager.tick();
+            Assertions.assertNull(AutoService.plotCandidateCache.getIfPresent(first.getId()));
+            Assertions.assertSame(second, AutoService.plotCandidateCache.getIfPresent(second.getId()));
+            taskManager.tick(expiry / 2);
+            Assertions.assertNull(AutoService.plotCandidateCache.getIfPresent(second.getId()));
+        } finally {
+            AutoService.plotCandidateCache.invalidateAll();
+        }
+    }
+
+}
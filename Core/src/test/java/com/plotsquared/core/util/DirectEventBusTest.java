@@ -0,0 +1,185 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DirectEventBusTest {
+
+    @Test
+    public void testSubscribersReceiveSubtypes() {
+        final DirectEventBus bus = new DirectEventBus();
+        final List<String> received = new ArrayList<>();
+        bus.register(new Object() {
+            @Subscribe
+            public void onBase(final BaseEvent event) {
+                received.add("base " + event.name);
+            }
+
+            @Subscribe
+            public void onChild(final ChildEvent event) {
+                received.add("child " + event.name);
+            }
+
+            @Subscribe
+            public void onMarked(final Marker event) {
+                received.add("marked");
+            }
+        });
+        bus.post(new BaseEvent("a"));
+        Assertions.assertEquals(List.of("base a"), received);
+        received.clear();
+        bus.post(new ChildEvent("b"));
+        received.sort(null);
+        Assertions.assertEquals(List.of("base b", "child b", "marked"), received);
+        Assertions.assertFalse(bus.hasSubscribers(String.class));
+    }
+
+    @Test
+    public void testUnregisteredListenerReceivesNothing() {
+        final DirectEventBus bus = new DirectEventBus();
+        final AtomicInteger received = new AtomicInteger();
+        final Object listener = new Object() {
+            @Subscribe
+            public void onBase(final BaseEvent event) {
+                received.incrementAndGet();
+            }
+        };
+        bus.register(listener);
+        bus.post(new BaseEvent("a"));
+        Assertions.assertTrue(bus.hasSubscribers(ChildEvent.class));
+        bus.unregister(listener);
+        bus.post(new BaseEvent("b"));
+        Assertions.assertEquals(1, received.get());
+        Assertions.assertFalse(bus.hasSubscribers(BaseEvent.class));
+    }
+
+    @Test
+    public void testCallsAreSerialisedUnlessConcurrent() throws InterruptedException {
+        final DirectEventBus bus = new DirectEventBus();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        // Both threads can only get past the latch if the subscriber is called concurrently
+        final CountDownLatch bothInside = new CountDownLatch(2);
+        final AtomicInteger overlapped = new AtomicInteger();
+        bus.register(new Object() {
+            @Subscribe
+            public void onBase(final BaseEvent event) throws InterruptedException {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                active.decrementAndGet();
+            }
+
+            @Subscribe
+            @AllowConcurrentEvents
+            public void onChild(final ChildEvent event) throws InterruptedException {
+                bothInside.countDown();
+                if (bothInside.await(5, TimeUnit.SECONDS)) {
+                    overlapped.incrementAndGet();
+                }
+            }
+        });
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            threads.add(new Thread(() -> bus.post(new ChildEvent("c"))));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(1, maxActive.get());
+        Assertions.assertEquals(2, overlapped.get());
+    }
+
+    @Test
+    public void testExceptionsDoNotReachOtherSubscribers() {
+        final DirectEventBus bus = new DirectEventBus();
+        final AtomicInteger received = new AtomicInteger();
+        bus.register(new Object() {
+            @Subscribe
+            public void onBase(final BaseEvent event) {
+                throw new IllegalStateException("Thrown on purpose");
+            }
+        });
+        bus.register(new Object() {
+            @Subscribe
+            public void onBase(final BaseEvent event) {
+                received.incrementAndGet();
+            }
+        });
+        Assertions.assertDoesNotThrow(() -> bus.post(new BaseEvent("a")));
+        Assertions.assertEquals(1, received.get());
+    }
+
+    @Test
+    public void testNestedPostsAreDispatchedImmediately() {
+        final DirectEventBus bus = new DirectEventBus();
+        final List<String> order = new ArrayList<>();
+        bus.register(new Object() {
+            @Subscribe
+            public void onBase(final BaseEvent event) {
+                if (event instanceof ChildEvent) {
+                    return;
+                }
+                order.add("start " + event.name);
+                bus.post(new ChildEvent("nested"));
+                order.add("end " + event.name);
+            }
+
+            @Subscribe
+            public void onChild(final ChildEvent event) {
+                order.add("child " + event.name);
+            }
+        });
+        bus.post(new BaseEvent("outer"));
+        Assertions.assertEquals(List.of("start outer", "child nested", "end outer"), order);
+    }
+
+    private interface Marker {
+
+    }
+
+    private static class BaseEvent {
+
+        final String name;
+
+        private BaseEvent(final String name) {
+            this.name = name;
+        }
+
+    }
+
+    private static class ChildEvent extends BaseEvent implements Marker {
+
+        private ChildEvent(final String name) {
+            super(name);
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+public class PlayerGridTest {
+
+    @Test
+    public void testNearbyPlayersAcrossChunkBorders() {
+        final PlayerGrid<String> grid = new PlayerGrid<>();
+        grid.update(UUID.randomUUID(), "west", "world", -1.5, 64, 0.5);
+        grid.update(UUID.randomUUID(), "east", "world", 2.5, 64, 0.5);
+        grid.update(UUID.randomUUID(), "far", "world", 40, 64, 0.5);
+        grid.update(UUID.randomUUID(), "elsewhere", "nether", 0.5, 64, 0.5);
+        final List<String> nearby = grid.getNearbyPlayers("world", 0, 64, 0, 5);
+        Assertions.assertEquals(2, nearby.size());
+        Assertions.assertTrue(nearby.containsAll(List.of("west", "east")));
+    }
+
+    @Test
+    public void testMovedPlayersChangeBuckets() {
+        final PlayerGrid<String> grid = new PlayerGrid<>();
+        final UUID uuid = UUID.randomUUID();
+        grid.update(uuid, "player", "world", 0, 64, 0);
+        grid.update(uuid, "player", "world", 100, 64, -100);
+        Assertions.assertTrue(grid.getPlayersInArea("world", -10, -10, 10, 10).isEmpty());
+        Assertions.assertEquals(List.of("player"), grid.getPlayersInArea("world", 90, -110, 110, -90));
+        grid.update(uuid, "player", "nether", 100, 64, -100);
+        Assertions.assertTrue(grid.getPlayersInArea("world", 90, -110, 110, -90).isEmpty());
+        grid.remove(uuid);
+        Assertions.assertEquals(0, grid.size());
+        Assertions.assertTrue(grid.getPlayersInArea("nether", -1000, -1000, 1000, 1000).isEmpty());
+    }
+
+    @Test
+    public void testAreaBoundsAreInclusiveBlockCoordinates() {
+        final PlayerGrid<String> grid = new PlayerGrid<>();
+        grid.update(UUID.randomUUID(), "inside", "world", 31.9, 64, -16.0);
+        grid.update(UUID.randomUUID(), "outside", "world", 32.0, 64, -16.0);
+        Assertions.assertEquals(List.of("inside"), grid.getPlayersInArea("world", 0, -16, 31, 0));
+        Assertions.assertEquals(
+                List.of("inside"),
+                grid.getPlayersInArea("world", Integer.MIN_VALUE, Integer.MIN_VALUE, 31, Integer.MAX_VALUE)
+        );
+    }
+
+}
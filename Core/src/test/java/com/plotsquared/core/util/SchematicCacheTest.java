@@ -0,0 +1,193 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.plot.schematic.Schematic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SchematicCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<Schematic, Long> volumes = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final SchematicCache cache = new SchematicCache(this.volumes::get);
+    private int cacheVolume;
+
+    @BeforeEach
+    public void setUp() {
+        this.cacheVolume = Settings.Schematics.CACHE_VOLUME;
+        Settings.Schematics.CACHE_VOLUME = 100;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Settings.Schematics.CACHE_VOLUME = this.cacheVolume;
+    }
+
+    private File file(final String name, final String content) throws IOException {
+        return Files.writeString(this.tempDir.resolve(name), content).toFile();
+    }
+
+    /**
+     * Loader that counts the files it parses, giving every schematic it creates the same volume.
+     */
+    private CountingLoader loader(final long volume) {
+        return new CountingLoader(volume);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedByVolume() throws Exception {
+        final File a = file("a.schem", "a");
+        final File b = file("b.schem", "b");
+        final File c = file("c.schem", "c");
+        final CountingLoader loader = loader(40);
+        final Schematic first = this.cache.get(a, loader);
+        this.cache.get(b, loader);
+        Assertions.assertSame(first, this.cache.get(a, loader));
+        Assertions.assertEquals(2, loader.loads.get());
+
+        // 120 blocks do not fit, so b, used least recently, is evicted
+        this.cache.get(c, loader);
+        Assertions.assertEquals(3, loader.loads.get());
+        Assertions.assertSame(first, this.cache.get(a, loader));
+        this.cache.get(c, loader);
+        Assertions.assertEquals(3, loader.loads.get());
+        this.cache.get(b, loader);
+        Assertions.assertEquals(4, loader.loads.get());
+    }
+
+    @Test
+    public void testLargerThanBudgetIsNotCached() throws Exception {
+        final File large = file("large.schem", "large");
+        final File small = file("small.schem", "small");
+        final CountingLoader smallLoader = loader(60);
+        final Schematic cached = this.cache.get(small, smallLoader);
+        final CountingLoader largeLoader = loader(150);
+        this.cache.get(large, largeLoader);
+        this.cache.get(large, largeLoader);
+        Assertions.assertEquals(2, largeLoader.loads.get());
+        // Not evicted for a schematic that could never fit
+        Assertions.assertSame(cached, this.cache.get(small, smallLoader));
+        Assertions.assertEquals(1, smallLoader.loads.get());
+    }
+
+    @Test
+    public void testReloadsWhenFileChanges() throws Exception {
+        final File file = file("plot.schem", "first");
+        final CountingLoader loader = loader(10);
+        final Schematic first = this.cache.get(file, loader);
+        Assertions.assertSame(first, this.cache.get(file, loader));
+        Assertions.assertEquals(1, loader.loads.get());
+
+        Assertions.assertTrue(file.setLastModified(file.lastModified() + 10_000L));
+        final Schematic touched = this.cache.get(file, loader);
+        Assertions.assertNotSame(first, touched);
+        Assertions.assertEquals(2, loader.loads.get());
+
+        // Same modification time, different length
+        final long lastModified = file.lastModified();
+        Files.writeString(file.toPath(), "second version");
+        Assertions.assertTrue(file.setLastModified(lastModified));
+        final Schematic rewritten = this.cache.get(file, loader);
+        Assertions.assertNotSame(touched, rewritten);
+        Assertions.assertSame(rewritten, this.cache.get(file, loader));
+        Assertions.assertEquals(3, loader.loads.get());
+    }
+
+    @Test
+    public void testConcurrentRequestsParseOnce() throws Exception {
+        final File file = file("shared.schem", "shared");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountingLoader counting = loader(10);
+        final SchematicCache.Loader loader = f -> {
+            started.countDown();
+            try {
+                Assertions.assertTrue(release.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return counting.load(f);
+        };
+        final CompletableFuture<Schematic> first = new CompletableFuture<>();
+        final Thread firstThread = new Thread(() -> complete(first, file, loader));
+        firstThread.start();
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        final CompletableFuture<Schematic> second = new CompletableFuture<>();
+        final Thread secondThread = new Thread(() -> complete(second, file, loader));
+        secondThread.start();
+        // Only let the parse finish once the second request waits for it
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (secondThread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        Assertions.assertEquals(Thread.State.WAITING, secondThread.getState());
+        release.countDown();
+
+        Assertions.assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, counting.loads.get());
+    }
+
+    private void complete(final CompletableFuture<Schematic> future, final File file, final SchematicCache.Loader loader) {
+        try {
+            future.complete(this.cache.get(file, loader));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private final class CountingLoader implements SchematicCache.Loader {
+
+        private final AtomicInteger loads = new AtomicInteger();
+        private final long volume;
+
+        private CountingLoader(final long volume) {
+            this.volume = volume;
+        }
+
+        @Override
+        public Schematic load(final File file) {
+            this.loads.incrementAndGet();
+            final Schematic schematic = new Schematic(null);
+            SchematicCacheTest.this.volumes.put(schematic, this.volume);
+            return schematic;
+        }
+
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.queue.ChunkSectionSnapshot;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.IntArrayTag;
+import com.sk89q.jnbt.StringTag;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.regions.RegionIntersection;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class SchematicExporterTest {
+
+    private static final BiomeType[] BIOMES = {
+            new BiomeType("minecraft:plains"), new BiomeType("minecraft:desert"), new BiomeType("minecraft:forest")
+    };
+
+    /**
+     * Keys synthetic blocks by their id, the same way block states key real blocks.
+     */
+    private static final SchematicExporter.PaletteKeys KEYS = new SchematicExporter.PaletteKeys() {
+        @Override
+        public Object state(final BaseBlock block) {
+            return ((SyntheticBlock) block).id;
+        }
+
+        @Override
+        public Object air() {
+            return -1;
+        }
+
+        @Override
+        public String key(final Object state) {
+            return (Integer) state == -1 ? "minecraft:air" : "test:block_" + state;
+        }
+    };
+
+    private static BaseBlock block(final int x, final int y, final int z) {
+        // Later layers bring in blocks the earlier ones did not have, so slab palettes must be remapped when merged
+        final int id = Math.floorMod(x * 7 + y * y + z, 11 + (y >> 3));
+        return new SyntheticBlock(id, Math.floorMod(x + y + z, 97) == 0);
+    }
+
+    private static BiomeType biome(final int x, final int z) {
+        return BIOMES[Math.floorMod(x / 5 + z / 3, BIOMES.length)];
+    }
+
+    private static Map<BlockVector2, ChunkSectionSnapshot> snapshots(final Set<CuboidRegion> regions) {
+        final Map<BlockVector2, ChunkSectionSnapshot> snapshots = new HashMap<>();
+        for (final CuboidRegion region : regions) {
+            for (final BlockVector2 chunk : region.getChunks()) {
+                final int bx = chunk.getX() << 4;
+                final int bz = chunk.getZ() << 4;
+                snapshots.put(chunk, new ChunkSectionSnapshot() {
+                    @Override
+                    public BaseBlock getFullBlock(final int x, final int y, final int z) {
+                        return block(bx + x, y, bz + z);
+                    }
+
+                    @Override
+                    public BiomeType getBiome(final int x, final int y, final int z) {
+                        return biome(bx + x, bz + z);
+                    }
+                });
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * The single pass encoder getCompoundTag used before slabs were encoded in parallel, reading the same blocks.
+     */
+    private static SchematicExporter.Result encodeSinglePass(final CuboidRegion aabb, final Set<CuboidRegion> regions) {
+        final RegionIntersection intersection = new RegionIntersection(new ArrayList<>(regions));
+        final boolean multipleRegions = regions.size() > 1;
+        final Map<String, Integer> palette = new HashMap<>();
+        final Map<String, Integer> biomePalette = new HashMap<>();
+        final List<CompoundTag> tileEntities = new ArrayList<>();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final ByteArrayOutputStream biomeBuffer = new ByteArrayOutputStream();
+        final BlockVector3 minimum = aabb.getMinimumPoint();
+        final BlockVector3 maximum = aabb.getMaximumPoint();
+        int lastBiome = 0;
+        for (int y = minimum.getY(); y <= maximum.getY(); y++) {
+            final int relativeY = y - minimum.getY();
+            for (int z = minimum.getZ(); z <= maximum.getZ(); z++) {
+                final int relativeZ = z - minimum.getZ();
+                for (int x = minimum.getX(); x <= maximum.getX(); x++) {
+                    final int relativeX = x - minimum.getX();
+                    if (multipleRegions && !intersection.contains(BlockVector3.at(x, y, z))) {
+                        final String airKey = KEYS.key(KEYS.air());
+                        SchematicExporter.writeVarInt(buffer, palette.computeIfAbsent(airKey, key -> palette.size()));
+                        if (relativeY == 0) {
+                            SchematicExporter.writeVarInt(biomeBuffer, lastBiome);
+                        }
+                        continue;
+                    }
+                    final BaseBlock block = block(x, y, z);
+                    if (block.getNbtData() != null) {
+                        final Map<String, Tag> values = new HashMap<>(block.getNbtData().getValue());
+                        values.remove("x");
+                        values.remove("y");
+                        values.remove("z");
+                        values.put("Id", new StringTag(block.getNbtId()));
+                        values.remove("id");
+                        values.put("Pos", new IntArrayTag(new int[]{relativeX, relativeY, relativeZ}));
+                        tileEntities.add(new CompoundTag(values));
+                    }
+                    final String blockKey = KEYS.key(KEYS.state(block));
+                    SchematicExporter.writeVarInt(buffer, palette.computeIfAbsent(blockKey, key -> palette.size()));
+                    if (relativeY == 0) {
+                        lastBiome = biomePalette.computeIfAbsent(biome(x, z).getId(), key -> biomePalette.size());
+                        SchematicExporter.writeVarInt(biomeBuffer, lastBiome);
+                    }
+                }
+            }
+        }
+        return new SchematicExporter.Result(palette, biomePalette, tileEntities, buffer, biomeBuffer);
+    }
+
+    private static void assertSameOutput(final Set<CuboidRegion> regions) {
+        final CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(regions);
+        final SchematicExporter.Result expected = encodeSinglePass(aabb, regions);
+        final SchematicExporter.Result actual =
+                new SchematicExporter(aabb, regions, snapshots(regions), KEYS).encode().join();
+
+        Assertions.assertEquals(expected.palette(), actual.palette());
+        Assertions.assertArrayEquals(expected.buffer().toByteArray(), actual.buffer().toByteArray());
+        Assertions.assertEquals(expected.biomePalette(), actual.biomePalette());
+        Assertions.assertArrayEquals(expected.biomeBuffer().toByteArray(), actual.biomeBuffer().toByteArray());
+        Assertions.assertEquals(expected.tileEntities().size(), actual.tileEntities().size());
+        for (int i = 0; i < expected.tileEntities().size(); i++) {
+            final Map<String, Tag> expectedValues = expected.tileEntities().get(i).getValue();
+            final Map<String, Tag> actualValues = actual.tileEntities().get(i).getValue();
+            Assertions.assertEquals(expectedValues.keySet(), actualValues.keySet());
+            Assertions.assertEquals(
+                    ((StringTag) expectedValues.get("Id")).getValue(),
+                    ((StringTag) actualValues.get("Id")).getValue()
+            );
+            Assertions.assertArrayEquals(
+                    ((IntArrayTag) expectedValues.get("Pos")).getValue(),
+                    ((IntArrayTag) actualValues.get("Pos")).getValue()
+            );
+        }
+    }
+
+    @Test
+    public void testSingleRegionMatchesSinglePassEncoder() {
+        assertSameOutput(Set.of(new CuboidRegion(BlockVector3.at(-7, -20, 5), BlockVector3.at(38, 37, 44))));
+    }
+
+    @Test
+    public void testMergedRegionsMatchSinglePassEncoder() {
+        // Two plots and the road between them, with positions outside of both exported as air
+        assertSameOutput(Set.of(
+                new CuboidRegion(BlockVector3.at(0, 0, 0), BlockVector3.at(20, 40, 20)),
+                new CuboidRegion(BlockVector3.at(25, 0, 3), BlockVector3.at(40, 40, 30))
+        ));
+    }
+
+    /**
+     * Block without a backing state, WorldEdit block states cannot be created without a platform.
+     */
+    private static final class SyntheticBlock extends BaseBlock {
+
+        private final int id;
+        private final CompoundTag nbt;
+
+        private SyntheticBlock(final int id, final boolean tile) {
+            super((BlockState) null);
+            this.id = id;
+            this.nbt = tile ? new CompoundTag(Map.of(
+                    "id", new StringTag("test:tile_" + id),
+                    "x", new IntArrayTag(new int[0]),
+                    "Items", new StringTag("items")
+            )) : null;
+        }
+
+        @Override
+        public CompoundTag getNbtData() {
+            return this.nbt;
+        }
+
+        @Override
+        public String getNbtId() {
+            return this.nbt == null ? "" : ((StringTag) this.nbt.getValue().get("id")).getValue();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof SyntheticBlock other && other.id == this.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id;
+        }
+
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class SchematicPasteTest {
+
+    private static final BiomeType PLAINS = new BiomeType("minecraft:plains");
+    private static final BlockVector3 DIMENSIONS = BlockVector3.at(37, 6, 29);
+    private static final int MIN_GEN_HEIGHT = 0;
+    private static final int MAX_GEN_HEIGHT = 255;
+
+    /**
+     * Schematic blocks by position: id 0 is air, and every 13th block carries tile data.
+     */
+    private static final SchematicPaste.Source SOURCE = new SchematicPaste.Source() {
+        @Override
+        public BaseBlock getFullBlock(final BlockVector3 position) {
+            final int id = Math.floorMod(position.getX() * 3 + position.getY() * 5 + position.getZ(), 7);
+            return new SyntheticBlock(id, Math.floorMod(position.getX() + position.getZ(), 13) == 0);
+        }
+
+        @Override
+        public BiomeType getBiome(final BlockVector3 position) {
+            return PLAINS;
+        }
+    };
+
+    private static SchematicPaste paste(
+            final int p1x, final int p1z, final int p2x, final int p2z, final int yOffset, final boolean sizeMismatch
+    ) {
+        return new SchematicPaste(SOURCE, block -> ((SyntheticBlock) block).id == 0, DIMENSIONS, MIN_GEN_HEIGHT,
+                MAX_GEN_HEIGHT, p1x, p1z, p2x, p2z, yOffset, sizeMismatch,
+                new CuboidRegion(BlockVector3.at(p1x, MIN_GEN_HEIGHT, p1z), BlockVector3.at(p2x, MAX_GEN_HEIGHT, p2z))
+        );
+    }
+
+    @Test
+    public void testChunksMatchWholePaste() {
+        // Straddles chunk borders on both axes, and the top rows are above the generation height
+        final SchematicPaste paste = paste(-20, 7, 100, 100, MAX_GEN_HEIGHT - 3, false);
+        final RecordingTarget whole = new RecordingTarget();
+        paste.paste(whole, false);
+
+        final RecordingTarget chunked = new RecordingTarget();
+        Assertions.assertEquals(12, paste.getChunks().size());
+        for (final BlockVector2 chunk : paste.getChunks()) {
+            final RecordingTarget target = new RecordingTarget();
+            paste.pasteChunk(target, chunk, false, false);
+            for (final BlockVector3 position : target.blocks.keySet()) {
+                Assertions.assertEquals(chunk, BlockVector2.at(position.getX() >> 4, position.getZ() >> 4));
+            }
+            chunked.blocks.putAll(target.blocks);
+            chunked.biomes.putAll(target.biomes);
+        }
+
+        Assertions.assertEquals(DIMENSIONS.getX() * DIMENSIONS.getZ() * 4, whole.blocks.size());
+        Assertions.assertEquals(whole.blocks, chunked.blocks);
+        Assertions.assertEquals(whole.biomes, chunked.biomes);
+        for (final BlockVector3 position : whole.blocks.keySet()) {
+            Assertions.assertTrue(position.getY() <= MAX_GEN_HEIGHT);
+            Assertions.assertEquals(
+                    SOURCE.getFullBlock(BlockVector3.at(position.getX() + 20, position.getY() - MAX_GEN_HEIGHT + 3,
+                            position.getZ() - 7
+                    )),
+                    whole.blocks.get(position)
+            );
+        }
+    }
+
+    @Test
+    public void testSizeMismatchClipsToPlot() {
+        final SchematicPaste paste = paste(0, 0, 19, 9, 64, true);
+        Assertions.assertEquals(2, paste.getChunks().size());
+        final RecordingTarget target = new RecordingTarget();
+        for (final BlockVector2 chunk : paste.getChunks()) {
+            paste.pasteChunk(target, chunk, false, false);
+        }
+        Assertions.assertEquals(20 * 10 * DIMENSIONS.getY(), target.blocks.size());
+        for (final BlockVector3 position : target.blocks.keySet()) {
+            Assertions.assertTrue(position.getX() >= 0 && position.getX() <= 19);
+            Assertions.assertTrue(position.getZ() >= 0 && position.getZ() <= 9);
+        }
+    }
+
+    @Test
+    public void testSkipAir() {
+        final SchematicPaste paste = paste(0, 0, 100, 100, 64, false);
+        final RecordingTarget target = new RecordingTarget();
+        for (final BlockVector2 chunk : paste.getChunks()) {
+            paste.pasteChunk(target, chunk, true, false);
+        }
+        final int volume = DIMENSIONS.getX() * DIMENSIONS.getY() * DIMENSIONS.getZ();
+        // Air leaves the existing block, but the biome is still set
+        Assertions.assertEquals(volume, target.biomes.size());
+        Assertions.assertTrue(target.blocks.size() < volume);
+        int air = 0;
+        for (final Map.Entry<BlockVector3, BiomeType> entry : target.biomes.entrySet()) {
+            final BlockVector3 position = entry.getKey();
+            final SyntheticBlock block = (SyntheticBlock) SOURCE.getFullBlock(position.subtract(0, 64, 0));
+            if (block.id == 0) {
+                air++;
+                Assertions.assertFalse(target.blocks.containsKey(position));
+            } else {
+                Assertions.assertEquals(block, target.blocks.get(position));
+            }
+        }
+        Assertions.assertEquals(volume - air, target.blocks.size());
+
+        final RecordingTarget all = new RecordingTarget();
+        paste.paste(all, false);
+        Assertions.assertEquals(volume, all.blocks.size());
+    }
+
+    @Test
+    public void testSkipUnchanged() {
+        final SchematicPaste paste = paste(0, 0, 100, 100, 64, false);
+        final RecordingTarget target = new RecordingTarget();
+        // The world already holds the schematic's block wherever x is even
+        for (int x = 0; x < DIMENSIONS.getX(); x += 2) {
+            for (int y = 0; y < DIMENSIONS.getY(); y++) {
+                for (int z = 0; z < DIMENSIONS.getZ(); z++) {
+                    target.world.put(BlockVector3.at(x, y + 64, z), SOURCE.getFullBlock(BlockVector3.at(x, y, z)));
+                }
+            }
+        }
+        for (final BlockVector2 chunk : paste.getChunks()) {
+            paste.pasteChunk(target, chunk, false, true);
+        }
+        for (int x = 0; x < DIMENSIONS.getX(); x++) {
+            for (int y = 0; y < DIMENSIONS.getY(); y++) {
+                for (int z = 0; z < DIMENSIONS.getZ(); z++) {
+                    final BaseBlock block = SOURCE.getFullBlock(BlockVector3.at(x, y, z));
+                    final BlockVector3 position = BlockVector3.at(x, y + 64, z);
+                    // Blocks with tile data are always set, the world's copy may hold different data
+                    final boolean unchanged = x % 2 == 0 && !block.hasNbtData();
+                    Assertions.assertEquals(unchanged ? null : block, target.blocks.get(position));
+                }
+            }
+        }
+
+        // Without skipping, every block is set
+        final RecordingTarget all = new RecordingTarget();
+        all.world.putAll(target.world);
+        for (final BlockVector2 chunk : paste.getChunks()) {
+            paste.pasteChunk(all, chunk, false, false);
+        }
+        Assertions.assertEquals(DIMENSIONS.getX() * DIMENSIONS.getY() * DIMENSIONS.getZ(), all.blocks.size());
+    }
+
+    private static final class RecordingTarget implements SchematicPaste.Target {
+
+        private final Map<BlockVector3, BaseBlock> world = new HashMap<>();
+        private final Map<BlockVector3, BaseBlock> blocks = new HashMap<>();
+        private final Map<BlockVector3, BiomeType> biomes = new HashMap<>();
+
+        @Override
+        public void setBlock(final int x, final int y, final int z, final BaseBlock block) {
+            Assertions.assertNull(this.blocks.put(BlockVector3.at(x, y, z), block));
+        }
+
+        @Override
+        public void setBiome(final int x, final int y, final int z, final BiomeType biome) {
+            this.biomes.put(BlockVector3.at(x, y, z), biome);
+        }
+
+        @Override
+        public boolean contains(final int x, final int y, final int z, final BaseBlock block) {
+            return !block.hasNbtData() && block.equals(this.world.get(BlockVector3.at(x, y, z)));
+        }
+
+    }
+
+    private static final class SyntheticBlock extends BaseBlock {
+
+        private final int id;
+        private final CompoundTag nbt;
+
+        private SyntheticBlock(final int id, final boolean tile) {
+            super((BlockState) null);
+            this.id = id;
+            this.nbt = tile ? new CompoundTag(Map.of()) : null;
+        }
+
+        @Override
+        public CompoundTag getNbtData() {
+            return this.nbt;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof SyntheticBlock other && other.id == this.id && (other.nbt == null) == (this.nbt == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id;
+        }
+
+    }
+
+}
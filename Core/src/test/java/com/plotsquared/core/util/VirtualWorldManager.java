@@ -0,0 +1,91 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * World manager for tests, worlds only exist as names and creating one always succeeds
+ */
+public class VirtualWorldManager implements PlatformWorldManager<String> {
+
+    private final Map<String, String> worlds = new LinkedHashMap<>();
+    private boolean initialized;
+
+    @Override
+    public void initialize() {
+        this.initialized = true;
+    }
+
+    @Override
+    public @Nullable String handleWorldCreation(final @NonNull String worldName, final @Nullable String generator) {
+        this.worlds.put(worldName, generator);
+        return worldName;
+    }
+
+    @Override
+    public String getName() {
+        return "virtual";
+    }
+
+    @Override
+    public Collection<String> getWorlds() {
+        return Collections.unmodifiableSet(this.worlds.keySet());
+    }
+
+    /**
+     * Get the generator a world was created with
+     *
+     * @param worldName World name
+     * @return generator name, or {@code null} if the world was created without one or does not exist
+     */
+    public @Nullable String getGenerator(final @NonNull String worldName) {
+        return this.worlds.get(worldName);
+    }
+
+    /**
+     * Remove a world, as if it was unloaded
+     *
+     * @param worldName World name
+     * @return {@code true} if the world existed
+     */
+    public boolean unloadWorld(final @NonNull String worldName) {
+        if (!this.worlds.containsKey(worldName)) {
+            return false;
+        }
+        this.worlds.remove(worldName);
+        return true;
+    }
+
+    /**
+     * Get whether {@link #initialize()} has been called
+     *
+     * @return {@code true} if initialized
+     */
+    public boolean isInitialized() {
+        return this.initialized;
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TaskProfilerTest {
+
+    @Test
+    public void testRecordsOnlyWhileEnabled() {
+        TaskProfiler.reset();
+        TaskProfiler.setEnabled(false);
+        TaskProfiler.wrap(TaskProfiler.Origin.EXPIRY, () -> {
+        }).run();
+        Assertions.assertEquals(0L, TaskProfiler.snapshot().get(TaskProfiler.Origin.EXPIRY).invocations());
+
+        TaskProfiler.setEnabled(true);
+        try {
+            TaskProfiler.wrap(TaskProfiler.Origin.EXPIRY, () -> {
+            }).run();
+            TaskProfiler.record(TaskProfiler.Origin.EXPIRY, TaskProfiler.start() - 2_000_000L, 1L);
+            final TaskProfiler.Snapshot snapshot = TaskProfiler.snapshot().get(TaskProfiler.Origin.EXPIRY);
+            Assertions.assertEquals(2L, snapshot.invocations());
+            Assertions.assertEquals(1L, snapshot.overruns());
+            Assertions.assertTrue(snapshot.maxNanos() >= 2_000_000L);
+            Assertions.assertEquals(0L, TaskProfiler.snapshot().get(TaskProfiler.Origin.DATABASE).invocations());
+        } finally {
+            TaskProfiler.setEnabled(false);
+            TaskProfiler.reset();
+        }
+        Assertions.assertEquals(0L, TaskProfiler.snapshot().get(TaskProfiler.Origin.EXPIRY).invocations());
+    }
+
+    @Test
+    public void testOnlyRepeatingTasksAreWrappedWhileDisabled() {
+        TaskProfiler.reset();
+        TaskProfiler.setEnabled(false);
+        try (VirtualTaskManager taskManager = VirtualTaskManager.install()) {
+            TaskManager.runTask(() -> {
+            });
+            final PlotSquaredTask task = TaskManager.runTaskRepeat(() -> {
+            }, TaskTime.ticks(1L));
+            TaskProfiler.setEnabled(true);
+            taskManager.tick();
+            task.cancel();
+            // The one-off task was scheduled before profiling was enabled, so only the repeating task is recorded
+            Assertions.assertEquals(1L, TaskProfiler.snapshot().get(TaskProfiler.Origin.SYNC_TASK).invocations());
+
+            TaskManager.runTask(() -> {
+            });
+            taskManager.tick();
+            Assertions.assertEquals(2L, TaskProfiler.snapshot().get(TaskProfiler.Origin.SYNC_TASK).invocations());
+        } finally {
+            TaskProfiler.setEnabled(false);
+            TaskProfiler.reset();
+        }
+    }
+
+}
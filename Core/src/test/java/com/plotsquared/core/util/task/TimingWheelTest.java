@@ -0,0 +1,102 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testValuesFireOnTheirTick() {
+        final TimingWheel<Long> wheel = new TimingWheel<>();
+        final long[] delays = {1, 5, 63, 64, 65, 4095, 4096, 4097, 300_000, 20_000_000};
+        for (final long delay : delays) {
+            wheel.schedule(delay, delay);
+        }
+        final List<Long> fired = new ArrayList<>();
+        while (wheel.size() > 0) {
+            wheel.advance(value -> {
+                Assertions.assertEquals(value.longValue(), wheel.getTick());
+                fired.add(value);
+            });
+        }
+        Assertions.assertEquals(delays.length, fired.size());
+    }
+
+    @Test
+    public void testCancelledTimersDoNotFire() {
+        final TimingWheel<String> wheel = new TimingWheel<>();
+        final TimingWheel.Timer<String> first = wheel.schedule("first", 10);
+        final TimingWheel.Timer<String> second = wheel.schedule("second", 10);
+        final TimingWheel.Timer<String> far = wheel.schedule("far", 5000);
+        far.cancel();
+        final List<String> fired = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Cancelling a timer due in the same tick from the consumer must prevent it from firing
+            wheel.advance(value -> {
+                fired.add(value);
+                (value.equals("first") ? second : first).cancel();
+            });
+        }
+        Assertions.assertEquals(1, fired.size());
+        Assertions.assertEquals(0, wheel.size());
+        Assertions.assertFalse(far.isScheduled());
+    }
+
+    @Test
+    public void testWheelDrivenByRepeatingTask() {
+        try (final VirtualTaskManager taskManager = VirtualTaskManager.install()) {
+            // Advanced once per second, like the feed and heal timers of the plot listener
+            final TimingWheel<Runnable> wheel = new TimingWheel<>();
+            TaskManager.runTaskRepeat(() -> wheel.advance(Runnable::run), TaskTime.seconds(1L));
+            final List<Long> fired = new ArrayList<>();
+            wheel.schedule(() -> fired.add(taskManager.getTick()), 3);
+            final TimingWheel.Timer<Runnable> cancelled = wheel.schedule(() -> fired.add(-1L), 2);
+            wheel.schedule(() -> wheel.schedule(() -> fired.add(taskManager.getTick()), 2), 1);
+
+            taskManager.tick(20);
+            cancelled.cancel();
+            taskManager.tick(60);
+            Assertions.assertEquals(List.of(60L, 60L), fired);
+            Assertions.assertEquals(0, wheel.size());
+            Assertions.assertEquals(1, taskManager.getPendingTasks());
+        }
+    }
+
+    @Test
+    public void testRescheduleFromConsumer() {
+        final TimingWheel<String> wheel = new TimingWheel<>();
+        wheel.schedule("repeat", 3);
+        final int[] count = {0};
+        for (int i = 0; i < 300; i++) {
+            wheel.advance(value -> {
+                Assertions.assertEquals(0L, wheel.getTick() % 3);
+                count[0]++;
+                wheel.schedule(value, 3);
+            });
+        }
+        Assertions.assertEquals(100, count[0]);
+        Assertions.assertEquals(1, wheel.size());
+    }
+
+}
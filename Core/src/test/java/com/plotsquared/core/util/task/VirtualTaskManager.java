@@ -0,0 +1,268 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.task;
+
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Task manager driven by a virtual clock, for tests that need to run scheduled work without a server. Nothing runs
+ * until the test advances the clock with {@link #tick()} or drains the current tick with {@link #runPending()}, and
+ * everything runs on the calling thread. Tasks due in the same tick run in the order they were scheduled, whether they
+ * are sync or async. Like on a server, sync tasks without a delay run in the next tick, while async tasks without a
+ * delay run in the current one.
+ * <p>
+ * A tick is always {@value #MS_PER_TICK} milliseconds long. Closing a manager returned by {@link #install()} restores
+ * the previous platform implementation, so that other tests are not affected.
+ */
+public class VirtualTaskManager extends TaskManager implements TaskTime.TimeConverter, AutoCloseable {
+
+    public static final long MS_PER_TICK = 50L;
+
+    private static final Comparator<VirtualTask> ORDER =
+            Comparator.comparingLong((VirtualTask task) -> task.due).thenComparingLong(task -> task.sequence);
+
+    private final PriorityQueue<VirtualTask> queue = new PriorityQueue<>(ORDER);
+    private long tick;
+    private long sequence;
+    private long executed;
+    private TaskManager previous;
+
+    /**
+     * Create a task manager and make it the platform implementation
+     *
+     * @return created task manager
+     */
+    public static @NonNull VirtualTaskManager install() {
+        final VirtualTaskManager taskManager = new VirtualTaskManager();
+        taskManager.previous = TaskManager.getPlatformImplementation();
+        TaskManager.setPlatformImplementation(taskManager);
+        return taskManager;
+    }
+
+    /**
+     * Advance the clock by one tick and run everything that became due
+     */
+    public void tick() {
+        this.tick++;
+        this.runPending();
+    }
+
+    /**
+     * Advance the clock tick by tick
+     *
+     * @param ticks number of ticks to advance by
+     */
+    public void tick(@NonNegative final long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            this.tick();
+        }
+    }
+
+    /**
+     * Advance the clock by a number of ticks, running everything that becomes due on the way. This is the same as
+     * {@link #tick(long)}, except that ticks in which nothing is due are skipped, so that long delays are reached quickly.
+     *
+     * @param ticks number of ticks to advance by
+     */
+    public void advance(@NonNegative final long ticks) {
+        if (ticks == 0) {
+            return;
+        }
+        final long target = this.tick + ticks;
+        this.tick++;
+        while (true) {
+            this.runPending();
+            final VirtualTask next = this.queue.peek();
+            if (next == null || next.due > target) {
+                break;
+            }
+            this.tick = next.due;
+        }
+        this.tick = target;
+    }
+
+    /**
+     * Run everything that is due in the current tick, including tasks scheduled for the current tick while doing so
+     */
+    public void runPending() {
+        VirtualTask task;
+        while ((task = this.queue.peek()) != null && task.due <= this.tick) {
+            this.queue.poll();
+            if (task.isCancelled()) {
+                continue;
+            }
+            if (task.period > 0) {
+                this.schedule(task, task.period);
+            }
+            this.executed++;
+            task.run();
+        }
+    }
+
+    /**
+     * Get the current tick
+     *
+     * @return ticks advanced since creation
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Get the virtual time
+     *
+     * @return milliseconds elapsed since creation
+     */
+    public long currentTimeMillis() {
+        return this.tick * MS_PER_TICK;
+    }
+
+    /**
+     * Get the virtual time with nanosecond precision, for code that reads {@link System#nanoTime()}
+     *
+     * @return nanoseconds elapsed since creation
+     */
+    @Override
+    public long nanoTime() {
+        return this.currentTimeMillis() * 1_000_000L;
+    }
+
+    /**
+     * Get the number of tasks waiting to run, including repeating tasks
+     *
+     * @return number of scheduled tasks that have not been cancelled
+     */
+    public int getPendingTasks() {
+        return (int) this.queue.stream().filter(task -> !task.isCancelled()).count();
+    }
+
+    /**
+     * Get the number of task executions so far
+     *
+     * @return number of executed tasks
+     */
+    public long getExecutedTasks() {
+        return this.executed;
+    }
+
+    @Override
+    public void close() {
+        if (TaskManager.getPlatformImplementation() == this) {
+            TaskManager.setPlatformImplementation(this.previous);
+        }
+    }
+
+    private @NonNull VirtualTask schedule(final @NonNull VirtualTask task, final long delay) {
+        task.due = this.tick + delay;
+        task.sequence = this.sequence++;
+        this.queue.add(task);
+        return task;
+    }
+
+    @Override
+    public long msToTicks(@NonNegative final long ms) {
+        return Math.max(1L, ms / MS_PER_TICK);
+    }
+
+    @Override
+    public long ticksToMs(@NonNegative final long ticks) {
+        return ticks * MS_PER_TICK;
+    }
+
+    @Override
+    public <T> T sync(final @NonNull Callable<T> function, final int timeout) throws Exception {
+        return function.call();
+    }
+
+    @Override
+    public <T> Future<T> callMethodSync(final @NonNull Callable<T> method) {
+        final FutureTask<T> future = new FutureTask<>(method);
+        this.schedule(new VirtualTask(future, 0L), 1L);
+        return future;
+    }
+
+    @Override
+    public PlotSquaredTask taskRepeat(final @NonNull Runnable runnable, final @NonNull TaskTime taskTime) {
+        final long period = Math.max(1L, this.toTicks(taskTime));
+        return this.schedule(new VirtualTask(runnable, period), period);
+    }
+
+    @Override
+    public PlotSquaredTask taskRepeatAsync(final @NonNull Runnable runnable, final @NonNull TaskTime taskTime) {
+        return this.taskRepeat(runnable, taskTime);
+    }
+
+    @Override
+    public void taskAsync(final @NonNull Runnable runnable) {
+        this.schedule(new VirtualTask(runnable, 0L), 0L);
+    }
+
+    @Override
+    public void task(final @NonNull Runnable runnable) {
+        this.schedule(new VirtualTask(runnable, 0L), 1L);
+    }
+
+    @Override
+    public void taskLater(final @NonNull Runnable runnable, final @NonNull TaskTime taskTime) {
+        this.schedule(new VirtualTask(runnable, 0L), Math.max(1L, this.toTicks(taskTime)));
+    }
+
+    @Override
+    public void taskLaterAsync(final @NonNull Runnable runnable, final @NonNull TaskTime taskTime) {
+        this.schedule(new VirtualTask(runnable, 0L), this.toTicks(taskTime));
+    }
+
+    private static final class VirtualTask implements PlotSquaredTask {
+
+        private final Runnable runnable;
+        private final long period;
+        private long due;
+        private long sequence;
+        private boolean cancelled;
+
+        private VirtualTask(final @NonNull Runnable runnable, final long period) {
+            this.runnable = runnable;
+            this.period = period;
+        }
+
+        @Override
+        public void runTask() {
+            this.runnable.run();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class VirtualTaskManagerTest {
+
+    @Test
+    public void testTasksRunInTickOrder() {
+        try (final VirtualTaskManager taskManager = VirtualTaskManager.install()) {
+            final List<String> order = new ArrayList<>();
+            TaskManager.runTaskLater(() -> order.add("later"), TaskTime.ticks(2L));
+            TaskManager.runTask(() -> {
+                order.add("sync");
+                TaskManager.runTaskAsync(() -> order.add("async from sync"));
+            });
+            TaskManager.runTaskAsync(() -> order.add("async"));
+
+            taskManager.runPending();
+            Assertions.assertEquals(List.of("async"), order);
+            taskManager.tick();
+            Assertions.assertEquals(List.of("async", "sync", "async from sync"), order);
+            taskManager.tick();
+            Assertions.assertEquals("later", order.get(order.size() - 1));
+            Assertions.assertEquals(100L, taskManager.currentTimeMillis());
+            Assertions.assertEquals(0, taskManager.getPendingTasks());
+        }
+    }
+
+    @Test
+    public void testRepeatingTaskUntilCancelled() {
+        try (final VirtualTaskManager taskManager = VirtualTaskManager.install()) {
+            final int[] runs = {0};
+            final PlotSquaredTask task = TaskManager.runTaskRepeat(() -> runs[0]++, TaskTime.seconds(1L));
+            taskManager.tick(100);
+            Assertions.assertEquals(5, runs[0]);
+            task.cancel();
+            taskManager.tick(100);
+            Assertions.assertEquals(5, runs[0]);
+            Assertions.assertEquals(0, taskManager.getPendingTasks());
+        }
+    }
+
+    @Test
+    public void testSyncMethodCallRunsNextTick() throws Exception {
+        try (final VirtualTaskManager taskManager = VirtualTaskManager.install()) {
+            final Future<Long> future = taskManager.callMethodSync(taskManager::getTick);
+            taskManager.runPending();
+            Assertions.assertFalse(future.isDone());
+            taskManager.tick();
+            Assertions.assertEquals(1L, future.get());
+        }
+    }
+
+    @Test
+    public void testObjectTaskCompletes() {
+        try (final VirtualTaskManager taskManager = VirtualTaskManager.install()) {
+            final List<Integer> seen = new ArrayList<>();
+            final CompletableFuture<Void> future = taskManager.objectTask(
+                    IntStream.range(0, 100).boxed().collect(Collectors.toList()),
+                    new RunnableVal<>() {
+                        @Override
+                        public void run(final Integer value) {
+                            seen.add(value);
+                        }
+                    }
+            );
+            long ticks = 0;
+            while (!future.isDone() && ticks++ < 1000) {
+                taskManager.tick();
+            }
+            Assertions.assertTrue(future.isDone());
+            Assertions.assertEquals(100, seen.size());
+        }
+    }
+
+    @Test
+    public void testAdvanceMatchesTicking() {
+        final List<String> ticked = new ArrayList<>();
+        final List<String> advanced = new ArrayList<>();
+        for (final List<String> order : List.of(ticked, advanced)) {
+            try (final VirtualTaskManager taskManager = VirtualTaskManager.install()) {
+                TaskManager.runTaskLater(() -> {
+                    order.add("later " + taskManager.getTick());
+                    TaskManager.runTask(() -> order.add("sync " + taskManager.getTick()));
+                }, TaskTime.ticks(500L));
+                TaskManager.runTaskRepeat(() -> order.add("repeat " + taskManager.getTick()), TaskTime.ticks(300L));
+                TaskManager.runTaskAsync(() -> order.add("async " + taskManager.getTick()));
+                if (order == ticked) {
+                    taskManager.tick(1000);
+                } else {
+                    taskManager.advance(1000);
+                }
+                Assertions.assertEquals(1000L, taskManager.getTick());
+            }
+        }
+        Assertions.assertEquals(List.of("async 1", "repeat 300", "later 500", "sync 501", "repeat 600", "repeat 900"), ticked);
+        Assertions.assertEquals(ticked, advanced);
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.uuid;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class MappedUUIDServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testLookupsIgnoreUsernameCase() throws Exception {
+        final UUID uuid = UUID.randomUUID();
+        try (final MappedUUIDService service = MappedUUIDService.open(this.directory.resolve("uuids.dat"))) {
+            service.accept(List.of(new UUIDMapping(uuid, "Notch")));
+            Assertions.assertEquals(List.of(new UUIDMapping(uuid, "Notch")), service.getUUIDs(List.of("nOTCH")));
+            Assertions.assertEquals(List.of(new UUIDMapping(uuid, "Notch")), service.getNames(List.of(uuid)));
+            Assertions.assertNull(service.getImmediately("jeb_"));
+        }
+    }
+
+    @Test
+    public void testRenamedPlayerReleasesOldName() throws Exception {
+        final UUID uuid = UUID.randomUUID();
+        try (final MappedUUIDService service = MappedUUIDService.open(this.directory.resolve("uuids.dat"))) {
+            service.accept(List.of(new UUIDMapping(uuid, "Before")));
+            service.accept(List.of(new UUIDMapping(uuid, "After")));
+            Assertions.assertTrue(service.getUUIDs(List.of("before")).isEmpty());
+            Assertions.assertEquals(List.of(new UUIDMapping(uuid, "After")), service.getNames(List.of(uuid)));
+            Assertions.assertEquals(1, service.size());
+        }
+    }
+
+    @Test
+    public void testMappingsSurviveReopening() throws Exception {
+        final Path file = this.directory.resolve("uuids.dat");
+        final List<UUIDMapping> mappings = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            mappings.add(new UUIDMapping(new UUID(i, -i), "player" + i));
+        }
+        try (final MappedUUIDService service = MappedUUIDService.open(file)) {
+            service.accept(mappings);
+            // Renaming everyone leaves more superseded records than current ones
+            final List<UUIDMapping> renamed = new ArrayList<>();
+            for (final UUIDMapping mapping : mappings) {
+                renamed.add(new UUIDMapping(mapping.uuid(), "renamed" + mapping.uuid().getMostSignificantBits()));
+            }
+            service.accept(renamed);
+            service.accept(mappings);
+        }
+        try (final MappedUUIDService service = MappedUUIDService.open(file)) {
+            Assertions.assertEquals(mappings.size(), service.size());
+            Assertions.assertEquals(mappings.size(), service.getImmediately().size());
+            Assertions.assertEquals(List.of(mappings.get(1234)), service.getUUIDs(List.of("PLAYER1234")));
+            Assertions.assertTrue(service.getUUIDs(List.of("renamed1234")).isEmpty());
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.uuid;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UUIDPipelineTest {
+
+    @Test
+    public void testConcurrentRequestsShareOneLookup() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger requested = new AtomicInteger();
+        final UUIDPipeline pipeline = new UUIDPipeline(executor);
+        pipeline.registerService(new UUIDService() {
+            @Override
+            public List<UUIDMapping> getNames(final List<UUID> uuids) {
+                requested.addAndGet(uuids.size());
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                final List<UUIDMapping> mappings = new ArrayList<>();
+                for (final UUID uuid : uuids) {
+                    mappings.add(new UUIDMapping(uuid, "player" + uuid.getLeastSignificantBits()));
+                }
+                return mappings;
+            }
+
+            @Override
+            public List<UUIDMapping> getUUIDs(final List<String> usernames) {
+                return List.of();
+            }
+        });
+        try {
+            final List<UUID> uuids = List.of(new UUID(0, 1), new UUID(0, 2), new UUID(0, 2));
+            final List<CompletableFuture<List<UUIDMapping>>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                futures.add(pipeline.getNames(uuids));
+            }
+            release.countDown();
+            for (final CompletableFuture<List<UUIDMapping>> future : futures) {
+                Assertions.assertEquals(2, future.get().size());
+            }
+            Assertions.assertEquals(2, requested.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnresolvedRequestsAreNotRepeated() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final AtomicInteger calls = new AtomicInteger();
+        final UUIDPipeline pipeline = new UUIDPipeline(executor);
+        pipeline.registerService(new UUIDService() {
+            @Override
+            public List<UUIDMapping> getNames(final List<UUID> uuids) {
+                return List.of();
+            }
+
+            @Override
+            public List<UUIDMapping> getUUIDs(final List<String> usernames) {
+                calls.incrementAndGet();
+                return List.of();
+            }
+        });
+        try {
+            for (int i = 0; i < 3; i++) {
+                final CompletableFuture<List<UUIDMapping>> future = pipeline.getUUIDs(List.of("nobody"));
+                final ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+                Assertions.assertInstanceOf(ServiceError.class, exception.getCause());
+            }
+            Assertions.assertEquals(1, calls.get());
+
+            pipeline.consume(new UUIDMapping(new UUID(0, 1), "Nobody"));
+            Assertions.assertThrows(ExecutionException.class, pipeline.getUUIDs(List.of("nobody"))::get);
+            Assertions.assertEquals(2, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -19,6 +19,7 @@ plugins {
     idea
 
     alias(libs.plugins.runPaper)
+    alias(libs.plugins.jmh) apply false
 }
 
 group = "com.intellectualsites.plotsquared"
@@ -1,8 +1,9 @@
 rootProject.name = "PlotSquared"
 
-include("Core", "Bukkit")
+include("Core", "Bukkit", "Benchmarks")
 
 project(":Core").name = "plotsquared-core"
 project(":Bukkit").name = "plotsquared-bukkit"
+project(":Benchmarks").name = "plotsquared-benchmarks"
 
 enableFeaturePreview("TYPESAFE_PROJECT_ACCESSORS")